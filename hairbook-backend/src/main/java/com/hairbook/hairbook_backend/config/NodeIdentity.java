@@ -0,0 +1,35 @@
+package com.hairbook.hairbook_backend.config;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+@Schema(description = "Identité de l'instance courante de l'application - Utilisée pour attribuer les verrous et baux des traitements partagés entre plusieurs nœuds")
+@Component
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity(@Value("${app.node.id:}") String configuredId) {
+        this.id = configuredId.isBlank() ? defaultId() : configuredId;
+    }
+
+    @Schema(description = "Identifiant unique de ce nœud (nom d'hôte suivi d'un suffixe aléatoire si non configuré)")
+    public String getId() {
+        return id;
+    }
+
+    private static String defaultId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = "node";
+        }
+        return host + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,11 @@
+package com.hairbook.hairbook_backend.config;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Schema(description = "Active l'exécution des tâches planifiées (@Scheduled) de l'application")
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,69 @@
+package com.hairbook.hairbook_backend.controller;
+
+import com.hairbook.hairbook_backend.dto.auth.JwtResponse;
+import com.hairbook.hairbook_backend.dto.auth.LoginRequest;
+import com.hairbook.hairbook_backend.dto.auth.SignupRequest;
+import com.hairbook.hairbook_backend.dto.auth.TokenRefreshRequest;
+import com.hairbook.hairbook_backend.dto.auth.TokenRefreshResponse;
+import com.hairbook.hairbook_backend.security.UserPrincipal;
+import com.hairbook.hairbook_backend.service.auth.AuthService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Authentification", description = "Connexion, inscription et renouvellement des jetons")
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    private static final String UNKNOWN_USER_AGENT = "inconnu";
+
+    private final AuthService authService;
+
+    public AuthController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @Operation(summary = "Connexion", description = "Retourne un JWT d'accès et un jeton de rafraîchissement lié à l'appareil (user-agent + IP). "
+            + "Répond 429 avec l'en-tête Retry-After en cas de tentatives trop fréquentes ou de service saturé.")
+    @PostMapping("/signin")
+    public JwtResponse signin(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        return authService.login(loginRequest, userAgent(request), request.getRemoteAddr());
+    }
+
+    @Operation(summary = "Inscription d'un nouveau membre")
+    @PostMapping("/signup")
+    public ResponseEntity<Void> signup(@Valid @RequestBody SignupRequest signupRequest, HttpServletRequest request) {
+        authService.signup(signupRequest, request.getRemoteAddr());
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @Operation(summary = "Renouvelle le JWT d'accès à partir d'un jeton de rafraîchissement")
+    @PostMapping("/refreshtoken")
+    public TokenRefreshResponse refreshToken(@Valid @RequestBody TokenRefreshRequest refreshRequest, HttpServletRequest request) {
+        return authService.refresh(refreshRequest.getRefreshToken(), userAgent(request), request.getRemoteAddr());
+    }
+
+    @Operation(summary = "Déconnexion de tous les appareils")
+    @PostMapping("/signout")
+    public ResponseEntity<Void> signout(@AuthenticationPrincipal UserPrincipal principal) {
+        if (principal != null) {
+            authService.logout(principal.getId());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String userAgent(HttpServletRequest request) {
+        String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
+        return userAgent != null && !userAgent.isBlank() ? userAgent : UNKNOWN_USER_AGENT;
+    }
+}
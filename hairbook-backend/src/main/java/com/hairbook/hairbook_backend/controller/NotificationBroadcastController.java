@@ -0,0 +1,36 @@
+package com.hairbook.hairbook_backend.controller;
+
+import com.hairbook.hairbook_backend.dto.notification.BroadcastNotificationRequest;
+import com.hairbook.hairbook_backend.service.notification.BroadcastNotificationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@Tag(name = "Diffusion de notifications", description = "Envoi d'une notification à tous les utilisateurs d'un rôle (administrateurs)")
+@RestController
+@RequestMapping("/api/admin/notifications/broadcast")
+@PreAuthorize("hasRole('ADMIN')")
+public class NotificationBroadcastController {
+
+    private final BroadcastNotificationService broadcastService;
+
+    public NotificationBroadcastController(BroadcastNotificationService broadcastService) {
+        this.broadcastService = broadcastService;
+    }
+
+    @Operation(summary = "Diffuse une notification à tous les utilisateurs d'un rôle",
+               description = "Les notifications sont écrites par tranches d'utilisateurs, chacune dans sa propre transaction. "
+                       + "Retourne le nombre de notifications créées.")
+    @PostMapping
+    public Map<String, Long> broadcast(@Valid @RequestBody BroadcastNotificationRequest request) {
+        return Map.of("created", broadcastService.broadcast(request.getRole(), request.getTitle(),
+                request.getMessage(), request.getType(), request.getActionUrl()));
+    }
+}
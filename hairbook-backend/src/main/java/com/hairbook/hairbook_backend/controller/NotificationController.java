@@ -0,0 +1,79 @@
+package com.hairbook.hairbook_backend.controller;
+
+import com.hairbook.hairbook_backend.security.UserPrincipal;
+import com.hairbook.hairbook_backend.service.notification.NotificationService;
+import com.hairbook.hairbook_backend.service.notification.NotificationStreamRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+@Tag(name = "Notifications", description = "Consultation et diffusion en temps réel des notifications de l'utilisateur connecté")
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final NotificationStreamRegistry streamRegistry;
+
+    public NotificationController(NotificationService notificationService,
+                                  NotificationStreamRegistry streamRegistry) {
+        this.notificationService = notificationService;
+        this.streamRegistry = streamRegistry;
+    }
+
+    @Operation(summary = "Flux SSE des notifications de l'utilisateur connecté",
+               description = "Pousse chaque nouvelle notification sous forme d'événement 'notification' dont l'id est celui de la notification. "
+                       + "En envoyant l'en-tête Last-Event-ID à la reconnexion, le client reçoit d'abord les notifications manquées.")
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal UserPrincipal principal,
+                             @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        Long userId = principal.getId();
+        // Les manquées sont lues une fois le flux enregistré, pour ne perdre aucune notification créée entre-temps
+        return streamRegistry.open(userId, lastEventId, after -> notificationService.getNotificationsAfter(userId, after));
+    }
+
+    @Operation(summary = "Nombre de notifications non lues (badge)")
+    @GetMapping("/unread-count")
+    public long unreadCount(@AuthenticationPrincipal UserPrincipal principal) {
+        return notificationService.getUnreadCount(principal.getId());
+    }
+
+    @Operation(summary = "Marque une notification comme lue")
+    @PutMapping("/{id}/read")
+    public ResponseEntity<Void> markAsRead(@AuthenticationPrincipal UserPrincipal principal, @PathVariable Long id) {
+        notificationService.markAsRead(id, principal.getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Marque toutes les notifications comme lues",
+               description = "Si upToId est fourni, seules les notifications d'identifiant inférieur ou égal sont marquées. Retourne le nombre de notifications modifiées.")
+    @PutMapping("/read-all")
+    public Map<String, Long> markAllAsRead(@AuthenticationPrincipal UserPrincipal principal, @RequestParam(required = false) Long upToId) {
+        Long userId = principal.getId();
+        int updated = upToId != null
+                ? notificationService.markAsReadUpTo(userId, upToId)
+                : notificationService.markAllAsRead(userId);
+        return Map.of("updated", (long) updated);
+    }
+
+    @Operation(summary = "Supprime plusieurs notifications de l'utilisateur connecté", description = "Retourne le nombre de notifications supprimées.")
+    @DeleteMapping
+    public Map<String, Long> delete(@AuthenticationPrincipal UserPrincipal principal, @RequestBody List<Long> ids) {
+        return Map.of("deleted", notificationService.deleteNotifications(principal.getId(), ids));
+    }
+}
@@ -0,0 +1,57 @@
+package com.hairbook.hairbook_backend.controller;
+
+import com.hairbook.hairbook_backend.dto.payment.PaymentDto;
+import com.hairbook.hairbook_backend.dto.payment.PaymentRequest;
+import com.hairbook.hairbook_backend.exception.IdempotencyException;
+import com.hairbook.hairbook_backend.security.UserPrincipal;
+import com.hairbook.hairbook_backend.service.idempotency.IdempotencyService.IdempotentResult;
+import com.hairbook.hairbook_backend.service.payment.PaymentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Paiements", description = "Paiement des rendez-vous de l'utilisateur connecté")
+@RestController
+@RequestMapping("/api/payments")
+public class PaymentController {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
+    private final PaymentService paymentService;
+
+    public PaymentController(PaymentService paymentService) {
+        this.paymentService = paymentService;
+    }
+
+    @Operation(summary = "Crée un paiement pour un rendez-vous",
+               description = "Avec l'en-tête Idempotency-Key, une nouvelle tentative de la même requête renvoie la réponse d'origine "
+                       + "(en-tête Idempotent-Replayed: true) sans nouveau paiement ni nouveau débit. "
+                       + "Répond 422 si la clé a déjà servi à une requête différente, 409 si la requête d'origine est encore en cours.")
+    @PostMapping
+    public ResponseEntity<PaymentDto> create(@AuthenticationPrincipal UserPrincipal principal,
+                                             @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                             @Valid @RequestBody PaymentRequest request) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(paymentService.createPayment(principal.getId(), request));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IdempotencyException(HttpStatus.BAD_REQUEST,
+                    "L'en-tête " + IDEMPOTENCY_KEY_HEADER + " doit contenir entre 1 et " + MAX_IDEMPOTENCY_KEY_LENGTH + " caractères");
+        }
+
+        IdempotentResult<PaymentDto> result = paymentService.createPayment(principal.getId(), request, idempotencyKey);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+}
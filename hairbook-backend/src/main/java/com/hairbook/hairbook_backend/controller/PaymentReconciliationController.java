@@ -0,0 +1,32 @@
+package com.hairbook.hairbook_backend.controller;
+
+import com.hairbook.hairbook_backend.service.reconciliation.PaymentReconciliationJob;
+import com.hairbook.hairbook_backend.service.reconciliation.ReconciliationSummary;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Rapprochement", description = "Rapprochement des paiements avec les exports de la passerelle (administrateurs)")
+@RestController
+@RequestMapping("/api/admin/payments/reconciliation")
+@PreAuthorize("hasRole('ADMIN')")
+public class PaymentReconciliationController {
+
+    private final PaymentReconciliationJob reconciliationJob;
+
+    public PaymentReconciliationController(PaymentReconciliationJob reconciliationJob) {
+        this.reconciliationJob = reconciliationJob;
+    }
+
+    @Operation(summary = "Rapproche un export CSV de la passerelle avec les paiements",
+               description = "L'export doit être déposé dans app.payment.reconciliation.dir et trié par identifiant de transaction. "
+                       + "Les écarts sont écrits dans <fichier>.mismatches.csv à côté de l'export.")
+    @PostMapping
+    public ReconciliationSummary reconcile(@RequestParam String file) {
+        return reconciliationJob.reconcile(file);
+    }
+}
@@ -0,0 +1,57 @@
+package com.hairbook.hairbook_backend.controller;
+
+import com.hairbook.hairbook_backend.dto.payment.RevenueDto;
+import com.hairbook.hairbook_backend.service.payment.PaymentRevenueBackfillJob;
+import com.hairbook.hairbook_backend.service.payment.PaymentRevenueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Tag(name = "Chiffre d'affaires", description = "Rapports de chiffre d'affaires des paiements (administrateurs)")
+@RestController
+@RequestMapping("/api/admin/payments/revenue")
+@PreAuthorize("hasRole('ADMIN')")
+public class PaymentRevenueController {
+
+    private final PaymentRevenueService revenueService;
+    private final PaymentRevenueBackfillJob backfillJob;
+
+    public PaymentRevenueController(PaymentRevenueService revenueService, PaymentRevenueBackfillJob backfillJob) {
+        this.revenueService = revenueService;
+        this.backfillJob = backfillJob;
+    }
+
+    @Operation(summary = "Chiffre d'affaires encaissé par jour et par devise entre deux dates incluses")
+    @GetMapping("/daily")
+    public List<RevenueDto> daily(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return revenueService.getDailyRevenue(from, to);
+    }
+
+    @Operation(summary = "Chiffre d'affaires encaissé par mois et par méthode de paiement sur les derniers mois")
+    @GetMapping("/monthly-by-method")
+    public List<RevenueDto> monthlyByMethod(@RequestParam(defaultValue = "12") int months) {
+        return revenueService.getMonthlyRevenueByMethod(months);
+    }
+
+    @Operation(summary = "Reconstruit les agrégats journaliers depuis la table des paiements",
+               description = "Sans paramètres, reconstruit tout l'historique. Les bornes sont incluses.")
+    @PostMapping("/backfill")
+    public Map<String, Long> backfill(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        long rows = from == null || to == null
+                ? backfillJob.backfillAll()
+                : backfillJob.backfill(from, to.plusDays(1));
+        return Map.of("rows", rows);
+    }
+}
@@ -0,0 +1,67 @@
+package com.hairbook.hairbook_backend.controller;
+
+import com.hairbook.hairbook_backend.dto.stats.StatisticsResponse;
+import com.hairbook.hairbook_backend.service.statistics.AppointmentStatsRebuildJob;
+import com.hairbook.hairbook_backend.service.statistics.StatisticsCache.CachedStatistics;
+import com.hairbook.hairbook_backend.service.statistics.StatisticsGranularity;
+import com.hairbook.hairbook_backend.service.statistics.StatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Tag(name = "Statistiques", description = "Tableaux de bord des rendez-vous et des clients (administrateurs)")
+@RestController
+@RequestMapping("/api/admin/statistics")
+@PreAuthorize("hasRole('ADMIN')")
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+    private final AppointmentStatsRebuildJob rebuildJob;
+
+    public StatisticsController(StatisticsService statisticsService, AppointmentStatsRebuildJob rebuildJob) {
+        this.statisticsService = statisticsService;
+        this.rebuildJob = rebuildJob;
+    }
+
+    @Operation(summary = "Statistiques des rendez-vous et des clients entre deux dates incluses",
+               description = "Réponse accompagnée d'un ETag fort : un en-tête If-None-Match correspondant reçoit une réponse 304 sans corps. "
+                       + "Le nombre de clients actifs est une estimation HyperLogLog (erreur relative type 1,6 %) ; exactClients=true le calcule exactement pour un audit. "
+                       + "Les nouveaux clients et les clients récurrents sont toujours exacts.")
+    @GetMapping
+    public ResponseEntity<StatisticsResponse> statistics(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                         @RequestParam(defaultValue = "DAY") StatisticsGranularity granularity,
+                                                         @RequestParam(defaultValue = "false") boolean exactClients) {
+        CachedStatistics statistics = statisticsService.getStatistics(from, to, granularity, exactClients);
+        if (statistics.etag() == null) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(statistics.response());
+        }
+        // Spring compare l'ETag à If-None-Match et répond 304 sans sérialiser le corps
+        return ResponseEntity.ok()
+                .eTag(statistics.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(statistics.response());
+    }
+
+    @Operation(summary = "Reconstruit les agrégats de rendez-vous depuis la table des rendez-vous",
+               description = "Sans paramètres, reconstruit tout l'historique. Les bornes sont incluses.")
+    @PostMapping("/rebuild")
+    public Map<String, Long> rebuild(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        long rows = from == null || to == null
+                ? rebuildJob.rebuildAll()
+                : rebuildJob.rebuild(from, to.plusDays(1));
+        return Map.of("rows", rows);
+    }
+}
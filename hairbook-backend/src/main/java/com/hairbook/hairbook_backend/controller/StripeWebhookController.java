@@ -0,0 +1,33 @@
+package com.hairbook.hairbook_backend.controller;
+
+import com.hairbook.hairbook_backend.service.payment.StripeWebhookService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Webhooks", description = "Réception des notifications des prestataires de paiement")
+@RestController
+@RequestMapping("/api/webhooks")
+public class StripeWebhookController {
+
+    private final StripeWebhookService webhookService;
+
+    public StripeWebhookController(StripeWebhookService webhookService) {
+        this.webhookService = webhookService;
+    }
+
+    @Operation(summary = "Webhook Stripe",
+               description = "Vérifie la signature, enregistre l'événement et répond aussitôt 200 ; une relivraison est acquittée sans nouvel enregistrement. "
+                       + "Le statut du paiement est mis à jour de manière asynchrone. Répond 400 si la signature est invalide.")
+    @PostMapping("/stripe")
+    public ResponseEntity<Void> stripe(@RequestHeader(name = "Stripe-Signature", required = false) String signature,
+                                       @RequestBody String payload) {
+        webhookService.receive(payload, signature);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.hairbook.hairbook_backend.dto.notification;
+
+import com.hairbook.hairbook_backend.entity.ERole;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Requête de diffusion d'une notification à tous les utilisateurs d'un rôle")
+public class BroadcastNotificationRequest {
+
+    @Schema(description = "Rôle destinataire", example = "ROLE_MEMBER", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Le rôle destinataire est obligatoire")
+    private ERole role;
+
+    @Schema(description = "Titre de la notification", example = "-20 % sur les colorations", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Le titre est obligatoire")
+    @Size(max = 255, message = "Le titre ne doit pas dépasser 255 caractères")
+    private String title;
+
+    @Schema(description = "Contenu de la notification", example = "Profitez de -20 % sur toutes les colorations jusqu'à dimanche.", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Le message est obligatoire")
+    private String message;
+
+    @Schema(description = "Type de notification", example = "PROMOTION", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Le type est obligatoire")
+    @Size(max = 255, message = "Le type ne doit pas dépasser 255 caractères")
+    private String type;
+
+    @Schema(description = "URL d'action optionnelle", example = "/services")
+    @Size(max = 255, message = "L'URL d'action ne doit pas dépasser 255 caractères")
+    private String actionUrl;
+
+    public BroadcastNotificationRequest() {
+    }
+
+    public BroadcastNotificationRequest(ERole role, String title, String message, String type, String actionUrl) {
+        this.role = role;
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.actionUrl = actionUrl;
+    }
+
+    public ERole getRole() {
+        return role;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getActionUrl() {
+        return actionUrl;
+    }
+
+    public void setRole(ERole role) {
+        this.role = role;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public void setActionUrl(String actionUrl) {
+        this.actionUrl = actionUrl;
+    }
+}
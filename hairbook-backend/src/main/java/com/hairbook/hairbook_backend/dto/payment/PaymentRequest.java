@@ -1,11 +1,17 @@
 package com.hairbook.hairbook_backend.dto.payment;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import com.hairbook.hairbook_backend.util.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Locale;
 
 @Schema(description = "DTO représentant une demande de paiement client pour un rendez-vous")
 public class PaymentRequest {
@@ -17,6 +23,7 @@ public class PaymentRequest {
     @Schema(description = "Montant du paiement", example = "45.50", requiredMode = Schema.RequiredMode.REQUIRED, minimum = "0")
     @NotNull(message = "Le montant est obligatoire")
     @Positive(message = "Le montant doit être positif")
+    @Digits(integer = 15, fraction = 2, message = "Le montant doit avoir au plus quinze chiffres et deux décimales")
     private BigDecimal amount;
 
     @Schema(description = "Méthode de paiement choisie", example = "CARD", requiredMode = Schema.RequiredMode.REQUIRED)
@@ -37,6 +44,34 @@ public class PaymentRequest {
 
     public PaymentRequest() {}
 
+    // Contrôles croisés montant / devise : Money.of échouerait sinon au moment de créer le paiement
+
+    @Schema(hidden = true)
+    @JsonIgnore
+    @AssertTrue(message = "Devise inconnue (code ISO 4217 attendu)")
+    public boolean isCurrencySupported() {
+        return currency == null || knownCurrency(currency);
+    }
+
+    @Schema(hidden = true)
+    @JsonIgnore
+    @AssertTrue(message = "Le montant a plus de décimales que la devise n'en autorise")
+    public boolean isAmountPreciseForCurrency() {
+        if (amount == null || currency == null || !knownCurrency(currency)) {
+            return true;
+        }
+        return amount.stripTrailingZeros().scale() <= Money.fractionDigits(currency);
+    }
+
+    private static boolean knownCurrency(String code) {
+        try {
+            Currency.getInstance(code.toUpperCase(Locale.ROOT));
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
     public PaymentRequest(Long appointmentId, BigDecimal amount, PaymentMethod method,
                           String currency, String notes, String cardToken, String paypalOrderId) {
         this.appointmentId = appointmentId;
@@ -0,0 +1,58 @@
+package com.hairbook.hairbook_backend.dto.payment;
+
+import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "DTO représentant le chiffre d'affaires d'une période (jour ou mois), éventuellement ventilé par méthode de paiement")
+public class RevenueDto {
+
+    @Schema(description = "Premier jour de la période (le jour lui-même ou le premier jour du mois)", example = "2024-01-01", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDate period;
+
+    @Schema(description = "Méthode de paiement - Absente lorsque le rapport n'est pas ventilé par méthode", example = "CREDIT_CARD", accessMode = Schema.AccessMode.READ_ONLY)
+    private PaymentMethod method;
+
+    @Schema(description = "Devise des montants", example = "EUR", accessMode = Schema.AccessMode.READ_ONLY)
+    private String currency;
+
+    @Schema(description = "Montant encaissé sur la période", example = "1250.50", accessMode = Schema.AccessMode.READ_ONLY)
+    private BigDecimal amount;
+
+    @Schema(description = "Nombre de paiements encaissés sur la période", example = "27", accessMode = Schema.AccessMode.READ_ONLY)
+    private long paymentCount;
+
+    public RevenueDto() {}
+
+    public RevenueDto(LocalDate period, PaymentMethod method, String currency, BigDecimal amount, long paymentCount) {
+        this.period = period;
+        this.method = method;
+        this.currency = currency;
+        this.amount = amount;
+        this.paymentCount = paymentCount;
+    }
+
+    // --- Getters ---
+
+    public LocalDate getPeriod() {
+        return period;
+    }
+
+    public PaymentMethod getMethod() {
+        return method;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hairbook.hairbook_backend.dto.stats;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+@Schema(description = "Nombre de rendez-vous par jour ou par période - Tableaux parallèles (jour epoch, nombre), sérialisés en [{\"date\": \"2024-01-15\", \"count\": 12}, ...]",
+        type = "array", example = "[{\"date\": \"2024-01-15\", \"count\": 12}]")
+@JsonSerialize(using = DailyCountSeries.Writer.class)
+public final class DailyCountSeries {
+
+    public static final DailyCountSeries EMPTY = new DailyCountSeries(new int[0], new long[0]);
+
+    private final int[] epochDays;
+    private final long[] counts;
+
+    public DailyCountSeries(int[] epochDays, long[] counts) {
+        if (epochDays.length != counts.length) {
+            throw new IllegalArgumentException("Tableaux de longueurs différentes : " + epochDays.length + " jours, " + counts.length + " nombres");
+        }
+        this.epochDays = epochDays;
+        this.counts = counts;
+    }
+
+    public int size() {
+        return counts.length;
+    }
+
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(epochDays[index]);
+    }
+
+    public long count(int index) {
+        return counts[index];
+    }
+
+    // Écriture directe dans le générateur : ni Map intermédiaire, ni introspection, ni String par date
+    static final class Writer extends StdSerializer<DailyCountSeries> {
+
+        private static final SerializedString DATE = new SerializedString("date");
+        private static final SerializedString COUNT = new SerializedString("count");
+
+        Writer() {
+            super(DailyCountSeries.class);
+        }
+
+        @Override
+        public void serialize(DailyCountSeries series, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] date = new char[10];
+            generator.writeStartArray(series, series.size());
+            for (int i = 0; i < series.size(); i++) {
+                generator.writeStartObject();
+                generator.writeFieldName(DATE);
+                LocalDate day = series.date(i);
+                if (day.getYear() >= 0 && day.getYear() <= 9999) {
+                    formatIsoDate(day, date);
+                    generator.writeString(date, 0, date.length);
+                } else {
+                    generator.writeString(day.toString());
+                }
+                generator.writeFieldName(COUNT);
+                generator.writeNumber(series.counts[i]);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+
+        // yyyy-MM-dd, identique à LocalDate.toString pour les années à quatre chiffres
+        private static void formatIsoDate(LocalDate day, char[] out) {
+            int year = day.getYear();
+            out[0] = (char) ('0' + year / 1000);
+            out[1] = (char) ('0' + year / 100 % 10);
+            out[2] = (char) ('0' + year / 10 % 10);
+            out[3] = (char) ('0' + year % 10);
+            out[4] = '-';
+            out[5] = (char) ('0' + day.getMonthValue() / 10);
+            out[6] = (char) ('0' + day.getMonthValue() % 10);
+            out[7] = '-';
+            out[8] = (char) ('0' + day.getDayOfMonth() / 10);
+            out[9] = (char) ('0' + day.getDayOfMonth() % 10);
+        }
+    }
+}
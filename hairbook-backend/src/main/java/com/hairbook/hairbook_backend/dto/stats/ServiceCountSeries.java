@@ -0,0 +1,75 @@
+package com.hairbook.hairbook_backend.dto.stats;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+
+@Schema(description = "Nombre de rendez-vous par service - Tableaux parallèles (identifiant, nom, nombre), sérialisés en [{\"serviceName\": \"Coupe homme\", \"count\": 42, \"serviceId\": 3}, ...]",
+        type = "array", example = "[{\"serviceName\": \"Coupe homme\", \"count\": 42, \"serviceId\": 3}]")
+@JsonSerialize(using = ServiceCountSeries.Writer.class)
+public final class ServiceCountSeries {
+
+    public static final ServiceCountSeries EMPTY = new ServiceCountSeries(new long[0], new String[0], new long[0]);
+
+    private final long[] serviceIds;
+    private final String[] serviceNames;
+    private final long[] counts;
+
+    public ServiceCountSeries(long[] serviceIds, String[] serviceNames, long[] counts) {
+        if (serviceIds.length != counts.length || serviceNames.length != counts.length) {
+            throw new IllegalArgumentException("Tableaux de longueurs différentes : " + serviceIds.length + " services, "
+                    + serviceNames.length + " noms, " + counts.length + " nombres");
+        }
+        this.serviceIds = serviceIds;
+        this.serviceNames = serviceNames;
+        this.counts = counts;
+    }
+
+    public int size() {
+        return counts.length;
+    }
+
+    public long serviceId(int index) {
+        return serviceIds[index];
+    }
+
+    public String serviceName(int index) {
+        return serviceNames[index];
+    }
+
+    public long count(int index) {
+        return counts[index];
+    }
+
+    static final class Writer extends StdSerializer<ServiceCountSeries> {
+
+        private static final SerializedString SERVICE_NAME = new SerializedString("serviceName");
+        private static final SerializedString COUNT = new SerializedString("count");
+        private static final SerializedString SERVICE_ID = new SerializedString("serviceId");
+
+        Writer() {
+            super(ServiceCountSeries.class);
+        }
+
+        @Override
+        public void serialize(ServiceCountSeries series, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartArray(series, series.size());
+            for (int i = 0; i < series.size(); i++) {
+                generator.writeStartObject();
+                generator.writeFieldName(SERVICE_NAME);
+                generator.writeString(series.serviceNames[i]);
+                generator.writeFieldName(COUNT);
+                generator.writeNumber(series.counts[i]);
+                generator.writeFieldName(SERVICE_ID);
+                generator.writeNumber(series.serviceIds[i]);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
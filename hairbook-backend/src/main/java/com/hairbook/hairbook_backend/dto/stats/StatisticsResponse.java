@@ -1,8 +1,8 @@
 package com.hairbook.hairbook_backend.dto.stats;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
-import java.util.Map;
 
 @Schema(description = "DTO représentant un ensemble de statistiques liées aux rendez-vous et aux clients")
 public class StatisticsResponse {
@@ -22,14 +22,14 @@ public class StatisticsResponse {
     @Schema(description = "Taux de complétion des rendez-vous (en %)", example = "80.0", accessMode = Schema.AccessMode.READ_ONLY)
     private double completionRate;
 
-    @Schema(description = "Nombre de rendez-vous regroupés par jour", accessMode = Schema.AccessMode.READ_ONLY)
-    private List<Map<String, Object>> appointmentsByDay;
+    @Schema(description = "Nombre de rendez-vous regroupés par jour, semaine ou mois selon la granularité demandée", accessMode = Schema.AccessMode.READ_ONLY)
+    private DailyCountSeries appointmentsByDay;
 
     @Schema(description = "Nombre de rendez-vous regroupés par service", accessMode = Schema.AccessMode.READ_ONLY)
-    private List<Map<String, Object>> appointmentsByService;
+    private ServiceCountSeries appointmentsByService;
 
     @Schema(description = "Nombre de rendez-vous regroupés par créneau horaire", accessMode = Schema.AccessMode.READ_ONLY)
-    private List<Map<String, Object>> appointmentsByTimeSlot;
+    private TimeSlotCountSeries appointmentsByTimeSlot;
 
     @Schema(description = "Nombre total de clients", example = "75", accessMode = Schema.AccessMode.READ_ONLY)
     private long totalClients;
@@ -43,6 +43,13 @@ public class StatisticsResponse {
     @Schema(description = "Nombre de clients récurrents", example = "35", accessMode = Schema.AccessMode.READ_ONLY)
     private long returningClients;
 
+    @Schema(description = "Vrai si activeClients est estimé par sketches HyperLogLog - Erreur relative type 1,6 % (moins de 3,3 % dans 95 % des cas) ; returningClients et newClientsThisMonth sont toujours exacts", example = "true", accessMode = Schema.AccessMode.READ_ONLY)
+    private boolean approximateClientCounts;
+
+    @Schema(description = "Sections non calculées dans le délai imparti ou en échec - Leurs valeurs sont nulles ou vides ; absent lorsque la réponse est complète", example = "[\"returningClients\"]", accessMode = Schema.AccessMode.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> unavailableSections = List.of();
+
     public StatisticsResponse() {
     }
 
@@ -51,9 +58,9 @@ public class StatisticsResponse {
                               long cancelledAppointments,
                               long noShowAppointments,
                               double completionRate,
-                              List<Map<String, Object>> appointmentsByDay,
-                              List<Map<String, Object>> appointmentsByService,
-                              List<Map<String, Object>> appointmentsByTimeSlot,
+                              DailyCountSeries appointmentsByDay,
+                              ServiceCountSeries appointmentsByService,
+                              TimeSlotCountSeries appointmentsByTimeSlot,
                               long totalClients,
                               long activeClients,
                               long newClientsThisMonth,
@@ -112,27 +119,27 @@ public class StatisticsResponse {
         this.completionRate = completionRate;
     }
 
-    public List<Map<String, Object>> getAppointmentsByDay() {
+    public DailyCountSeries getAppointmentsByDay() {
         return appointmentsByDay;
     }
 
-    public void setAppointmentsByDay(List<Map<String, Object>> appointmentsByDay) {
+    public void setAppointmentsByDay(DailyCountSeries appointmentsByDay) {
         this.appointmentsByDay = appointmentsByDay;
     }
 
-    public List<Map<String, Object>> getAppointmentsByService() {
+    public ServiceCountSeries getAppointmentsByService() {
         return appointmentsByService;
     }
 
-    public void setAppointmentsByService(List<Map<String, Object>> appointmentsByService) {
+    public void setAppointmentsByService(ServiceCountSeries appointmentsByService) {
         this.appointmentsByService = appointmentsByService;
     }
 
-    public List<Map<String, Object>> getAppointmentsByTimeSlot() {
+    public TimeSlotCountSeries getAppointmentsByTimeSlot() {
         return appointmentsByTimeSlot;
     }
 
-    public void setAppointmentsByTimeSlot(List<Map<String, Object>> appointmentsByTimeSlot) {
+    public void setAppointmentsByTimeSlot(TimeSlotCountSeries appointmentsByTimeSlot) {
         this.appointmentsByTimeSlot = appointmentsByTimeSlot;
     }
 
@@ -167,4 +174,20 @@ public class StatisticsResponse {
     public void setReturningClients(long returningClients) {
         this.returningClients = returningClients;
     }
+
+    public boolean isApproximateClientCounts() {
+        return approximateClientCounts;
+    }
+
+    public void setApproximateClientCounts(boolean approximateClientCounts) {
+        this.approximateClientCounts = approximateClientCounts;
+    }
+
+    public List<String> getUnavailableSections() {
+        return unavailableSections;
+    }
+
+    public void setUnavailableSections(List<String> unavailableSections) {
+        this.unavailableSections = unavailableSections;
+    }
 }
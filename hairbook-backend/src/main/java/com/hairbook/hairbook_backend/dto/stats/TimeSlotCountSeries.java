@@ -0,0 +1,69 @@
+package com.hairbook.hairbook_backend.dto.stats;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+
+@Schema(description = "Nombre de rendez-vous par créneau horaire de début - Tableaux parallèles (heure, nombre), sérialisés en [{\"timeSlot\": \"09:00\", \"count\": 18}, ...]",
+        type = "array", example = "[{\"timeSlot\": \"09:00\", \"count\": 18}]")
+@JsonSerialize(using = TimeSlotCountSeries.Writer.class)
+public final class TimeSlotCountSeries {
+
+    public static final TimeSlotCountSeries EMPTY = new TimeSlotCountSeries(new byte[0], new long[0]);
+
+    private final byte[] hours;
+    private final long[] counts;
+
+    public TimeSlotCountSeries(byte[] hours, long[] counts) {
+        if (hours.length != counts.length) {
+            throw new IllegalArgumentException("Tableaux de longueurs différentes : " + hours.length + " heures, " + counts.length + " nombres");
+        }
+        this.hours = hours;
+        this.counts = counts;
+    }
+
+    public int size() {
+        return counts.length;
+    }
+
+    public int hour(int index) {
+        return hours[index];
+    }
+
+    public long count(int index) {
+        return counts[index];
+    }
+
+    static final class Writer extends StdSerializer<TimeSlotCountSeries> {
+
+        private static final SerializedString TIME_SLOT = new SerializedString("timeSlot");
+        private static final SerializedString COUNT = new SerializedString("count");
+
+        Writer() {
+            super(TimeSlotCountSeries.class);
+        }
+
+        @Override
+        public void serialize(TimeSlotCountSeries series, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] slot = {'0', '0', ':', '0', '0'};
+            generator.writeStartArray(series, series.size());
+            for (int i = 0; i < series.size(); i++) {
+                int hour = series.hours[i];
+                slot[0] = (char) ('0' + hour / 10);
+                slot[1] = (char) ('0' + hour % 10);
+                generator.writeStartObject();
+                generator.writeFieldName(TIME_SLOT);
+                generator.writeString(slot, 0, slot.length);
+                generator.writeFieldName(COUNT);
+                generator.writeNumber(series.counts[i]);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
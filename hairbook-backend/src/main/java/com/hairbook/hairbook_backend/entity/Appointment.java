@@ -7,7 +7,11 @@ import java.time.LocalDateTime;
 
 @Schema(description = "Représente un rendez-vous pris par un utilisateur pour un service dans l'application Hairbook")
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments",
+       indexes = {
+               @Index(name = "idx_appointments_start_time", columnList = "start_time"),
+               @Index(name = "idx_appointments_user_start_time", columnList = "user_id, start_time")
+       })
 public class Appointment {
 
     @Schema(description = "Identifiant unique du rendez-vous", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
@@ -0,0 +1,85 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Schema(description = "Sketch HyperLogLog des clients ayant un rendez-vous honoré ou prévu sur un jour ou un mois - Les sketches se fusionnent sur n'importe quelle période pour estimer les clients distincts sans lire la table appointments")
+@Entity
+@Table(name = "appointment_client_sketches",
+       indexes = @Index(name = "idx_appointment_client_sketches_stale", columnList = "stale"))
+public class AppointmentClientSketch {
+
+    @Schema(description = "Clé du sketch : premier jour de la période et type de période")
+    @EmbeddedId
+    private Key key;
+
+    @Schema(description = "Registres HyperLogLog, un octet par registre", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] registers;
+
+    @Schema(description = "Vrai si un client a pu quitter la période (annulation, déplacement) : le sketch surestime jusqu'à son recalcul", example = "false", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(nullable = false)
+    private boolean stale;
+
+    @Schema(description = "Type de période couverte par un sketch")
+    public enum Period {
+        @Schema(description = "Un jour")
+        DAY,
+        @Schema(description = "Un mois calendaire, identifié par son premier jour")
+        MONTH
+    }
+
+    // ----- Clé composite -----
+
+    @Schema(description = "Clé composite d'un sketch de clients")
+    @Embeddable
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Column(name = "period_start", nullable = false)
+        private LocalDate periodStart;
+
+        @Column(nullable = false, length = 10)
+        @Enumerated(EnumType.STRING)
+        private Period period;
+
+        public Key() {}
+
+        public Key(LocalDate periodStart, Period period) {
+            this.periodStart = periodStart;
+            this.period = period;
+        }
+
+        public LocalDate getPeriodStart() { return periodStart; }
+
+        public Period getPeriod() { return period; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(periodStart, other.periodStart) && period == other.period;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(periodStart, period);
+        }
+    }
+
+    // ----- Constructeurs -----
+
+    public AppointmentClientSketch() {}
+
+    // ----- Getters -----
+
+    public Key getKey() { return key; }
+
+    public byte[] getRegisters() { return registers; }
+
+    public boolean isStale() { return stale; }
+}
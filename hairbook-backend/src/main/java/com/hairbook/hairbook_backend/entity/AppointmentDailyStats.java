@@ -0,0 +1,76 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Schema(description = "Agrégat journalier des rendez-vous par service et statut - Maintenu de façon incrémentale à chaque création, déplacement ou changement de statut pour que les tableaux de bord ne lisent jamais la table appointments")
+@Entity
+@Table(name = "appointment_daily_stats")
+public class AppointmentDailyStats {
+
+    @Schema(description = "Clé de l'agrégat : jour de début des rendez-vous, service et statut")
+    @EmbeddedId
+    private Key key;
+
+    @Schema(description = "Nombre de rendez-vous du groupe", example = "12", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "appointment_count", nullable = false)
+    private long appointmentCount;
+
+    // ----- Clé composite -----
+
+    @Schema(description = "Clé composite d'un agrégat journalier")
+    @Embeddable
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Column(nullable = false)
+        private LocalDate day;
+
+        @Column(name = "service_id", nullable = false)
+        private Long serviceId;
+
+        @Column(nullable = false, length = 20)
+        @Enumerated(EnumType.STRING)
+        private AppointmentStatus status;
+
+        public Key() {}
+
+        public Key(LocalDate day, Long serviceId, AppointmentStatus status) {
+            this.day = day;
+            this.serviceId = serviceId;
+            this.status = status;
+        }
+
+        public LocalDate getDay() { return day; }
+
+        public Long getServiceId() { return serviceId; }
+
+        public AppointmentStatus getStatus() { return status; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(day, other.day) && Objects.equals(serviceId, other.serviceId) && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, serviceId, status);
+        }
+    }
+
+    // ----- Constructeurs -----
+
+    public AppointmentDailyStats() {}
+
+    // ----- Getters -----
+
+    public Key getKey() { return key; }
+
+    public long getAppointmentCount() { return appointmentCount; }
+}
@@ -0,0 +1,84 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Schema(description = "Agrégat horaire des rendez-vous par service et statut - Alimente la répartition par créneau horaire ; maintenu dans la même instruction que l'agrégat journalier")
+@Entity
+@Table(name = "appointment_hourly_stats")
+public class AppointmentHourlyStats {
+
+    @Schema(description = "Clé de l'agrégat : jour et heure de début des rendez-vous, service et statut")
+    @EmbeddedId
+    private Key key;
+
+    @Schema(description = "Nombre de rendez-vous du groupe", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "appointment_count", nullable = false)
+    private long appointmentCount;
+
+    // ----- Clé composite -----
+
+    @Schema(description = "Clé composite d'un agrégat horaire")
+    @Embeddable
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Column(nullable = false)
+        private LocalDate day;
+
+        @Schema(description = "Heure de début (0 à 23)", example = "14")
+        @Column(name = "start_hour", nullable = false)
+        private short hour;
+
+        @Column(name = "service_id", nullable = false)
+        private Long serviceId;
+
+        @Column(nullable = false, length = 20)
+        @Enumerated(EnumType.STRING)
+        private AppointmentStatus status;
+
+        public Key() {}
+
+        public Key(LocalDate day, short hour, Long serviceId, AppointmentStatus status) {
+            this.day = day;
+            this.hour = hour;
+            this.serviceId = serviceId;
+            this.status = status;
+        }
+
+        public LocalDate getDay() { return day; }
+
+        public short getHour() { return hour; }
+
+        public Long getServiceId() { return serviceId; }
+
+        public AppointmentStatus getStatus() { return status; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return hour == other.hour && Objects.equals(day, other.day) && Objects.equals(serviceId, other.serviceId)
+                    && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, hour, serviceId, status);
+        }
+    }
+
+    // ----- Constructeurs -----
+
+    public AppointmentHourlyStats() {}
+
+    // ----- Getters -----
+
+    public Key getKey() { return key; }
+
+    public long getAppointmentCount() { return appointmentCount; }
+}
@@ -0,0 +1,29 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+@Schema(description = "Compteur de modifications des agrégats et des sketches de clients d'un jour - Incrémenté dans la transaction de chaque écriture : la somme des compteurs avant une date change à tout commit, quel que soit l'ordre des transactions, et sert au calcul des ETag des statistiques")
+@Entity
+@Table(name = "appointment_stats_versions")
+public class AppointmentStatsVersion {
+
+    @Schema(description = "Jour concerné - Premier jour de la période pour un sketch mensuel, premier jour de la tranche pour une reconstruction", example = "2024-01-15", accessMode = Schema.AccessMode.READ_ONLY)
+    @Id
+    private LocalDate day;
+
+    @Schema(description = "Nombre d'écritures validées sur le jour", example = "42", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(nullable = false)
+    private long changes;
+
+    // ----- Constructeurs -----
+
+    public AppointmentStatsVersion() {}
+
+    // ----- Getters -----
+
+    public LocalDate getDay() { return day; }
+
+    public long getChanges() { return changes; }
+}
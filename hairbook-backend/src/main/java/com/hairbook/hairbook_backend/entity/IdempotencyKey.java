@@ -0,0 +1,90 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Schema(description = "Clé d'idempotence fournie par un client - Associe l'empreinte de la requête d'origine à la réponse rendue pour rejouer cette réponse lors des nouvelles tentatives")
+@Entity
+@Table(name = "idempotency_keys",
+       uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_scope_user_key",
+                                             columnNames = {"scope", "user_id", "idempotency_key"}),
+       indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyKey {
+
+    @Schema(description = "Identifiant unique de l'enregistrement", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Schema(description = "Opération protégée par la clé", example = "payment.create")
+    @Column(nullable = false, length = 50)
+    private String scope;
+
+    @Schema(description = "Utilisateur ayant envoyé la requête", example = "1")
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Schema(description = "Clé d'idempotence choisie par le client", example = "3f1c2a9e-6b0d-4c51-9a57-0e8f1b2c3d4e")
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Schema(description = "Empreinte SHA-256 (hexadécimale) du corps de la requête d'origine")
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Schema(description = "État du traitement associé à la clé", example = "COMPLETED")
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Schema(description = "Réponse sérialisée en JSON, renseignée une fois le traitement terminé")
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Schema(description = "Fin du bail du nœud qui traite la requête - Passé ce délai, un autre nœud peut reprendre la clé")
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Schema(description = "Date de première utilisation de la clé", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Schema(description = "Date au-delà de laquelle la clé est oubliée et peut être réutilisée")
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // ----- Enums internes -----
+
+    @Schema(description = "États d'une clé d'idempotence")
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    // ----- Constructeurs -----
+
+    public IdempotencyKey() {}
+
+    // ----- Getters & Setters -----
+
+    public Long getId() { return id; }
+
+    public String getScope() { return scope; }
+
+    public Long getUserId() { return userId; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+
+    public String getRequestHash() { return requestHash; }
+
+    public Status getStatus() { return status; }
+
+    public String getResponseBody() { return responseBody; }
+
+    public Instant getLockedUntil() { return lockedUntil; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+}
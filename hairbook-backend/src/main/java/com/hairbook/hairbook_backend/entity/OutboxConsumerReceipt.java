@@ -0,0 +1,47 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Schema(description = "Accusé de traitement d'un événement de l'outbox par un consommateur - Garantit qu'un consommateur n'applique qu'une fois un événement relivré")
+@Entity
+@Table(name = "outbox_consumer_receipts",
+       uniqueConstraints = @UniqueConstraint(name = "uk_outbox_receipts_consumer_event", columnNames = {"consumer", "event_id"}))
+public class OutboxConsumerReceipt {
+
+    @Schema(description = "Identifiant unique de l'accusé", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Schema(description = "Nom du consommateur", example = "appointment-notifications")
+    @Column(nullable = false, length = 100)
+    private String consumer;
+
+    @Schema(description = "Identifiant de l'événement traité", example = "1")
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Schema(description = "Date de traitement", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    // ----- Getters & Setters -----
+
+    public Long getId() { return id; }
+
+    public void setId(Long id) { this.id = id; }
+
+    public String getConsumer() { return consumer; }
+
+    public void setConsumer(String consumer) { this.consumer = consumer; }
+
+    public Long getEventId() { return eventId; }
+
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
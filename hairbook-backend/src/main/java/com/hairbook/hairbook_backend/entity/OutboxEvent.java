@@ -0,0 +1,135 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Schema(description = "Événement métier écrit dans la même transaction que la modification d'un rendez-vous ou d'un paiement (outbox transactionnelle) - Relayé ensuite vers les traitements en aval")
+@Entity
+@Table(name = "outbox_events",
+       indexes = {
+           @Index(name = "idx_outbox_events_pending", columnList = "processed_at, id"),
+           @Index(name = "idx_outbox_events_aggregate", columnList = "aggregate_type, aggregate_id, id")
+       })
+public class OutboxEvent {
+
+    @Schema(description = "Identifiant unique de l'événement - Croissant, il fixe l'ordre de relais", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Schema(description = "Type d'agrégat concerné", example = "APPOINTMENT")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false, length = 30)
+    private AggregateType aggregateType;
+
+    @Schema(description = "Identifiant de l'agrégat concerné", example = "42")
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Schema(description = "Type d'événement", example = "APPOINTMENT_CREATED")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private EventType eventType;
+
+    @Schema(description = "Contenu de l'événement sérialisé en JSON")
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Schema(description = "Date de création de l'événement", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Date à laquelle l'événement a été relayé à tous ses traitements - Nulle tant qu'il est en attente")
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Schema(description = "Nombre de tentatives de relais en échec", example = "0")
+    @Column(nullable = false)
+    private int attempts;
+
+    @Schema(description = "Date avant laquelle l'événement n'est pas retenté après un échec - Nulle tant qu'aucun échec n'est survenu")
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Schema(description = "Dernière erreur rencontrée lors du relais")
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // ----- Enums internes -----
+
+    @Schema(description = "Types d'agrégats émettant des événements")
+    public enum AggregateType {
+        APPOINTMENT,
+        PAYMENT,
+        NOTIFICATION
+    }
+
+    @Schema(description = "Types d'événements métier")
+    public enum EventType {
+        APPOINTMENT_CREATED,
+        APPOINTMENT_RESCHEDULED,
+        APPOINTMENT_STATUS_CHANGED,
+        PAYMENT_CREATED,
+        PAYMENT_STATUS_CHANGED,
+        NOTIFICATION_CREATED
+    }
+
+    // ----- Constructeurs -----
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(AggregateType aggregateType, Long aggregateId, EventType eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+
+    // ----- Getters & Setters -----
+
+    public Long getId() { return id; }
+
+    public void setId(Long id) { this.id = id; }
+
+    public AggregateType getAggregateType() { return aggregateType; }
+
+    public void setAggregateType(AggregateType aggregateType) { this.aggregateType = aggregateType; }
+
+    public Long getAggregateId() { return aggregateId; }
+
+    public void setAggregateId(Long aggregateId) { this.aggregateId = aggregateId; }
+
+    public EventType getEventType() { return eventType; }
+
+    public void setEventType(EventType eventType) { this.eventType = eventType; }
+
+    public String getPayload() { return payload; }
+
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+
+    public int getAttempts() { return attempts; }
+
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
@@ -1,5 +1,6 @@
 package com.hairbook.hairbook_backend.entity;
 
+import com.hairbook.hairbook_backend.util.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
@@ -100,6 +101,14 @@ public class Payment {
 
     public void setAmount(BigDecimal amount) { this.amount = amount; }
 
+    // Conversion exacte entre la colonne NUMERIC et les unités mineures de la devise du paiement
+    public Money getMoney() { return Money.of(amount, currency); }
+
+    public void setMoney(Money money) {
+        this.amount = money.toBigDecimal();
+        this.currency = money.currency();
+    }
+
     public PaymentStatus getStatus() { return status; }
 
     public void setStatus(PaymentStatus status) { this.status = status; }
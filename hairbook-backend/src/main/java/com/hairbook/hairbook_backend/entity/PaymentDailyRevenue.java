@@ -0,0 +1,93 @@
+package com.hairbook.hairbook_backend.entity;
+
+import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Schema(description = "Agrégat journalier des paiements par devise, méthode et statut - Maintenu de façon incrémentale à chaque création ou changement de statut pour que les rapports de chiffre d'affaires ne lisent jamais la table payments")
+@Entity
+@Table(name = "payment_daily_revenue")
+public class PaymentDailyRevenue {
+
+    @Schema(description = "Clé de l'agrégat : jour de création des paiements, devise, méthode et statut")
+    @EmbeddedId
+    private Key key;
+
+    @Schema(description = "Somme des montants des paiements du groupe", example = "1250.50", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Schema(description = "Nombre de paiements du groupe", example = "27", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+
+    // ----- Clé composite -----
+
+    @Schema(description = "Clé composite d'un agrégat journalier")
+    @Embeddable
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Column(nullable = false)
+        private LocalDate day;
+
+        @Column(nullable = false, length = 3)
+        private String currency;
+
+        @Column(nullable = false, length = 20)
+        @Enumerated(EnumType.STRING)
+        private PaymentMethod method;
+
+        @Column(nullable = false, length = 20)
+        @Enumerated(EnumType.STRING)
+        private PaymentStatus status;
+
+        public Key() {}
+
+        public Key(LocalDate day, String currency, PaymentMethod method, PaymentStatus status) {
+            this.day = day;
+            this.currency = currency;
+            this.method = method;
+            this.status = status;
+        }
+
+        public LocalDate getDay() { return day; }
+
+        public String getCurrency() { return currency; }
+
+        public PaymentMethod getMethod() { return method; }
+
+        public PaymentStatus getStatus() { return status; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(day, other.day) && Objects.equals(currency, other.currency)
+                    && method == other.method && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, currency, method, status);
+        }
+    }
+
+    // ----- Constructeurs -----
+
+    public PaymentDailyRevenue() {}
+
+    // ----- Getters -----
+
+    public Key getKey() { return key; }
+
+    public BigDecimal getAmount() { return amount; }
+
+    public long getPaymentCount() { return paymentCount; }
+}
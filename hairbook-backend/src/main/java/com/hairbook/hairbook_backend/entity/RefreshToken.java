@@ -8,6 +8,8 @@ import java.time.Instant;
 @Entity
 @Table(name = "refresh_tokens", uniqueConstraints = {
     // Suppression de la contrainte d'unicité sur user_id
+    // Une seule ligne par appareil : cible de l'upsert de rotation (ON CONFLICT)
+    @UniqueConstraint(name = "uk_refresh_tokens_device", columnNames = {"user_id", "user_agent", "ip_address"})
 })
 public class RefreshToken {
 
@@ -16,9 +18,9 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Schema(description = "Valeur textuelle du jeton unique", example = "eyJhbGciOiJIUzI1NiJ9...", requiredMode = Schema.RequiredMode.REQUIRED)
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Schema(description = "Empreinte SHA-256 (hexadécimale) du jeton - La valeur brute n'est jamais stockée", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", requiredMode = Schema.RequiredMode.REQUIRED, accessMode = Schema.AccessMode.WRITE_ONLY)
+    @Column(name = "token", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @Schema(description = "Utilisateur associé à ce jeton")
     @ManyToOne
@@ -67,10 +69,10 @@ public class RefreshToken {
 
     public RefreshToken() {}
 
-    public RefreshToken(Long id, String token, User user, Instant expiryDate, String userAgent,
+    public RefreshToken(Long id, String tokenHash, User user, Instant expiryDate, String userAgent,
                         String ipAddress, Boolean revoked, Instant createdAt, Instant updatedAt) {
         this.id = id;
-        this.token = token;
+        this.tokenHash = tokenHash;
         this.user = user;
         this.expiryDate = expiryDate;
         this.userAgent = userAgent;
@@ -86,9 +88,9 @@ public class RefreshToken {
 
     public void setId(Long id) { this.id = id; }
 
-    public String getToken() { return token; }
+    public String getTokenHash() { return tokenHash; }
 
-    public void setToken(String token) { this.token = token; }
+    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
 
     public User getUser() { return user; }
 
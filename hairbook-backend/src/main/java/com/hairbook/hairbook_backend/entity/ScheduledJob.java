@@ -0,0 +1,133 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Schema(description = "Tâche différée persistée (ex. rappel de rendez-vous) - Réclamée par lots par les nœuds de l'application avec SELECT ... FOR UPDATE SKIP LOCKED")
+@Entity
+@Table(name = "scheduled_jobs",
+       uniqueConstraints = @UniqueConstraint(name = "uk_scheduled_jobs_type_appointment", columnNames = {"job_type", "appointment_id"}),
+       indexes = @Index(name = "idx_scheduled_jobs_status_due", columnList = "status, due_at"))
+public class ScheduledJob {
+
+    @Schema(description = "Identifiant unique de la tâche", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Schema(description = "Type de tâche", example = "APPOINTMENT_REMINDER")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 40)
+    private JobType jobType;
+
+    @Schema(description = "Identifiant du rendez-vous concerné", example = "42")
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+
+    @Schema(description = "Date et heure à partir de laquelle la tâche doit être exécutée", example = "2024-01-14T10:00:00")
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Schema(description = "État de la tâche", example = "PENDING")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status = JobStatus.PENDING;
+
+    @Schema(description = "Nombre de tentatives d'exécution", example = "0")
+    @Column(nullable = false)
+    private int attempts;
+
+    @Schema(description = "Identifiant du nœud ayant réclamé la tâche", example = "hairbook-1:3f2a")
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Schema(description = "Fin du bail du nœud sur la tâche - Passé ce délai, un autre nœud peut la reprendre")
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Schema(description = "Dernière erreur rencontrée lors de l'exécution")
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Schema(description = "Date de création de la tâche", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Date de dernière mise à jour de la tâche", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // ----- Enums internes -----
+
+    @Schema(description = "Types de tâches différées")
+    public enum JobType {
+        APPOINTMENT_REMINDER
+    }
+
+    @Schema(description = "États possibles d'une tâche différée")
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        DONE,
+        FAILED,
+        CANCELLED
+    }
+
+    // ----- Getters & Setters -----
+
+    public Long getId() { return id; }
+
+    public void setId(Long id) { this.id = id; }
+
+    public JobType getJobType() { return jobType; }
+
+    public void setJobType(JobType jobType) { this.jobType = jobType; }
+
+    public Long getAppointmentId() { return appointmentId; }
+
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+
+    public LocalDateTime getDueAt() { return dueAt; }
+
+    public void setDueAt(LocalDateTime dueAt) { this.dueAt = dueAt; }
+
+    public JobStatus getStatus() { return status; }
+
+    public void setStatus(JobStatus status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getLockedBy() { return lockedBy; }
+
+    public void setLockedBy(String lockedBy) { this.lockedBy = lockedBy; }
+
+    public LocalDateTime getLockedUntil() { return lockedUntil; }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) { this.lockedUntil = lockedUntil; }
+
+    public String getLastError() { return lastError; }
+
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
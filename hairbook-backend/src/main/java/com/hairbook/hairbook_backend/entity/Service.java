@@ -1,5 +1,6 @@
 package com.hairbook.hairbook_backend.entity;
 
+import com.hairbook.hairbook_backend.util.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -13,6 +14,9 @@ import java.math.BigDecimal;
 @Table(name = "services")
 public class Service {
 
+    @Schema(description = "Devise des prix du catalogue")
+    public static final String CURRENCY = "EUR";
+
     @Schema(description = "Identifiant unique du service", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -92,6 +96,11 @@ public class Service {
         this.price = price;
     }
 
+    // Les prix du catalogue sont exprimés en euros
+    public Money getPriceMoney() {
+        return Money.of(price, CURRENCY);
+    }
+
     public Integer getDurationMinutes() {
         return durationMinutes;
     }
@@ -0,0 +1,127 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@Schema(description = "Événement webhook Stripe reçu et vérifié, conservé brut - Dédupliqué par identifiant Stripe puis appliqué aux paiements de manière asynchrone")
+@Entity
+@Table(name = "stripe_webhook_events",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stripe_webhook_events_event_id", columnNames = "event_id"),
+       indexes = @Index(name = "idx_stripe_webhook_events_pending", columnList = "processed_at, payment_intent_id, stripe_created_at"))
+public class StripeWebhookEvent {
+
+    @Schema(description = "Identifiant interne de l'événement", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Schema(description = "Identifiant Stripe de l'événement - Clé de déduplication des relivraisons", example = "evt_1234567890")
+    @Column(name = "event_id", nullable = false, length = 100)
+    private String eventId;
+
+    @Schema(description = "Type d'événement Stripe", example = "payment_intent.succeeded")
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Schema(description = "Intention de paiement concernée - Les événements d'une même intention sont appliqués dans l'ordre", example = "pi_1234567890")
+    @Column(name = "payment_intent_id", length = 100)
+    private String paymentIntentId;
+
+    @Schema(description = "Identifiant du paiement Hairbook transmis dans les métadonnées Stripe", example = "1")
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Schema(description = "Date de création de l'événement côté Stripe - Fixe l'ordre d'application")
+    @Column(name = "stripe_created_at", nullable = false)
+    private Instant stripeCreatedAt;
+
+    @Schema(description = "Corps brut de l'événement tel que reçu")
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Schema(description = "Date de réception", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @Schema(description = "Date d'application au paiement - Nulle tant que l'événement est en attente")
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Schema(description = "Nombre de tentatives d'application en échec", example = "0")
+    @Column(nullable = false)
+    private int attempts;
+
+    @Schema(description = "Date avant laquelle l'événement n'est pas retenté après un échec - Nulle tant qu'aucun échec n'est survenu")
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Schema(description = "Dernière erreur rencontrée lors de l'application")
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    // ----- Constructeurs -----
+
+    public StripeWebhookEvent() {}
+
+    public StripeWebhookEvent(String eventId, String eventType, String paymentIntentId, Long paymentId,
+                              Instant stripeCreatedAt, String payload) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.paymentIntentId = paymentIntentId;
+        this.paymentId = paymentId;
+        this.stripeCreatedAt = stripeCreatedAt;
+        this.payload = payload;
+    }
+
+    // ----- Getters & Setters -----
+
+    public Long getId() { return id; }
+
+    public void setId(Long id) { this.id = id; }
+
+    public String getEventId() { return eventId; }
+
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getEventType() { return eventType; }
+
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public String getPaymentIntentId() { return paymentIntentId; }
+
+    public void setPaymentIntentId(String paymentIntentId) { this.paymentIntentId = paymentIntentId; }
+
+    public Long getPaymentId() { return paymentId; }
+
+    public void setPaymentId(Long paymentId) { this.paymentId = paymentId; }
+
+    public Instant getStripeCreatedAt() { return stripeCreatedAt; }
+
+    public void setStripeCreatedAt(Instant stripeCreatedAt) { this.stripeCreatedAt = stripeCreatedAt; }
+
+    public String getPayload() { return payload; }
+
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public LocalDateTime getReceivedAt() { return receivedAt; }
+
+    public void setReceivedAt(LocalDateTime receivedAt) { this.receivedAt = receivedAt; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+
+    public int getAttempts() { return attempts; }
+
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
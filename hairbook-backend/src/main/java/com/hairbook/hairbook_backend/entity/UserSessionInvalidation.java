@@ -0,0 +1,40 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Schema(description = "Date à partir de laquelle les jetons d'accès d'un utilisateur émis auparavant sont refusés - Source persistante servant à resynchroniser les caches d'authentification de chaque nœud")
+@Entity
+@Table(name = "user_session_invalidations",
+       indexes = @Index(name = "idx_user_session_invalidations_at", columnList = "invalidated_at"))
+public class UserSessionInvalidation {
+
+    @Schema(description = "Identifiant de l'utilisateur concerné", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Schema(description = "Instant de l'invalidation : tout jeton émis avant est refusé", example = "2024-01-15T10:00:00Z", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "invalidated_at", nullable = false)
+    private Instant invalidatedAt;
+
+    // ----- Constructeurs -----
+
+    public UserSessionInvalidation() {}
+
+    public UserSessionInvalidation(Long userId, Instant invalidatedAt) {
+        this.userId = userId;
+        this.invalidatedAt = invalidatedAt;
+    }
+
+    // ----- Getters & Setters -----
+
+    public Long getUserId() { return userId; }
+
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Instant getInvalidatedAt() { return invalidatedAt; }
+
+    public void setInvalidatedAt(Instant invalidatedAt) { this.invalidatedAt = invalidatedAt; }
+}
@@ -0,0 +1,52 @@
+package com.hairbook.hairbook_backend.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Schema(description = "Compteurs dénormalisés par utilisateur (notifications non lues, etc.) - Maintenus de façon incrémentale pour éviter les requêtes COUNT à chaque affichage")
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+
+    @Schema(description = "Identifiant de l'utilisateur concerné", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Schema(description = "Nombre de notifications non lues de l'utilisateur", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(nullable = false)
+    private long unreadNotifications;
+
+    @Schema(description = "Date de dernière mise à jour des compteurs", example = "2024-01-15T10:00:00", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // ----- Constructeurs -----
+
+    public UserStats() {}
+
+    public UserStats(Long userId, long unreadNotifications) {
+        this.userId = userId;
+        this.unreadNotifications = unreadNotifications;
+    }
+
+    // ----- Getters & Setters -----
+
+    public Long getUserId() { return userId; }
+
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public long getUnreadNotifications() { return unreadNotifications; }
+
+    public void setUnreadNotifications(long unreadNotifications) { this.unreadNotifications = unreadNotifications; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,16 @@
+package com.hairbook.hairbook_backend.exception;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Schema(description = "Exception levée lorsqu'une ressource unique existe déjà (nom d'utilisateur, e-mail...) - Renvoie une réponse HTTP 409 (Conflict)")
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateResourceException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateResourceException(String message) {
+        super(message);
+    }
+}
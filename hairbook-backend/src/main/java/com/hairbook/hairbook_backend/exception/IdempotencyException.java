@@ -0,0 +1,29 @@
+package com.hairbook.hairbook_backend.exception;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+@Schema(description = "Exception levée lorsqu'une clé d'idempotence ne peut pas être honorée - 422 (Unprocessable Entity) si la clé est réutilisée pour une requête différente, 409 (Conflict) si la requête d'origine est toujours en cours")
+public class IdempotencyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+
+    public IdempotencyException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public static IdempotencyException keyReused() {
+        return new IdempotencyException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Cette clé d'idempotence a déjà été utilisée pour une requête différente");
+    }
+
+    public static IdempotencyException stillInProgress() {
+        return new IdempotencyException(HttpStatus.CONFLICT,
+                "Une requête avec cette clé d'idempotence est toujours en cours de traitement");
+    }
+
+    public HttpStatus getStatus() { return status; }
+}
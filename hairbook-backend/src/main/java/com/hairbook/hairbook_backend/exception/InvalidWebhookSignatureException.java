@@ -0,0 +1,16 @@
+package com.hairbook.hairbook_backend.exception;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Schema(description = "Exception levée lorsqu'un webhook ne porte pas de signature valide ou récente - Renvoie une réponse HTTP 400 (Bad Request)")
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidWebhookSignatureException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidWebhookSignatureException(String message) {
+        super(message);
+    }
+}
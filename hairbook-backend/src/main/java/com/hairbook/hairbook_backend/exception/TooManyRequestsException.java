@@ -0,0 +1,21 @@
+package com.hairbook.hairbook_backend.exception;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Schema(description = "Exception levée lorsqu'une requête est refusée par le contrôle d'admission (limite de débit ou file de hachage saturée) - Renvoie une réponse HTTP 429 (Too Many Requests) avec l'en-tête Retry-After")
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
@@ -0,0 +1,105 @@
+package com.hairbook.hairbook_backend.repository;
+
+import com.hairbook.hairbook_backend.entity.AppointmentClientSketch;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Repository des sketches HyperLogLog de clients (appointment_client_sketches) - Un sketch par jour et par mois ; les registres sont mis à jour en SQL par maximum octet à octet, sans relecture côté application")
+@Repository
+public interface AppointmentClientSketchRepository extends JpaRepository<AppointmentClientSketch, AppointmentClientSketch.Key> {
+
+    @Schema(description = "Porte le registre index au rang donné (maximum) dans un sketch, en le créant si besoin")
+    @Modifying
+    @Query(value = """
+           INSERT INTO appointment_client_sketches (period_start, period, registers, stale)
+           VALUES (:periodStart, :period, set_byte(decode(repeat('00', :size), 'hex'), :index, :rank), false)
+           ON CONFLICT (period_start, period) DO UPDATE
+           SET registers = set_byte(appointment_client_sketches.registers, :index,
+                                    GREATEST(get_byte(appointment_client_sketches.registers, :index), :rank))
+           """, nativeQuery = true)
+    int addClient(@Param("periodStart") LocalDate periodStart,
+                  @Param("period") String period,
+                  @Param("index") int index,
+                  @Param("rank") int rank,
+                  @Param("size") int size);
+
+    @Schema(description = "Signale qu'un client a peut-être quitté le jour : son sketch et celui du mois seront recalculés")
+    @Modifying
+    @Query(value = "UPDATE appointment_client_sketches SET stale = true WHERE period_start = :day AND period = 'DAY' AND NOT stale", nativeQuery = true)
+    int markStale(@Param("day") LocalDate day);
+
+    @Schema(description = "Jours dont le sketch doit être recalculé, du plus ancien au plus récent")
+    @Query(value = "SELECT period_start FROM appointment_client_sketches WHERE stale AND period = 'DAY' ORDER BY period_start LIMIT :limit", nativeQuery = true)
+    List<LocalDate> findStaleDays(@Param("limit") int limit);
+
+    // ----- Recalcul -----
+
+    @Schema(description = "Crée des sketches vides pour les périodes de [from, to[ qui n'en ont pas - step vaut '1 day' ou '1 month'")
+    @Modifying
+    @Query(value = """
+           INSERT INTO appointment_client_sketches (period_start, period, registers, stale)
+           SELECT CAST(p AS date), :period, decode(repeat('00', :size), 'hex'), false
+           FROM generate_series(CAST(:from AS date), CAST(:to AS date) - 1, CAST(:step AS interval)) AS p
+           ON CONFLICT (period_start, period) DO NOTHING
+           """, nativeQuery = true)
+    int ensureSketches(@Param("period") String period,
+                       @Param("from") LocalDate from,
+                       @Param("to") LocalDate to,
+                       @Param("step") String step,
+                       @Param("size") int size);
+
+    @Schema(description = "Verrouille les sketches des périodes de [from, to[ jusqu'à la fin de la transaction - Les ajouts concurrents attendent le recalcul au lieu d'être écrasés")
+    @Query(value = """
+           SELECT COUNT(*) FROM (
+               SELECT 1 FROM appointment_client_sketches
+               WHERE period = :period AND period_start >= :from AND period_start < :to
+               ORDER BY period_start
+               FOR UPDATE
+           ) AS locked
+           """, nativeQuery = true)
+    long lockSketches(@Param("period") String period, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Clients distincts par jour ayant un rendez-vous honoré ou prévu sur [from, to[ - Source du recalcul des sketches")
+    @Query(value = """
+           SELECT DISTINCT CAST(start_time AS date) AS "day", user_id AS "userId"
+           FROM appointments
+           WHERE start_time >= :from AND start_time < :to
+           AND status NOT IN ('CANCELLED', 'NO_SHOW')
+           """, nativeQuery = true)
+    List<ClientDayRow> findClientDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Remplace les registres d'un sketch recalculé et lève son indicateur stale")
+    @Modifying
+    @Query(value = """
+           UPDATE appointment_client_sketches
+           SET registers = :registers, stale = false
+           WHERE period_start = :periodStart AND period = :period
+           """, nativeQuery = true)
+    int replaceRegisters(@Param("periodStart") LocalDate periodStart,
+                         @Param("period") String period,
+                         @Param("registers") byte[] registers);
+
+    // ----- Lectures -----
+
+    @Schema(description = "Registres des sketches d'un type de période commençant dans [from, to[")
+    @Query(value = """
+           SELECT registers FROM appointment_client_sketches
+           WHERE period = :period AND period_start >= :from AND period_start < :to
+           """, nativeQuery = true)
+    List<byte[]> findRegisters(@Param("period") String period, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Client ayant un rendez-vous un jour donné")
+    interface ClientDayRow {
+
+        LocalDate getDay();
+
+        Long getUserId();
+    }
+}
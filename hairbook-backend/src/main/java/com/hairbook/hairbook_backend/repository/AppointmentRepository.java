@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Schema(description = "Repository pour l'entité Appointment - Fournit des méthodes pour gérer et interroger les rendez-vous")
 @Repository
@@ -40,6 +41,10 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Schema(description = "Récupère les rendez-vous ayant un certain statut dans une plage horaire")
     List<Appointment> findByStatusAndStartTimeBetween(AppointmentStatus status, LocalDateTime startTime, LocalDateTime endTime);
 
+    @Schema(description = "Récupère un rendez-vous avec son utilisateur et son service en une seule requête")
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.user JOIN FETCH a.service WHERE a.id = :id")
+    Optional<Appointment> findWithUserAndServiceById(@Param("id") Long id);
+
     @Schema(description = "Récupère les rendez-vous qui chevauchent une période donnée, en excluant ceux annulés ou non honorés")
     @Query("""
            SELECT a FROM Appointment a
@@ -75,4 +80,37 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Object[]> countAppointmentsByService(
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
+
+    @Schema(description = "Statistiques : Nombre de clients distincts ayant un rendez-vous honoré ou prévu sur [from, to[")
+    @Query(value = """
+           SELECT COUNT(DISTINCT user_id)
+           FROM appointments
+           WHERE start_time >= :from AND start_time < :to
+           AND status NOT IN ('CANCELLED', 'NO_SHOW')
+           """, nativeQuery = true)
+    long countActiveClients(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Schema(description = "Statistiques : Nombre de clients actifs sur [from, to[ ayant déjà eu un rendez-vous avant from")
+    @Query(value = """
+           SELECT COUNT(DISTINCT a.user_id)
+           FROM appointments a
+           WHERE a.start_time >= :from AND a.start_time < :to
+           AND a.status NOT IN ('CANCELLED', 'NO_SHOW')
+           AND EXISTS (SELECT 1 FROM appointments p
+                       WHERE p.user_id = a.user_id AND p.start_time < :from
+                       AND p.status NOT IN ('CANCELLED', 'NO_SHOW'))
+           """, nativeQuery = true)
+    long countReturningClients(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Schema(description = "Statistiques : Nombre de clients dont le premier rendez-vous tombe dans [from, to[")
+    @Query(value = """
+           SELECT COUNT(DISTINCT a.user_id)
+           FROM appointments a
+           WHERE a.start_time >= :from AND a.start_time < :to
+           AND a.status NOT IN ('CANCELLED', 'NO_SHOW')
+           AND NOT EXISTS (SELECT 1 FROM appointments p
+                           WHERE p.user_id = a.user_id AND p.start_time < :from
+                           AND p.status NOT IN ('CANCELLED', 'NO_SHOW'))
+           """, nativeQuery = true)
+    long countNewClients(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,189 @@
+package com.hairbook.hairbook_backend.repository;
+
+import com.hairbook.hairbook_backend.entity.AppointmentDailyStats;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Schema(description = "Repository des agrégats de rendez-vous (appointment_daily_stats et appointment_hourly_stats) - Les tableaux de bord lisent O(jours) lignes au lieu de regrouper la table appointments")
+@Repository
+public interface AppointmentStatsRepository extends JpaRepository<AppointmentDailyStats, AppointmentDailyStats.Key> {
+
+    @Schema(description = "Ajoute un delta au groupe (jour, service, statut) et au groupe horaire correspondant en une seule instruction, en créant les lignes si besoin, et incrémente le compteur de modifications du jour")
+    @Modifying
+    @Query(value = """
+           WITH daily AS (
+               INSERT INTO appointment_daily_stats (day, service_id, status, appointment_count)
+               VALUES (:day, :serviceId, :status, :delta)
+               ON CONFLICT (day, service_id, status) DO UPDATE
+               SET appointment_count = appointment_daily_stats.appointment_count + EXCLUDED.appointment_count
+           ), changed AS (
+               INSERT INTO appointment_stats_versions (day, changes)
+               VALUES (:day, 1)
+               ON CONFLICT (day) DO UPDATE
+               SET changes = appointment_stats_versions.changes + 1
+           )
+           INSERT INTO appointment_hourly_stats (day, start_hour, service_id, status, appointment_count)
+           VALUES (:day, :hour, :serviceId, :status, :delta)
+           ON CONFLICT (day, start_hour, service_id, status) DO UPDATE
+           SET appointment_count = appointment_hourly_stats.appointment_count + EXCLUDED.appointment_count
+           """, nativeQuery = true)
+    int addDelta(@Param("day") LocalDate day,
+                 @Param("hour") short hour,
+                 @Param("serviceId") Long serviceId,
+                 @Param("status") String status,
+                 @Param("delta") long delta);
+
+    // ----- Reconstruction -----
+
+    @Schema(description = "Incrémente le compteur de modifications de chaque jour de [from, to[ - À exécuter en tête de toute reconstruction d'agrégats ou de sketches, avant de verrouiller les sketches")
+    @Modifying
+    @Query(value = """
+           INSERT INTO appointment_stats_versions (day, changes)
+           SELECT CAST(d AS date), 1
+           FROM generate_series(CAST(:from AS date), CAST(:to AS date) - 1, CAST('1 day' AS interval)) AS d
+           ON CONFLICT (day) DO UPDATE
+           SET changes = appointment_stats_versions.changes + 1
+           """, nativeQuery = true)
+    int incrementVersions(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Supprime les agrégats journaliers des jours de [from, to[ avant leur reconstruction")
+    @Modifying
+    @Query(value = "DELETE FROM appointment_daily_stats WHERE day >= :from AND day < :to", nativeQuery = true)
+    int deleteDailyRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Supprime les agrégats horaires des jours de [from, to[ avant leur reconstruction")
+    @Modifying
+    @Query(value = "DELETE FROM appointment_hourly_stats WHERE day >= :from AND day < :to", nativeQuery = true)
+    int deleteHourlyRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Recalcule depuis la table appointments les agrégats journaliers des jours de [from, to[ - À exécuter après deleteDailyRange dans la même transaction, tables verrouillées contre les deltas concurrents (RollupRebuilder)")
+    @Modifying
+    @Query(value = """
+           INSERT INTO appointment_daily_stats (day, service_id, status, appointment_count)
+           SELECT CAST(start_time AS date), service_id, status, COUNT(*)
+           FROM appointments
+           WHERE start_time >= :from AND start_time < :to
+           GROUP BY CAST(start_time AS date), service_id, status
+           """, nativeQuery = true)
+    int insertDailyRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Recalcule depuis la table appointments les agrégats horaires des jours de [from, to[ - À exécuter après deleteHourlyRange dans la même transaction, tables verrouillées contre les deltas concurrents (RollupRebuilder)")
+    @Modifying
+    @Query(value = """
+           INSERT INTO appointment_hourly_stats (day, start_hour, service_id, status, appointment_count)
+           SELECT CAST(start_time AS date), CAST(EXTRACT(HOUR FROM start_time) AS smallint), service_id, status, COUNT(*)
+           FROM appointments
+           WHERE start_time >= :from AND start_time < :to
+           GROUP BY 1, 2, service_id, status
+           """, nativeQuery = true)
+    int insertHourlyRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Jour de début du plus ancien rendez-vous - Borne basse d'une reconstruction complète")
+    @Query(value = "SELECT CAST(MIN(start_time) AS date) FROM appointments", nativeQuery = true)
+    LocalDate findFirstAppointmentDay();
+
+    @Schema(description = "Jour de début du plus lointain rendez-vous - Borne haute d'une reconstruction complète (les rendez-vous sont pris à l'avance)")
+    @Query(value = "SELECT CAST(MAX(start_time) AS date) FROM appointments", nativeQuery = true)
+    LocalDate findLastAppointmentDay();
+
+    @Schema(description = "Version des agrégats et des sketches de clients des périodes commençant avant to - Somme des compteurs de modifications des jours précédents : une ligne par jour lue sur la clé primaire, au lieu de toutes les lignes d'agrégats et de sketches")
+    // Les sketches n'ont pas de compteur propre : un client n'est ajouté qu'avec le delta du même jour (AppointmentStatsRollup),
+    // chaque recalcul passe par incrementVersions, et un sketch mensuel n'est lu que pour un mois entièrement avant to
+    @Query(value = """
+           SELECT CAST(COALESCE(SUM(changes), 0) AS bigint)
+           FROM appointment_stats_versions
+           WHERE day < :to
+           """, nativeQuery = true)
+    long findVersionBefore(@Param("to") LocalDate to);
+
+    // ----- Lectures -----
+
+    @Schema(description = "Nombre de rendez-vous par statut sur [from, to[")
+    @Query(value = """
+           SELECT status AS "status", CAST(SUM(appointment_count) AS bigint) AS "count"
+           FROM appointment_daily_stats
+           WHERE day >= :from AND day < :to
+           GROUP BY status
+           """, nativeQuery = true)
+    List<StatusCountRow> countByStatus(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Nombre de rendez-vous des statuts donnés par période (day, week ou month) sur [from, to[ - Chaque période est identifiée par son premier jour")
+    @Query(value = """
+           SELECT CAST(date_trunc(:unit, day) AS date) AS "day", CAST(SUM(appointment_count) AS bigint) AS "count"
+           FROM appointment_daily_stats
+           WHERE day >= :from AND day < :to AND status IN (:statuses)
+           GROUP BY 1
+           HAVING SUM(appointment_count) > 0
+           ORDER BY 1
+           """, nativeQuery = true)
+    List<DayCountRow> countByPeriod(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                    @Param("statuses") Collection<String> statuses, @Param("unit") String unit);
+
+    @Schema(description = "Nombre de rendez-vous des statuts donnés par service sur [from, to[, du plus demandé au moins demandé")
+    @Query(value = """
+           SELECT s.id AS "serviceId", s.name AS "serviceName", totals.count AS "count"
+           FROM (SELECT service_id, CAST(SUM(appointment_count) AS bigint) AS count
+                 FROM appointment_daily_stats
+                 WHERE day >= :from AND day < :to AND status IN (:statuses)
+                 GROUP BY service_id
+                 HAVING SUM(appointment_count) > 0) totals
+           JOIN services s ON s.id = totals.service_id
+           ORDER BY totals.count DESC, s.name
+           """, nativeQuery = true)
+    List<ServiceCountRow> countByService(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                         @Param("statuses") Collection<String> statuses);
+
+    @Schema(description = "Nombre de rendez-vous des statuts donnés par heure de début sur [from, to[")
+    @Query(value = """
+           SELECT start_hour AS "hour", CAST(SUM(appointment_count) AS bigint) AS "count"
+           FROM appointment_hourly_stats
+           WHERE day >= :from AND day < :to AND status IN (:statuses)
+           GROUP BY start_hour
+           HAVING SUM(appointment_count) > 0
+           ORDER BY start_hour
+           """, nativeQuery = true)
+    List<HourCountRow> countByHour(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                   @Param("statuses") Collection<String> statuses);
+
+    @Schema(description = "Nombre de rendez-vous d'un statut")
+    interface StatusCountRow {
+
+        String getStatus();
+
+        long getCount();
+    }
+
+    @Schema(description = "Nombre de rendez-vous d'un jour ou d'une période commençant ce jour")
+    interface DayCountRow {
+
+        LocalDate getDay();
+
+        long getCount();
+    }
+
+    @Schema(description = "Nombre de rendez-vous d'un service")
+    interface ServiceCountRow {
+
+        Long getServiceId();
+
+        String getServiceName();
+
+        long getCount();
+    }
+
+    @Schema(description = "Nombre de rendez-vous commençant à une heure donnée")
+    interface HourCountRow {
+
+        int getHour();
+
+        long getCount();
+    }
+}
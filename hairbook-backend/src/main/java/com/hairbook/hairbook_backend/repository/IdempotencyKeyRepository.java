@@ -0,0 +1,70 @@
+package com.hairbook.hairbook_backend.repository;
+
+import com.hairbook.hairbook_backend.entity.IdempotencyKey;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Schema(description = "Repository pour l'entité IdempotencyKey - Réservation, complétion et purge des clés d'idempotence")
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    @Schema(description = "Réserve une clé pour le nœud appelant en une seule requête - Reprend aussi une clé expirée ou dont le bail est échu ; retourne 1 si la clé est acquise, 0 si elle est détenue ailleurs")
+    @Modifying
+    @Query(value = """
+           INSERT INTO idempotency_keys (scope, user_id, idempotency_key, request_hash, status, locked_until, created_at, expires_at)
+           VALUES (:scope, :userId, :key, :requestHash, 'IN_PROGRESS', :lockedUntil, now(), :expiresAt)
+           ON CONFLICT (scope, user_id, idempotency_key) DO UPDATE
+           SET request_hash = EXCLUDED.request_hash,
+               status = 'IN_PROGRESS',
+               response_body = NULL,
+               locked_until = EXCLUDED.locked_until,
+               created_at = now(),
+               expires_at = EXCLUDED.expires_at
+           WHERE idempotency_keys.expires_at < now()
+              OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.locked_until < now())
+           """, nativeQuery = true)
+    int claim(@Param("scope") String scope,
+              @Param("userId") Long userId,
+              @Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("lockedUntil") Instant lockedUntil,
+              @Param("expiresAt") Instant expiresAt);
+
+    @Schema(description = "Recherche une clé d'idempotence pour une opération et un utilisateur")
+    Optional<IdempotencyKey> findByScopeAndUserIdAndIdempotencyKey(String scope, Long userId, String idempotencyKey);
+
+    @Schema(description = "Enregistre la réponse d'une clé réservée et la marque comme terminée")
+    @Modifying
+    @Query("""
+           UPDATE IdempotencyKey k SET k.status = com.hairbook.hairbook_backend.entity.IdempotencyKey.Status.COMPLETED,
+                  k.responseBody = :responseBody
+           WHERE k.scope = :scope AND k.userId = :userId AND k.idempotencyKey = :key
+             AND k.requestHash = :requestHash
+           """)
+    int complete(@Param("scope") String scope,
+                 @Param("userId") Long userId,
+                 @Param("key") String key,
+                 @Param("requestHash") String requestHash,
+                 @Param("responseBody") String responseBody);
+
+    @Schema(description = "Libère une clé encore en cours après un échec du traitement - Le client pourra la réutiliser")
+    @Modifying
+    @Query("""
+           DELETE FROM IdempotencyKey k
+           WHERE k.scope = :scope AND k.userId = :userId AND k.idempotencyKey = :key
+             AND k.status = com.hairbook.hairbook_backend.entity.IdempotencyKey.Status.IN_PROGRESS
+           """)
+    int release(@Param("scope") String scope, @Param("userId") Long userId, @Param("key") String key);
+
+    @Schema(description = "Supprime les clés expirées")
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -5,9 +5,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Schema(description = "Repository pour l'entité Notification - Fournit des méthodes pour récupérer et manipuler les notifications des utilisateurs")
@@ -28,4 +32,64 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     @Schema(description = "Récupère toutes les notifications créées avant une date donnée - Utile pour les nettoyages périodiques")
     List<Notification> findByCreatedAtBefore(LocalDateTime dateTime);
+
+    @Schema(description = "Récupère les notifications d'un utilisateur postérieures à un identifiant donné, dans l'ordre de création - Utilisé pour rejouer les événements SSE manqués (Last-Event-ID)")
+    List<Notification> findTop100ByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id);
+
+    @Schema(description = "Marque une notification comme lue si elle appartient à l'utilisateur et n'est pas déjà lue - Retourne 1 si l'état a changé, 0 sinon")
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.user.id = :userId AND n.read = false")
+    int markAsRead(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Schema(description = "Marque toutes les notifications non lues d'un utilisateur comme lues en une seule requête - Retourne le nombre de notifications modifiées")
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false")
+    int markAllAsRead(@Param("userId") Long userId);
+
+    @Schema(description = "Marque comme lues les notifications non lues d'un utilisateur jusqu'à un identifiant inclus - Retourne le nombre de notifications modifiées")
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false AND n.id <= :maxId")
+    int markAsReadUpTo(@Param("userId") Long userId, @Param("maxId") Long maxId);
+
+    @Schema(description = "Supprime en une seule requête les notifications d'un utilisateur parmi les identifiants donnés - Retourne le nombre de lignes supprimées et, parmi elles, le nombre de non lues")
+    // Sans @Modifying : Spring Data n'admet que void ou int pour une requête de modification (executeUpdate), alors que
+    // le CTE renvoie une ligne de comptage lue par getResultList. Hibernate vide la session avant toute requête native
+    // et NotificationService.deleteNotifications ne charge aucune notification : aucune entité gérée ne devient obsolète
+    @Query(value = """
+           WITH deleted AS (
+               DELETE FROM notifications
+               WHERE user_id = :userId AND id IN (:ids)
+               RETURNING read
+           )
+           SELECT COUNT(*) AS "deleted",
+                  COUNT(*) FILTER (WHERE NOT read) AS "unreadDeleted"
+           FROM deleted
+           """, nativeQuery = true)
+    DeletedNotificationCounts deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Schema(description = "Insère en une requête INSERT ... SELECT une notification pour chaque utilisateur d'un rôle dont l'identifiant est dans ]fromUserId, toUserId] - Aucune entité User n'est chargée")
+    @Modifying
+    @Query(value = """
+           INSERT INTO notifications (user_id, title, message, type, read, created_at, action_url)
+           SELECT ur.user_id, :title, :message, :type, false, now(), :actionUrl
+           FROM user_roles ur
+           JOIN roles r ON r.id = ur.role_id
+           WHERE r.name = :role
+             AND ur.user_id > :fromUserId AND ur.user_id <= :toUserId
+           """, nativeQuery = true)
+    int insertForRoleMembers(@Param("role") String role,
+                             @Param("fromUserId") Long fromUserId,
+                             @Param("toUserId") Long toUserId,
+                             @Param("title") String title,
+                             @Param("message") String message,
+                             @Param("type") String type,
+                             @Param("actionUrl") String actionUrl);
+
+    @Schema(description = "Résultat d'une suppression groupée de notifications")
+    interface DeletedNotificationCounts {
+
+        long getDeleted();
+
+        long getUnreadDeleted();
+    }
 }
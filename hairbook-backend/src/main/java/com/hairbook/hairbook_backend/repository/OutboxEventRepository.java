@@ -0,0 +1,77 @@
+package com.hairbook.hairbook_backend.repository;
+
+import com.hairbook.hairbook_backend.entity.OutboxEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Repository pour l'entité OutboxEvent - Lecture ordonnée des événements en attente, accusés des consommateurs et purge")
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Schema(description = "Tente d'acquérir le verrou consultatif du relais pour la transaction courante - Un seul nœud relaie à la fois, ce qui préserve l'ordre par agrégat")
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAcquireRelayLock(@Param("lockKey") long lockKey);
+
+    @Schema(description = "Récupère le prochain lot d'événements en attente dans l'ordre d'insertion - Un agrégat est écarté à partir de son premier événement en délai de nouvelle tentative ou ayant épuisé ses tentatives : ce dernier reste en base pour analyse et bloque les suivants jusqu'à intervention")
+    @Query(value = """
+           SELECT e.* FROM outbox_events e
+           WHERE e.processed_at IS NULL
+             AND NOT EXISTS (SELECT 1 FROM outbox_events b
+                             WHERE b.aggregate_type = e.aggregate_type
+                               AND b.aggregate_id = e.aggregate_id
+                               AND b.id <= e.id
+                               AND b.processed_at IS NULL
+                               AND (b.attempts >= :maxAttempts OR b.next_attempt_at > now()))
+           ORDER BY e.id
+           LIMIT :batchSize
+           """, nativeQuery = true)
+    List<OutboxEvent> findPendingBatch(@Param("batchSize") int batchSize, @Param("maxAttempts") int maxAttempts);
+
+    @Schema(description = "Enregistre l'accusé d'un consommateur pour un événement - Retourne 0 si l'événement a déjà été traité par ce consommateur")
+    @Modifying
+    @Query(value = """
+           INSERT INTO outbox_consumer_receipts (consumer, event_id, processed_at)
+           VALUES (:consumer, :eventId, now())
+           ON CONFLICT (consumer, event_id) DO NOTHING
+           """, nativeQuery = true)
+    int insertReceipt(@Param("consumer") String consumer, @Param("eventId") Long eventId);
+
+    @Schema(description = "Marque un événement comme relayé")
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :now WHERE e.id = :id")
+    int markProcessed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Schema(description = "Enregistre l'échec du relais d'un événement et repousse sa prochaine tentative - Délai doublé à chaque échec, borné par maxDelaySeconds")
+    @Modifying
+    @Query(value = """
+           UPDATE outbox_events
+           SET attempts = attempts + 1,
+               last_error = :error,
+               next_attempt_at = now() + make_interval(secs => LEAST(:maxDelaySeconds, :baseDelaySeconds * power(2, attempts)))
+           WHERE id = :id
+           """, nativeQuery = true)
+    int recordFailure(@Param("id") Long id,
+                      @Param("error") String error,
+                      @Param("baseDelaySeconds") long baseDelaySeconds,
+                      @Param("maxDelaySeconds") long maxDelaySeconds);
+
+    @Schema(description = "Supprime les événements relayés avant une date donnée ainsi que leurs accusés")
+    @Modifying
+    @Query(value = """
+           WITH purged AS (
+               DELETE FROM outbox_events
+               WHERE processed_at < :before
+               RETURNING id
+           )
+           DELETE FROM outbox_consumer_receipts
+           WHERE event_id IN (SELECT id FROM purged)
+           """, nativeQuery = true)
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,90 @@
+package com.hairbook.hairbook_backend.repository;
+
+import com.hairbook.hairbook_backend.entity.PaymentDailyRevenue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Repository pour l'entité PaymentDailyRevenue - Deltas atomiques, reconstruction par plage de jours et lectures agrégées du chiffre d'affaires")
+@Repository
+public interface PaymentDailyRevenueRepository extends JpaRepository<PaymentDailyRevenue, PaymentDailyRevenue.Key> {
+
+    @Schema(description = "Ajoute un delta (positif ou négatif) au montant et au nombre de paiements d'un groupe, en créant la ligne si nécessaire")
+    @Modifying
+    @Query(value = """
+           INSERT INTO payment_daily_revenue (day, currency, method, status, amount, payment_count)
+           VALUES (:day, :currency, :method, :status, :amount, :count)
+           ON CONFLICT (day, currency, method, status) DO UPDATE
+           SET amount = payment_daily_revenue.amount + EXCLUDED.amount,
+               payment_count = payment_daily_revenue.payment_count + EXCLUDED.payment_count
+           """, nativeQuery = true)
+    int addDelta(@Param("day") LocalDate day,
+                 @Param("currency") String currency,
+                 @Param("method") String method,
+                 @Param("status") String status,
+                 @Param("amount") BigDecimal amount,
+                 @Param("count") long count);
+
+    @Schema(description = "Supprime les agrégats des jours de [from, to[ avant leur reconstruction")
+    @Modifying
+    @Query(value = "DELETE FROM payment_daily_revenue WHERE day >= :from AND day < :to", nativeQuery = true)
+    int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Recalcule depuis la table payments les agrégats des jours de [from, to[ - À exécuter après deleteRange dans la même transaction, table verrouillée contre les deltas concurrents (RollupRebuilder)")
+    @Modifying
+    @Query(value = """
+           INSERT INTO payment_daily_revenue (day, currency, method, status, amount, payment_count)
+           SELECT CAST(created_at AS date), currency, method, status, SUM(amount), COUNT(*)
+           FROM payments
+           WHERE created_at >= :from AND created_at < :to
+           GROUP BY CAST(created_at AS date), currency, method, status
+           """, nativeQuery = true)
+    int insertRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Schema(description = "Date de création du plus ancien paiement - Borne basse d'une reconstruction complète")
+    @Query(value = "SELECT CAST(MIN(created_at) AS date) FROM payments", nativeQuery = true)
+    LocalDate findFirstPaymentDay();
+
+    @Schema(description = "Chiffre d'affaires par jour et par devise des paiements d'un statut sur [from, to[")
+    @Query(value = """
+           SELECT day AS "period", NULL AS "method", currency AS "currency",
+                  SUM(amount) AS "amount", CAST(SUM(payment_count) AS bigint) AS "paymentCount"
+           FROM payment_daily_revenue
+           WHERE day >= :from AND day < :to AND status = :status
+           GROUP BY day, currency
+           ORDER BY day, currency
+           """, nativeQuery = true)
+    List<RevenueRow> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("status") String status);
+
+    @Schema(description = "Chiffre d'affaires par mois, méthode et devise des paiements d'un statut sur [from, to[")
+    @Query(value = """
+           SELECT CAST(date_trunc('month', day) AS date) AS "period", method AS "method", currency AS "currency",
+                  SUM(amount) AS "amount", CAST(SUM(payment_count) AS bigint) AS "paymentCount"
+           FROM payment_daily_revenue
+           WHERE day >= :from AND day < :to AND status = :status
+           GROUP BY 1, method, currency
+           ORDER BY 1, method, currency
+           """, nativeQuery = true)
+    List<RevenueRow> sumByMonthAndMethod(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("status") String status);
+
+    @Schema(description = "Ligne agrégée de chiffre d'affaires - method est nulle lorsque le regroupement ne porte pas sur la méthode")
+    interface RevenueRow {
+
+        LocalDate getPeriod();
+
+        String getMethod();
+
+        String getCurrency();
+
+        BigDecimal getAmount();
+
+        long getPaymentCount();
+    }
+}
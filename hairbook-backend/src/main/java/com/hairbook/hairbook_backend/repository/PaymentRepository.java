@@ -3,14 +3,22 @@ package com.hairbook.hairbook_backend.repository;
 import com.hairbook.hairbook_backend.entity.Payment;
 import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Schema(description = "Repository pour l'entité Payment - Fournit des méthodes pour effectuer des opérations CRUD ainsi que des recherches spécifiques sur les paiements")
 @Repository
@@ -25,6 +33,25 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Schema(description = "Recherche un paiement par son identifiant d'intention de paiement (par ex. Stripe)")
     Optional<Payment> findByPaymentIntentId(String paymentIntentId);
 
+    @Schema(description = "Récupère en une requête les paiements de plusieurs intentions, avec leur rendez-vous et leur client")
+    @Query("SELECT p FROM Payment p JOIN FETCH p.appointment a JOIN FETCH a.user WHERE p.paymentIntentId IN :paymentIntentIds")
+    List<Payment> findWithAppointmentByPaymentIntentIdIn(@Param("paymentIntentIds") Collection<String> paymentIntentIds);
+
+    @Schema(description = "Récupère en une requête des paiements par identifiant, avec leur rendez-vous et leur client")
+    @Query("SELECT p FROM Payment p JOIN FETCH p.appointment a JOIN FETCH a.user WHERE p.id IN :ids")
+    List<Payment> findWithAppointmentByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Schema(description = "Parcourt en flux les paiements portant un identifiant de transaction, triés par identifiant en ordre binaire (COLLATE \"C\", identique à String.compareTo) - Sert au rapprochement avec l'export de la passerelle ; les lignes projetées ne sont pas gérées par le contexte de persistance")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = """
+           SELECT id AS "id", transaction_id AS "transactionId", amount AS "amount",
+                  currency AS "currency", status AS "status"
+           FROM payments
+           WHERE transaction_id IS NOT NULL
+           ORDER BY transaction_id COLLATE "C"
+           """, nativeQuery = true)
+    Stream<ReconciliationRow> streamForReconciliation();
+
     @Schema(description = "Récupère les paiements ayant un certain statut")
     List<Payment> findByStatus(PaymentStatus status);
 
@@ -39,4 +66,18 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     @Schema(description = "Récupère les paiements effectués entre deux dates avec pagination")
     Page<Payment> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    @Schema(description = "Ligne de paiement projetée pour le rapprochement")
+    interface ReconciliationRow {
+
+        Long getId();
+
+        String getTransactionId();
+
+        BigDecimal getAmount();
+
+        String getCurrency();
+
+        String getStatus();
+    }
 }
@@ -3,9 +3,12 @@ package com.hairbook.hairbook_backend.repository;
 import com.hairbook.hairbook_backend.entity.RefreshToken;
 import com.hairbook.hairbook_backend.entity.User;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,21 +16,116 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Schema(description = "Repository pour l'entité RefreshToken - Gère les opérations liées à la gestion des tokens de rafraîchissement")
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    @Schema(description = "Recherche un token de rafraîchissement par sa valeur")
-    Optional<RefreshToken> findByToken(String token);
+    @Schema(description = "Recherche un token de rafraîchissement par l'empreinte SHA-256 de sa valeur")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
     @Schema(description = "Récupère tous les tokens associés à un utilisateur")
     List<RefreshToken> findAllByUser(User user);
 
-    @Schema(description = "Révoque tous les tokens actifs d'un utilisateur")
-    @Modifying
-    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.user.id = :userId")
-    int revokeAllUserTokens(@Param("userId") Long userId);
+    @Schema(description = "Révoque tous les tokens actifs d'un utilisateur et retourne leurs empreintes (pour le filtre de révocation)")
+    @Query(value = """
+           WITH revoked AS (
+               UPDATE refresh_tokens
+               SET revoked = true, updated_at = now()
+               WHERE user_id = :userId AND revoked = false
+               RETURNING token
+           )
+           SELECT token FROM revoked
+           """, nativeQuery = true)
+    List<String> revokeAllUserTokens(@Param("userId") Long userId);
+
+    @Schema(description = "Empreintes des tokens révoqués d'un utilisateur")
+    @Query("SELECT r.tokenHash FROM RefreshToken r WHERE r.user.id = :userId AND r.revoked = true")
+    List<String> findRevokedTokenHashesByUserId(@Param("userId") Long userId);
+
+    @Schema(description = "Rotation en une seule instruction - Crée ou réactive la ligne de l'appareil avec la nouvelle empreinte et révoque les appareils les plus anciens au-delà de la limite ; retourne l'identifiant de la ligne, l'ancienne empreinte de l'appareil et celles des appareils évincés")
+    @Query(value = """
+           WITH previous AS (
+               SELECT token
+               FROM refresh_tokens
+               WHERE user_id = :userId AND user_agent = :userAgent AND ip_address = :ipAddress
+               FOR UPDATE
+           ),
+           evicted AS (
+               UPDATE refresh_tokens
+               SET revoked = true, updated_at = now()
+               WHERE id IN (SELECT id
+                            FROM refresh_tokens
+                            WHERE user_id = :userId AND revoked = false
+                              AND NOT (user_agent = :userAgent AND ip_address = :ipAddress)
+                            ORDER BY expiry_date DESC
+                            OFFSET :maxDevices - 1)
+               RETURNING token
+           ),
+           upserted AS (
+               INSERT INTO refresh_tokens (token, user_id, user_agent, ip_address, expiry_date, revoked, created_at, updated_at)
+               VALUES (:tokenHash, :userId, :userAgent, :ipAddress, :expiryDate, false, now(), now())
+               ON CONFLICT (user_id, user_agent, ip_address) DO UPDATE
+               SET token = EXCLUDED.token,
+                   expiry_date = EXCLUDED.expiry_date,
+                   revoked = false,
+                   updated_at = now()
+               RETURNING id
+           )
+           SELECT u.id AS id,
+                  (SELECT p.token FROM previous p) AS previousTokenHash,
+                  (SELECT string_agg(e.token, ',') FROM evicted e) AS evictedTokenHashes
+           FROM upserted u
+           """, nativeQuery = true)
+    DeviceRotation rotateDeviceToken(@Param("userId") Long userId,
+                                     @Param("userAgent") String userAgent,
+                                     @Param("ipAddress") String ipAddress,
+                                     @Param("tokenHash") String tokenHash,
+                                     @Param("expiryDate") Instant expiryDate,
+                                     @Param("maxDevices") int maxDevices);
+
+    @Schema(description = "Bornes de la clé primaire (min, max) utilisées pour découper la purge en tranches")
+    @Query("SELECT MIN(r.id) AS minId, MAX(r.id) AS maxId FROM RefreshToken r")
+    IdRange findIdRange();
+
+    @Schema(description = "Supprime, dans la tranche d'identifiants ]fromId, toId], les tokens expirés ou révoqués depuis longtemps et retourne leurs empreintes")
+    @Query(value = """
+           WITH purged AS (
+               DELETE FROM refresh_tokens
+               WHERE id > :fromId AND id <= :toId
+                 AND (expiry_date < :now OR (revoked = true AND updated_at < :revokedBefore))
+               RETURNING token
+           )
+           SELECT token FROM purged
+           """, nativeQuery = true)
+    List<String> purgeRange(@Param("fromId") long fromId,
+                            @Param("toId") long toId,
+                            @Param("now") Instant now,
+                            @Param("revokedBefore") Instant revokedBefore);
+
+    @Schema(description = "Résultat de la rotation du jeton d'un appareil")
+    interface DeviceRotation {
+
+        Long getId();
+
+        String getPreviousTokenHash();
+
+        String getEvictedTokenHashes();
+    }
+
+    @Schema(description = "Bornes de la clé primaire de la table refresh_tokens")
+    interface IdRange {
+
+        Long getMinId();
+
+        Long getMaxId();
+    }
+
+    @Schema(description = "Parcourt les empreintes des tokens révoqués ou expirés encore présents - Sert à reconstruire le filtre de révocation")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.tokenHash FROM RefreshToken r WHERE r.revoked = true OR r.expiryDate < :now")
+    Stream<String> streamInvalidTokenHashes(@Param("now") Instant now);
     
     @Schema(description = "Supprime tous les tokens d'un utilisateur")
     @Modifying
@@ -51,9 +149,6 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Query("SELECT COUNT(r) FROM RefreshToken r WHERE r.user.id = :userId AND r.revoked = false AND r.expiryDate > :now")
     long countActiveTokensByUser(@Param("userId") Long userId, @Param("now") Instant now);
 
-    @Schema(description = "Recherche un token actif par utilisateur, user-agent et adresse IP")
-    Optional<RefreshToken> findByUserAndUserAgentAndIpAddressAndRevokedFalse(User user, String userAgent, String ipAddress);
-
     @Schema(description = "Compte les tokens encore valides et non révoqués")
     long countByExpiryDateAfterAndRevokedFalse(Instant date);
 
@@ -67,14 +162,8 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Query("SELECT COUNT(DISTINCT r.user.id) FROM RefreshToken r WHERE r.expiryDate > :now AND r.revoked = false")
     long countDistinctUserIdByExpiryDateAfterAndRevokedFalse(@Param("now") Instant now);
 
-    @Schema(description = "Compte le nombre de tokens actifs pour un utilisateur")
-    int countByUserIdAndRevokedFalse(Long userId);
-
     @Schema(description = "Supprime tous les tokens associés à un utilisateur")
     @Modifying
     @Transactional
     void deleteByUserId(Long userId);
-
-    @Schema(description = "Récupère le prochain token actif (le plus ancien) d'un utilisateur")
-    Optional<RefreshToken> findFirstByUserIdAndRevokedFalseOrderByExpiryDateAsc(Long userId);
 }
@@ -0,0 +1,99 @@
+package com.hairbook.hairbook_backend.repository;
+
+import com.hairbook.hairbook_backend.entity.ScheduledJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Repository pour l'entité ScheduledJob - Planification, réclamation concurrente (SKIP LOCKED) et clôture des tâches différées")
+@Repository
+public interface ScheduledJobRepository extends JpaRepository<ScheduledJob, Long> {
+
+    @Schema(description = "Crée ou replanifie la tâche d'un rendez-vous - Une tâche existante ne repasse à PENDING que si son échéance change ou si elle avait été annulée : un rappel déjà envoyé ou en cours n'est pas réarmé")
+    @Modifying
+    @Query(value = """
+           INSERT INTO scheduled_jobs (job_type, appointment_id, due_at, status, attempts, created_at, updated_at)
+           VALUES (:jobType, :appointmentId, :dueAt, 'PENDING', 0, now(), now())
+           ON CONFLICT (job_type, appointment_id) DO UPDATE
+           SET due_at = EXCLUDED.due_at,
+               status = 'PENDING',
+               attempts = 0,
+               locked_by = NULL,
+               locked_until = NULL,
+               last_error = NULL,
+               updated_at = now()
+           WHERE scheduled_jobs.status = 'CANCELLED'
+              OR scheduled_jobs.due_at IS DISTINCT FROM EXCLUDED.due_at
+           """, nativeQuery = true)
+    int upsert(@Param("jobType") String jobType,
+               @Param("appointmentId") Long appointmentId,
+               @Param("dueAt") LocalDateTime dueAt);
+
+    @Schema(description = "Annule la tâche en attente d'un rendez-vous")
+    @Modifying
+    @Query(value = """
+           UPDATE scheduled_jobs
+           SET status = 'CANCELLED', locked_by = NULL, locked_until = NULL, updated_at = now()
+           WHERE job_type = :jobType AND appointment_id = :appointmentId
+             AND status IN ('PENDING', 'RUNNING')
+           """, nativeQuery = true)
+    int cancel(@Param("jobType") String jobType, @Param("appointmentId") Long appointmentId);
+
+    @Schema(description = "Réclame un lot de tâches échues pour ce nœud - Les lignes verrouillées par un autre nœud sont ignorées (SKIP LOCKED) ; les tâches dont le bail a expiré sont reprises")
+    @Query(value = """
+           WITH claimed AS (
+               UPDATE scheduled_jobs
+               SET status = 'RUNNING',
+                   locked_by = :nodeId,
+                   locked_until = :leaseUntil,
+                   attempts = attempts + 1,
+                   updated_at = now()
+               WHERE id IN (SELECT id
+                            FROM scheduled_jobs
+                            WHERE due_at <= :now
+                              AND (status = 'PENDING' OR (status = 'RUNNING' AND locked_until < :now))
+                            ORDER BY due_at
+                            LIMIT :batchSize
+                            FOR UPDATE SKIP LOCKED)
+               RETURNING *
+           )
+           SELECT * FROM claimed ORDER BY due_at
+           """, nativeQuery = true)
+    List<ScheduledJob> claimDueJobs(@Param("nodeId") String nodeId,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("leaseUntil") LocalDateTime leaseUntil,
+                                    @Param("batchSize") int batchSize);
+
+    @Schema(description = "Marque une tâche comme terminée si ce nœud en détient toujours le bail - Retourne 0 si le bail a été perdu (tâche reprise par un autre nœud ou replanifiée)")
+    @Modifying
+    @Query(value = """
+           UPDATE scheduled_jobs
+           SET status = 'DONE', locked_by = NULL, locked_until = NULL, updated_at = now()
+           WHERE id = :id AND status = 'RUNNING' AND locked_by = :nodeId
+           """, nativeQuery = true)
+    int markDone(@Param("id") Long id, @Param("nodeId") String nodeId);
+
+    @Schema(description = "Replanifie une tâche en échec à une date ultérieure, ou la marque FAILED si le nombre maximal de tentatives est atteint")
+    @Modifying
+    @Query(value = """
+           UPDATE scheduled_jobs
+           SET status = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END,
+               due_at = :retryAt,
+               last_error = :error,
+               locked_by = NULL,
+               locked_until = NULL,
+               updated_at = now()
+           WHERE id = :id AND status = 'RUNNING' AND locked_by = :nodeId
+           """, nativeQuery = true)
+    int markFailed(@Param("id") Long id,
+                   @Param("nodeId") String nodeId,
+                   @Param("retryAt") LocalDateTime retryAt,
+                   @Param("error") String error,
+                   @Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,77 @@
+package com.hairbook.hairbook_backend.repository;
+
+import com.hairbook.hairbook_backend.entity.StripeWebhookEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Schema(description = "Repository pour l'entité StripeWebhookEvent - Enregistrement dédupliqué des webhooks, lecture ordonnée des événements en attente et purge")
+@Repository
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, Long> {
+
+    @Schema(description = "Enregistre un événement s'il n'a jamais été reçu - Retourne 0 pour une relivraison")
+    @Modifying
+    @Query(value = """
+           INSERT INTO stripe_webhook_events (event_id, event_type, payment_intent_id, payment_id, stripe_created_at,
+                                              payload, received_at, attempts)
+           VALUES (:eventId, :eventType, :paymentIntentId, :paymentId, :stripeCreatedAt, :payload, now(), 0)
+           ON CONFLICT (event_id) DO NOTHING
+           """, nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId,
+                       @Param("eventType") String eventType,
+                       @Param("paymentIntentId") String paymentIntentId,
+                       @Param("paymentId") Long paymentId,
+                       @Param("stripeCreatedAt") Instant stripeCreatedAt,
+                       @Param("payload") String payload);
+
+    @Schema(description = "Tente d'acquérir le verrou consultatif du traitement des webhooks pour la transaction courante - Un seul nœud applique les événements à la fois")
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAcquireProcessingLock(@Param("lockKey") long lockKey);
+
+    @Schema(description = "Récupère le prochain lot d'événements en attente - Les intentions passent dans l'ordre de réception de leur plus ancien événement en attente, leurs événements dans l'ordre Stripe ; une intention en délai de nouvelle tentative est écartée en entier")
+    @Query(value = """
+           SELECT e.* FROM stripe_webhook_events e
+           JOIN (SELECT COALESCE(payment_intent_id, event_id) AS group_key, MIN(id) AS first_id
+                 FROM stripe_webhook_events
+                 WHERE processed_at IS NULL AND attempts < :maxAttempts
+                 GROUP BY COALESCE(payment_intent_id, event_id)
+                 HAVING MAX(next_attempt_at) IS NULL OR MAX(next_attempt_at) <= now()) g
+             ON g.group_key = COALESCE(e.payment_intent_id, e.event_id)
+           WHERE e.processed_at IS NULL AND e.attempts < :maxAttempts
+           ORDER BY g.first_id, e.stripe_created_at, e.id
+           LIMIT :batchSize
+           """, nativeQuery = true)
+    List<StripeWebhookEvent> findPendingBatch(@Param("batchSize") int batchSize, @Param("maxAttempts") int maxAttempts);
+
+    @Schema(description = "Marque un groupe d'événements comme appliqués")
+    @Modifying
+    @Query("UPDATE StripeWebhookEvent e SET e.processedAt = :now WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Schema(description = "Enregistre l'échec de l'application d'un groupe d'événements et repousse leur prochaine tentative - Délai doublé à chaque échec, borné par maxDelaySeconds")
+    @Modifying
+    @Query(value = """
+           UPDATE stripe_webhook_events
+           SET attempts = attempts + 1,
+               last_error = :error,
+               next_attempt_at = now() + make_interval(secs => LEAST(:maxDelaySeconds, :baseDelaySeconds * power(2, attempts)))
+           WHERE id IN (:ids)
+           """, nativeQuery = true)
+    int recordFailure(@Param("ids") Collection<Long> ids,
+                      @Param("error") String error,
+                      @Param("baseDelaySeconds") long baseDelaySeconds,
+                      @Param("maxDelaySeconds") long maxDelaySeconds);
+
+    @Schema(description = "Supprime les événements appliqués avant une date donnée")
+    @Modifying
+    @Query("DELETE FROM StripeWebhookEvent e WHERE e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -4,6 +4,8 @@ import com.hairbook.hairbook_backend.entity.Role;
 import com.hairbook.hairbook_backend.entity.User;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,6 +21,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Schema(description = "Recherche un utilisateur par son adresse e-mail")
     Optional<User> findByEmail(String email);
 
+    @Schema(description = "Charge un utilisateur et ses rôles en une seule requête, par nom d'utilisateur ou adresse e-mail")
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.username = :login OR u.email = :login")
+    Optional<User> findWithRolesByLogin(@Param("login") String login);
+
+    @Schema(description = "Charge un utilisateur et ses rôles en une seule requête, par identifiant")
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id = :id")
+    Optional<User> findWithRolesById(@Param("id") Long id);
+
     @Schema(description = "Vérifie si un utilisateur existe avec le nom d'utilisateur donné")
     Boolean existsByUsername(String username);
 
@@ -28,6 +38,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Schema(description = "Compte le nombre d'utilisateurs possédant un rôle spécifique")
     Long countByRolesContaining(Role role);
 
+    @Schema(description = "Compte les membres d'un rôle à partir de son nom, sans charger l'entité Role")
+    @Query(value = """
+           SELECT COUNT(*)
+           FROM user_roles ur
+           JOIN roles r ON r.id = ur.role_id
+           WHERE r.name = :role
+           """, nativeQuery = true)
+    long countRoleMembers(@Param("role") String role);
+
     @Schema(description = "Récupère tous les utilisateurs possédant un rôle spécifique")
     List<User> findByRolesContaining(Role role);
+
+    @Schema(description = "Retourne le plus grand identifiant parmi les 'limit' prochains membres d'un rôle après 'afterUserId' - Permet de parcourir les membres par tranches sans charger d'entités (null lorsque le parcours est terminé)")
+    @Query(value = """
+           SELECT MAX(chunk.user_id)
+           FROM (SELECT ur.user_id
+                 FROM user_roles ur
+                 JOIN roles r ON r.id = ur.role_id
+                 WHERE r.name = :role AND ur.user_id > :afterUserId
+                 ORDER BY ur.user_id
+                 LIMIT :limit) chunk
+           """, nativeQuery = true)
+    Long findRoleMemberIdChunkEnd(@Param("role") String role,
+                                  @Param("afterUserId") Long afterUserId,
+                                  @Param("limit") int limit);
 }
@@ -0,0 +1,35 @@
+package com.hairbook.hairbook_backend.repository;
+
+import com.hairbook.hairbook_backend.entity.UserSessionInvalidation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Repository pour l'entité UserSessionInvalidation - Dates d'invalidation des sessions par utilisateur")
+@Repository
+public interface UserSessionInvalidationRepository extends JpaRepository<UserSessionInvalidation, Long> {
+
+    @Schema(description = "Enregistre l'invalidation des sessions d'un utilisateur en conservant la date la plus récente")
+    @Modifying
+    @Query(value = """
+           INSERT INTO user_session_invalidations (user_id, invalidated_at)
+           VALUES (:userId, :invalidatedAt)
+           ON CONFLICT (user_id) DO UPDATE
+           SET invalidated_at = GREATEST(user_session_invalidations.invalidated_at, EXCLUDED.invalidated_at)
+           """, nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("invalidatedAt") Instant invalidatedAt);
+
+    @Schema(description = "Invalidations encore pertinentes (postérieures à la plus ancienne émission de jeton encore valide)")
+    List<UserSessionInvalidation> findByInvalidatedAtAfter(Instant since);
+
+    @Schema(description = "Supprime les invalidations devenues inutiles (tous les jetons concernés ont expiré)")
+    @Modifying
+    @Query("DELETE FROM UserSessionInvalidation i WHERE i.invalidatedAt < :before")
+    int deleteByInvalidatedAtBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,65 @@
+package com.hairbook.hairbook_backend.repository;
+
+import com.hairbook.hairbook_backend.entity.UserStats;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Schema(description = "Repository pour l'entité UserStats - Mises à jour atomiques des compteurs dénormalisés par utilisateur")
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    @Schema(description = "Lit uniquement le compteur de notifications non lues d'un utilisateur")
+    @Query("SELECT s.unreadNotifications FROM UserStats s WHERE s.userId = :userId")
+    Optional<Long> findUnreadNotificationsByUserId(@Param("userId") Long userId);
+
+    @Schema(description = "Ajoute un delta (positif ou négatif) au compteur de non lues, en créant la ligne si nécessaire - Le compteur ne descend jamais sous zéro")
+    @Modifying
+    @Query(value = """
+           INSERT INTO user_stats (user_id, unread_notifications, updated_at)
+           VALUES (:userId, GREATEST(:delta, 0), now())
+           ON CONFLICT (user_id) DO UPDATE
+           SET unread_notifications = GREATEST(user_stats.unread_notifications + :delta, 0),
+               updated_at = now()
+           """, nativeQuery = true)
+    int addUnreadNotifications(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Schema(description = "Incrémente de un le compteur de non lues de chaque utilisateur d'un rôle dont l'identifiant est dans ]fromUserId, toUserId]")
+    @Modifying
+    @Query(value = """
+           INSERT INTO user_stats (user_id, unread_notifications, updated_at)
+           SELECT ur.user_id, 1, now()
+           FROM user_roles ur
+           JOIN roles r ON r.id = ur.role_id
+           WHERE r.name = :role
+             AND ur.user_id > :fromUserId AND ur.user_id <= :toUserId
+           ON CONFLICT (user_id) DO UPDATE
+           SET unread_notifications = user_stats.unread_notifications + 1,
+               updated_at = now()
+           """, nativeQuery = true)
+    int incrementUnreadForRoleMembers(@Param("role") String role,
+                                      @Param("fromUserId") Long fromUserId,
+                                      @Param("toUserId") Long toUserId);
+
+    @Schema(description = "Recalcule les compteurs de non lues depuis la table notifications et corrige les lignes en dérive - Retourne le nombre de lignes corrigées")
+    @Modifying
+    @Query(value = """
+           INSERT INTO user_stats (user_id, unread_notifications, updated_at)
+           SELECT u.id, COALESCE(n.unread, 0), now()
+           FROM users u
+           LEFT JOIN (SELECT user_id, COUNT(*) AS unread
+                      FROM notifications
+                      WHERE read = false
+                      GROUP BY user_id) n ON n.user_id = u.id
+           ON CONFLICT (user_id) DO UPDATE
+           SET unread_notifications = EXCLUDED.unread_notifications,
+               updated_at = now()
+           WHERE user_stats.unread_notifications <> EXCLUDED.unread_notifications
+           """, nativeQuery = true)
+    int reconcileUnreadNotifications();
+}
@@ -0,0 +1,104 @@
+package com.hairbook.hairbook_backend.security;
+
+import com.hairbook.hairbook_backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Schema(description = "Limiteur de débit des opérations d'authentification - Seaux à jetons par adresse IP et par nom d'utilisateur, vérifiés avant tout hachage de mot de passe")
+@Component
+public class AuthRateLimiter {
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+    private final int usernameCapacity;
+    private final double usernameRefillPerSecond;
+
+    public AuthRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${app.auth.rate-limit.ip.capacity:20}") int ipCapacity,
+                           @Value("${app.auth.rate-limit.ip.per-minute:20}") int ipPerMinute,
+                           @Value("${app.auth.rate-limit.username.capacity:5}") int usernameCapacity,
+                           @Value("${app.auth.rate-limit.username.per-minute:5}") int usernamePerMinute) {
+        this.meterRegistry = meterRegistry;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = ipPerMinute / 60.0;
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillPerSecond = usernamePerMinute / 60.0;
+        meterRegistry.gaugeMapSize("hairbook.auth.rate_limit.buckets", Tags.empty(), buckets);
+    }
+
+    @Schema(description = "Consomme un jeton pour l'adresse IP et, si fourni, pour le nom d'utilisateur - Lève TooManyRequestsException si l'un des seaux est vide")
+    public void acquire(String operation, String ipAddress, String username) {
+        long now = System.nanoTime();
+        check(operation, "ip", bucket("ip:" + ipAddress, ipCapacity, ipRefillPerSecond), now);
+        if (username != null && !username.isBlank()) {
+            check(operation, "username", bucket("user:" + username.trim().toLowerCase(Locale.ROOT),
+                    usernameCapacity, usernameRefillPerSecond), now);
+        }
+    }
+
+    @Schema(description = "Supprime les seaux redevenus pleins pour borner la mémoire")
+    @Scheduled(fixedDelayString = "${app.auth.rate-limit.cleanup-interval-ms:300000}")
+    public void cleanup() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private TokenBucket bucket(String key, int capacity, double refillPerSecond) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerSecond));
+    }
+
+    private void check(String operation, String scope, TokenBucket bucket, long now) {
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            meterRegistry.counter("hairbook.auth.rate_limit.rejected", "operation", operation, "scope", scope).increment();
+            long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000);
+            throw new TooManyRequestsException("Trop de tentatives, veuillez réessayer plus tard", retryAfterSeconds);
+        }
+    }
+
+    static final class TokenBucket {
+
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        // Retourne 0 si un jeton a été consommé, sinon l'attente (ns) avant le prochain jeton
+        synchronized long tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerNano);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.hairbook.hairbook_backend.security;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Schema(description = "PasswordEncoder délégant chaque calcul BCrypt à l'exécuteur de hachage borné - Connexion (matches) et inscription (encode) passent ainsi par le même contrôle d'admission")
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,97 @@
+package com.hairbook.hairbook_backend.security;
+
+import com.hairbook.hairbook_backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Schema(description = "Exécuteur dédié au hachage des mots de passe - Nombre de threads et file d'attente bornés : au-delà, la demande est refusée immédiatement (429) au lieu d'occuper les threads de requêtes et de pénaliser le reste de l'API")
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${app.auth.hashing.threads:0}") int threads,
+                                   @Value("${app.auth.hashing.queue-capacity:64}") int queueCapacity) {
+        // Par défaut la moitié des cœurs : le hachage ne doit jamais monopoliser le CPU
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("hairbook.auth.hashing.rejected")
+                .description("Demandes de hachage refusées faute de place dans la file")
+                .register(meterRegistry);
+        meterRegistry.gauge("hairbook.auth.hashing.queue_size", executor, e -> e.getQueue().size());
+    }
+
+    @Schema(description = "Exécute une opération de hachage sur le pool dédié et attend son résultat - Lève TooManyRequestsException si la file est pleine")
+    public <T> T execute(String operation, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                stageTimer("queue", operation).record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    stageTimer("hash", operation).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new TooManyRequestsException("Service d'authentification saturé, veuillez réessayer dans un instant", 1);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hachage du mot de passe interrompu", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Échec du hachage du mot de passe", ex.getCause());
+        }
+    }
+
+    @Schema(description = "Chronomètre d'une étape de l'authentification (rate_limit, queue, hash, token...)")
+    public Timer stageTimer(String stage, String operation) {
+        return Timer.builder("hairbook.auth.stage")
+                .description("Latence par étape des opérations d'authentification")
+                .tag("stage", stage)
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
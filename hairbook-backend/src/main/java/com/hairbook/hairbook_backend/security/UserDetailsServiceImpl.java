@@ -0,0 +1,25 @@
+package com.hairbook.hairbook_backend.security;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+@Schema(description = "Chargement des utilisateurs pour Spring Security - Utilisé uniquement lors de la connexion (vérification du mot de passe) ; s'appuie sur le cache des principaux et ne touche la base qu'en cas d'absence")
+@Service
+public class UserDetailsServiceImpl implements UserDetailsService {
+
+    private final UserPrincipalCache principalCache;
+
+    public UserDetailsServiceImpl(UserPrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String login) throws UsernameNotFoundException {
+        // Le champ de connexion accepte indifféremment le nom d'utilisateur ou l'e-mail
+        return principalCache.findByLogin(login)
+                .orElseThrow(() -> new UsernameNotFoundException("Utilisateur introuvable : " + login));
+    }
+}
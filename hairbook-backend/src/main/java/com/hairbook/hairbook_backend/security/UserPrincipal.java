@@ -0,0 +1,74 @@
+package com.hairbook.hairbook_backend.security;
+
+import com.hairbook.hairbook_backend.entity.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+@Schema(description = "Utilisateur authentifié tel que vu par Spring Security - Instantané immuable (identifiant, nom, rôles) qui ne nécessite aucun accès à la base une fois construit")
+public final class UserPrincipal implements UserDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String password;
+    private final String firstName;
+    private final String lastName;
+    private final List<GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String username, String email, String password,
+                         String firstName, String lastName, List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    @Schema(description = "Construit le principal depuis une entité User dont les rôles sont chargés")
+    public static UserPrincipal build(User user) {
+        List<GrantedAuthority> authorities = user.getRoles().stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.getName().name()))
+                .toList();
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getFirstName(), user.getLastName(), authorities);
+    }
+
+    @Schema(description = "Construit le principal depuis les claims d'un JWT vérifié (sans mot de passe ni nom complet)")
+    public static UserPrincipal fromClaims(Long id, String username, String email, List<String> roles) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+        return new UserPrincipal(id, username, email, null, null, null, authorities);
+    }
+
+    public Long getId() { return id; }
+
+    public String getEmail() { return email; }
+
+    public String getFirstName() { return firstName; }
+
+    public String getLastName() { return lastName; }
+
+    @Schema(description = "Noms des rôles de l'utilisateur (ex. ROLE_MEMBER)")
+    public List<String> getRoleNames() {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public String getUsername() { return username; }
+}
@@ -0,0 +1,119 @@
+package com.hairbook.hairbook_backend.security;
+
+import com.hairbook.hairbook_backend.repository.UserRepository;
+import com.hairbook.hairbook_backend.security.invalidation.AuthInvalidationEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Schema(description = "Cache des principaux utilisateurs - Instantané immuable (utilisateur + rôles chargés par une seule requête fetch-join) indexé par identifiant de connexion et par id ; invalidé par le bus d'invalidation lors d'un changement de profil ou de rôles")
+@Component
+public class UserPrincipalCache {
+
+    private record Entry(UserPrincipal principal, long loadedAtMillis) {
+    }
+
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    // Nom d'utilisateur et e-mail -> id
+    private final Map<String, Long> idByLogin = new ConcurrentHashMap<>();
+    // Incrémenté à chaque invalidation : un chargement commencé avant n'est pas mis en cache
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${app.auth.principal-cache.max-size:10000}") int maxSize,
+                              @Value("${app.auth.principal-cache.ttl-seconds:900}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+    }
+
+    @Schema(description = "Retourne le principal associé à un nom d'utilisateur ou une adresse e-mail")
+    public Optional<UserPrincipal> findByLogin(String login) {
+        Long id = idByLogin.get(login);
+        UserPrincipal cached = id != null ? fresh(id) : null;
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return load(() -> userRepository.findWithRolesByLogin(login).map(UserPrincipal::build));
+    }
+
+    @Schema(description = "Retourne le principal associé à un identifiant d'utilisateur")
+    public Optional<UserPrincipal> findById(Long userId) {
+        UserPrincipal cached = fresh(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return load(() -> userRepository.findWithRolesById(userId).map(UserPrincipal::build));
+    }
+
+    @Schema(description = "Retire un utilisateur du cache")
+    public void evict(Long userId) {
+        generation.incrementAndGet();
+        Entry removed = byId.remove(userId);
+        if (removed != null) {
+            idByLogin.remove(removed.principal().getUsername(), userId);
+            idByLogin.remove(removed.principal().getEmail(), userId);
+        }
+    }
+
+    @Schema(description = "Vide entièrement le cache")
+    public void clear() {
+        generation.incrementAndGet();
+        byId.clear();
+        idByLogin.clear();
+    }
+
+    @Schema(description = "Applique une invalidation reçue du bus (profil, rôles ou jetons d'un utilisateur modifiés)")
+    @EventListener
+    public void onInvalidation(AuthInvalidationEvent event) {
+        if (event.type() == AuthInvalidationEvent.Type.RESYNC) {
+            clear();
+        } else {
+            evict(event.userId());
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private UserPrincipal fresh(Long userId) {
+        Entry entry = byId.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.loadedAtMillis() > ttlMillis) {
+            evict(userId);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    private Optional<UserPrincipal> load(Supplier<Optional<UserPrincipal>> loader) {
+        if (byId.size() >= maxSize) {
+            clear();
+        }
+        long startGeneration = generation.get();
+        Optional<UserPrincipal> loaded = loader.get();
+        loaded.ifPresent(principal -> {
+            if (generation.get() == startGeneration) {
+                byId.put(principal.getId(), new Entry(principal, System.currentTimeMillis()));
+                idByLogin.put(principal.getUsername(), principal.getId());
+                idByLogin.put(principal.getEmail(), principal.getId());
+            }
+        });
+        return loaded;
+    }
+}
@@ -0,0 +1,76 @@
+package com.hairbook.hairbook_backend.security;
+
+import com.hairbook.hairbook_backend.security.invalidation.SessionInvalidationRegistry;
+import com.hairbook.hairbook_backend.security.jwt.AuthEntryPointJwt;
+import com.hairbook.hairbook_backend.security.jwt.AuthTokenFilter;
+import com.hairbook.hairbook_backend.security.jwt.JwtAuthenticationCache;
+import com.hairbook.hairbook_backend.security.jwt.JwtUtils;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+@Schema(description = "Configuration Spring Security - API sans état authentifiée par JWT : aucune session HTTP, aucun chargement d'utilisateur par requête")
+@Configuration
+@EnableMethodSecurity
+public class WebSecurityConfig {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final AuthEntryPointJwt unauthorizedHandler;
+    private final JwtUtils jwtUtils;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+    private final SessionInvalidationRegistry sessionInvalidationRegistry;
+
+    public WebSecurityConfig(UserDetailsServiceImpl userDetailsService,
+                             AuthEntryPointJwt unauthorizedHandler,
+                             JwtUtils jwtUtils,
+                             JwtAuthenticationCache jwtAuthenticationCache,
+                             SessionInvalidationRegistry sessionInvalidationRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.unauthorizedHandler = unauthorizedHandler;
+        this.jwtUtils = jwtUtils;
+        this.jwtAuthenticationCache = jwtAuthenticationCache;
+        this.sessionInvalidationRegistry = sessionInvalidationRegistry;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor hashingExecutor) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), hashingExecutor);
+    }
+
+    @Bean
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return new ProviderManager(provider);
+    }
+
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/api/auth/**").permitAll()
+                        // Authentifié par la signature Stripe-Signature, vérifiée par le service
+                        .requestMatchers("/api/webhooks/stripe").permitAll()
+                        .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .anyRequest().authenticated())
+                // Le filtre n'est pas un @Component pour ne pas être enregistré une seconde fois comme filtre servlet
+                .addFilterBefore(new AuthTokenFilter(jwtUtils, jwtAuthenticationCache, sessionInvalidationRegistry), UsernamePasswordAuthenticationFilter.class);
+        return http.build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.hairbook.hairbook_backend.security.invalidation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Invalidation reçue par le bus (y compris celles émises par ce nœud) et republiée localement aux caches d'authentification")
+public record AuthInvalidationEvent(Type type, Long userId, Instant invalidatedAt) {
+
+    public enum Type {
+        @Schema(description = "Jetons de rafraîchissement d'un utilisateur révoqués (déconnexion, compromission)")
+        TOKENS_REVOKED,
+        @Schema(description = "Utilisateur ou rôles modifiés : les jetons d'accès émis auparavant ne reflètent plus ses droits")
+        USER_CHANGED,
+        @Schema(description = "Des notifications ont pu être perdues : chaque cache doit se recharger entièrement depuis la base")
+        RESYNC
+    }
+
+    public static AuthInvalidationEvent resync() {
+        return new AuthInvalidationEvent(Type.RESYNC, null, Instant.now());
+    }
+
+    // Format du message NOTIFY : TYPE:userId:epochMillis (bien en dessous de la limite de 8000 octets)
+    String toPayload() {
+        return type.name() + ':' + userId + ':' + invalidatedAt.toEpochMilli();
+    }
+
+    static AuthInvalidationEvent fromPayload(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Message d'invalidation mal formé : " + payload);
+        }
+        return new AuthInvalidationEvent(Type.valueOf(parts[0]),
+                "null".equals(parts[1]) ? null : Long.valueOf(parts[1]),
+                Instant.ofEpochMilli(Long.parseLong(parts[2])));
+    }
+}
@@ -0,0 +1,131 @@
+package com.hairbook.hairbook_backend.security.invalidation;
+
+import com.hairbook.hairbook_backend.service.notification.UnreadCountChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Schema(description = "Écoute des canaux LISTEN/NOTIFY des invalidations d'authentification et des compteurs de notifications non lues - Connexion JDBC dédiée (hors pool) commune aux deux canaux, reconnexion automatique avec backoff et resynchronisation complète des caches après chaque mise en écoute, y compris la première")
+@Component
+public class AuthInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthInvalidationListener.class);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final String unreadChannel;
+    private final boolean enabled;
+    private final int pollTimeoutMs;
+    private final long maxBackoffMs;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuthInvalidationListener(DataSourceProperties dataSourceProperties,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${app.auth.invalidation.channel:auth_invalidation}") String channel,
+                                    @Value("${app.notification.unread.channel:unread_notifications}") String unreadChannel,
+                                    @Value("${app.auth.invalidation.enabled:true}") boolean enabled,
+                                    @Value("${app.auth.invalidation.poll-timeout-ms:10000}") int pollTimeoutMs,
+                                    @Value("${app.auth.invalidation.max-backoff-ms:30000}") long maxBackoffMs) {
+        for (String name : new String[] {channel, unreadChannel}) {
+            if (!name.matches("[a-z_][a-z0-9_]*")) {
+                throw new IllegalArgumentException("Nom de canal LISTEN invalide : " + name);
+            }
+        }
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+        this.unreadChannel = unreadChannel;
+        this.enabled = enabled;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("auth-invalidation-listener").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    // ----- Boucle d'écoute -----
+
+    private void run() {
+        long backoffMs = 1000;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                    statement.execute("LISTEN " + unreadChannel);
+                }
+                // Des notifications ont pu être émises avant ce LISTEN (depuis le chargement initial ou pendant une coupure) :
+                // chaque mise en écoute, y compris la première, est suivie d'un rechargement depuis la base
+                logger.info("Canaux {} et {} à l'écoute, resynchronisation des caches", channel, unreadChannel);
+                eventPublisher.publishEvent(AuthInvalidationEvent.resync());
+                backoffMs = 1000;
+                listen(connection.unwrap(PGConnection.class));
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Connexion au canal {} perdue ({}), nouvelle tentative dans {} ms", channel, ex.getMessage(), backoffMs);
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    private void listen(PGConnection connection) throws SQLException {
+        while (running) {
+            // Bloque jusqu'à l'arrivée d'une notification ou l'expiration du délai ; une connexion rompue lève SQLException
+            PGNotification[] notifications = connection.getNotifications(pollTimeoutMs);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                dispatch(notification.getName(), notification.getParameter());
+            }
+        }
+    }
+
+    private void dispatch(String name, String payload) {
+        try {
+            eventPublisher.publishEvent(unreadChannel.equals(name)
+                    ? UnreadCountChangedEvent.fromPayload(payload)
+                    : AuthInvalidationEvent.fromPayload(payload));
+        } catch (RuntimeException ex) {
+            logger.error("Traitement de l'invalidation '{}' impossible", payload, ex);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hairbook.hairbook_backend.security.invalidation;
+
+import com.hairbook.hairbook_backend.repository.UserSessionInvalidationRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Schema(description = "Émission des invalidations d'authentification - Persiste la date d'invalidation puis envoie un NOTIFY PostgreSQL, délivré à tous les nœuds uniquement au commit de la transaction appelante")
+@Component
+public class AuthInvalidationPublisher {
+
+    private final UserSessionInvalidationRepository invalidationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+
+    public AuthInvalidationPublisher(UserSessionInvalidationRepository invalidationRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     @Value("${app.auth.invalidation.channel:auth_invalidation}") String channel) {
+        this.invalidationRepository = invalidationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+    }
+
+    @Schema(description = "Signale la révocation des jetons d'un utilisateur à tous les nœuds")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tokensRevoked(Long userId) {
+        publish(AuthInvalidationEvent.Type.TOKENS_REVOKED, userId);
+    }
+
+    @Schema(description = "Signale la modification d'un utilisateur ou de ses rôles à tous les nœuds")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userChanged(Long userId) {
+        publish(AuthInvalidationEvent.Type.USER_CHANGED, userId);
+    }
+
+    private void publish(AuthInvalidationEvent.Type type, Long userId) {
+        // Comparée à la milliseconde au claim iat_ms : un jeton émis plus tôt dans la même seconde est bien refusé
+        Instant invalidatedAt = Instant.now();
+        invalidationRepository.upsert(userId, invalidatedAt);
+        AuthInvalidationEvent event = new AuthInvalidationEvent(type, userId, invalidatedAt);
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, channel, event.toPayload());
+    }
+}
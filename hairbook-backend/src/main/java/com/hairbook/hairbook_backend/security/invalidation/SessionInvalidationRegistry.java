@@ -0,0 +1,81 @@
+package com.hairbook.hairbook_backend.security.invalidation;
+
+import com.hairbook.hairbook_backend.entity.UserSessionInvalidation;
+import com.hairbook.hairbook_backend.repository.UserSessionInvalidationRepository;
+import com.hairbook.hairbook_backend.security.jwt.JwtAuthenticationCache;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Schema(description = "Registre local des invalidations de sessions - Pour chaque utilisateur invalidé, refuse les jetons d'accès émis avant la date d'invalidation ; alimenté par le bus LISTEN/NOTIFY et rechargé depuis la base après une coupure")
+@Component
+public class SessionInvalidationRegistry {
+
+    private final UserSessionInvalidationRepository invalidationRepository;
+    private final JwtAuthenticationCache authenticationCache;
+    private final long accessTokenLifetimeMs;
+
+    // userId -> epoch millis jusqu'auquel (inclus) les jetons émis sont refusés
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();
+
+    public SessionInvalidationRegistry(UserSessionInvalidationRepository invalidationRepository,
+                                       JwtAuthenticationCache authenticationCache,
+                                       @Value("${app.jwt.expiration}") long accessTokenLifetimeMs) {
+        this.invalidationRepository = invalidationRepository;
+        this.authenticationCache = authenticationCache;
+        this.accessTokenLifetimeMs = accessTokenLifetimeMs;
+    }
+
+    @Schema(description = "Retourne true si un jeton de l'utilisateur émis à cet instant (en millisecondes) a été invalidé depuis - Un jeton émis dans la milliseconde même de l'invalidation est refusé")
+    public boolean isInvalidated(Long userId, long issuedAtMillis) {
+        Long threshold = notBefore.get(userId);
+        return threshold != null && issuedAtMillis <= threshold;
+    }
+
+    @Schema(description = "Applique une invalidation reçue du bus")
+    @EventListener
+    public void onInvalidation(AuthInvalidationEvent event) {
+        if (event.type() == AuthInvalidationEvent.Type.RESYNC) {
+            reload();
+            return;
+        }
+        record(event.userId(), event.invalidatedAt().toEpochMilli());
+    }
+
+    @Schema(description = "Recharge toutes les invalidations encore pertinentes depuis la base et vide le cache des jetons vérifiés")
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reload() {
+        Map<Long, Long> loaded = new ConcurrentHashMap<>();
+        for (UserSessionInvalidation invalidation
+                : invalidationRepository.findByInvalidatedAtAfter(Instant.now().minusMillis(accessTokenLifetimeMs))) {
+            loaded.put(invalidation.getUserId(), invalidation.getInvalidatedAt().toEpochMilli());
+        }
+        notBefore.putAll(loaded);
+        notBefore.keySet().retainAll(loaded.keySet());
+        authenticationCache.clear();
+    }
+
+    @Schema(description = "Oublie les invalidations dont tous les jetons concernés ont expiré et purge la table")
+    @Scheduled(fixedDelayString = "${app.auth.invalidation.sweep-interval-ms:600000}")
+    @Transactional
+    public void sweep() {
+        long horizon = System.currentTimeMillis() - accessTokenLifetimeMs;
+        notBefore.values().removeIf(threshold -> threshold < horizon);
+        invalidationRepository.deleteByInvalidatedAtBefore(Instant.ofEpochMilli(horizon));
+    }
+
+    void record(Long userId, long invalidatedAtMillis) {
+        // Le seuil est posé avant l'éviction : une requête concurrente qui remettrait l'entrée en cache la verra invalidée
+        notBefore.merge(userId, invalidatedAtMillis, Math::max);
+        authenticationCache.evictUser(userId);
+    }
+}
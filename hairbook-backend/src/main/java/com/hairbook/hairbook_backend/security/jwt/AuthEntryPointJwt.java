@@ -0,0 +1,34 @@
+package com.hairbook.hairbook_backend.security.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hairbook.hairbook_backend.exception.ApiError;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Schema(description = "Point d'entrée appelé lorsqu'une requête non authentifiée accède à une ressource protégée - Retourne une ApiError JSON avec le statut 401")
+@Component
+public class AuthEntryPointJwt implements AuthenticationEntryPoint {
+
+    private final ObjectMapper objectMapper;
+
+    public AuthEntryPointJwt(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException)
+            throws IOException {
+        ApiError apiError = new ApiError(HttpStatus.UNAUTHORIZED, "Authentification requise");
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), apiError);
+    }
+}
@@ -0,0 +1,89 @@
+package com.hairbook.hairbook_backend.security.jwt;
+
+import com.hairbook.hairbook_backend.security.UserPrincipal;
+import com.hairbook.hairbook_backend.security.invalidation.SessionInvalidationRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Schema(description = "Filtre d'authentification JWT sans état - Vérifie le jeton Bearer (ou le récupère du cache des jetons déjà vérifiés), écarte les jetons émis avant une invalidation de session et construit l'authentification à partir de ses claims, sans aucune requête en base")
+public class AuthTokenFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtils jwtUtils;
+    private final JwtAuthenticationCache cache;
+    private final SessionInvalidationRegistry invalidations;
+
+    public AuthTokenFilter(JwtUtils jwtUtils, JwtAuthenticationCache cache, SessionInvalidationRegistry invalidations) {
+        this.jwtUtils = jwtUtils;
+        this.cache = cache;
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = parseJwt(request);
+        if (token != null) {
+            Authentication authentication = authenticate(token);
+            if (authentication != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Authentication authenticate(String token) {
+        Authentication cached = cache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Claims claims = jwtUtils.parseClaims(token);
+            UserPrincipal principal = jwtUtils.toPrincipal(claims);
+            long issuedAt = jwtUtils.getIssuedAtMillis(claims);
+            if (invalidations.isInvalidated(principal.getId(), issuedAt)) {
+                return null;
+            }
+            Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                    principal, null, principal.getAuthorities());
+            cache.put(token, authentication, claims.getExpiration().getTime());
+            // Une invalidation arrivée entre la vérification et la mise en cache ne doit pas être masquée
+            if (invalidations.isInvalidated(principal.getId(), issuedAt)) {
+                cache.evict(token);
+                return null;
+            }
+            return authentication;
+        } catch (JwtException | IllegalArgumentException ex) {
+            logger.debug("JWT rejeté : {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private static String parseJwt(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+}
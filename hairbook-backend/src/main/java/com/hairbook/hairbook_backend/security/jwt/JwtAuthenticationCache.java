@@ -0,0 +1,86 @@
+package com.hairbook.hairbook_backend.security.jwt;
+
+import com.hairbook.hairbook_backend.security.UserPrincipal;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Schema(description = "Cache borné des jetons déjà vérifiés (jeton -> authentification) - Évite de revérifier la signature HMAC à chaque requête ; chaque entrée expire avec son jeton")
+@Component
+public class JwtAuthenticationCache {
+
+    private record Entry(Authentication authentication, long expiresAtMillis) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public JwtAuthenticationCache(@Value("${app.jwt.cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Schema(description = "Retourne l'authentification associée au jeton, ou null si absente ou expirée")
+    public Authentication get(String token) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(token, entry);
+            return null;
+        }
+        return entry.authentication();
+    }
+
+    @Schema(description = "Mémorise l'authentification d'un jeton vérifié jusqu'à son expiration")
+    public void put(String token, Authentication authentication, long expiresAtMillis) {
+        if (entries.size() >= maxSize) {
+            evictExpired();
+            if (entries.size() >= maxSize) {
+                evictSome(maxSize / 10 + 1);
+            }
+        }
+        entries.put(token, new Entry(authentication, expiresAtMillis));
+    }
+
+    @Schema(description = "Retire l'entrée d'un jeton")
+    public void evict(String token) {
+        entries.remove(token);
+    }
+
+    @Schema(description = "Retire toutes les entrées d'un utilisateur (changement de rôles, révocation)")
+    public void evictUser(Long userId) {
+        entries.values().removeIf(entry -> entry.authentication().getPrincipal() instanceof UserPrincipal principal
+                && principal.getId().equals(userId));
+    }
+
+    @Schema(description = "Vide entièrement le cache")
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Schema(description = "Purge périodique des jetons expirés")
+    @Scheduled(fixedDelayString = "${app.jwt.cache.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+
+    private void evictSome(int count) {
+        Iterator<String> iterator = entries.keySet().iterator();
+        for (int i = 0; i < count && iterator.hasNext(); i++) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.hairbook.hairbook_backend.security.jwt;
+
+import com.hairbook.hairbook_backend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+
+@Schema(description = "Émission et vérification des JWT d'accès - La clé HMAC et le parseur sont construits une seule fois au démarrage ; le jeton embarque l'identifiant et les rôles afin qu'aucune requête SQL ne soit nécessaire pour authentifier un appel")
+@Component
+public class JwtUtils {
+
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_ROLES = "roles";
+    // "iat" est à la seconde : l'instant d'émission à la milliseconde est comparé aux invalidations de session
+    static final String CLAIM_ISSUED_AT_MILLIS = "iat_ms";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final long expirationMs;
+
+    public JwtUtils(@Value("${app.jwt.secret}") String secret,
+                    @Value("${app.jwt.expiration}") long expirationMs) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.expirationMs = expirationMs;
+    }
+
+    @Schema(description = "Génère un JWT d'accès signé pour l'utilisateur authentifié")
+    public String generateToken(UserPrincipal principal) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject(principal.getUsername())
+                .claim(CLAIM_USER_ID, principal.getId())
+                .claim(CLAIM_EMAIL, principal.getEmail())
+                .claim(CLAIM_ROLES, principal.getRoleNames())
+                .claim(CLAIM_ISSUED_AT_MILLIS, now.getTime())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + expirationMs))
+                .signWith(key)
+                .compact();
+    }
+
+    @Schema(description = "Vérifie la signature et l'expiration d'un JWT et retourne ses claims - Lève JwtException si le jeton est invalide")
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Schema(description = "Reconstruit le principal à partir des claims d'un jeton vérifié")
+    public UserPrincipal toPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (userId == null || roles == null) {
+            throw new JwtException("Claims d'identité manquants dans le jeton");
+        }
+        return UserPrincipal.fromClaims(userId.longValue(), claims.getSubject(), claims.get(CLAIM_EMAIL, String.class),
+                roles.stream().map(String::valueOf).toList());
+    }
+
+    @Schema(description = "Instant d'émission d'un jeton vérifié en millisecondes - Pour un jeton sans claim iat_ms, le début de la seconde iat, ce qui le refuse face à une invalidation survenue dans la même seconde")
+    public long getIssuedAtMillis(Claims claims) {
+        Number issuedAtMillis = claims.get(CLAIM_ISSUED_AT_MILLIS, Number.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis.longValue();
+        }
+        if (claims.getIssuedAt() == null) {
+            throw new JwtException("Date d'émission manquante dans le jeton");
+        }
+        return claims.getIssuedAt().getTime();
+    }
+
+    @Schema(description = "Durée de validité des jetons d'accès en secondes")
+    public long getExpirationSeconds() {
+        return expirationMs / 1000;
+    }
+}
@@ -0,0 +1,157 @@
+package com.hairbook.hairbook_backend.service.appointment;
+
+import com.hairbook.hairbook_backend.dto.AppointmentDto;
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.AggregateType;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.EventType;
+import com.hairbook.hairbook_backend.entity.Service;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.exception.BookingConflictException;
+import com.hairbook.hairbook_backend.exception.ResourceNotFoundException;
+import com.hairbook.hairbook_backend.repository.AppointmentRepository;
+import com.hairbook.hairbook_backend.repository.ServiceRepository;
+import com.hairbook.hairbook_backend.repository.UserRepository;
+import com.hairbook.hairbook_backend.service.outbox.AppointmentEventPayload;
+import com.hairbook.hairbook_backend.service.outbox.OutboxService;
+import com.hairbook.hairbook_backend.service.reminder.ReminderScheduler;
+import com.hairbook.hairbook_backend.service.statistics.AppointmentStatsRollup;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Service de gestion des rendez-vous - Point d'entrée unique des créations, déplacements et changements de statut, afin que les effets associés (rappels, statistiques, etc.) restent synchronisés")
+@org.springframework.stereotype.Service
+public class AppointmentService {
+
+    private final AppointmentRepository appointmentRepository;
+    private final ServiceRepository serviceRepository;
+    private final UserRepository userRepository;
+    private final ReminderScheduler reminderScheduler;
+    private final OutboxService outboxService;
+    private final AppointmentStatsRollup statsRollup;
+
+    public AppointmentService(AppointmentRepository appointmentRepository,
+                              ServiceRepository serviceRepository,
+                              UserRepository userRepository,
+                              ReminderScheduler reminderScheduler,
+                              OutboxService outboxService,
+                              AppointmentStatsRollup statsRollup) {
+        this.appointmentRepository = appointmentRepository;
+        this.serviceRepository = serviceRepository;
+        this.userRepository = userRepository;
+        this.reminderScheduler = reminderScheduler;
+        this.outboxService = outboxService;
+        this.statsRollup = statsRollup;
+    }
+
+    @Schema(description = "Crée un rendez-vous pour un utilisateur après vérification des chevauchements, puis planifie son rappel")
+    @Transactional
+    public AppointmentDto createAppointment(Long userId, AppointmentDto request) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", "id", userId));
+        Service service = serviceRepository.findById(request.getServiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Service", "id", request.getServiceId()));
+        if (!service.isActive()) {
+            throw new BookingConflictException("Le service '" + service.getName() + "' n'est plus disponible à la réservation");
+        }
+
+        LocalDateTime endTime = request.getEndTime() != null
+                ? request.getEndTime()
+                : request.getStartTime().plusMinutes(service.getDurationMinutes());
+        checkSlotAvailable(null, request.getStartTime(), endTime);
+
+        Appointment appointment = new Appointment();
+        appointment.setUser(user);
+        appointment.setService(service);
+        appointment.setStartTime(request.getStartTime());
+        appointment.setEndTime(endTime);
+        appointment.setNotes(request.getNotes());
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+
+        Appointment saved = appointmentRepository.save(appointment);
+        reminderScheduler.onAppointmentChanged(saved);
+        statsRollup.onCreated(saved);
+        publish(saved, EventType.APPOINTMENT_CREATED, null, null);
+        return toDto(saved);
+    }
+
+    @Schema(description = "Déplace un rendez-vous sur un nouveau créneau et replanifie son rappel")
+    @Transactional
+    public AppointmentDto rescheduleAppointment(Long appointmentId, LocalDateTime startTime, LocalDateTime endTime) {
+        Appointment appointment = getAppointment(appointmentId);
+        checkSlotAvailable(appointmentId, startTime, endTime);
+
+        LocalDateTime previousStartTime = appointment.getStartTime();
+        appointment.setStartTime(startTime);
+        appointment.setEndTime(endTime);
+        reminderScheduler.onAppointmentChanged(appointment);
+        statsRollup.onRescheduled(appointment, previousStartTime);
+        publish(appointment, EventType.APPOINTMENT_RESCHEDULED, appointment.getStatus(), previousStartTime);
+        return toDto(appointment);
+    }
+
+    @Schema(description = "Change le statut d'un rendez-vous - Le rappel est annulé si le rendez-vous n'est plus actif")
+    @Transactional
+    public AppointmentDto updateStatus(Long appointmentId, AppointmentStatus status) {
+        Appointment appointment = getAppointment(appointmentId);
+        AppointmentStatus previousStatus = appointment.getStatus();
+        if (previousStatus == status) {
+            return toDto(appointment);
+        }
+        appointment.setStatus(status);
+        reminderScheduler.onAppointmentChanged(appointment);
+        statsRollup.onStatusChanged(appointment, previousStatus);
+        publish(appointment, EventType.APPOINTMENT_STATUS_CHANGED, previousStatus, appointment.getStartTime());
+        return toDto(appointment);
+    }
+
+    @Schema(description = "Annule un rendez-vous et son rappel")
+    @Transactional
+    public AppointmentDto cancelAppointment(Long appointmentId) {
+        return updateStatus(appointmentId, AppointmentStatus.CANCELLED);
+    }
+
+    @Schema(description = "Convertit une entité Appointment (utilisateur et service chargés) en DTO")
+    public static AppointmentDto toDto(Appointment appointment) {
+        User user = appointment.getUser();
+        Service service = appointment.getService();
+        return new AppointmentDto(
+                appointment.getId(),
+                user.getId(),
+                service.getId(),
+                service.getName(),
+                appointment.getStartTime(),
+                appointment.getEndTime(),
+                appointment.getStatus(),
+                appointment.getNotes(),
+                user.getFirstName() + " " + user.getLastName(),
+                user.getEmail(),
+                user.getPhoneNumber()
+        );
+    }
+
+    // L'événement est écrit dans la transaction du rendez-vous : les effets en aval sont relayés après commit
+    private void publish(Appointment appointment, EventType eventType, AppointmentStatus previousStatus,
+                         LocalDateTime previousStartTime) {
+        outboxService.append(AggregateType.APPOINTMENT, appointment.getId(), eventType,
+                AppointmentEventPayload.of(appointment, previousStatus, previousStartTime));
+    }
+
+    private Appointment getAppointment(Long appointmentId) {
+        return appointmentRepository.findWithUserAndServiceById(appointmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Rendez-vous", "id", appointmentId));
+    }
+
+    private void checkSlotAvailable(Long appointmentId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new BookingConflictException("L'heure de fin doit être postérieure à l'heure de début");
+        }
+        boolean overlaps = appointmentRepository.findOverlappingAppointments(startTime, endTime).stream()
+                .anyMatch(existing -> !existing.getId().equals(appointmentId));
+        if (overlaps) {
+            throw new BookingConflictException("Ce créneau chevauche un rendez-vous existant");
+        }
+    }
+}
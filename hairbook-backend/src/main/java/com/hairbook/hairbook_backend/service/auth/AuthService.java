@@ -0,0 +1,138 @@
+package com.hairbook.hairbook_backend.service.auth;
+
+import com.hairbook.hairbook_backend.dto.auth.JwtResponse;
+import com.hairbook.hairbook_backend.dto.auth.LoginRequest;
+import com.hairbook.hairbook_backend.dto.auth.SignupRequest;
+import com.hairbook.hairbook_backend.dto.auth.TokenRefreshResponse;
+import com.hairbook.hairbook_backend.entity.ERole;
+import com.hairbook.hairbook_backend.entity.RefreshToken;
+import com.hairbook.hairbook_backend.entity.Role;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.exception.DuplicateResourceException;
+import com.hairbook.hairbook_backend.exception.ResourceNotFoundException;
+import com.hairbook.hairbook_backend.exception.TokenRefreshException;
+import com.hairbook.hairbook_backend.repository.RoleRepository;
+import com.hairbook.hairbook_backend.repository.UserRepository;
+import com.hairbook.hairbook_backend.security.AuthRateLimiter;
+import com.hairbook.hairbook_backend.security.PasswordHashingExecutor;
+import com.hairbook.hairbook_backend.security.UserPrincipal;
+import com.hairbook.hairbook_backend.security.UserPrincipalCache;
+import com.hairbook.hairbook_backend.security.jwt.JwtUtils;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Schema(description = "Service d'authentification - Connexion, inscription, rafraîchissement et déconnexion")
+@Service
+public class AuthService {
+
+    private final AuthenticationManager authenticationManager;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtils jwtUtils;
+    private final RefreshTokenService refreshTokenService;
+    private final UserPrincipalCache principalCache;
+    private final AuthRateLimiter rateLimiter;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<ERole, Integer> roleIds = new ConcurrentHashMap<>();
+
+    public AuthService(AuthenticationManager authenticationManager,
+                       UserRepository userRepository,
+                       RoleRepository roleRepository,
+                       PasswordEncoder passwordEncoder,
+                       JwtUtils jwtUtils,
+                       RefreshTokenService refreshTokenService,
+                       UserPrincipalCache principalCache,
+                       AuthRateLimiter rateLimiter,
+                       PasswordHashingExecutor hashingExecutor,
+                       PlatformTransactionManager transactionManager) {
+        this.authenticationManager = authenticationManager;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtils = jwtUtils;
+        this.refreshTokenService = refreshTokenService;
+        this.principalCache = principalCache;
+        this.rateLimiter = rateLimiter;
+        this.hashingExecutor = hashingExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Schema(description = "Vérifie les identifiants puis émet un JWT d'accès et un jeton de rafraîchissement pour l'appareil - Soumis à la limite de débit par IP et par nom d'utilisateur")
+    public JwtResponse login(LoginRequest request, String userAgent, String ipAddress) {
+        rateLimiter.acquire("login", ipAddress, request.getUsername());
+        return hashingExecutor.stageTimer("total", "login").record(() -> authenticate(request, userAgent, ipAddress));
+    }
+
+    // Volontairement hors transaction : la vérification BCrypt ne doit pas retenir de connexion JDBC
+    private JwtResponse authenticate(LoginRequest request, String userAgent, String ipAddress) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+
+        IssuedRefreshToken refreshToken = refreshTokenService.issue(principal.getId(), userAgent, ipAddress);
+
+        return new JwtResponse(jwtUtils.generateToken(principal), refreshToken.token(), jwtUtils.getExpirationSeconds(),
+                principal.getId(), principal.getUsername(), principal.getEmail(),
+                principal.getFirstName(), principal.getLastName(), principal.getRoleNames());
+    }
+
+    @Schema(description = "Crée un compte membre - Lève DuplicateResourceException si le nom d'utilisateur ou l'e-mail est déjà pris ; soumis à la limite de débit par IP")
+    public void signup(SignupRequest request, String ipAddress) {
+        rateLimiter.acquire("signup", ipAddress, null);
+        if (userRepository.existsByUsername(request.getUsername())) {
+            throw new DuplicateResourceException("Ce nom d'utilisateur est déjà utilisé");
+        }
+        if (userRepository.existsByEmail(request.getEmail())) {
+            throw new DuplicateResourceException("Cette adresse e-mail est déjà utilisée");
+        }
+
+        // Hachage hors transaction : aucune connexion n'est retenue pendant l'attente du pool de hachage
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = new User(request.getUsername(), request.getEmail(), encodedPassword,
+                    request.getFirstName(), request.getLastName(), request.getPhoneNumber());
+            // Les rôles demandés par le client sont ignorés : toute inscription publique crée un membre
+            user.getRoles().add(role(ERole.ROLE_MEMBER));
+            userRepository.save(user);
+        });
+    }
+
+    @Schema(description = "Échange un jeton de rafraîchissement valide contre un nouveau JWT d'accès et un nouveau jeton de rafraîchissement")
+    // Un jeton refusé n'annule pas la transaction : verify a pu supprimer un jeton expiré et alimenter le filtre des révoqués au commit
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public TokenRefreshResponse refresh(String refreshTokenValue, String userAgent, String ipAddress) {
+        RefreshToken current = refreshTokenService.verify(refreshTokenValue);
+        Long userId = current.getUser().getId();
+        UserPrincipal principal = principalCache.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", "id", userId));
+        IssuedRefreshToken rotated = refreshTokenService.rotate(current, userAgent, ipAddress);
+        return new TokenRefreshResponse(jwtUtils.generateToken(principal), rotated.token(), jwtUtils.getExpirationSeconds());
+    }
+
+    @Schema(description = "Déconnecte l'utilisateur de tous ses appareils en révoquant ses jetons de rafraîchissement")
+    @Transactional
+    public void logout(Long userId) {
+        refreshTokenService.revokeAll(userId);
+    }
+
+    // Les rôles sont fixes : leur identifiant est résolu une fois, puis référencé sans requête
+    private Role role(ERole name) {
+        Integer id = roleIds.computeIfAbsent(name, key -> roleRepository.findByName(key)
+                .map(Role::getId)
+                .orElseThrow(() -> new IllegalStateException("Rôle " + key + " absent de la base")));
+        return roleRepository.getReferenceById(id);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hairbook.hairbook_backend.service.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Jeton de rafraîchissement émis - Identifiant de la ligne et valeur brute à transmettre au client (jamais stockée)")
+public record IssuedRefreshToken(Long id, String token) {
+}
@@ -0,0 +1,47 @@
+package com.hairbook.hairbook_backend.service.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Schema(description = "Génération et hachage des jetons de rafraîchissement - Seule l'empreinte SHA-256 (64 caractères hexadécimaux) est stockée en base ; la valeur brute n'est connue que du client")
+public final class RefreshTokenHasher {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final HexFormat HEX = HexFormat.of();
+
+    private RefreshTokenHasher() {
+    }
+
+    @Schema(description = "Génère une nouvelle valeur de jeton aléatoire (256 bits, Base64 URL)")
+    public static String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    @Schema(description = "Calcule l'empreinte SHA-256 hexadécimale d'une valeur de jeton")
+    public static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HEX.formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponible", ex);
+        }
+    }
+
+    // Les 128 premiers bits de l'empreinte alimentent directement le filtre de Bloom
+    static long high(String tokenHash) {
+        return Long.parseUnsignedLong(tokenHash, 0, 16, 16);
+    }
+
+    static long low(String tokenHash) {
+        return Long.parseUnsignedLong(tokenHash, 16, 32, 16);
+    }
+}
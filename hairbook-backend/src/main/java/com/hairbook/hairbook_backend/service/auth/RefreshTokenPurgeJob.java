@@ -0,0 +1,149 @@
+package com.hairbook.hairbook_backend.service.auth;
+
+import com.hairbook.hairbook_backend.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Schema(description = "Purge en tâche de fond des jetons de rafraîchissement expirés ou révoqués - Suppressions par tranches de clé primaire dans des transactions courtes, avec pause entre tranches, un seul nœud à la fois (verrou consultatif de session) et métriques par exécution")
+@Component
+public class RefreshTokenPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    private static final long PURGE_LOCK_KEY = 0x5246545055524745L;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedRefreshTokenFilter revokedTokens;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final long pauseMs;
+    private final Duration revokedRetention;
+
+    private final Counter purgedRows;
+    private final Timer purgeDuration;
+    private final AtomicLong lastRunPurged = new AtomicLong();
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository,
+                                RevokedRefreshTokenFilter revokedTokens,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.jwt.refresh.purge.batch-size:5000}") int batchSize,
+                                @Value("${app.jwt.refresh.purge.pause-ms:100}") long pauseMs,
+                                @Value("${app.jwt.refresh.purge.revoked-retention-hours:24}") long revokedRetentionHours) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedTokens = revokedTokens;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.revokedRetention = Duration.ofHours(revokedRetentionHours);
+        this.purgedRows = Counter.builder("hairbook.refresh_tokens.purged")
+                .description("Jetons de rafraîchissement supprimés par la purge")
+                .register(meterRegistry);
+        this.purgeDuration = Timer.builder("hairbook.refresh_tokens.purge.duration")
+                .description("Durée d'une exécution complète de la purge")
+                .register(meterRegistry);
+        meterRegistry.gauge("hairbook.refresh_tokens.purge.last_run_rows", lastRunPurged);
+    }
+
+    @Schema(description = "Exécution planifiée - Ignorée si un autre nœud détient déjà le verrou de purge")
+    @Scheduled(fixedDelayString = "${app.jwt.refresh.purge.interval-ms:3600000}",
+               initialDelayString = "${app.jwt.refresh.purge.initial-delay-ms:300000}")
+    public void run() {
+        // Le verrou est porté par une connexion tenue pendant toute la purge : il tombe avec elle si le nœud s'arrête
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)")) {
+                logger.debug("Purge des jetons déjà en cours sur un autre nœud");
+                return null;
+            }
+            try {
+                purge();
+            } finally {
+                advisoryLock(connection, "SELECT pg_advisory_unlock(?)");
+            }
+            return null;
+        });
+    }
+
+    @Schema(description = "Parcourt la table par tranches d'identifiants et supprime les jetons expirés ou révoqués depuis plus que la rétention - Retourne le nombre de lignes supprimées")
+    public long purge() {
+        long startedAt = System.nanoTime();
+        RefreshTokenRepository.IdRange range = refreshTokenRepository.findIdRange();
+        long purged = 0;
+        int batches = 0;
+        if (range.getMinId() != null) {
+            Instant now = Instant.now();
+            Instant revokedBefore = now.minus(revokedRetention);
+            // La borne haute est figée au départ : les jetons créés pendant la purge ne sont pas concernés
+            long maxId = range.getMaxId();
+            for (long fromId = range.getMinId() - 1; fromId < maxId; fromId += batchSize) {
+                long toId = Math.min(fromId + batchSize, maxId);
+                long lower = fromId;
+                Integer deleted = transactionTemplate.execute(status -> {
+                    List<String> hashes = refreshTokenRepository.purgeRange(lower, toId, now, revokedBefore);
+                    revokedTokens.addAfterCommit(hashes);
+                    return hashes.size();
+                });
+                purged += deleted;
+                purgedRows.increment(deleted);
+                batches++;
+                if (deleted > 0 && !pause()) {
+                    break;
+                }
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        purgeDuration.record(Duration.ofNanos(elapsedNanos));
+        lastRunPurged.set(purged);
+        logger.info("Purge des jetons de rafraîchissement : {} ligne(s) supprimée(s) en {} tranche(s), {} ms",
+                purged, batches, elapsedNanos / 1_000_000);
+        return purged;
+    }
+
+    // Laisse respirer la réplication et l'autovacuum entre deux tranches ayant réellement supprimé des lignes
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, PURGE_LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
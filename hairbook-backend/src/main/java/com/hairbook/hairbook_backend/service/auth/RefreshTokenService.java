@@ -0,0 +1,101 @@
+package com.hairbook.hairbook_backend.service.auth;
+
+import com.hairbook.hairbook_backend.entity.RefreshToken;
+import com.hairbook.hairbook_backend.exception.TokenRefreshException;
+import com.hairbook.hairbook_backend.repository.RefreshTokenRepository;
+import com.hairbook.hairbook_backend.security.invalidation.AuthInvalidationPublisher;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Gestion des jetons de rafraîchissement - Une ligne par appareil (user-agent + IP, contrainte d'unicité), nombre d'appareils limité par utilisateur ; seules les empreintes SHA-256 sont stockées et les jetons invalidés sont rejetés par un filtre en mémoire")
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedRefreshTokenFilter revokedTokens;
+    private final AuthInvalidationPublisher invalidationPublisher;
+    private final long refreshExpirationMs;
+    private final int maxDevices;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               RevokedRefreshTokenFilter revokedTokens,
+                               AuthInvalidationPublisher invalidationPublisher,
+                               @Value("${app.jwt.refresh-expiration}") long refreshExpirationMs,
+                               @Value("${app.jwt.max-devices:5}") int maxDevices) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedTokens = revokedTokens;
+        this.invalidationPublisher = invalidationPublisher;
+        this.refreshExpirationMs = refreshExpirationMs;
+        this.maxDevices = maxDevices;
+    }
+
+    @Schema(description = "Crée ou renouvelle le jeton de rafraîchissement de l'appareil - Révoque les plus anciens appareils actifs si le nombre maximal est atteint ; une seule instruction SQL")
+    @Transactional
+    public IssuedRefreshToken issue(Long userId, String userAgent, String ipAddress) {
+        String rawToken = RefreshTokenHasher.newToken();
+        RefreshTokenRepository.DeviceRotation rotation = refreshTokenRepository.rotateDeviceToken(userId, userAgent, ipAddress,
+                RefreshTokenHasher.hash(rawToken), Instant.now().plusMillis(refreshExpirationMs), maxDevices);
+
+        List<String> invalidatedHashes = new ArrayList<>();
+        if (rotation.getPreviousTokenHash() != null) {
+            invalidatedHashes.add(rotation.getPreviousTokenHash());
+        }
+        if (rotation.getEvictedTokenHashes() != null) {
+            invalidatedHashes.addAll(List.of(rotation.getEvictedTokenHashes().split(",")));
+        }
+        revokedTokens.addAfterCommit(invalidatedHashes);
+        return new IssuedRefreshToken(rotation.getId(), rawToken);
+    }
+
+    @Schema(description = "Retourne le jeton s'il existe, n'est pas révoqué et n'a pas expiré - Lève TokenRefreshException sinon ; un jeton connu comme invalidé est rejeté sans requête SQL. Une transaction appelante doit aussi déclarer noRollbackFor = TokenRefreshException pour conserver la suppression et l'ajout au filtre")
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public RefreshToken verify(String rawToken) {
+        String tokenHash = RefreshTokenHasher.hash(rawToken);
+        if (revokedTokens.mightBeRevoked(tokenHash)) {
+            throw new TokenRefreshException("Jeton de rafraîchissement révoqué ou expiré");
+        }
+
+        RefreshToken token = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new TokenRefreshException("Jeton de rafraîchissement inconnu"));
+        if (token.isRevoked()) {
+            revokedTokens.addAfterCommit(List.of(tokenHash));
+            throw new TokenRefreshException("Jeton de rafraîchissement révoqué");
+        }
+        if (token.isExpired()) {
+            refreshTokenRepository.delete(token);
+            revokedTokens.addAfterCommit(List.of(tokenHash));
+            throw new TokenRefreshException("Jeton de rafraîchissement expiré, veuillez vous reconnecter");
+        }
+        return token;
+    }
+
+    @Schema(description = "Émet le jeton suivant pour l'appareil appelant - L'ancien jeton est révoqué s'il appartenait à un autre appareil")
+    @Transactional
+    public IssuedRefreshToken rotate(RefreshToken current, String userAgent, String ipAddress) {
+        IssuedRefreshToken issued = issue(current.getUser().getId(), userAgent, ipAddress);
+        if (!issued.id().equals(current.getId())) {
+            revoke(current);
+        }
+        return issued;
+    }
+
+    @Schema(description = "Révoque tous les jetons de rafraîchissement d'un utilisateur (déconnexion de tous les appareils) - Les jetons d'accès déjà émis sont refusés sur tous les nœuds")
+    @Transactional
+    public int revokeAll(Long userId) {
+        List<String> revokedHashes = refreshTokenRepository.revokeAllUserTokens(userId);
+        revokedTokens.addAfterCommit(revokedHashes);
+        invalidationPublisher.tokensRevoked(userId);
+        return revokedHashes.size();
+    }
+
+    private void revoke(RefreshToken token) {
+        token.setRevoked(true);
+        revokedTokens.addAfterCommit(List.of(token.getTokenHash()));
+    }
+}
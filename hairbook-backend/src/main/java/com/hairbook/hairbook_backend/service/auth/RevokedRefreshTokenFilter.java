@@ -0,0 +1,153 @@
+package com.hairbook.hairbook_backend.service.auth;
+
+import com.hairbook.hairbook_backend.repository.RefreshTokenRepository;
+import com.hairbook.hairbook_backend.security.invalidation.AuthInvalidationEvent;
+import com.hairbook.hairbook_backend.util.BloomFilter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Schema(description = "Filtre en mémoire des empreintes de jetons de rafraîchissement révoqués ou expirés - Un jeton présent dans le filtre est rejeté sans requête SQL ; le taux de faux positifs est borné par configuration et le filtre est reconstruit périodiquement depuis la base")
+@Component
+public class RevokedRefreshTokenFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevokedRefreshTokenFilter.class);
+
+    private static final int HASH_LENGTH = 64;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // Filtre en cours de reconstruction : reçoit aussi les ajouts concurrents pour ne rien perdre lors de la bascule
+    private volatile BloomFilter building;
+    private volatile long filterCapacity;
+    private final AtomicLong insertions = new AtomicLong();
+
+    public RevokedRefreshTokenFilter(RefreshTokenRepository refreshTokenRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.jwt.refresh.revocation-filter.expected-insertions:100000}") long expectedInsertions,
+                                     @Value("${app.jwt.refresh.revocation-filter.false-positive-rate:0.000001}") double falsePositiveRate) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        this.filterCapacity = expectedInsertions;
+    }
+
+    @Schema(description = "Retourne true si l'empreinte correspond probablement à un jeton révoqué ou expiré")
+    public boolean mightBeRevoked(String tokenHash) {
+        return isHash(tokenHash)
+                && filter.mightContain(RefreshTokenHasher.high(tokenHash), RefreshTokenHasher.low(tokenHash));
+    }
+
+    @Schema(description = "Ajoute des empreintes au filtre après le commit de la transaction courante (immédiatement hors transaction)")
+    public void addAfterCommit(Collection<String> tokenHashes) {
+        if (tokenHashes.isEmpty()) {
+            return;
+        }
+        List<String> hashes = List.copyOf(tokenHashes);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    hashes.forEach(RevokedRefreshTokenFilter.this::add);
+                }
+            });
+        } else {
+            hashes.forEach(this::add);
+        }
+    }
+
+    @Schema(description = "Applique une invalidation reçue du bus : charge les empreintes révoquées de l'utilisateur, ou reconstruit tout après une coupure")
+    @EventListener
+    public void onInvalidation(AuthInvalidationEvent event) {
+        switch (event.type()) {
+            case TOKENS_REVOKED -> refreshTokenRepository.findRevokedTokenHashesByUserId(event.userId()).forEach(this::add);
+            case RESYNC -> rebuild();
+            case USER_CHANGED -> {
+                // Les jetons de rafraîchissement restent valides : le prochain rafraîchissement relira les rôles
+            }
+        }
+    }
+
+    @Schema(description = "Reconstruit le filtre depuis les jetons révoqués ou expirés encore en base - Élimine les empreintes purgées et redimensionne le filtre si nécessaire")
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.jwt.refresh.revocation-filter.rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        long capacity = Math.max(expectedInsertions, insertions.get() * 2);
+        BloomFilter next = BloomFilter.create(capacity, falsePositiveRate);
+        building = next;
+        try {
+            long loaded = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<String> hashes = refreshTokenRepository.streamInvalidTokenHashes(Instant.now())) {
+                    for (String hash : (Iterable<String>) hashes::iterator) {
+                        if (isHash(hash)) {
+                            next.put(RefreshTokenHasher.high(hash), RefreshTokenHasher.low(hash));
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            });
+            filter = next;
+            filterCapacity = capacity;
+            insertions.set(loaded);
+            logger.info("Filtre de révocation reconstruit : {} empreinte(s), {} bits, {} hachages",
+                    loaded, next.getBitCount(), next.getHashCount());
+        } finally {
+            building = null;
+        }
+    }
+
+    private void add(String tokenHash) {
+        if (!isHash(tokenHash)) {
+            return;
+        }
+        long high = RefreshTokenHasher.high(tokenHash);
+        long low = RefreshTokenHasher.low(tokenHash);
+        filter.put(high, low);
+        BloomFilter pending = building;
+        if (pending != null) {
+            pending.put(high, low);
+        }
+        long capacity = filterCapacity;
+        if (insertions.incrementAndGet() == capacity) {
+            logger.warn("Filtre de révocation saturé ({} empreintes) : le taux de faux positifs augmente jusqu'à la prochaine reconstruction",
+                    capacity);
+        }
+    }
+
+    // Les lignes antérieures au hachage contiennent encore des valeurs brutes : elles sont ignorées
+    private static boolean isHash(String value) {
+        if (value == null || value.length() != HASH_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,270 @@
+package com.hairbook.hairbook_backend.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hairbook.hairbook_backend.entity.IdempotencyKey;
+import com.hairbook.hairbook_backend.exception.IdempotencyException;
+import com.hairbook.hairbook_backend.repository.IdempotencyKeyRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+@Schema(description = "Exécution idempotente des requêtes client - La première requête d'une clé est traitée et sa réponse conservée (table idempotency_keys + cache mémoire) ; les nouvelles tentatives la rejouent et les doublons simultanés attendent la première")
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+    private final long waitTimeoutMs;
+    private final int cacheMaxSize;
+
+    // Réponses terminées : scope:userId:clé -> empreinte + réponse, consultées avant toute requête SQL
+    private final Map<String, CompletedResponse> cache = new ConcurrentHashMap<>();
+
+    // Traitements en cours sur ce nœud : les doublons simultanés attendent le même résultat
+    private final Map<String, CompletableFuture<CompletedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyKeyRepository repository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${app.idempotency.lease-seconds:60}") long leaseSeconds,
+                              @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+                              @Value("${app.idempotency.cache.max-size:10000}") int cacheMaxSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    @Schema(description = "Réponse d'une exécution idempotente - replayed vaut true si la réponse provient d'une exécution antérieure")
+    public record IdempotentResult<T>(T body, boolean replayed) {}
+
+    @Schema(description = "Tentative transmise à l'action - key() (scope:userId:clé) sert de clé d'idempotence auprès des services externes ; markExternalEffect() signale un appel externe non annulable, après lequel un échec ne libère plus la clé")
+    public static final class Attempt {
+
+        private final String key;
+        private volatile boolean externalEffect;
+
+        Attempt(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public void markExternalEffect() {
+            this.externalEffect = true;
+        }
+
+        boolean hasExternalEffect() {
+            return externalEffect;
+        }
+    }
+
+    @Schema(description = "Exécute l'action une seule fois par clé - Rejoue la réponse enregistrée pour une même requête, lève IdempotencyException (422) si la clé a servi à une requête différente ou (409) si la requête d'origine ne se termine pas à temps. L'action gère ses propres transactions et ne doit pas être appelée dans une transaction")
+    public <T> IdempotentResult<T> execute(String scope, Long userId, String key, Object request,
+                                           Class<T> responseType, Function<Attempt, T> action) {
+        String requestHash = hash(request);
+        String cacheKey = scope + ':' + userId + ':' + key;
+
+        CompletedResponse cached = cache.get(cacheKey);
+        if (cached != null && cached.isFresh()) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        CompletableFuture<CompletedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<CompletedResponse> running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            return replay(await(running), requestHash, responseType);
+        }
+
+        try {
+            Outcome<T> outcome = claimAndRun(scope, userId, key, requestHash, new Attempt(cacheKey), action);
+            remember(cacheKey, outcome.response());
+            mine.complete(outcome.response());
+            return outcome.replayed()
+                    ? replay(outcome.response(), requestHash, responseType)
+                    : new IdempotentResult<>(outcome.body(), false);
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    @Schema(description = "Tâche périodique - Supprime les clés expirées en base et dans le cache local")
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}",
+               initialDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(response -> response.expiresAtMillis() <= now);
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteExpired(Instant.ofEpochMilli(now)));
+        if (deleted != null && deleted > 0) {
+            logger.debug("Purge des clés d'idempotence : {} clé(s) expirée(s) supprimée(s)", deleted);
+        }
+    }
+
+    private <T> Outcome<T> claimAndRun(String scope, Long userId, String key, String requestHash,
+                                       Attempt attempt, Function<Attempt, T> action) {
+        Instant expiresAt;
+        while (true) {
+            Instant now = Instant.now();
+            Instant candidateExpiry = now.plus(ttl);
+            Integer claimed = transactionTemplate.execute(status ->
+                    repository.claim(scope, userId, key, requestHash, now.plus(lease), candidateExpiry));
+            if (claimed != null && claimed > 0) {
+                expiresAt = candidateExpiry;
+                break;
+            }
+            // Clé détenue par un autre nœud (ou déjà terminée) : on attend sa réponse en base
+            CompletedResponse completed = waitForCompletion(scope, userId, key);
+            if (completed != null) {
+                return new Outcome<>(null, completed, true);
+            }
+            // La clé a été libérée après un échec : on tente de la réserver à nouveau
+        }
+
+        T body;
+        try {
+            body = action.apply(attempt);
+        } catch (RuntimeException ex) {
+            if (attempt.hasExternalEffect()) {
+                // Appel externe déjà émis : la clé reste réservée jusqu'à la fin du bail, les nouvelles tentatives
+                // reçoivent 409 ; après le bail, l'appel rejoué est dédoublonné par attempt.key() côté service externe
+                logger.warn("Échec après un appel externe pour la clé d'idempotence {} : clé conservée", attempt.key());
+                throw ex;
+            }
+            // L'échec n'est pas mémorisé : le client peut retenter avec la même clé
+            transactionTemplate.executeWithoutResult(status -> repository.release(scope, userId, key));
+            throw ex;
+        }
+        String responseBody = write(body);
+        transactionTemplate.executeWithoutResult(status ->
+                repository.complete(scope, userId, key, requestHash, responseBody));
+        return new Outcome<>(body, new CompletedResponse(requestHash, responseBody, expiresAt.toEpochMilli()), false);
+    }
+
+    private CompletedResponse waitForCompletion(String scope, Long userId, String key) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            Optional<IdempotencyKey> record = repository.findByScopeAndUserIdAndIdempotencyKey(scope, userId, key);
+            if (record.isEmpty()) {
+                return null;
+            }
+            if (record.get().getStatus() == IdempotencyKey.Status.COMPLETED) {
+                IdempotencyKey completed = record.get();
+                return new CompletedResponse(completed.getRequestHash(), completed.getResponseBody(),
+                        completed.getExpiresAt().toEpochMilli());
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw IdempotencyException.stillInProgress();
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw IdempotencyException.stillInProgress();
+            }
+        }
+    }
+
+    private CompletedResponse await(CompletableFuture<CompletedResponse> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            // Même issue que la requête d'origine
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw IdempotencyException.stillInProgress();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw IdempotencyException.stillInProgress();
+        }
+    }
+
+    private <T> IdempotentResult<T> replay(CompletedResponse response, String requestHash, Class<T> responseType) {
+        if (!response.requestHash().equals(requestHash)) {
+            throw IdempotencyException.keyReused();
+        }
+        try {
+            return new IdempotentResult<>(objectMapper.readValue(response.responseBody(), responseType), true);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Réponse d'idempotence illisible", ex);
+        }
+    }
+
+    private void remember(String cacheKey, CompletedResponse response) {
+        if (cache.size() >= cacheMaxSize) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(cached -> cached.expiresAtMillis() <= now);
+            if (cache.size() >= cacheMaxSize) {
+                // Cache plein de clés valides : la base reste la référence, on repart d'un cache vide
+                cache.clear();
+            }
+        }
+        cache.put(cacheKey, response);
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Requête non sérialisable", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponible", ex);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Réponse non sérialisable", ex);
+        }
+    }
+
+    private record CompletedResponse(String requestHash, String responseBody, long expiresAtMillis) {
+
+        boolean isFresh() {
+            return expiresAtMillis > System.currentTimeMillis();
+        }
+    }
+
+    private record Outcome<T>(T body, CompletedResponse response, boolean replayed) {}
+}
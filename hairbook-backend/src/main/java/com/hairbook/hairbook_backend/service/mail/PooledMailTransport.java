@@ -0,0 +1,215 @@
+package com.hairbook.hairbook_backend.service.mail;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Schema(description = "Transport SMTP mutualisé - Maintient un petit pool de connexions authentifiées (STARTTLS négocié) et envoie les messages par lots sur chaque connexion au lieu d'ouvrir une connexion par message")
+@Service
+public class PooledMailTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledMailTransport.class);
+
+    private final Session session;
+    private final String protocol;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+
+    private final int poolSize;
+    private final int batchSize;
+    private final int maxMessagesPerConnection;
+
+    // Emplacements du pool : une connexion peut être fermée, elle sera rouverte à l'emprunt
+    private final BlockingQueue<PooledConnection> pool;
+    private final ExecutorService senders;
+
+    private final AtomicLong sentMessages = new AtomicLong();
+    private final AtomicLong openedConnections = new AtomicLong();
+    private final AtomicLong recycledConnections = new AtomicLong();
+
+    public PooledMailTransport(JavaMailSenderImpl mailSender,
+                               @Value("${app.mail.pool.size:4}") int poolSize,
+                               @Value("${app.mail.pool.batch-size:50}") int batchSize,
+                               @Value("${app.mail.pool.max-messages-per-connection:500}") int maxMessagesPerConnection) {
+        if (poolSize <= 0 || batchSize <= 0 || maxMessagesPerConnection <= 0) {
+            throw new IllegalArgumentException("La taille du pool, des lots et le nombre maximal de messages par connexion doivent être positifs");
+        }
+        this.session = mailSender.getSession();
+        this.protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        this.host = mailSender.getHost();
+        this.port = mailSender.getPort();
+        this.username = mailSender.getUsername();
+        this.password = mailSender.getPassword();
+        this.poolSize = poolSize;
+        this.batchSize = batchSize;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            this.pool.add(new PooledConnection());
+        }
+        this.senders = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "smtp-pool-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Schema(description = "Envoie un message unique en empruntant une connexion du pool")
+    public void send(MimeMessage message) {
+        sendAll(List.of(message));
+    }
+
+    @Schema(description = "Envoie une liste de messages découpée en lots répartis sur les connexions du pool - Lève MailSendException avec le détail des messages en échec")
+    public void sendAll(List<MimeMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<Future<Map<Object, Exception>>> results = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            List<MimeMessage> batch = messages.subList(from, Math.min(from + batchSize, messages.size()));
+            results.add(senders.submit(() -> sendBatch(batch)));
+        }
+
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        for (Future<Map<Object, Exception>> result : results) {
+            try {
+                failedMessages.putAll(result.get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new MailSendException("Envoi interrompu", ex);
+            } catch (ExecutionException ex) {
+                throw new MailSendException("Échec de l'envoi d'un lot de messages", ex.getCause());
+            }
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    @Schema(description = "Ferme toutes les connexions ouvertes et arrête les threads d'envoi")
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        for (PooledConnection connection : pool) {
+            connection.close();
+        }
+    }
+
+    public int getPoolSize() { return poolSize; }
+
+    public long getSentMessages() { return sentMessages.get(); }
+
+    public long getOpenedConnections() { return openedConnections.get(); }
+
+    public long getRecycledConnections() { return recycledConnections.get(); }
+
+    // ----- Envoi d'un lot sur une connexion -----
+
+    private Map<Object, Exception> sendBatch(List<MimeMessage> batch) throws InterruptedException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledConnection connection = pool.take();
+        try {
+            connection.validate();
+            for (MimeMessage message : batch) {
+                try {
+                    connection.send(message);
+                    sentMessages.incrementAndGet();
+                } catch (MessagingException ex) {
+                    // Une erreur laisse la session SMTP dans un état incertain : on recycle la connexion
+                    logger.warn("Échec d'envoi SMTP, recyclage de la connexion : {}", ex.getMessage());
+                    failedMessages.put(message, ex);
+                    connection.recycle();
+                }
+                if (connection.isExhausted()) {
+                    connection.recycle();
+                }
+            }
+        } finally {
+            pool.put(connection);
+        }
+        return failedMessages;
+    }
+
+    private final class PooledConnection {
+
+        private Transport transport;
+        private int messagesSent;
+
+        void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            Address[] recipients = message.getAllRecipients();
+            connect().sendMessage(message, recipients != null ? recipients : new Address[0]);
+            messagesSent++;
+        }
+
+        // Un NOOP par lot suffit pour détecter une connexion fermée par le serveur
+        void validate() {
+            if (transport != null && !transport.isConnected()) {
+                recycle();
+            }
+        }
+
+        boolean isExhausted() {
+            return messagesSent >= maxMessagesPerConnection;
+        }
+
+        void recycle() {
+            if (transport != null) {
+                recycledConnections.incrementAndGet();
+            }
+            close();
+        }
+
+        void close() {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException ex) {
+                    logger.debug("Fermeture de la connexion SMTP impossible : {}", ex.getMessage());
+                }
+            }
+            transport = null;
+            messagesSent = 0;
+        }
+
+        private Transport connect() throws MessagingException {
+            if (transport == null) {
+                Transport newTransport = session.getTransport(protocol);
+                newTransport.connect(host, port, username, password);
+                transport = newTransport;
+                openedConnections.incrementAndGet();
+            }
+            return transport;
+        }
+    }
+}
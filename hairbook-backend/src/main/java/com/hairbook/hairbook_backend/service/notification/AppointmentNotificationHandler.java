@@ -0,0 +1,72 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.entity.OutboxEvent;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.EventType;
+import com.hairbook.hairbook_backend.repository.AppointmentRepository;
+import com.hairbook.hairbook_backend.service.outbox.AppointmentEventPayload;
+import com.hairbook.hairbook_backend.service.outbox.OutboxEventHandler;
+import com.hairbook.hairbook_backend.service.outbox.OutboxService;
+import com.hairbook.hairbook_backend.service.template.NotificationTemplateEngine;
+import com.hairbook.hairbook_backend.service.template.RenderedNotification;
+import com.hairbook.hairbook_backend.service.template.TemplateContext;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.stereotype.Component;
+
+@Schema(description = "Consommateur de l'outbox qui notifie le client de la confirmation ou de l'annulation de son rendez-vous, hors de la transaction de réservation")
+@Component
+public class AppointmentNotificationHandler implements OutboxEventHandler {
+
+    private final AppointmentRepository appointmentRepository;
+    private final NotificationService notificationService;
+    private final NotificationTemplateEngine templateEngine;
+    private final OutboxService outboxService;
+
+    public AppointmentNotificationHandler(AppointmentRepository appointmentRepository,
+                                          NotificationService notificationService,
+                                          NotificationTemplateEngine templateEngine,
+                                          OutboxService outboxService) {
+        this.appointmentRepository = appointmentRepository;
+        this.notificationService = notificationService;
+        this.templateEngine = templateEngine;
+        this.outboxService = outboxService;
+    }
+
+    @Override
+    public String getName() {
+        return "appointment-notifications";
+    }
+
+    @Override
+    public boolean supports(EventType eventType) {
+        return eventType == EventType.APPOINTMENT_CREATED || eventType == EventType.APPOINTMENT_STATUS_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        AppointmentEventPayload payload = outboxService.readPayload(event, AppointmentEventPayload.class);
+        String templateId = templateFor(event.getEventType(), payload.status());
+        if (templateId == null) {
+            return;
+        }
+        appointmentRepository.findWithUserAndServiceById(payload.appointmentId()).ifPresent(appointment -> notify(appointment, templateId));
+    }
+
+    private void notify(Appointment appointment, String templateId) {
+        RenderedNotification rendered = templateEngine.render(templateId,
+                TemplateContext.forAppointment(appointment, templateEngine.getDefaultLocale()));
+        notificationService.createNotification(appointment.getUser().getId(), rendered.title(), rendered.message(),
+                "APPOINTMENT", "/appointments/" + appointment.getId());
+    }
+
+    private static String templateFor(EventType eventType, AppointmentStatus status) {
+        if (eventType == EventType.APPOINTMENT_CREATED || status == AppointmentStatus.CONFIRMED) {
+            return NotificationTemplateEngine.APPOINTMENT_CONFIRMATION;
+        }
+        if (status == AppointmentStatus.CANCELLED) {
+            return NotificationTemplateEngine.APPOINTMENT_CANCELLATION;
+        }
+        return null;
+    }
+}
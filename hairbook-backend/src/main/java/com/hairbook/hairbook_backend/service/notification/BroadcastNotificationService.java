@@ -0,0 +1,69 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import com.hairbook.hairbook_backend.entity.ERole;
+import com.hairbook.hairbook_backend.repository.NotificationRepository;
+import com.hairbook.hairbook_backend.repository.UserRepository;
+import com.hairbook.hairbook_backend.repository.UserStatsRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Schema(description = "Diffusion d'une notification à tous les utilisateurs d'un rôle (ex. promotion pour ROLE_MEMBER) - Écrit les notifications par INSERT ... SELECT sur des tranches d'identifiants, sans jamais charger d'entités User")
+@Service
+public class BroadcastNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastNotificationService.class);
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BroadcastNotificationService(NotificationRepository notificationRepository,
+                                        UserRepository userRepository,
+                                        UserStatsRepository userStatsRepository,
+                                        UnreadNotificationCounter unreadCounter,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.notification.broadcast.chunk-size:20000}") int chunkSize) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.userStatsRepository = userStatsRepository;
+        this.unreadCounter = unreadCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Schema(description = "Crée une notification non lue pour chaque utilisateur du rôle donné - Chaque tranche est écrite dans sa propre transaction pour limiter la durée des verrous ; retourne le nombre de notifications créées")
+    public long broadcast(ERole role, String title, String message, String type, String actionUrl) {
+        long start = System.currentTimeMillis();
+        long total = 0;
+        long afterUserId = 0;
+
+        while (true) {
+            Long chunkEnd = userRepository.findRoleMemberIdChunkEnd(role.name(), afterUserId, chunkSize);
+            if (chunkEnd == null) {
+                break;
+            }
+            long from = afterUserId;
+            Integer inserted = transactionTemplate.execute(status -> {
+                int count = notificationRepository.insertForRoleMembers(role.name(), from, chunkEnd, title, message, type, actionUrl);
+                userStatsRepository.incrementUnreadForRoleMembers(role.name(), from, chunkEnd);
+                // Compteurs modifiés directement en base : chaque nœud vide son cache au commit de la tranche
+                unreadCounter.invalidateAll();
+                return count;
+            });
+            total += inserted != null ? inserted : 0;
+            afterUserId = chunkEnd;
+        }
+
+        logger.info("Diffusion '{}' vers {} : {} notification(s) créée(s) en {} ms",
+                title, role, total, System.currentTimeMillis() - start);
+        return total;
+    }
+}
@@ -0,0 +1,8 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import com.hairbook.hairbook_backend.dto.notification.NotificationDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Événement applicatif publié lors de la création d'une notification - Diffusé aux clients connectés après le commit de la transaction")
+public record NotificationCreatedEvent(NotificationDto notification) {
+}
@@ -0,0 +1,128 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import com.hairbook.hairbook_backend.dto.notification.NotificationDto;
+import com.hairbook.hairbook_backend.entity.Notification;
+import com.hairbook.hairbook_backend.exception.ResourceNotFoundException;
+import com.hairbook.hairbook_backend.repository.NotificationRepository;
+import com.hairbook.hairbook_backend.repository.NotificationRepository.DeletedNotificationCounts;
+import com.hairbook.hairbook_backend.repository.UserRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Schema(description = "Service de gestion des notifications utilisateur - Point d'entrée unique des écritures afin de garder les compteurs de non lues cohérents")
+@Service
+public class NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public NotificationService(NotificationRepository notificationRepository,
+                               UserRepository userRepository,
+                               UnreadNotificationCounter unreadCounter,
+                               ApplicationEventPublisher eventPublisher) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.unreadCounter = unreadCounter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Schema(description = "Crée une notification non lue pour un utilisateur, incrémente son compteur de non lues et publie un événement pour les flux SSE")
+    @Transactional
+    public NotificationDto createNotification(Long userId, String title, String message, String type, String actionUrl) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("Utilisateur", "id", userId);
+        }
+        Notification notification = new Notification();
+        notification.setUser(userRepository.getReferenceById(userId));
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setType(type);
+        notification.setActionUrl(actionUrl);
+
+        Notification saved = notificationRepository.save(notification);
+        unreadCounter.increment(userId, 1);
+
+        NotificationDto dto = toDto(saved, userId);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(dto));
+        return dto;
+    }
+
+    @Schema(description = "Marque une notification comme lue - Le compteur n'est décrémenté que si la notification était effectivement non lue")
+    @Transactional
+    public void markAsRead(Long notificationId, Long userId) {
+        int updated = notificationRepository.markAsRead(notificationId, userId);
+        if (updated > 0) {
+            unreadCounter.decrement(userId, updated);
+        }
+    }
+
+    @Schema(description = "Marque toutes les notifications de l'utilisateur comme lues en une seule requête UPDATE - Retourne le nombre de notifications modifiées")
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsRead(userId);
+        unreadCounter.decrement(userId, updated);
+        return updated;
+    }
+
+    @Schema(description = "Marque comme lues les notifications de l'utilisateur jusqu'à un identifiant inclus - Retourne le nombre de notifications modifiées")
+    @Transactional
+    public int markAsReadUpTo(Long userId, Long maxId) {
+        int updated = notificationRepository.markAsReadUpTo(userId, maxId);
+        unreadCounter.decrement(userId, updated);
+        return updated;
+    }
+
+    @Schema(description = "Supprime les notifications de l'utilisateur parmi les identifiants donnés - Le compteur de non lues est ajusté du nombre de non lues supprimées")
+    @Transactional
+    public long deleteNotifications(Long userId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        DeletedNotificationCounts counts = notificationRepository.deleteByUserIdAndIdIn(userId, ids);
+        unreadCounter.decrement(userId, counts.getUnreadDeleted());
+        return counts.getDeleted();
+    }
+
+    @Schema(description = "Retourne le nombre de notifications non lues (badge) sans interroger la table notifications")
+    public long getUnreadCount(Long userId) {
+        return unreadCounter.getUnreadCount(userId);
+    }
+
+    @Schema(description = "Récupère les notifications d'un utilisateur avec pagination, les plus récentes d'abord")
+    @Transactional(readOnly = true)
+    public Page<NotificationDto> getNotifications(Long userId, Pageable pageable) {
+        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
+                .map(notification -> toDto(notification, userId));
+    }
+
+    @Schema(description = "Récupère une page (100 au plus) des notifications créées après un identifiant, pour la reprise d'un flux SSE page par page")
+    @Transactional(readOnly = true)
+    public List<NotificationDto> getNotificationsAfter(Long userId, Long lastEventId) {
+        return notificationRepository.findTop100ByUserIdAndIdGreaterThanOrderByIdAsc(userId, lastEventId).stream()
+                .map(notification -> toDto(notification, userId))
+                .toList();
+    }
+
+    @Schema(description = "Convertit une entité Notification en DTO sans initialiser l'utilisateur associé")
+    public static NotificationDto toDto(Notification notification, Long userId) {
+        return new NotificationDto(
+                notification.getId(),
+                userId,
+                notification.getTitle(),
+                notification.getMessage(),
+                notification.getType(),
+                notification.isRead(),
+                notification.getCreatedAt(),
+                notification.getActionUrl()
+        );
+    }
+}
@@ -0,0 +1,190 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import com.hairbook.hairbook_backend.dto.notification.NotificationDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Schema(description = "Registre des connexions SSE ouvertes sur ce nœud - Associe chaque utilisateur à ses flux actifs, pousse les nouvelles notifications et entretient les connexions par des heartbeats")
+@Component
+public class NotificationStreamRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamRegistry.class);
+
+    static final String NOTIFICATION_EVENT = "notification";
+
+    private final long emitterTimeoutMs;
+
+    private final Map<Long, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    public NotificationStreamRegistry(@Value("${app.notification.stream.timeout-ms:3600000}") long emitterTimeoutMs) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    @Schema(description = "Lecture d'une page de notifications manquées postérieures à un identifiant, dans l'ordre croissant - Une page vide termine la reprise")
+    @FunctionalInterface
+    public interface MissedPage {
+
+        List<NotificationDto> after(Long lastId);
+    }
+
+    @Schema(description = "Ouvre un flux SSE pour un utilisateur - Le flux est enregistré avant la lecture des notifications manquées depuis lastEventId (null : aucune reprise), lues page par page jusqu'à rattraper le direct ; celles poussées pendant la reprise sont mises en attente puis envoyées après elle, sans doublon")
+    public SseEmitter open(Long userId, Long lastEventId, MissedPage missed) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        open(userId, emitter, lastEventId, missed);
+        return emitter;
+    }
+
+    void open(Long userId, SseEmitter emitter, Long lastEventId, MissedPage missed) {
+        Connection connection = new Connection(userId, emitter, lastEventId != null);
+        add(connection);
+        if (lastEventId == null) {
+            return;
+        }
+        try {
+            connection.replay(lastEventId, missed);
+        } catch (RuntimeException ex) {
+            remove(connection);
+            throw ex;
+        }
+    }
+
+    // Enregistre un flux déjà créé, sans reprise
+    void register(Long userId, SseEmitter emitter) {
+        add(new Connection(userId, emitter, false));
+    }
+
+    @Schema(description = "Pousse une notification nouvellement créée vers tous les flux ouverts de son destinataire - Déclenché après le commit")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        NotificationDto notification = event.notification();
+        Set<Connection> connections = connectionsByUser.get(notification.getUserId());
+        if (connections == null) {
+            return;
+        }
+        for (Connection connection : connections) {
+            connection.deliver(notification);
+        }
+    }
+
+    @Schema(description = "Envoie un commentaire SSE à toutes les connexions pour les maintenir ouvertes à travers les proxys et détecter les clients partis")
+    @Scheduled(fixedDelayString = "${app.notification.stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        connectionsByUser.forEach((userId, connections) -> {
+            for (Connection connection : connections) {
+                try {
+                    connection.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException ex) {
+                    remove(connection);
+                    connection.emitter.completeWithError(ex);
+                }
+            }
+        });
+    }
+
+    @Schema(description = "Nombre de connexions SSE actuellement ouvertes sur ce nœud")
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @Schema(description = "Nombre d'utilisateurs ayant au moins un flux ouvert sur ce nœud")
+    public int getConnectedUserCount() {
+        return connectionsByUser.size();
+    }
+
+    private void add(Connection connection) {
+        connectionsByUser.computeIfAbsent(connection.userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        connectionCount.incrementAndGet();
+        connection.emitter.onCompletion(() -> remove(connection));
+        connection.emitter.onTimeout(() -> remove(connection));
+        connection.emitter.onError(ex -> remove(connection));
+    }
+
+    private void remove(Connection connection) {
+        connectionsByUser.computeIfPresent(connection.userId, (id, connections) -> {
+            if (connections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    // Flux ouvert : tant que la reprise n'est pas terminée, les notifications poussées en direct sont mises en attente
+    private final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private List<NotificationDto> pending;
+
+        Connection(Long userId, SseEmitter emitter, boolean replaying) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.pending = replaying ? new ArrayList<>() : null;
+        }
+
+        synchronized void deliver(NotificationDto notification) {
+            if (pending != null) {
+                pending.add(notification);
+            } else {
+                send(notification);
+            }
+        }
+
+        void replay(Long lastEventId, MissedPage missed) {
+            // Seules les notifications en direct sont envoyées concurremment, et elles sont en attente : pas de verrou pendant la reprise
+            Set<Long> replayed = new HashSet<>();
+            boolean open = true;
+            Long after = lastEventId;
+            List<NotificationDto> page;
+            while (open && !(page = missed.after(after)).isEmpty()) {
+                for (NotificationDto notification : page) {
+                    if (!(open = send(notification))) {
+                        break;
+                    }
+                    replayed.add(notification.getId());
+                }
+                after = page.get(page.size() - 1).getId();
+            }
+            synchronized (this) {
+                for (NotificationDto notification : pending) {
+                    // Une notification validée avant la lecture des manquées peut aussi avoir été poussée en direct
+                    if (open && replayed.add(notification.getId())) {
+                        open = send(notification);
+                    }
+                }
+                pending = null;
+            }
+        }
+
+        private boolean send(NotificationDto notification) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(notification.getId()))
+                        .name(NOTIFICATION_EVENT)
+                        .data(notification));
+                return true;
+            } catch (IOException | IllegalStateException ex) {
+                logger.debug("Flux SSE fermé pour l'utilisateur {} : {}", userId, ex.getMessage());
+                remove(this);
+                emitter.completeWithError(ex);
+                return false;
+            }
+        }
+    }
+}
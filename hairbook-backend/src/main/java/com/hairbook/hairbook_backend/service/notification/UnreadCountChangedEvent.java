@@ -0,0 +1,16 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Compteur de notifications non lues modifié par un nœud, reçu par le canal dédié (y compris depuis ce nœud) - userId null pour tous les utilisateurs (diffusion)")
+public record UnreadCountChangedEvent(Long userId) {
+
+    // Format du message NOTIFY : userId, ou "null" pour une diffusion
+    String toPayload() {
+        return String.valueOf(userId);
+    }
+
+    public static UnreadCountChangedEvent fromPayload(String payload) {
+        return new UnreadCountChangedEvent("null".equals(payload) ? null : Long.valueOf(payload));
+    }
+}
@@ -0,0 +1,28 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Schema(description = "Émission des changements de compteurs de non lues - NOTIFY PostgreSQL sur un canal distinct de celui des invalidations d'authentification, délivré à tous les nœuds uniquement au commit de la transaction appelante")
+@Component
+public class UnreadCountPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+
+    public UnreadCountPublisher(JdbcTemplate jdbcTemplate,
+                                @Value("${app.notification.unread.channel:unread_notifications}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+    }
+
+    @Schema(description = "Signale à tous les nœuds que le compteur de non lues d'un utilisateur (ou de tous si null) a changé - Aucune écriture en base, seulement le NOTIFY")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void unreadCountChanged(Long userId) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, channel, new UnreadCountChangedEvent(userId).toPayload());
+    }
+}
@@ -0,0 +1,115 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import com.hairbook.hairbook_backend.repository.UserStatsRepository;
+import com.hairbook.hairbook_backend.security.invalidation.AuthInvalidationEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Schema(description = "Compteur de notifications non lues par utilisateur - Colonne user_stats.unread_notifications maintenue incrémentalement, doublée d'un cache en mémoire, invalidé sur tous les nœuds par un canal LISTEN/NOTIFY dédié, pour que l'affichage du badge ne touche jamais la table notifications")
+@Component
+public class UnreadNotificationCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+
+    private final UserStatsRepository userStatsRepository;
+    private final UnreadCountPublisher unreadCountPublisher;
+
+    // Cache local : userId -> nombre de non lues
+    private final Map<Long, Long> cache = new ConcurrentHashMap<>();
+
+    public UnreadNotificationCounter(UserStatsRepository userStatsRepository,
+                                     UnreadCountPublisher unreadCountPublisher) {
+        this.userStatsRepository = userStatsRepository;
+        this.unreadCountPublisher = unreadCountPublisher;
+    }
+
+    @Schema(description = "Retourne le nombre de notifications non lues depuis le cache, ou depuis la ligne user_stats en cas d'absence")
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId) {
+        return cache.computeIfAbsent(userId,
+                id -> userStatsRepository.findUnreadNotificationsByUserId(id).orElse(0L));
+    }
+
+    @Schema(description = "Incrémente le compteur après l'insertion de notifications - Doit être appelé dans la transaction d'insertion")
+    @Transactional
+    public void increment(Long userId, long count) {
+        applyDelta(userId, count);
+    }
+
+    @Schema(description = "Décrémente le compteur après le passage de notifications à l'état lu - Doit être appelé dans la transaction de mise à jour")
+    @Transactional
+    public void decrement(Long userId, long count) {
+        applyDelta(userId, -count);
+    }
+
+    @Schema(description = "Signale une mise à jour groupée des compteurs (diffusion) - Tous les nœuds vident leur cache au commit de la transaction appelante")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invalidateAll() {
+        unreadCountPublisher.unreadCountChanged(null);
+    }
+
+    @Schema(description = "Applique un changement reçu du canal des compteurs, y compris ceux émis par ce nœud - Le compteur sera relu depuis user_stats")
+    @EventListener
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        if (event.userId() == null) {
+            cache.clear();
+        } else {
+            cache.remove(event.userId());
+        }
+    }
+
+    @Schema(description = "Vide le cache après une reconnexion au bus : des changements ont pu être perdus pendant la coupure")
+    @EventListener
+    public void onInvalidation(AuthInvalidationEvent event) {
+        if (event.type() == AuthInvalidationEvent.Type.RESYNC) {
+            cache.clear();
+        }
+    }
+
+    @Schema(description = "Tâche périodique de réconciliation - Recalcule les compteurs depuis la table notifications, corrige les dérives et vide le cache local")
+    @Scheduled(fixedDelayString = "${app.notification.unread-reconcile-interval-ms:3600000}",
+               initialDelayString = "${app.notification.unread-reconcile-interval-ms:3600000}")
+    @Transactional
+    public void reconcile() {
+        int corrected = userStatsRepository.reconcileUnreadNotifications();
+        cache.clear();
+        if (corrected > 0) {
+            logger.warn("Réconciliation des notifications non lues : {} compteur(s) corrigé(s)", corrected);
+        } else {
+            logger.debug("Réconciliation des notifications non lues : aucun écart détecté");
+        }
+    }
+
+    private void applyDelta(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        userStatsRepository.addUnreadNotifications(userId, delta);
+        // Tous les nœuds, y compris celui-ci, évincent l'entrée au commit
+        unreadCountPublisher.unreadCountChanged(userId);
+
+        // Éviction plutôt qu'application du delta : une lecture concurrente a pu déjà mettre en cache la valeur validée,
+        // le delta y serait compté deux fois. La prochaine lecture relit la ligne user_stats
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.remove(userId);
+                }
+            });
+        } else {
+            cache.remove(userId);
+        }
+    }
+}
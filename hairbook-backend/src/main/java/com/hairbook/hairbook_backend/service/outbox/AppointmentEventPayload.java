@@ -0,0 +1,31 @@
+package com.hairbook.hairbook_backend.service.outbox;
+
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Contenu des événements de rendez-vous publiés dans l'outbox")
+public record AppointmentEventPayload(Long appointmentId,
+                                      Long userId,
+                                      Long serviceId,
+                                      LocalDateTime startTime,
+                                      LocalDateTime endTime,
+                                      AppointmentStatus status,
+                                      AppointmentStatus previousStatus,
+                                      LocalDateTime previousStartTime) {
+
+    public static AppointmentEventPayload of(Appointment appointment, AppointmentStatus previousStatus,
+                                             LocalDateTime previousStartTime) {
+        return new AppointmentEventPayload(
+                appointment.getId(),
+                appointment.getUser().getId(),
+                appointment.getService().getId(),
+                appointment.getStartTime(),
+                appointment.getEndTime(),
+                appointment.getStatus(),
+                previousStatus,
+                previousStartTime);
+    }
+}
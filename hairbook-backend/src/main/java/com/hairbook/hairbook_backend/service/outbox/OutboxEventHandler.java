@@ -0,0 +1,17 @@
+package com.hairbook.hairbook_backend.service.outbox;
+
+import com.hairbook.hairbook_backend.entity.OutboxEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Consommateur en processus des événements de l'outbox - Livraison au moins une fois ; chaque événement est appliqué une seule fois par consommateur grâce aux accusés")
+public interface OutboxEventHandler {
+
+    @Schema(description = "Nom stable du consommateur, utilisé comme clé d'accusé - Ne doit pas changer entre deux versions")
+    String getName();
+
+    @Schema(description = "Indique si ce consommateur traite le type d'événement donné")
+    boolean supports(OutboxEvent.EventType eventType);
+
+    @Schema(description = "Traite l'événement - Exécuté dans une transaction dédiée avec l'écriture de l'accusé ; une exception provoque une nouvelle tentative")
+    void handle(OutboxEvent event);
+}
@@ -0,0 +1,134 @@
+package com.hairbook.hairbook_backend.service.outbox;
+
+import com.hairbook.hairbook_backend.entity.OutboxEvent;
+import com.hairbook.hairbook_backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Schema(description = "Relais de l'outbox - Vide périodiquement outbox_events par lots, dans l'ordre d'insertion, et livre chaque événement aux consommateurs en processus ; un agrégat en échec est suspendu, avec un délai croissant entre les tentatives, pour ne pas dépasser un événement antérieur")
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Clé du verrou consultatif PostgreSQL réservé au relais de l'outbox
+    private static final long RELAY_LOCK_KEY = 0x4F5554424F58L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate eventTransaction;
+    private final Counter exhaustedEvents;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseDelaySeconds;
+    private final long retryMaxDelaySeconds;
+    private final long retentionDays;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxEventHandler> handlers,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.batch-size:200}") int batchSize,
+                       @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${app.outbox.retry-base-delay-seconds:2}") long retryBaseDelaySeconds,
+                       @Value("${app.outbox.retry-max-delay-seconds:600}") long retryMaxDelaySeconds,
+                       @Value("${app.outbox.retention-days:7}") long retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.eventTransaction = new TransactionTemplate(transactionManager);
+        this.eventTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.exhaustedEvents = Counter.builder("hairbook.outbox.exhausted")
+                .description("Événements de l'outbox abandonnés après app.outbox.max-attempts échecs - Leur agrégat reste bloqué")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseDelaySeconds = retryBaseDelaySeconds;
+        this.retryMaxDelaySeconds = retryMaxDelaySeconds;
+        this.retentionDays = retentionDays;
+    }
+
+    @Schema(description = "Relaie les événements en attente jusqu'à épuisement ou jusqu'à ce qu'un lot ne progresse plus")
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        Integer relayed;
+        do {
+            relayed = batchTransaction.execute(status -> relayBatch());
+        } while (relayed != null && relayed == batchSize);
+    }
+
+    @Schema(description = "Supprime chaque nuit les événements relayés depuis plus de app.outbox.retention-days jours")
+    @Scheduled(cron = "${app.outbox.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        batchTransaction.executeWithoutResult(status ->
+                outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays)));
+    }
+
+    // Retourne le nombre d'événements relayés avec succès dans le lot
+    private int relayBatch() {
+        if (!outboxEventRepository.tryAcquireRelayLock(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findPendingBatch(batchSize, maxAttempts);
+        Set<String> blockedAggregates = new HashSet<>();
+        int relayed = 0;
+
+        for (OutboxEvent event : events) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (blockedAggregates.contains(aggregate)) {
+                continue;
+            }
+            try {
+                deliver(event);
+                eventTransaction.executeWithoutResult(status ->
+                        outboxEventRepository.markProcessed(event.getId(), LocalDateTime.now()));
+                relayed++;
+            } catch (RuntimeException ex) {
+                logger.warn("Échec du relais de l'événement {} ({} {}) : {}",
+                        event.getId(), event.getEventType(), aggregate, ex.getMessage());
+                blockedAggregates.add(aggregate);
+                recordFailure(event, aggregate, ex.getMessage());
+            }
+        }
+        return relayed;
+    }
+
+    private void recordFailure(OutboxEvent event, String aggregate, String error) {
+        eventTransaction.executeWithoutResult(status -> outboxEventRepository.recordFailure(event.getId(), error,
+                retryBaseDelaySeconds, retryMaxDelaySeconds));
+        if (event.getAttempts() + 1 >= maxAttempts) {
+            exhaustedEvents.increment();
+            logger.error("Événement {} ({} {}) abandonné après {} tentatives, agrégat bloqué : {}",
+                    event.getId(), event.getEventType(), aggregate, maxAttempts, error);
+        }
+    }
+
+    private void deliver(OutboxEvent event) {
+        for (OutboxEventHandler handler : handlers) {
+            if (!handler.supports(event.getEventType())) {
+                continue;
+            }
+            // L'accusé et les effets du consommateur sont validés ensemble : un événement relivré est ignoré
+            eventTransaction.executeWithoutResult(status -> {
+                if (outboxEventRepository.insertReceipt(handler.getName(), event.getId()) > 0) {
+                    handler.handle(event);
+                }
+            });
+        }
+    }
+}
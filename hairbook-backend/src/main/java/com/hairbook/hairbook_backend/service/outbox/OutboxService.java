@@ -0,0 +1,46 @@
+package com.hairbook.hairbook_backend.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hairbook.hairbook_backend.entity.OutboxEvent;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.AggregateType;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.EventType;
+import com.hairbook.hairbook_backend.repository.OutboxEventRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Schema(description = "Écriture des événements dans l'outbox transactionnelle - L'insertion rejoint obligatoirement la transaction métier en cours : l'événement est validé ou annulé avec elle")
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Schema(description = "Ajoute un événement à l'outbox dans la transaction courante - Lève une exception si aucune transaction n'est active")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(AggregateType aggregateType, Long aggregateId, EventType eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Contenu d'événement non sérialisable : " + eventType, ex);
+        }
+        outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, eventType, json));
+    }
+
+    @Schema(description = "Désérialise le contenu JSON d'un événement")
+    public <T> T readPayload(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Contenu illisible pour l'événement " + event.getId(), ex);
+        }
+    }
+}
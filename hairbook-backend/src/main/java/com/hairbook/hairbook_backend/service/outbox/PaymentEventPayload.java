@@ -0,0 +1,31 @@
+package com.hairbook.hairbook_backend.service.outbox;
+
+import com.hairbook.hairbook_backend.entity.Payment;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Contenu des événements de paiement publiés dans l'outbox")
+public record PaymentEventPayload(Long paymentId,
+                                  Long appointmentId,
+                                  Long userId,
+                                  BigDecimal amount,
+                                  String currency,
+                                  PaymentMethod method,
+                                  PaymentStatus status,
+                                  PaymentStatus previousStatus) {
+
+    public static PaymentEventPayload of(Payment payment, PaymentStatus previousStatus) {
+        return new PaymentEventPayload(
+                payment.getId(),
+                payment.getAppointment().getId(),
+                payment.getAppointment().getUser().getId(),
+                payment.getAmount(),
+                payment.getCurrency(),
+                payment.getMethod(),
+                payment.getStatus(),
+                previousStatus);
+    }
+}
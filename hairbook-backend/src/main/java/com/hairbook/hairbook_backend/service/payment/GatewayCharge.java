@@ -0,0 +1,11 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Résultat d'une tentative de débit auprès de la passerelle de paiement")
+public record GatewayCharge(PaymentStatus status,
+                            String paymentIntentId,
+                            String transactionId,
+                            String failureMessage) {
+}
@@ -0,0 +1,11 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.hairbook.hairbook_backend.util.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Passerelle de paiement par carte")
+public interface PaymentGateway {
+
+    @Schema(description = "Débite une carte - La clé d'idempotence est transmise à la passerelle pour qu'une nouvelle tentative ne débite jamais deux fois ; une erreur technique laisse le paiement en attente plutôt que de lever une exception")
+    GatewayCharge charge(Long paymentId, Money amount, String cardToken, String idempotencyKey);
+}
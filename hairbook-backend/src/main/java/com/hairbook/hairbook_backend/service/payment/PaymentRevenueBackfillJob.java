@@ -0,0 +1,66 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.hairbook.hairbook_backend.repository.PaymentDailyRevenueRepository;
+import com.hairbook.hairbook_backend.service.rollup.RollupRebuilder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Reconstruction de payment_daily_revenue depuis la table payments - Par tranches de jours, chacune dans sa propre transaction, pour initialiser l'agrégat ou corriger une dérive")
+@Component
+public class PaymentRevenueBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentRevenueBackfillJob.class);
+
+    // Table écrite par PaymentRevenueRollup : verrouillée pendant le recalcul de chaque tranche
+    private static final List<String> TABLES = List.of("payment_daily_revenue");
+
+    private final PaymentDailyRevenueRepository revenueRepository;
+    private final RollupRebuilder rollupRebuilder;
+    private final int chunkDays;
+    private final boolean backfillOnStartup;
+
+    public PaymentRevenueBackfillJob(PaymentDailyRevenueRepository revenueRepository,
+                                     RollupRebuilder rollupRebuilder,
+                                     @Value("${app.payment.revenue.backfill.chunk-days:31}") int chunkDays,
+                                     @Value("${app.payment.revenue.backfill.on-startup:false}") boolean backfillOnStartup) {
+        this.revenueRepository = revenueRepository;
+        this.rollupRebuilder = rollupRebuilder;
+        this.chunkDays = chunkDays;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @Schema(description = "Reconstruit tout l'historique au démarrage si app.payment.revenue.backfill.on-startup est activé")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfillAll();
+        }
+    }
+
+    @Schema(description = "Reconstruit l'agrégat depuis le premier paiement jusqu'à aujourd'hui inclus - Retourne le nombre de lignes écrites")
+    public long backfillAll() {
+        LocalDate firstDay = revenueRepository.findFirstPaymentDay();
+        if (firstDay == null) {
+            return 0;
+        }
+        return backfill(firstDay, LocalDate.now().plusDays(1));
+    }
+
+    @Schema(description = "Reconstruit l'agrégat des jours de [from, to[ par tranches de app.payment.revenue.backfill.chunk-days jours - Retourne le nombre de lignes écrites")
+    public long backfill(LocalDate from, LocalDate to) {
+        long written = rollupRebuilder.rebuild(TABLES, from, to, chunkDays, (chunkStart, chunkEnd) -> {
+            revenueRepository.deleteRange(chunkStart, chunkEnd);
+            return revenueRepository.insertRange(chunkStart, chunkEnd);
+        });
+        logger.info("Reconstruction du chiffre d'affaires journalier du {} au {} : {} ligne(s)", from, to, written);
+        return written;
+    }
+}
@@ -0,0 +1,43 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.hairbook.hairbook_backend.entity.Payment;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import com.hairbook.hairbook_backend.repository.PaymentDailyRevenueRepository;
+import com.hairbook.hairbook_backend.util.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Schema(description = "Maintenance incrémentale de payment_daily_revenue - Chaque création ou changement de statut d'un paiement déplace son montant d'un groupe (jour de création, devise, méthode, statut) à l'autre, dans la transaction du paiement")
+@Component
+public class PaymentRevenueRollup {
+
+    private final PaymentDailyRevenueRepository revenueRepository;
+
+    public PaymentRevenueRollup(PaymentDailyRevenueRepository revenueRepository) {
+        this.revenueRepository = revenueRepository;
+    }
+
+    @Schema(description = "Comptabilise un paiement qui vient d'être enregistré - Doit être appelé dans la transaction d'insertion")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCreated(Payment payment) {
+        apply(payment, payment.getStatus(), payment.getMoney(), 1);
+    }
+
+    @Schema(description = "Déplace un paiement de son ancien statut vers le nouveau - Doit être appelé dans la transaction du changement de statut")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChanged(Payment payment, PaymentStatus previousStatus) {
+        if (previousStatus == payment.getStatus()) {
+            return;
+        }
+        Money amount = payment.getMoney();
+        apply(payment, previousStatus, amount.negate(), -1);
+        apply(payment, payment.getStatus(), amount, 1);
+    }
+
+    private void apply(Payment payment, PaymentStatus status, Money amount, long count) {
+        revenueRepository.addDelta(payment.getCreatedAt().toLocalDate(), amount.currency(),
+                payment.getMethod().name(), status.name(), amount.toBigDecimal(), count);
+    }
+}
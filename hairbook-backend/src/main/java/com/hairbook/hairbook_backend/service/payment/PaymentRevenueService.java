@@ -0,0 +1,46 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.hairbook.hairbook_backend.dto.payment.RevenueDto;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import com.hairbook.hairbook_backend.repository.PaymentDailyRevenueRepository;
+import com.hairbook.hairbook_backend.repository.PaymentDailyRevenueRepository.RevenueRow;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Rapports de chiffre d'affaires - Lus exclusivement dans payment_daily_revenue (une ligne par jour, devise, méthode et statut), jamais dans la table payments")
+@Service
+public class PaymentRevenueService {
+
+    private final PaymentDailyRevenueRepository revenueRepository;
+
+    public PaymentRevenueService(PaymentDailyRevenueRepository revenueRepository) {
+        this.revenueRepository = revenueRepository;
+    }
+
+    @Schema(description = "Chiffre d'affaires encaissé par jour et par devise entre deux dates incluses")
+    @Transactional(readOnly = true)
+    public List<RevenueDto> getDailyRevenue(LocalDate from, LocalDate to) {
+        return toDtos(revenueRepository.sumByDay(from, to.plusDays(1), PaymentStatus.COMPLETED.name()));
+    }
+
+    @Schema(description = "Chiffre d'affaires encaissé par mois et par méthode sur les derniers mois, mois en cours inclus")
+    @Transactional(readOnly = true)
+    public List<RevenueDto> getMonthlyRevenueByMethod(int months) {
+        LocalDate firstDayOfNextMonth = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+        LocalDate from = firstDayOfNextMonth.minusMonths(months);
+        return toDtos(revenueRepository.sumByMonthAndMethod(from, firstDayOfNextMonth, PaymentStatus.COMPLETED.name()));
+    }
+
+    private static List<RevenueDto> toDtos(List<RevenueRow> rows) {
+        return rows.stream()
+                .map(row -> new RevenueDto(row.getPeriod(),
+                        row.getMethod() != null ? PaymentMethod.valueOf(row.getMethod()) : null,
+                        row.getCurrency(), row.getAmount(), row.getPaymentCount()))
+                .toList();
+    }
+}
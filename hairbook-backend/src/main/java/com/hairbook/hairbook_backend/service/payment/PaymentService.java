@@ -0,0 +1,154 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.hairbook.hairbook_backend.dto.payment.PaymentDto;
+import com.hairbook.hairbook_backend.dto.payment.PaymentRequest;
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.AggregateType;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.EventType;
+import com.hairbook.hairbook_backend.entity.Payment;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.exception.ResourceNotFoundException;
+import com.hairbook.hairbook_backend.repository.AppointmentRepository;
+import com.hairbook.hairbook_backend.repository.PaymentRepository;
+import com.hairbook.hairbook_backend.service.idempotency.IdempotencyService;
+import com.hairbook.hairbook_backend.service.idempotency.IdempotencyService.Attempt;
+import com.hairbook.hairbook_backend.service.idempotency.IdempotencyService.IdempotentResult;
+import com.hairbook.hairbook_backend.service.outbox.OutboxService;
+import com.hairbook.hairbook_backend.service.outbox.PaymentEventPayload;
+import com.hairbook.hairbook_backend.util.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Schema(description = "Service de gestion des paiements - Création idempotente et débit par carte via la passerelle")
+@Service
+public class PaymentService {
+
+    private static final String CREATE_SCOPE = "payment.create";
+
+    private final PaymentRepository paymentRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final PaymentGateway paymentGateway;
+    private final OutboxService outboxService;
+    private final IdempotencyService idempotencyService;
+    private final PaymentRevenueRollup revenueRollup;
+    private final TransactionTemplate transactionTemplate;
+
+    public PaymentService(PaymentRepository paymentRepository,
+                          AppointmentRepository appointmentRepository,
+                          PaymentGateway paymentGateway,
+                          OutboxService outboxService,
+                          IdempotencyService idempotencyService,
+                          PaymentRevenueRollup revenueRollup,
+                          PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.paymentGateway = paymentGateway;
+        this.outboxService = outboxService;
+        this.idempotencyService = idempotencyService;
+        this.revenueRollup = revenueRollup;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Schema(description = "Crée un paiement protégé par une clé d'idempotence - Une nouvelle tentative avec la même clé rejoue la réponse d'origine sans nouveau paiement ni nouveau débit")
+    public IdempotentResult<PaymentDto> createPayment(Long userId, PaymentRequest request, String idempotencyKey) {
+        return idempotencyService.execute(CREATE_SCOPE, userId, idempotencyKey, request, PaymentDto.class,
+                attempt -> insertAndCharge(userId, request, attempt));
+    }
+
+    @Schema(description = "Crée un paiement pour un rendez-vous de l'utilisateur - Les paiements par carte sont débités immédiatement, les autres méthodes restent en attente")
+    public PaymentDto createPayment(Long userId, PaymentRequest request) {
+        return insertAndCharge(userId, request, null);
+    }
+
+    private PaymentDto insertAndCharge(Long userId, PaymentRequest request, Attempt attempt) {
+        Payment payment = transactionTemplate.execute(status -> insertPending(userId, request));
+        if (payment.getMethod() != PaymentMethod.CREDIT_CARD) {
+            return toDto(payment);
+        }
+
+        // La clé Stripe dérive de la clé client : une requête rejouée après un échec partiel ne débite pas deux fois
+        String gatewayKey = attempt != null ? attempt.key() : "payment-" + payment.getId();
+        if (attempt != null) {
+            attempt.markExternalEffect();
+        }
+        // Appel de la passerelle hors transaction : aucune connexion n'est retenue pendant l'aller-retour réseau
+        GatewayCharge charge = paymentGateway.charge(payment.getId(), payment.getMoney(), request.getCardToken(),
+                gatewayKey);
+        return transactionTemplate.execute(status -> applyCharge(payment.getId(), charge));
+    }
+
+    private Payment insertPending(Long userId, PaymentRequest request) {
+        Appointment appointment = appointmentRepository.findWithUserAndServiceById(request.getAppointmentId())
+                .orElseThrow(() -> new ResourceNotFoundException("Rendez-vous", "id", request.getAppointmentId()));
+        if (!appointment.getUser().getId().equals(userId)) {
+            throw new AccessDeniedException("Ce rendez-vous n'appartient pas à l'utilisateur connecté");
+        }
+
+        Payment payment = new Payment();
+        payment.setAppointment(appointment);
+        payment.setMoney(Money.of(request.getAmount(), request.getCurrency() != null ? request.getCurrency() : "EUR"));
+        payment.setMethod(request.getMethod());
+        payment.setNotes(request.getNotes());
+        payment.setStatus(PaymentStatus.PENDING);
+        paymentRepository.save(payment);
+        revenueRollup.onCreated(payment);
+        outboxService.append(AggregateType.PAYMENT, payment.getId(), EventType.PAYMENT_CREATED,
+                PaymentEventPayload.of(payment, null));
+        return payment;
+    }
+
+    private PaymentDto applyCharge(Long paymentId, GatewayCharge charge) {
+        Payment payment = reload(paymentId);
+        PaymentStatus previousStatus = payment.getStatus();
+        // Un webhook a pu précéder la réponse de la passerelle : les identifiants déjà connus ne sont jamais effacés
+        if (payment.getPaymentIntentId() == null) {
+            payment.setPaymentIntentId(charge.paymentIntentId());
+        }
+        if (payment.getTransactionId() == null) {
+            payment.setTransactionId(charge.transactionId());
+        }
+        // Mêmes transitions que les webhooks : une réponse en retard ne fait pas reculer un paiement déjà abouti
+        if (StripeWebhookProcessor.canTransition(previousStatus, charge.status())) {
+            if (charge.failureMessage() != null) {
+                payment.setNotes(charge.failureMessage());
+            }
+            payment.setStatus(charge.status());
+            revenueRollup.onStatusChanged(payment, previousStatus);
+            outboxService.append(AggregateType.PAYMENT, payment.getId(), EventType.PAYMENT_STATUS_CHANGED,
+                    PaymentEventPayload.of(payment, previousStatus));
+        }
+        return toDto(payment);
+    }
+
+    private Payment reload(Long paymentId) {
+        return paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Paiement", "id", paymentId));
+    }
+
+    public static PaymentDto toDto(Payment payment) {
+        Appointment appointment = payment.getAppointment();
+        User client = appointment.getUser();
+        return new PaymentDto(
+                payment.getId(),
+                appointment.getId(),
+                appointment.getService().getName(),
+                payment.getAmount(),
+                payment.getStatus(),
+                payment.getMethod(),
+                payment.getCurrency(),
+                payment.getTransactionId(),
+                payment.getPaymentIntentId(),
+                payment.getNotes(),
+                payment.getCreatedAt(),
+                payment.getUpdatedAt(),
+                client.getFirstName() + " " + client.getLastName(),
+                client.getEmail(),
+                appointment.getStartTime()
+        );
+    }
+}
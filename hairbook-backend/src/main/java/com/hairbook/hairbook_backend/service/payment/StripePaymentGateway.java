@@ -0,0 +1,111 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import com.hairbook.hairbook_backend.util.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+@Schema(description = "Passerelle Stripe - Crée et confirme une PaymentIntent en un seul appel à l'API REST")
+@Component
+public class StripePaymentGateway implements PaymentGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripePaymentGateway.class);
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+
+    public StripePaymentGateway(RestClient.Builder restClientBuilder,
+                                @Value("${app.stripe.api.url:https://api.stripe.com}") String apiUrl,
+                                @Value("${app.stripe.api.key:}") String apiKey,
+                                @Value("${app.stripe.api.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                @Value("${app.stripe.api.read-timeout-ms:30000}") long readTimeoutMs) {
+        // Délais bornés en deçà du bail des clés d'idempotence : un appel bloqué se termine avant qu'une nouvelle
+        // tentative du client puisse réserver la clé à nouveau
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restClient = restClientBuilder
+                .requestFactory(requestFactory)
+                .baseUrl(apiUrl)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .build();
+    }
+
+    @Override
+    public GatewayCharge charge(Long paymentId, Money amount, String cardToken, String idempotencyKey) {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        // Stripe attend le montant dans la plus petite unité de la devise
+        form.add("amount", String.valueOf(amount.minorUnits()));
+        form.add("currency", amount.currency().toLowerCase(Locale.ROOT));
+        form.add("confirm", "true");
+        form.add("payment_method_types[]", "card");
+        form.add("payment_method_data[type]", "card");
+        form.add("payment_method_data[card][token]", cardToken);
+        form.add("metadata[payment_id]", String.valueOf(paymentId));
+
+        try {
+            Map<String, Object> intent = restClient.post()
+                    .uri("/v1/payment_intents")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                    .body(form)
+                    .retrieve()
+                    .body(JSON_OBJECT);
+            return toCharge(intent);
+        } catch (RestClientResponseException ex) {
+            // Refus de la carte (402) ou requête invalide : le paiement échoue définitivement
+            if (ex.getStatusCode().is4xxClientError()) {
+                Map<String, Object> error = errorOf(ex);
+                Object intent = error.get("payment_intent");
+                String intentId = intent instanceof Map<?, ?> map ? (String) map.get("id") : null;
+                return new GatewayCharge(PaymentStatus.FAILED, intentId, null, (String) error.get("message"));
+            }
+            logger.warn("Stripe indisponible pour le paiement {} : {}", paymentId, ex.getStatusCode());
+            return new GatewayCharge(PaymentStatus.PENDING, null, null, "Passerelle indisponible");
+        } catch (RestClientException ex) {
+            logger.warn("Échec de l'appel Stripe pour le paiement {}", paymentId, ex);
+            return new GatewayCharge(PaymentStatus.PENDING, null, null, "Passerelle indisponible");
+        }
+    }
+
+    private static GatewayCharge toCharge(Map<String, Object> intent) {
+        String intentId = (String) intent.get("id");
+        String chargeId = (String) intent.get("latest_charge");
+        PaymentStatus status = switch (String.valueOf(intent.get("status"))) {
+            case "succeeded" -> PaymentStatus.COMPLETED;
+            case "canceled", "requires_payment_method" -> PaymentStatus.FAILED;
+            default -> PaymentStatus.PENDING;
+        };
+        return new GatewayCharge(status, intentId, chargeId, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> errorOf(RestClientResponseException ex) {
+        try {
+            Map<String, Object> body = ex.getResponseBodyAs(JSON_OBJECT);
+            if (body != null && body.get("error") instanceof Map<?, ?> error) {
+                return (Map<String, Object>) error;
+            }
+        } catch (RuntimeException ignored) {
+            // Corps d'erreur illisible : seul le statut HTTP est exploitable
+        }
+        return Map.of("message", "Paiement refusé par la passerelle (" + ex.getStatusCode().value() + ")");
+    }
+}
@@ -0,0 +1,98 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.hairbook.hairbook_backend.exception.InvalidWebhookSignatureException;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+@Schema(description = "Vérification de l'en-tête Stripe-Signature - HMAC-SHA256 de \"horodatage.corps\" avec le secret du webhook, horodatage borné pour refuser les rejeux")
+@Component
+public class StripeSignatureVerifier {
+
+    private final byte[] secret;
+    private final long toleranceSeconds;
+
+    public StripeSignatureVerifier(@Value("${app.stripe.webhook.secret:}") String secret,
+                                   @Value("${app.stripe.webhook.tolerance-seconds:300}") long toleranceSeconds) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.toleranceSeconds = toleranceSeconds;
+    }
+
+    @Schema(description = "Vérifie la signature d'un corps de webhook - Lève InvalidWebhookSignatureException si aucune signature v1 ne correspond ou si l'horodatage sort de la tolérance")
+    public void verify(String payload, String signatureHeader) {
+        verify(payload, signatureHeader, System.currentTimeMillis() / 1000);
+    }
+
+    void verify(String payload, String signatureHeader, long nowEpochSeconds) {
+        if (secret.length == 0) {
+            throw new InvalidWebhookSignatureException("Secret de webhook Stripe non configuré");
+        }
+        if (signatureHeader == null || signatureHeader.isBlank()) {
+            throw new InvalidWebhookSignatureException("En-tête Stripe-Signature absent");
+        }
+
+        long timestamp = -1;
+        List<String> signatures = new ArrayList<>(2);
+        for (String part : signatureHeader.split(",")) {
+            int separator = part.indexOf('=');
+            if (separator < 0) {
+                continue;
+            }
+            String name = part.substring(0, separator).trim();
+            String value = part.substring(separator + 1).trim();
+            if (name.equals("t")) {
+                timestamp = parseTimestamp(value);
+            } else if (name.equals("v1")) {
+                signatures.add(value);
+            }
+        }
+
+        if (timestamp < 0) {
+            throw new InvalidWebhookSignatureException("Horodatage absent de l'en-tête Stripe-Signature");
+        }
+        // Plusieurs signatures v1 coexistent pendant la rotation du secret : une seule doit correspondre
+        byte[] expected = sign(timestamp + "." + payload);
+        boolean matched = false;
+        for (String signature : signatures) {
+            matched |= MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+        }
+        if (!matched) {
+            throw new InvalidWebhookSignatureException("Signature du webhook Stripe invalide");
+        }
+        if (Math.abs(nowEpochSeconds - timestamp) > toleranceSeconds) {
+            throw new InvalidWebhookSignatureException("Horodatage du webhook Stripe hors tolérance");
+        }
+    }
+
+    String signatureOf(long timestamp, String payload) {
+        return new String(sign(timestamp + "." + payload), StandardCharsets.US_ASCII);
+    }
+
+    private byte[] sign(String content) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            byte[] digest = mac.doFinal(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).getBytes(StandardCharsets.US_ASCII);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 indisponible", ex);
+        }
+    }
+
+    private static long parseTimestamp(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new InvalidWebhookSignatureException("Horodatage de l'en-tête Stripe-Signature illisible");
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.AggregateType;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.EventType;
+import com.hairbook.hairbook_backend.entity.Payment;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import com.hairbook.hairbook_backend.entity.StripeWebhookEvent;
+import com.hairbook.hairbook_backend.repository.PaymentRepository;
+import com.hairbook.hairbook_backend.repository.StripeWebhookEventRepository;
+import com.hairbook.hairbook_backend.service.outbox.OutboxService;
+import com.hairbook.hairbook_backend.service.outbox.PaymentEventPayload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Schema(description = "Application des webhooks Stripe enregistrés - Traite les événements en attente par lots, regroupés par intention de paiement et dans l'ordre Stripe ; chaque intention est appliquée dans sa propre transaction, son statut n'est écrit qu'une fois et un groupe en échec est retenté avec un délai croissant")
+@Component
+public class StripeWebhookProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripeWebhookProcessor.class);
+
+    // Clé du verrou consultatif PostgreSQL réservé au traitement des webhooks Stripe
+    private static final long PROCESSING_LOCK_KEY = 0x535452495045L;
+
+    private final StripeWebhookEventRepository eventRepository;
+    private final PaymentRepository paymentRepository;
+    private final OutboxService outboxService;
+    private final PaymentRevenueRollup revenueRollup;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate groupTransaction;
+    private final Counter exhaustedEvents;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseDelaySeconds;
+    private final long retryMaxDelaySeconds;
+    private final long retentionDays;
+
+    public StripeWebhookProcessor(StripeWebhookEventRepository eventRepository,
+                                  PaymentRepository paymentRepository,
+                                  OutboxService outboxService,
+                                  PaymentRevenueRollup revenueRollup,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.stripe.webhook.batch-size:500}") int batchSize,
+                                  @Value("${app.stripe.webhook.max-attempts:10}") int maxAttempts,
+                                  @Value("${app.stripe.webhook.retry-base-delay-seconds:2}") long retryBaseDelaySeconds,
+                                  @Value("${app.stripe.webhook.retry-max-delay-seconds:600}") long retryMaxDelaySeconds,
+                                  @Value("${app.stripe.webhook.retention-days:30}") long retentionDays) {
+        this.eventRepository = eventRepository;
+        this.paymentRepository = paymentRepository;
+        this.outboxService = outboxService;
+        this.revenueRollup = revenueRollup;
+        this.objectMapper = objectMapper;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.groupTransaction = new TransactionTemplate(transactionManager);
+        this.groupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.exhaustedEvents = Counter.builder("hairbook.stripe.webhook.exhausted")
+                .description("Événements Stripe abandonnés après app.stripe.webhook.max-attempts échecs")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseDelaySeconds = retryBaseDelaySeconds;
+        this.retryMaxDelaySeconds = retryMaxDelaySeconds;
+        this.retentionDays = retentionDays;
+    }
+
+    @Schema(description = "Applique les événements en attente jusqu'à épuisement ou jusqu'à ce qu'un lot ne progresse plus")
+    @Scheduled(fixedDelayString = "${app.stripe.webhook.poll-interval-ms:500}")
+    public void process() {
+        Integer processed;
+        do {
+            processed = batchTransaction.execute(status -> processBatch());
+        } while (processed != null && processed == batchSize);
+    }
+
+    @Schema(description = "Supprime chaque nuit les événements appliqués depuis plus de app.stripe.webhook.retention-days jours")
+    @Scheduled(cron = "${app.stripe.webhook.purge-cron:0 45 3 * * *}")
+    public void purge() {
+        batchTransaction.executeWithoutResult(status ->
+                eventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays)));
+    }
+
+    // Retourne le nombre d'événements appliqués dans le lot
+    int processBatch() {
+        if (!eventRepository.tryAcquireProcessingLock(PROCESSING_LOCK_KEY)) {
+            return 0;
+        }
+        List<StripeWebhookEvent> events = eventRepository.findPendingBatch(batchSize, maxAttempts);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Le lot est déjà trié par intention puis par date Stripe : le regroupement conserve cet ordre
+        Map<String, List<StripeWebhookEvent>> groups = new LinkedHashMap<>();
+        for (StripeWebhookEvent event : events) {
+            String key = event.getPaymentIntentId() != null ? event.getPaymentIntentId() : "event:" + event.getEventId();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+        }
+        Map<String, Payment> paymentsByIntent = loadPaymentsByIntent(groups);
+        Map<Long, Payment> paymentsById = loadPaymentsById(groups, paymentsByIntent);
+
+        int processed = 0;
+        List<Long> ignored = new ArrayList<>();
+        for (Map.Entry<String, List<StripeWebhookEvent>> group : groups.entrySet()) {
+            List<StripeWebhookEvent> groupEvents = group.getValue();
+            List<Long> ids = groupEvents.stream().map(StripeWebhookEvent::getId).toList();
+            if (groupEvents.stream().noneMatch(event -> targetStatus(event.getEventType()) != null)) {
+                // Aucun événement de ce groupe ne modifie un paiement
+                ignored.addAll(ids);
+                continue;
+            }
+            Payment payment = paymentsByIntent.get(group.getKey());
+            if (payment == null) {
+                payment = groupEvents.stream()
+                        .map(StripeWebhookEvent::getPaymentId)
+                        .filter(paymentsById::containsKey)
+                        .map(paymentsById::get)
+                        .findFirst().orElse(null);
+            }
+            if (payment == null) {
+                // Le webhook peut précéder l'enregistrement de l'intention : l'événement sera retenté
+                recordFailure(group.getKey(), groupEvents, "Aucun paiement pour l'intention " + group.getKey());
+                continue;
+            }
+            Long paymentId = payment.getId();
+            try {
+                // Transaction propre au groupe : un échec n'annule ni ne salit les autres groupes du lot
+                groupTransaction.executeWithoutResult(status -> {
+                    apply(paymentRepository.findWithAppointmentByIdIn(List.of(paymentId)).get(0), groupEvents);
+                    eventRepository.markProcessed(ids, LocalDateTime.now());
+                });
+                processed += ids.size();
+            } catch (RuntimeException ex) {
+                logger.warn("Échec de l'application des webhooks Stripe de l'intention {} : {}", group.getKey(), ex.getMessage());
+                recordFailure(group.getKey(), groupEvents, ex.getMessage());
+            }
+        }
+        if (!ignored.isEmpty()) {
+            eventRepository.markProcessed(ignored, LocalDateTime.now());
+        }
+        return processed + ignored.size();
+    }
+
+    private void recordFailure(String intent, List<StripeWebhookEvent> events, String error) {
+        eventRepository.recordFailure(events.stream().map(StripeWebhookEvent::getId).toList(), error,
+                retryBaseDelaySeconds, retryMaxDelaySeconds);
+        long exhausted = events.stream().filter(event -> event.getAttempts() + 1 >= maxAttempts).count();
+        if (exhausted > 0) {
+            exhaustedEvents.increment(exhausted);
+            logger.error("{} webhook(s) Stripe de l'intention {} abandonné(s) après {} tentatives : {}",
+                    exhausted, intent, maxAttempts, error);
+        }
+    }
+
+    private void apply(Payment payment, List<StripeWebhookEvent> events) {
+        PaymentStatus previousStatus = payment.getStatus();
+        PaymentStatus status = previousStatus;
+        for (StripeWebhookEvent event : events) {
+            PaymentStatus target = targetStatus(event.getEventType());
+            if (target == null || !canTransition(status, target)) {
+                continue;
+            }
+            status = target;
+            if (payment.getPaymentIntentId() == null && event.getPaymentIntentId() != null) {
+                payment.setPaymentIntentId(event.getPaymentIntentId());
+            }
+            if (target == PaymentStatus.COMPLETED) {
+                String chargeId = latestCharge(event);
+                if (chargeId != null) {
+                    payment.setTransactionId(chargeId);
+                }
+            }
+        }
+        if (status != previousStatus) {
+            payment.setStatus(status);
+            revenueRollup.onStatusChanged(payment, previousStatus);
+            outboxService.append(AggregateType.PAYMENT, payment.getId(), EventType.PAYMENT_STATUS_CHANGED,
+                    PaymentEventPayload.of(payment, previousStatus));
+        }
+    }
+
+    private Map<String, Payment> loadPaymentsByIntent(Map<String, List<StripeWebhookEvent>> groups) {
+        Set<String> intentIds = new HashSet<>();
+        groups.values().forEach(group -> {
+            if (group.get(0).getPaymentIntentId() != null) {
+                intentIds.add(group.get(0).getPaymentIntentId());
+            }
+        });
+        Map<String, Payment> payments = new HashMap<>();
+        if (!intentIds.isEmpty()) {
+            paymentRepository.findWithAppointmentByPaymentIntentIdIn(intentIds)
+                    .forEach(payment -> payments.put(payment.getPaymentIntentId(), payment));
+        }
+        return payments;
+    }
+
+    // Repli sur l'identifiant transmis en métadonnées pour les intentions pas encore enregistrées sur le paiement
+    private Map<Long, Payment> loadPaymentsById(Map<String, List<StripeWebhookEvent>> groups,
+                                                Map<String, Payment> paymentsByIntent) {
+        Set<Long> paymentIds = new HashSet<>();
+        groups.forEach((key, group) -> {
+            if (!paymentsByIntent.containsKey(key)) {
+                group.stream().map(StripeWebhookEvent::getPaymentId).filter(id -> id != null).forEach(paymentIds::add);
+            }
+        });
+        Map<Long, Payment> payments = new HashMap<>();
+        if (!paymentIds.isEmpty()) {
+            paymentRepository.findWithAppointmentByIdIn(paymentIds)
+                    .forEach(payment -> payments.put(payment.getId(), payment));
+        }
+        return payments;
+    }
+
+    private String latestCharge(StripeWebhookEvent event) {
+        try {
+            return objectMapper.readTree(event.getPayload())
+                    .path("data").path("object").path("latest_charge").asText(null);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Webhook Stripe " + event.getEventId() + " illisible", ex);
+        }
+    }
+
+    static PaymentStatus targetStatus(String eventType) {
+        return switch (eventType) {
+            case "payment_intent.succeeded" -> PaymentStatus.COMPLETED;
+            case "payment_intent.payment_failed" -> PaymentStatus.FAILED;
+            case "payment_intent.canceled" -> PaymentStatus.CANCELLED;
+            case "charge.refunded" -> PaymentStatus.REFUNDED;
+            default -> null;
+        };
+    }
+
+    // Un événement tardif ne doit pas faire régresser un paiement déjà soldé
+    static boolean canTransition(PaymentStatus from, PaymentStatus to) {
+        return switch (from) {
+            case PENDING, FAILED -> to != from && to != PaymentStatus.REFUNDED;
+            case COMPLETED -> to == PaymentStatus.REFUNDED;
+            case REFUNDED, CANCELLED -> false;
+        };
+    }
+}
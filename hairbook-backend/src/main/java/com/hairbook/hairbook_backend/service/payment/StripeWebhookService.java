@@ -0,0 +1,71 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hairbook.hairbook_backend.exception.InvalidWebhookSignatureException;
+import com.hairbook.hairbook_backend.repository.StripeWebhookEventRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+@Schema(description = "Réception des webhooks Stripe - Vérifie la signature puis enregistre l'événement brut (dédupliqué par identifiant Stripe) ; l'application aux paiements est différée au StripeWebhookProcessor pour accuser réception immédiatement")
+@Service
+public class StripeWebhookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripeWebhookService.class);
+
+    private final StripeSignatureVerifier signatureVerifier;
+    private final StripeWebhookEventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public StripeWebhookService(StripeSignatureVerifier signatureVerifier,
+                                StripeWebhookEventRepository eventRepository,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.signatureVerifier = signatureVerifier;
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Schema(description = "Vérifie et enregistre un webhook - Retourne false pour une relivraison déjà reçue ; lève InvalidWebhookSignatureException si la signature est invalide")
+    public boolean receive(String payload, String signatureHeader) {
+        signatureVerifier.verify(payload, signatureHeader);
+
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(payload);
+        } catch (JsonProcessingException ex) {
+            throw new InvalidWebhookSignatureException("Corps du webhook Stripe illisible");
+        }
+        String eventId = event.path("id").asText(null);
+        String eventType = event.path("type").asText(null);
+        if (eventId == null || eventType == null) {
+            throw new InvalidWebhookSignatureException("Identifiant ou type d'événement Stripe absent");
+        }
+
+        JsonNode object = event.path("data").path("object");
+        // Les événements payment_intent.* portent l'intention elle-même, les événements charge.* la référencent
+        String paymentIntentId = "payment_intent".equals(object.path("object").asText())
+                ? object.path("id").asText(null)
+                : object.path("payment_intent").asText(null);
+        String metadataPaymentId = object.path("metadata").path("payment_id").asText("");
+        Long paymentId = metadataPaymentId.matches("\\d{1,18}") ? Long.valueOf(metadataPaymentId) : null;
+        Instant createdAt = Instant.ofEpochSecond(event.path("created").asLong());
+
+        Integer inserted = transactionTemplate.execute(status -> eventRepository.insertIfAbsent(
+                eventId, eventType, paymentIntentId, paymentId, createdAt, payload));
+        if (inserted == null || inserted == 0) {
+            logger.debug("Webhook Stripe {} déjà reçu : relivraison ignorée", eventId);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,198 @@
+package com.hairbook.hairbook_backend.service.reconciliation;
+
+import com.hairbook.hairbook_backend.util.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+@Schema(description = "Lecture en flux d'un export CSV de la passerelle - Le fichier est projeté en mémoire par fenêtres de taille fixe, si bien que la mémoire utilisée ne dépend pas du nombre de lignes")
+public class GatewayCsvReader implements Iterator<GatewaySettlementRecord>, Closeable {
+
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+
+    // Fenêtre projetée courante et position de son premier octet dans le fichier
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private byte[] line = new byte[256];
+    private long lineNumber;
+
+    private final int transactionColumn;
+    private final int amountColumn;
+    private final int currencyColumn;
+    private final int statusColumn;
+
+    private GatewaySettlementRecord next;
+
+    public GatewayCsvReader(Path file, int windowSize) {
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.fileSize = channel.size();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Export de la passerelle illisible : " + file, ex);
+        }
+        this.windowSize = windowSize;
+
+        String header = readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("Export de la passerelle vide : " + file);
+        }
+        List<String> columns = split(header.startsWith("﻿") ? header.substring(1) : header).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        this.transactionColumn = column(columns, "transaction_id", "id", "charge_id");
+        this.amountColumn = column(columns, "amount");
+        this.currencyColumn = column(columns, "currency");
+        this.statusColumn = column(columns, "status");
+        this.next = readRecord();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public GatewaySettlementRecord next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        GatewaySettlementRecord current = next;
+        next = readRecord();
+        return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private GatewaySettlementRecord readRecord() {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        List<String> fields = split(text);
+        int required = Math.max(Math.max(transactionColumn, amountColumn), Math.max(currencyColumn, statusColumn));
+        if (fields.size() <= required) {
+            throw new IllegalArgumentException("Ligne " + lineNumber + " incomplète dans l'export de la passerelle");
+        }
+        try {
+            // Montant lu directement en unités mineures : aucun BigDecimal par ligne
+            return new GatewaySettlementRecord(lineNumber,
+                    fields.get(transactionColumn).trim(),
+                    Money.parse(fields.get(amountColumn).trim(), fields.get(currencyColumn).trim()),
+                    fields.get(statusColumn).trim().toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Montant ou devise illisible ligne " + lineNumber + " de l'export de la passerelle", ex);
+        }
+    }
+
+    // Lit la ligne suivante en franchissant au besoin la limite entre deux fenêtres ; null en fin de fichier
+    private String readLine() {
+        int length = 0;
+        boolean read = false;
+        while (true) {
+            if (window == null || !window.hasRemaining()) {
+                if (!mapNextWindow()) {
+                    break;
+                }
+            }
+            byte b = window.get();
+            read = true;
+            if (b == '\n') {
+                break;
+            }
+            if (length == line.length) {
+                if (length == MAX_LINE_BYTES) {
+                    throw new IllegalArgumentException("Ligne " + (lineNumber + 1) + " trop longue dans l'export de la passerelle");
+                }
+                line = Arrays.copyOf(line, Math.min(length * 2, MAX_LINE_BYTES));
+            }
+            line[length++] = b;
+        }
+        if (!read) {
+            return null;
+        }
+        lineNumber++;
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private boolean mapNextWindow() {
+        long start = window == null ? 0 : windowStart + window.limit();
+        if (start >= fileSize) {
+            return false;
+        }
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, fileSize - start));
+            windowStart = start;
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Projection de l'export de la passerelle impossible", ex);
+        }
+    }
+
+    // Découpage CSV (RFC 4180) : champs entre guillemets, guillemets doublés
+    static List<String> split(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static int column(List<String> columns, String... names) {
+        for (String name : names) {
+            int index = columns.indexOf(name);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("Colonne " + names[0] + " absente de l'export de la passerelle");
+    }
+}
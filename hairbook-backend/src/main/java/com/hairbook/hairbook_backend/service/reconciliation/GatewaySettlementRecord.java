@@ -0,0 +1,11 @@
+package com.hairbook.hairbook_backend.service.reconciliation;
+
+import com.hairbook.hairbook_backend.util.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Ligne de l'export de règlement de la passerelle de paiement")
+public record GatewaySettlementRecord(long lineNumber,
+                                      String transactionId,
+                                      Money amount,
+                                      String status) {
+}
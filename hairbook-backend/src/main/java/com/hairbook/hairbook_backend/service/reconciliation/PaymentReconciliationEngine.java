@@ -0,0 +1,152 @@
+package com.hairbook.hairbook_backend.service.reconciliation;
+
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import com.hairbook.hairbook_backend.repository.PaymentRepository.ReconciliationRow;
+import com.hairbook.hairbook_backend.service.reconciliation.ReconciliationMismatch.Type;
+import com.hairbook.hairbook_backend.util.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Schema(description = "Jointure par fusion de l'export de la passerelle et des paiements - Les deux flux doivent être triés par identifiant de transaction (ordre binaire) ; seule la ligne courante de chaque côté est gardée en mémoire")
+public class PaymentReconciliationEngine {
+
+    private final Iterator<GatewaySettlementRecord> gateway;
+    private final Iterator<? extends ReconciliationRow> payments;
+    private final Consumer<ReconciliationMismatch> sink;
+
+    private final Map<Type, Long> mismatches = new EnumMap<>(Type.class);
+    private long gatewayRecords;
+    private long paymentRows;
+    private long matched;
+
+    private GatewaySettlementRecord currentRecord;
+    private ReconciliationRow currentPayment;
+
+    public PaymentReconciliationEngine(Iterator<GatewaySettlementRecord> gateway,
+                                       Iterator<? extends ReconciliationRow> payments,
+                                       Consumer<ReconciliationMismatch> sink) {
+        this.gateway = gateway;
+        this.payments = payments;
+        this.sink = sink;
+    }
+
+    @Schema(description = "Parcourt les deux flux jusqu'au bout et retourne le bilan ; chaque écart est transmis au consommateur dès qu'il est constaté")
+    public ReconciliationSummary run(String reportFile) {
+        currentRecord = nextRecord();
+        currentPayment = nextPayment();
+        while (currentRecord != null || currentPayment != null) {
+            int order = currentRecord == null ? 1
+                    : currentPayment == null ? -1
+                    : currentRecord.transactionId().compareTo(currentPayment.getTransactionId());
+            if (order < 0) {
+                report(Type.MISSING_IN_PAYMENTS, currentRecord.transactionId(), null, null, describe(currentRecord));
+                currentRecord = nextRecord();
+            } else if (order > 0) {
+                report(Type.MISSING_IN_GATEWAY, currentPayment.getTransactionId(), currentPayment.getId(),
+                        describe(currentPayment), null);
+                currentPayment = nextPayment();
+            } else {
+                compare(currentRecord, currentPayment);
+                currentRecord = nextRecord();
+                currentPayment = nextPayment();
+            }
+        }
+        return new ReconciliationSummary(gatewayRecords, paymentRows, matched, Map.copyOf(mismatches), reportFile);
+    }
+
+    private void compare(GatewaySettlementRecord record, ReconciliationRow payment) {
+        boolean consistent = true;
+        Money expected = Money.of(payment.getAmount(), payment.getCurrency());
+        Money actual = record.amount();
+        if (!expected.currency().equals(actual.currency())) {
+            // Montants de devises différentes incomparables : seul l'écart de devise est relevé
+            report(Type.CURRENCY, record.transactionId(), payment.getId(), expected.currency(), actual.currency());
+            consistent = false;
+        } else if (expected.minorUnits() != actual.minorUnits()) {
+            report(Type.AMOUNT, record.transactionId(), payment.getId(), plain(expected), plain(actual));
+            consistent = false;
+        }
+        PaymentStatus gatewayStatus = gatewayStatus(record.status());
+        if (gatewayStatus == null || !gatewayStatus.name().equals(payment.getStatus())) {
+            report(Type.STATUS, record.transactionId(), payment.getId(), payment.getStatus(), record.status());
+            consistent = false;
+        }
+        if (consistent) {
+            matched++;
+        }
+    }
+
+    // Lit la ligne suivante de l'export en signalant les doublons et en refusant un export non trié
+    private GatewaySettlementRecord nextRecord() {
+        while (gateway.hasNext()) {
+            GatewaySettlementRecord next = gateway.next();
+            gatewayRecords++;
+            if (currentRecord != null) {
+                int order = next.transactionId().compareTo(currentRecord.transactionId());
+                if (order < 0) {
+                    throw new IllegalStateException("Export de la passerelle non trié par identifiant de transaction (ligne "
+                            + next.lineNumber() + ")");
+                }
+                if (order == 0) {
+                    report(Type.DUPLICATE_IN_GATEWAY, next.transactionId(), null, null, describe(next));
+                    continue;
+                }
+            }
+            return next;
+        }
+        return null;
+    }
+
+    private ReconciliationRow nextPayment() {
+        while (payments.hasNext()) {
+            ReconciliationRow next = payments.next();
+            paymentRows++;
+            if (currentPayment != null) {
+                int order = next.getTransactionId().compareTo(currentPayment.getTransactionId());
+                if (order < 0) {
+                    throw new IllegalStateException("Paiements non triés par identifiant de transaction (paiement "
+                            + next.getId() + ")");
+                }
+                if (order == 0) {
+                    report(Type.DUPLICATE_IN_PAYMENTS, next.getTransactionId(), next.getId(), describe(next), null);
+                    continue;
+                }
+            }
+            return next;
+        }
+        return null;
+    }
+
+    private void report(Type type, String transactionId, Long paymentId, String expected, String actual) {
+        mismatches.merge(type, 1L, Long::sum);
+        sink.accept(new ReconciliationMismatch(type, transactionId, paymentId, expected, actual));
+    }
+
+    // Correspondance des statuts de règlement de la passerelle avec ceux de Hairbook
+    static PaymentStatus gatewayStatus(String status) {
+        return switch (status) {
+            case "succeeded", "paid", "available" -> PaymentStatus.COMPLETED;
+            case "pending", "processing" -> PaymentStatus.PENDING;
+            case "failed" -> PaymentStatus.FAILED;
+            case "refunded" -> PaymentStatus.REFUNDED;
+            case "canceled", "cancelled" -> PaymentStatus.CANCELLED;
+            default -> null;
+        };
+    }
+
+    private static String describe(GatewaySettlementRecord record) {
+        return record.amount() + " " + record.status();
+    }
+
+    private static String plain(Money amount) {
+        return amount.toBigDecimal().toPlainString();
+    }
+
+    private static String describe(ReconciliationRow payment) {
+        return payment.getAmount().toPlainString() + " " + payment.getCurrency() + " " + payment.getStatus();
+    }
+}
@@ -0,0 +1,103 @@
+package com.hairbook.hairbook_backend.service.reconciliation;
+
+import com.hairbook.hairbook_backend.exception.ResourceNotFoundException;
+import com.hairbook.hairbook_backend.repository.PaymentRepository;
+import com.hairbook.hairbook_backend.repository.PaymentRepository.ReconciliationRow;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Schema(description = "Rapprochement des paiements avec un export de règlement de la passerelle - Fusionne en flux l'export CSV et les paiements triés par identifiant de transaction, et écrit les écarts dans un rapport CSV à côté de l'export")
+@Component
+public class PaymentReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciliationJob.class);
+
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path directory;
+    private final int windowSize;
+
+    public PaymentReconciliationJob(PaymentRepository paymentRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.payment.reconciliation.dir:./reconciliation}") String directory,
+                                    @Value("${app.payment.reconciliation.window-bytes:67108864}") int windowSize) {
+        this.paymentRepository = paymentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.windowSize = windowSize;
+    }
+
+    @Schema(description = "Rapproche l'export nommé, déposé dans app.payment.reconciliation.dir, avec la table payments")
+    public ReconciliationSummary reconcile(String fileName) {
+        Path export = resolve(fileName);
+        Path report = export.resolveSibling(fileName + ".mismatches.csv");
+        ReconciliationSummary summary = readOnlyTransaction.execute(status -> run(export, report));
+        logger.info("Rapprochement de {} : {} lignes passerelle, {} paiements, {} concordants, {} écarts",
+                fileName, summary.gatewayRecords(), summary.payments(), summary.matched(), summary.totalMismatches());
+        return summary;
+    }
+
+    // Le flux des paiements n'est ouvert que le temps de la transaction
+    private ReconciliationSummary run(Path export, Path report) {
+        try (GatewayCsvReader gateway = new GatewayCsvReader(export, windowSize);
+             Stream<ReconciliationRow> payments = paymentRepository.streamForReconciliation();
+             BufferedWriter writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            writer.write("type,transaction_id,payment_id,expected,actual");
+            writer.newLine();
+            Iterator<ReconciliationRow> rows = payments.iterator();
+            return new PaymentReconciliationEngine(gateway, rows, mismatch -> write(writer, mismatch))
+                    .run(report.getFileName().toString());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Rapprochement de " + export.getFileName() + " impossible", ex);
+        }
+    }
+
+    // Seuls les fichiers déposés directement dans le répertoire de rapprochement sont acceptés
+    private Path resolve(String fileName) {
+        if (fileName == null || fileName.isBlank() || fileName.contains("/") || fileName.contains("\\")
+                || fileName.startsWith(".")) {
+            throw new ResourceNotFoundException("Export de la passerelle", "nom", fileName);
+        }
+        Path export = directory.resolve(fileName).normalize();
+        if (!export.getParent().equals(directory) || !Files.isRegularFile(export)) {
+            throw new ResourceNotFoundException("Export de la passerelle", "nom", fileName);
+        }
+        return export;
+    }
+
+    private static void write(BufferedWriter writer, ReconciliationMismatch mismatch) {
+        try {
+            writer.write(String.join(",",
+                    mismatch.type().name(),
+                    quote(mismatch.transactionId()),
+                    mismatch.paymentId() == null ? "" : mismatch.paymentId().toString(),
+                    quote(mismatch.expected()),
+                    quote(mismatch.actual())));
+            writer.newLine();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
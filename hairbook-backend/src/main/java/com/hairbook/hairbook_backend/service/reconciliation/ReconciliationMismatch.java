@@ -0,0 +1,22 @@
+package com.hairbook.hairbook_backend.service.reconciliation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Écart relevé entre la table payments et l'export de la passerelle")
+public record ReconciliationMismatch(Type type,
+                                     String transactionId,
+                                     Long paymentId,
+                                     String expected,
+                                     String actual) {
+
+    @Schema(description = "Types d'écart - expected porte la valeur Hairbook, actual celle de la passerelle")
+    public enum Type {
+        AMOUNT,
+        CURRENCY,
+        STATUS,
+        MISSING_IN_GATEWAY,
+        MISSING_IN_PAYMENTS,
+        DUPLICATE_IN_GATEWAY,
+        DUPLICATE_IN_PAYMENTS
+    }
+}
@@ -0,0 +1,18 @@
+package com.hairbook.hairbook_backend.service.reconciliation;
+
+import com.hairbook.hairbook_backend.service.reconciliation.ReconciliationMismatch.Type;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "Bilan d'un rapprochement - Nombre de lignes lues de chaque côté, de paiements concordants et d'écarts par type")
+public record ReconciliationSummary(long gatewayRecords,
+                                    long payments,
+                                    long matched,
+                                    Map<Type, Long> mismatches,
+                                    String reportFile) {
+
+    public long totalMismatches() {
+        return mismatches.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,121 @@
+package com.hairbook.hairbook_backend.service.reminder;
+
+import com.hairbook.hairbook_backend.config.NodeIdentity;
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.entity.ScheduledJob;
+import com.hairbook.hairbook_backend.repository.AppointmentRepository;
+import com.hairbook.hairbook_backend.repository.ScheduledJobRepository;
+import com.hairbook.hairbook_backend.service.notification.NotificationService;
+import com.hairbook.hairbook_backend.service.template.NotificationTemplateEngine;
+import com.hairbook.hairbook_backend.service.template.RenderedNotification;
+import com.hairbook.hairbook_backend.service.template.TemplateContext;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Schema(description = "Exécute les rappels de rendez-vous échus - Chaque nœud réclame des lots de tâches avec SKIP LOCKED, ce qui répartit le travail sans doublon entre les instances")
+@Component
+public class ReminderJobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderJobWorker.class);
+
+    private final ScheduledJobRepository scheduledJobRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final NotificationService notificationService;
+    private final NotificationTemplateEngine templateEngine;
+    private final NodeIdentity nodeIdentity;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final long retryDelaySeconds;
+
+    public ReminderJobWorker(ScheduledJobRepository scheduledJobRepository,
+                             AppointmentRepository appointmentRepository,
+                             NotificationService notificationService,
+                             NotificationTemplateEngine templateEngine,
+                             NodeIdentity nodeIdentity,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.reminder.batch-size:100}") int batchSize,
+                             @Value("${app.reminder.lease-seconds:300}") long leaseSeconds,
+                             @Value("${app.reminder.max-attempts:5}") int maxAttempts,
+                             @Value("${app.reminder.retry-delay-seconds:60}") long retryDelaySeconds) {
+        this.scheduledJobRepository = scheduledJobRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.notificationService = notificationService;
+        this.templateEngine = templateEngine;
+        this.nodeIdentity = nodeIdentity;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.retryDelaySeconds = retryDelaySeconds;
+    }
+
+    @Schema(description = "Interroge périodiquement scheduled_jobs et traite les lots de rappels échus jusqu'à épuisement")
+    @Scheduled(fixedDelayString = "${app.reminder.poll-interval-ms:30000}")
+    public void poll() {
+        List<ScheduledJob> jobs;
+        do {
+            jobs = claimBatch();
+            for (ScheduledJob job : jobs) {
+                process(job);
+            }
+        } while (jobs.size() == batchSize);
+    }
+
+    private List<ScheduledJob> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        // Transaction courte : les verrous de ligne sont relâchés dès le commit, le bail protège ensuite la tâche
+        return transactionTemplate.execute(status -> scheduledJobRepository.claimDueJobs(
+                nodeIdentity.getId(), now, now.plusSeconds(leaseSeconds), batchSize));
+    }
+
+    private void process(ScheduledJob job) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Clôture avant l'envoi, dans la même transaction : un nœud dont le bail a expiré n'envoie rien,
+                // et le verrou de ligne écarte toute reprise concurrente jusqu'au commit
+                if (scheduledJobRepository.markDone(job.getId(), nodeIdentity.getId()) == 0) {
+                    logger.info("Bail perdu sur le rappel du rendez-vous {}, envoi abandonné", job.getAppointmentId());
+                    return;
+                }
+                sendReminder(job.getAppointmentId());
+            });
+        } catch (RuntimeException ex) {
+            logger.warn("Échec du rappel pour le rendez-vous {} (tentative {}) : {}",
+                    job.getAppointmentId(), job.getAttempts(), ex.getMessage());
+            transactionTemplate.executeWithoutResult(status -> scheduledJobRepository.markFailed(
+                    job.getId(), nodeIdentity.getId(),
+                    LocalDateTime.now().plusSeconds(retryDelaySeconds * job.getAttempts()),
+                    ex.getMessage(), maxAttempts));
+        }
+    }
+
+    private void sendReminder(Long appointmentId) {
+        Optional<Appointment> found = appointmentRepository.findWithUserAndServiceById(appointmentId);
+        if (found.isEmpty()) {
+            return;
+        }
+        Appointment appointment = found.get();
+        AppointmentStatus status = appointment.getStatus();
+        if (status != AppointmentStatus.SCHEDULED && status != AppointmentStatus.CONFIRMED) {
+            return;
+        }
+        RenderedNotification reminder = templateEngine.render(NotificationTemplateEngine.APPOINTMENT_REMINDER,
+                TemplateContext.forAppointment(appointment, templateEngine.getDefaultLocale()));
+        notificationService.createNotification(appointment.getUser().getId(), reminder.title(), reminder.message(),
+                "REMINDER", "/appointments/" + appointment.getId());
+    }
+}
@@ -0,0 +1,49 @@
+package com.hairbook.hairbook_backend.service.reminder;
+
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.entity.ScheduledJob.JobType;
+import com.hairbook.hairbook_backend.repository.ScheduledJobRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Planifie, replanifie ou annule le rappel d'un rendez-vous dans la table scheduled_jobs en fonction de son horaire et de son statut")
+@Component
+public class ReminderScheduler {
+
+    private final ScheduledJobRepository scheduledJobRepository;
+    private final long hoursBefore;
+
+    public ReminderScheduler(ScheduledJobRepository scheduledJobRepository,
+                             @Value("${app.reminder.hours-before:24}") long hoursBefore) {
+        this.scheduledJobRepository = scheduledJobRepository;
+        this.hoursBefore = hoursBefore;
+    }
+
+    @Schema(description = "Synchronise le rappel avec l'état du rendez-vous - À appeler dans la transaction qui crée, déplace ou change le statut du rendez-vous")
+    @Transactional
+    public void onAppointmentChanged(Appointment appointment) {
+        if (!isActive(appointment.getStatus()) || !appointment.getStartTime().isAfter(LocalDateTime.now())) {
+            cancel(appointment.getId());
+            return;
+        }
+        // Échéance stable tant que l'horaire ne change pas : un changement de statut ne réarme pas un rappel déjà envoyé.
+        // Rendez-vous pris moins de N heures à l'avance : l'échéance est déjà passée et le rappel part au prochain passage
+        scheduledJobRepository.upsert(JobType.APPOINTMENT_REMINDER.name(), appointment.getId(),
+                appointment.getStartTime().minusHours(hoursBefore));
+    }
+
+    @Schema(description = "Annule le rappel en attente d'un rendez-vous")
+    @Transactional
+    public void cancel(Long appointmentId) {
+        scheduledJobRepository.cancel(JobType.APPOINTMENT_REMINDER.name(), appointmentId);
+    }
+
+    private static boolean isActive(AppointmentStatus status) {
+        return status == AppointmentStatus.SCHEDULED || status == AppointmentStatus.CONFIRMED;
+    }
+}
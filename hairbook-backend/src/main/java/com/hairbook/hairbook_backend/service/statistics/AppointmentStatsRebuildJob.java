@@ -0,0 +1,78 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository;
+import com.hairbook.hairbook_backend.service.rollup.RollupRebuilder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Reconstruction des agrégats et des sketches de clients depuis la table appointments - Par tranches de jours, chacune dans sa propre transaction, pour initialiser les agrégats ou corriger une dérive")
+@Component
+public class AppointmentStatsRebuildJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentStatsRebuildJob.class);
+
+    // Tables écrites par AppointmentStatsRollup, dans l'ordre où il les écrit : verrouillées pendant le recalcul de chaque tranche
+    private static final List<String> TABLES =
+            List.of("appointment_daily_stats", "appointment_hourly_stats", "appointment_stats_versions", "appointment_client_sketches");
+
+    private final AppointmentStatsRepository statsRepository;
+    private final StatisticsCache statisticsCache;
+    private final ClientSketches clientSketches;
+    private final RollupRebuilder rollupRebuilder;
+    private final int chunkDays;
+    private final boolean rebuildOnStartup;
+
+    public AppointmentStatsRebuildJob(AppointmentStatsRepository statsRepository,
+                                      StatisticsCache statisticsCache,
+                                      ClientSketches clientSketches,
+                                      RollupRebuilder rollupRebuilder,
+                                      @Value("${app.statistics.rebuild.chunk-days:31}") int chunkDays,
+                                      @Value("${app.statistics.rebuild.on-startup:false}") boolean rebuildOnStartup) {
+        this.statsRepository = statsRepository;
+        this.statisticsCache = statisticsCache;
+        this.clientSketches = clientSketches;
+        this.rollupRebuilder = rollupRebuilder;
+        this.chunkDays = chunkDays;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @Schema(description = "Reconstruit tout l'historique au démarrage si app.statistics.rebuild.on-startup est activé (par exemple --app.statistics.rebuild.on-startup=true en ligne de commande)")
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildAll();
+        }
+    }
+
+    @Schema(description = "Reconstruit les agrégats du premier au dernier rendez-vous inclus - Retourne le nombre de lignes écrites")
+    public long rebuildAll() {
+        LocalDate firstDay = statsRepository.findFirstAppointmentDay();
+        if (firstDay == null) {
+            return 0;
+        }
+        return rebuild(firstDay, statsRepository.findLastAppointmentDay().plusDays(1));
+    }
+
+    @Schema(description = "Reconstruit les agrégats des jours de [from, to[ par tranches de app.statistics.rebuild.chunk-days jours - Retourne le nombre de lignes écrites")
+    public long rebuild(LocalDate from, LocalDate to) {
+        long written = rollupRebuilder.rebuild(TABLES, from, to, chunkDays, (chunkStart, chunkEnd) -> {
+            statsRepository.incrementVersions(chunkStart, chunkEnd);
+            statsRepository.deleteDailyRange(chunkStart, chunkEnd);
+            statsRepository.deleteHourlyRange(chunkStart, chunkEnd);
+            return statsRepository.insertDailyRange(chunkStart, chunkEnd)
+                    + statsRepository.insertHourlyRange(chunkStart, chunkEnd)
+                    + clientSketches.rebuild(chunkStart, chunkEnd);
+        });
+        statisticsCache.invalidateAll();
+        logger.info("Reconstruction des statistiques de rendez-vous du {} au {} : {} ligne(s)", from, to, written);
+        return written;
+    }
+}
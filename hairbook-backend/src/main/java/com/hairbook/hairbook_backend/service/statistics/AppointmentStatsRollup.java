@@ -0,0 +1,85 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Schema(description = "Maintenance incrémentale des agrégats de rendez-vous - Chaque création, déplacement ou changement de statut déplace le rendez-vous d'un groupe (jour, heure, service, statut) à l'autre et tient à jour les sketches de clients, dans la transaction du rendez-vous")
+@Component
+public class AppointmentStatsRollup {
+
+    private final AppointmentStatsRepository statsRepository;
+    private final StatisticsCache statisticsCache;
+    private final ClientSketches clientSketches;
+
+    public AppointmentStatsRollup(AppointmentStatsRepository statsRepository, StatisticsCache statisticsCache,
+                                  ClientSketches clientSketches) {
+        this.statsRepository = statsRepository;
+        this.statisticsCache = statisticsCache;
+        this.clientSketches = clientSketches;
+    }
+
+    @Schema(description = "Comptabilise un rendez-vous qui vient d'être enregistré - Doit être appelé dans la transaction d'insertion")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCreated(Appointment appointment) {
+        apply(appointment, appointment.getStartTime(), appointment.getStatus(), 1);
+        if (ClientSketches.counts(appointment.getStatus())) {
+            clientSketches.addClient(appointment.getStartTime().toLocalDate(), appointment.getUser().getId());
+        }
+    }
+
+    @Schema(description = "Déplace un rendez-vous de son ancien statut vers le nouveau - Doit être appelé dans la transaction du changement de statut")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChanged(Appointment appointment, AppointmentStatus previousStatus) {
+        if (previousStatus == appointment.getStatus()) {
+            return;
+        }
+        apply(appointment, appointment.getStartTime(), previousStatus, -1);
+        apply(appointment, appointment.getStartTime(), appointment.getStatus(), 1);
+
+        boolean counted = ClientSketches.counts(appointment.getStatus());
+        if (counted != ClientSketches.counts(previousStatus)) {
+            LocalDate day = appointment.getStartTime().toLocalDate();
+            if (counted) {
+                clientSketches.addClient(day, appointment.getUser().getId());
+            } else {
+                clientSketches.markStale(day);
+            }
+        }
+    }
+
+    @Schema(description = "Déplace un rendez-vous de son ancien créneau vers le nouveau - Doit être appelé dans la transaction du déplacement")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onRescheduled(Appointment appointment, LocalDateTime previousStartTime) {
+        LocalDateTime startTime = appointment.getStartTime();
+        if (previousStartTime.toLocalDate().equals(startTime.toLocalDate()) && previousStartTime.getHour() == startTime.getHour()) {
+            return;
+        }
+        // Jours écrits dans l'ordre chronologique : deux déplacements croisés verrouillent les compteurs du jour dans le même ordre
+        if (startTime.isBefore(previousStartTime)) {
+            apply(appointment, startTime, appointment.getStatus(), 1);
+            apply(appointment, previousStartTime, appointment.getStatus(), -1);
+        } else {
+            apply(appointment, previousStartTime, appointment.getStatus(), -1);
+            apply(appointment, startTime, appointment.getStatus(), 1);
+        }
+
+        if (ClientSketches.counts(appointment.getStatus()) && !previousStartTime.toLocalDate().equals(startTime.toLocalDate())) {
+            clientSketches.markStale(previousStartTime.toLocalDate());
+            clientSketches.addClient(startTime.toLocalDate(), appointment.getUser().getId());
+        }
+    }
+
+    private void apply(Appointment appointment, LocalDateTime startTime, AppointmentStatus status, long delta) {
+        statsRepository.addDelta(startTime.toLocalDate(), (short) startTime.getHour(),
+                appointment.getService().getId(), status.name(), delta);
+        statisticsCache.invalidateAfterCommit(startTime.toLocalDate());
+    }
+}
@@ -0,0 +1,155 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.entity.AppointmentClientSketch.Period;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.repository.AppointmentClientSketchRepository;
+import com.hairbook.hairbook_backend.repository.AppointmentClientSketchRepository.ClientDayRow;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository;
+import com.hairbook.hairbook_backend.util.HyperLogLog;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Sketches HyperLogLog des clients par jour et par mois - Clients actifs estimés par fusion de sketches (erreur relative type 1,6 %, moins de 3,3 % dans 95 % des cas) ; un rendez-vous qui quitte un jour marque son sketch à recalculer depuis la table appointments")
+@Component
+public class ClientSketches {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientSketches.class);
+
+    // 4096 registres d'un octet par sketch : erreur relative type 1,04 / sqrt(4096) = 1,6 %
+    public static final int PRECISION = 12;
+    private static final int SIZE = 1 << PRECISION;
+
+    private final AppointmentClientSketchRepository sketchRepository;
+    private final AppointmentStatsRepository statsRepository;
+    private final StatisticsCache statisticsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int refreshBatchSize;
+
+    public ClientSketches(AppointmentClientSketchRepository sketchRepository,
+                          AppointmentStatsRepository statsRepository,
+                          StatisticsCache statisticsCache,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.statistics.clients.refresh-batch:100}") int refreshBatchSize) {
+        this.sketchRepository = sketchRepository;
+        this.statsRepository = statsRepository;
+        this.statisticsCache = statisticsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.refreshBatchSize = refreshBatchSize;
+    }
+
+    @Schema(description = "Vrai si un rendez-vous de ce statut compte son client comme actif")
+    public static boolean counts(AppointmentStatus status) {
+        return status != AppointmentStatus.CANCELLED && status != AppointmentStatus.NO_SHOW;
+    }
+
+    // ----- Maintenance -----
+
+    @Schema(description = "Ajoute un client aux sketches d'un jour et de son mois - Doit être appelé dans la transaction du rendez-vous")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addClient(LocalDate day, Long userId) {
+        long hash = HyperLogLog.hash(userId);
+        int index = HyperLogLog.registerIndex(hash, PRECISION);
+        int rank = HyperLogLog.registerRank(hash, PRECISION);
+        // Jour puis mois, toujours dans cet ordre : même ordre de verrouillage que le recalcul
+        sketchRepository.addClient(day, Period.DAY.name(), index, rank, SIZE);
+        sketchRepository.addClient(day.withDayOfMonth(1), Period.MONTH.name(), index, rank, SIZE);
+    }
+
+    @Schema(description = "Signale qu'un client a pu quitter un jour (annulation, absence, déplacement) - Un sketch ne sait pas retirer un élément : le jour sera recalculé")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markStale(LocalDate day) {
+        sketchRepository.markStale(day);
+    }
+
+    @Schema(description = "Recalcule depuis la table appointments les sketches des jours de [from, to[ et de leurs mois - Retourne le nombre de jours ayant au moins un client")
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int rebuild(LocalDate from, LocalDate to) {
+        sketchRepository.ensureSketches(Period.DAY.name(), from, to, "1 day", SIZE);
+        sketchRepository.lockSketches(Period.DAY.name(), from, to);
+        Map<LocalDate, HyperLogLog> days = new HashMap<>();
+        for (ClientDayRow row : sketchRepository.findClientDays(from, to)) {
+            days.computeIfAbsent(row.getDay(), day -> new HyperLogLog(PRECISION)).add(row.getUserId());
+        }
+        byte[] empty = new byte[SIZE];
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            HyperLogLog sketch = days.get(day);
+            sketchRepository.replaceRegisters(day, Period.DAY.name(), sketch != null ? sketch.toBytes() : empty);
+        }
+
+        // Les mois touchés sont refusionnés depuis leurs jours, y compris ceux hors de [from, to[
+        LocalDate firstMonth = from.withDayOfMonth(1);
+        LocalDate endMonth = to.minusDays(1).withDayOfMonth(1).plusMonths(1);
+        sketchRepository.ensureSketches(Period.MONTH.name(), firstMonth, endMonth, "1 month", SIZE);
+        sketchRepository.lockSketches(Period.MONTH.name(), firstMonth, endMonth);
+        for (LocalDate month = firstMonth; month.isBefore(endMonth); month = month.plusMonths(1)) {
+            HyperLogLog sketch = new HyperLogLog(PRECISION);
+            for (byte[] registers : sketchRepository.findRegisters(Period.DAY.name(), month, month.plusMonths(1))) {
+                sketch.merge(registers);
+            }
+            sketchRepository.replaceRegisters(month, Period.MONTH.name(), sketch.toBytes());
+        }
+        return days.size();
+    }
+
+    @Schema(description = "Tâche périodique - Recalcule les sketches des jours marqués stale, un jour par transaction")
+    @Scheduled(fixedDelayString = "${app.statistics.clients.refresh-interval-ms:60000}",
+               initialDelayString = "${app.statistics.clients.refresh-interval-ms:60000}")
+    public void refreshStaleDays() {
+        List<LocalDate> staleDays = sketchRepository.findStaleDays(refreshBatchSize);
+        for (LocalDate day : staleDays) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Compteur du jour verrouillé avant les sketches, dans le même ordre qu'AppointmentStatsRollup
+                statsRepository.incrementVersions(day, day.plusDays(1));
+                rebuild(day, day.plusDays(1));
+                statisticsCache.invalidateAfterCommit(day);
+            });
+        }
+        if (!staleDays.isEmpty()) {
+            logger.debug("Sketches de clients recalculés pour {} jour(s)", staleDays.size());
+        }
+    }
+
+    // ----- Estimations -----
+
+    @Schema(description = "Estimation du nombre de clients distincts ayant un rendez-vous sur [from, to[")
+    public long activeClients(LocalDate from, LocalDate to) {
+        return union(from, to).estimate();
+    }
+
+    // Mois complets depuis les sketches mensuels, jours de bord depuis les sketches journaliers
+    HyperLogLog union(LocalDate from, LocalDate to) {
+        HyperLogLog union = new HyperLogLog(PRECISION);
+        LocalDate firstMonth = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+        LocalDate lastMonth = to.withDayOfMonth(1);
+        if (firstMonth.isBefore(lastMonth)) {
+            mergeInto(union, Period.DAY, from, firstMonth);
+            mergeInto(union, Period.MONTH, firstMonth, lastMonth);
+            mergeInto(union, Period.DAY, lastMonth, to);
+        } else {
+            mergeInto(union, Period.DAY, from, to);
+        }
+        return union;
+    }
+
+    private void mergeInto(HyperLogLog union, Period period, LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        for (byte[] registers : sketchRepository.findRegisters(period.name(), from, to)) {
+            union.merge(registers);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.dto.stats.DailyCountSeries;
+import com.hairbook.hairbook_backend.dto.stats.ServiceCountSeries;
+import com.hairbook.hairbook_backend.dto.stats.StatisticsResponse;
+import com.hairbook.hairbook_backend.dto.stats.TimeSlotCountSeries;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Schema(description = "Assemblage parallèle des statistiques - Chaque section est calculée sur un thread virtuel dans sa propre transaction en lecture seule, au plus app.statistics.max-concurrent-sections à la fois pour l'ensemble des requêtes ; la latence est celle de la section la plus lente, et une section en retard ou en échec est remplacée par une valeur vide signalée dans unavailableSections")
+@Component
+public class StatisticsAssembler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsAssembler.class);
+
+    private final StatisticsSections sections;
+    private final TransactionTemplate sectionTransaction;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Semaphore connectionPermits;
+    private final long sectionTimeoutMillis;
+
+    public StatisticsAssembler(StatisticsSections sections,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.statistics.section-timeout-ms:2000}") long sectionTimeoutMillis,
+                               @Value("${app.statistics.max-concurrent-sections:4}") int maxConcurrentSections) {
+        this.sections = sections;
+        this.sectionTransaction = new TransactionTemplate(transactionManager);
+        this.sectionTransaction.setReadOnly(true);
+        // Délai de transaction arrondi à la seconde supérieure : les requêtes d'une section abandonnée s'interrompent côté base
+        this.sectionTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sectionTimeoutMillis + 999)));
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("statistics-", 0).factory());
+        // Les threads virtuels sont illimités, pas le pool de connexions : chaque section en cours en tient une
+        this.connectionPermits = new Semaphore(maxConcurrentSections, true);
+        this.sectionTimeoutMillis = sectionTimeoutMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Schema(description = "Calcule toutes les sections sur [from, to[ en parallèle - exactClients remplace l'estimation des clients actifs par un comptage exact")
+    public StatisticsResponse assemble(LocalDate from, LocalDate to, StatisticsGranularity granularity, boolean exactClients) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMillis);
+
+        Section<Map<AppointmentStatus, Long>> totals = submit("statusTotals", deadline, () -> sections.statusTotals(from, to), Map.of());
+        Section<DailyCountSeries> byDay = submit("appointmentsByDay", deadline, () -> sections.appointmentsByDay(from, to, granularity), DailyCountSeries.EMPTY);
+        Section<ServiceCountSeries> byService = submit("appointmentsByService", deadline, () -> sections.appointmentsByService(from, to), ServiceCountSeries.EMPTY);
+        Section<TimeSlotCountSeries> byTimeSlot = submit("appointmentsByTimeSlot", deadline, () -> sections.appointmentsByTimeSlot(from, to), TimeSlotCountSeries.EMPTY);
+        Section<Long> totalClients = submit("totalClients", deadline, sections::totalClients, 0L);
+        Section<Long> activeClients = submit("activeClients", deadline, () -> sections.activeClients(from, to, exactClients), 0L);
+        Section<Long> newClients = submit("newClientsThisMonth", deadline, () -> sections.newClientsThisMonth(), 0L);
+        Section<Long> returningClients = submit("returningClients", deadline, () -> sections.returningClients(from, to), 0L);
+
+        List<String> unavailable = new ArrayList<>();
+        Map<AppointmentStatus, Long> byStatus = totals.await(deadline, unavailable);
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        long completed = byStatus.getOrDefault(AppointmentStatus.COMPLETED, 0L);
+
+        StatisticsResponse response = new StatisticsResponse(
+                total,
+                completed,
+                byStatus.getOrDefault(AppointmentStatus.CANCELLED, 0L),
+                byStatus.getOrDefault(AppointmentStatus.NO_SHOW, 0L),
+                completionRate(completed, total),
+                byDay.await(deadline, unavailable),
+                byService.await(deadline, unavailable),
+                byTimeSlot.await(deadline, unavailable),
+                totalClients.await(deadline, unavailable),
+                activeClients.await(deadline, unavailable),
+                newClients.await(deadline, unavailable),
+                returningClients.await(deadline, unavailable));
+        response.setUnavailableSections(List.copyOf(unavailable));
+        response.setApproximateClientCounts(!exactClients);
+        return response;
+    }
+
+    // Pourcentage arrondi au dixième
+    static double completionRate(long completed, long total) {
+        return total == 0 ? 0 : Math.round(completed * 1000.0 / total) / 10.0;
+    }
+
+    private <T> Section<T> submit(String name, long deadline, Supplier<T> query, T fallback) {
+        Future<T> future = executor.submit(() -> {
+            // Une section qui n'obtient pas de place avant l'échéance n'ouvre pas de transaction
+            if (!connectionPermits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException("Aucune connexion disponible pour la section " + name);
+            }
+            long startedAt = System.nanoTime();
+            String outcome = "success";
+            try {
+                return sectionTransaction.execute(status -> query.get());
+            } catch (RuntimeException ex) {
+                outcome = "error";
+                throw ex;
+            } finally {
+                connectionPermits.release();
+                Timer.builder("hairbook.statistics.section")
+                        .description("Durée de calcul d'une section des statistiques")
+                        .tag("section", name)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+        return new Section<>(name, future, fallback);
+    }
+
+    private record Section<T>(String name, Future<T> future, T fallback) {
+
+        // Toutes les sections partent en même temps : elles partagent la même échéance
+        T await(long deadline, List<String> unavailable) {
+            try {
+                T value = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                return value != null ? value : fallback;
+            } catch (TimeoutException ex) {
+                future.cancel(true);
+                logger.warn("Section de statistiques {} abandonnée après le délai imparti", name);
+            } catch (ExecutionException ex) {
+                logger.warn("Échec de la section de statistiques {} : {}", name, ex.getCause().getMessage());
+            } catch (InterruptedException ex) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+            unavailable.add(name);
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.dto.stats.StatisticsResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Schema(description = "Cache local des statistiques du tableau de bord - Clé (période, granularité, mode de comptage des clients), durée de vie bornée, invalidé après le commit de toute modification d'agrégat tombant dans la période ou avant elle")
+@Component
+public class StatisticsCache {
+
+    private final Duration ttl;
+    private final int maxSize;
+
+    // Réponses calculées : période [from, to[ + granularité + mode -> réponse et ETag
+    private final Map<Key, CachedStatistics> cache = new ConcurrentHashMap<>();
+
+    // Incrémentée à chaque invalidation : un calcul commencé avant une invalidation n'est pas conservé
+    private final AtomicLong generation = new AtomicLong();
+
+    public StatisticsCache(@Value("${app.statistics.cache.ttl-seconds:60}") long ttlSeconds,
+                           @Value("${app.statistics.cache.max-size:500}") int maxSize) {
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxSize = maxSize;
+    }
+
+    @Schema(description = "Clé du cache - Période [from, to[, granularité de la répartition temporelle et mode de comptage des clients")
+    public record Key(LocalDate from, LocalDate to, StatisticsGranularity granularity, boolean exactClients) {}
+
+    @Schema(description = "Statistiques calculées et leur ETag fort - etag est null pour une réponse partielle, qui n'est jamais mise en cache")
+    public record CachedStatistics(StatisticsResponse response, String etag, long expiresAtMillis) {
+
+        boolean isFresh() {
+            return expiresAtMillis > System.currentTimeMillis();
+        }
+    }
+
+    @Schema(description = "Retourne l'entrée encore valide d'une clé, ou null")
+    public CachedStatistics get(Key key) {
+        CachedStatistics cached = cache.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (!cached.isFresh()) {
+            cache.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    @Schema(description = "Génération courante - À lire avant de calculer une réponse et à transmettre à put")
+    public long generation() {
+        return generation.get();
+    }
+
+    @Schema(description = "Conserve une réponse calculée depuis la génération donnée - Elle est écartée si une invalidation est survenue entre-temps")
+    public CachedStatistics put(Key key, StatisticsResponse response, String etag, long computedAtGeneration) {
+        CachedStatistics entry = new CachedStatistics(response, etag, System.currentTimeMillis() + ttl.toMillis());
+        if (computedAtGeneration != generation.get()) {
+            return entry;
+        }
+        if (cache.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(cached -> cached.expiresAtMillis() <= now);
+            if (cache.size() >= maxSize) {
+                // Cache plein d'entrées valides : on repart d'un cache vide plutôt que de suivre l'ordre d'accès
+                cache.clear();
+            }
+        }
+        cache.put(key, entry);
+        // Invalidation concurrente entre la vérification et l'insertion : l'entrée est retirée aussitôt
+        if (computedAtGeneration != generation.get()) {
+            cache.remove(key, entry);
+        }
+        return entry;
+    }
+
+    @Schema(description = "Invalide, après le commit de la transaction courante, les périodes se terminant après le jour modifié - Les jours antérieurs à la période comptent aussi (clients fidèles)")
+    public void invalidateAfterCommit(LocalDate day) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateFrom(day);
+                }
+            });
+        } else {
+            invalidateFrom(day);
+        }
+    }
+
+    @Schema(description = "Vide entièrement le cache local - Utilisé après une reconstruction des agrégats")
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    void invalidateFrom(LocalDate day) {
+        generation.incrementAndGet();
+        cache.keySet().removeIf(key -> key.to().isAfter(day));
+    }
+}
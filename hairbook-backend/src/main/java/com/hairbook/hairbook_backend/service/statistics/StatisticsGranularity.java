@@ -0,0 +1,27 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Granularité de la répartition temporelle des rendez-vous (appointmentsByDay)")
+public enum StatisticsGranularity {
+
+    @Schema(description = "Un point par jour")
+    DAY("day"),
+
+    @Schema(description = "Un point par semaine, daté du lundi")
+    WEEK("week"),
+
+    @Schema(description = "Un point par mois, daté du premier jour du mois")
+    MONTH("month");
+
+    // Unité attendue par date_trunc
+    private final String sqlUnit;
+
+    StatisticsGranularity(String sqlUnit) {
+        this.sqlUnit = sqlUnit;
+    }
+
+    public String getSqlUnit() {
+        return sqlUnit;
+    }
+}
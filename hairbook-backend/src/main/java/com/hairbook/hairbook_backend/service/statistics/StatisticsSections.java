@@ -0,0 +1,122 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.dto.stats.DailyCountSeries;
+import com.hairbook.hairbook_backend.dto.stats.ServiceCountSeries;
+import com.hairbook.hairbook_backend.dto.stats.TimeSlotCountSeries;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.entity.ERole;
+import com.hairbook.hairbook_backend.repository.AppointmentRepository;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository.DayCountRow;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository.HourCountRow;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository.ServiceCountRow;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository.StatusCountRow;
+import com.hairbook.hairbook_backend.repository.UserRepository;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Requêtes indépendantes composant les statistiques du tableau de bord - Chaque méthode est une section exécutée dans sa propre transaction par StatisticsAssembler ; les bornes de période sont [from, to[")
+@Component
+public class StatisticsSections {
+
+    // Statuts comptés dans les répartitions : les rendez-vous annulés ou non honorés en sont exclus
+    static final List<String> COUNTED_STATUSES = List.of(
+            AppointmentStatus.SCHEDULED.name(), AppointmentStatus.CONFIRMED.name(), AppointmentStatus.COMPLETED.name());
+
+    private final AppointmentStatsRepository statsRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final ClientSketches clientSketches;
+
+    public StatisticsSections(AppointmentStatsRepository statsRepository,
+                              AppointmentRepository appointmentRepository,
+                              UserRepository userRepository,
+                              ClientSketches clientSketches) {
+        this.statsRepository = statsRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.userRepository = userRepository;
+        this.clientSketches = clientSketches;
+    }
+
+    @Schema(description = "Nombre de rendez-vous par statut")
+    public Map<AppointmentStatus, Long> statusTotals(LocalDate from, LocalDate to) {
+        Map<AppointmentStatus, Long> totals = new EnumMap<>(AppointmentStatus.class);
+        for (StatusCountRow row : statsRepository.countByStatus(from, to)) {
+            totals.put(AppointmentStatus.valueOf(row.getStatus()), row.getCount());
+        }
+        return totals;
+    }
+
+    @Schema(description = "Nombre de rendez-vous par jour, semaine ou mois")
+    public DailyCountSeries appointmentsByDay(LocalDate from, LocalDate to, StatisticsGranularity granularity) {
+        List<DayCountRow> rows = statsRepository.countByPeriod(from, to, COUNTED_STATUSES, granularity.getSqlUnit());
+        int[] epochDays = new int[rows.size()];
+        long[] counts = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            epochDays[i] = (int) rows.get(i).getDay().toEpochDay();
+            counts[i] = rows.get(i).getCount();
+        }
+        return new DailyCountSeries(epochDays, counts);
+    }
+
+    @Schema(description = "Nombre de rendez-vous par service, du plus demandé au moins demandé")
+    public ServiceCountSeries appointmentsByService(LocalDate from, LocalDate to) {
+        List<ServiceCountRow> rows = statsRepository.countByService(from, to, COUNTED_STATUSES);
+        long[] serviceIds = new long[rows.size()];
+        String[] serviceNames = new String[rows.size()];
+        long[] counts = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ServiceCountRow row = rows.get(i);
+            serviceIds[i] = row.getServiceId();
+            serviceNames[i] = row.getServiceName();
+            counts[i] = row.getCount();
+        }
+        return new ServiceCountSeries(serviceIds, serviceNames, counts);
+    }
+
+    @Schema(description = "Nombre de rendez-vous par créneau horaire de début")
+    public TimeSlotCountSeries appointmentsByTimeSlot(LocalDate from, LocalDate to) {
+        List<HourCountRow> rows = statsRepository.countByHour(from, to, COUNTED_STATUSES);
+        byte[] hours = new byte[rows.size()];
+        long[] counts = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            hours[i] = (byte) rows.get(i).getHour();
+            counts[i] = rows.get(i).getCount();
+        }
+        return new TimeSlotCountSeries(hours, counts);
+    }
+
+    @Schema(description = "Nombre de membres inscrits")
+    public long totalClients() {
+        return userRepository.countRoleMembers(ERole.ROLE_MEMBER.name());
+    }
+
+    // ----- Clients -----
+
+    @Schema(description = "Nombre de clients distincts ayant un rendez-vous sur la période - Estimation par sketches HyperLogLog, ou comptage exact sur la table appointments (audits)")
+    public long activeClients(LocalDate from, LocalDate to, boolean exact) {
+        return exact
+                ? appointmentRepository.countActiveClients(from.atStartOfDay(), to.atStartOfDay())
+                : clientSketches.activeClients(from, to);
+    }
+
+    // Nouveaux et récurrents sont toujours exacts : une différence d'unions de sketches porterait l'erreur de tout
+    // l'historique, plus grande que ces valeurs. Les clients de la période sont confrontés à leur passé par
+    // idx_appointments_user_start_time, sans parcourir l'historique
+
+    @Schema(description = "Nombre de clients dont le premier rendez-vous tombe dans le mois en cours")
+    public long newClientsThisMonth() {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        return appointmentRepository.countNewClients(monthStart.atStartOfDay(), monthStart.plusMonths(1).atStartOfDay());
+    }
+
+    @Schema(description = "Nombre de clients actifs sur la période ayant déjà eu un rendez-vous auparavant")
+    public long returningClients(LocalDate from, LocalDate to) {
+        return appointmentRepository.countReturningClients(from.atStartOfDay(), to.atStartOfDay());
+    }
+}
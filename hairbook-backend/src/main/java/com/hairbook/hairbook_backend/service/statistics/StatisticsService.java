@@ -0,0 +1,59 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.dto.stats.StatisticsResponse;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository;
+import com.hairbook.hairbook_backend.service.statistics.StatisticsCache.CachedStatistics;
+import com.hairbook.hairbook_backend.service.statistics.StatisticsCache.Key;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+
+@Schema(description = "Statistiques des tableaux de bord - Les répartitions de rendez-vous sont lues dans les agrégats journaliers et horaires, jamais dans la table appointments ; les sections sont calculées en parallèle par StatisticsAssembler et les réponses complètes sont conservées dans StatisticsCache avec un ETag fort")
+@Service
+public class StatisticsService {
+
+    private final StatisticsAssembler assembler;
+    private final StatisticsCache cache;
+    private final AppointmentStatsRepository statsRepository;
+
+    public StatisticsService(StatisticsAssembler assembler, StatisticsCache cache, AppointmentStatsRepository statsRepository) {
+        this.assembler = assembler;
+        this.cache = cache;
+        this.statsRepository = statsRepository;
+    }
+
+    @Schema(description = "Statistiques des rendez-vous et des clients entre deux dates incluses, depuis le cache si possible - exactClients demande des comptages de clients exacts (audits)")
+    public CachedStatistics getStatistics(LocalDate from, LocalDate to, StatisticsGranularity granularity, boolean exactClients) {
+        Key key = new Key(from, to.plusDays(1), granularity, exactClients);
+        CachedStatistics cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = cache.generation();
+        // Version lue avant et après le calcul : l'ETag ne décrit jamais un contenu plus ancien ou plus récent que lui
+        long version = statsRepository.findVersionBefore(key.to());
+        StatisticsResponse response = assembler.assemble(key.from(), key.to(), granularity, exactClients);
+        if (!response.getUnavailableSections().isEmpty() || version != statsRepository.findVersionBefore(key.to())) {
+            return new CachedStatistics(response, null, 0);
+        }
+        return cache.put(key, response, etag(key, version, response), generation);
+    }
+
+    // Les compteurs de membres ne dépendent pas des agrégats : ils entrent directement dans l'empreinte
+    static String etag(Key key, long version, StatisticsResponse response) {
+        String source = key.from() + "|" + key.to() + "|" + key.granularity() + "|" + key.exactClients() + "|" + version
+                + "|" + response.getTotalClients() + "|" + response.getNewClientsThisMonth();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponible", ex);
+        }
+    }
+}
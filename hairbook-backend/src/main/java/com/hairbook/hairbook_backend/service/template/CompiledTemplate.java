@@ -0,0 +1,70 @@
+package com.hairbook.hairbook_backend.service.template;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Modèle compilé une seule fois au démarrage - Suite de segments littéraux et de paramètres déjà résolus ; le rendu se limite à des ajouts dans un StringBuilder pré-dimensionné")
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // Chaque segment est soit un littéral (String), soit un paramètre résolu
+    private final String[] literals;
+    private final TemplateParameters.Parameter[] parameters;
+    private final int estimatedLength;
+
+    private CompiledTemplate(String[] literals, TemplateParameters.Parameter[] parameters, int estimatedLength) {
+        this.literals = literals;
+        this.parameters = parameters;
+        this.estimatedLength = estimatedLength;
+    }
+
+    @Schema(description = "Compile un modèle de la forme 'Bonjour {{user.firstName}}' - Lève IllegalArgumentException si un paramètre est inconnu ou mal fermé")
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<TemplateParameters.Parameter> parameters = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            String literal = open < 0 ? source.substring(position) : source.substring(position, open);
+            literals.add(literal);
+            literalLength += literal.length();
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Paramètre non fermé dans le modèle : " + source);
+            }
+            parameters.add(TemplateParameters.resolve(source.substring(open + OPEN.length(), close).trim()));
+            position = close + CLOSE.length();
+        }
+
+        // Estimation de 16 caractères par paramètre pour éviter les réallocations du StringBuilder
+        return new CompiledTemplate(
+                literals.toArray(String[]::new),
+                parameters.toArray(TemplateParameters.Parameter[]::new),
+                literalLength + parameters.size() * 16);
+    }
+
+    @Schema(description = "Produit le texte du modèle pour le contexte donné")
+    public String render(TemplateContext context) {
+        StringBuilder out = new StringBuilder(estimatedLength);
+        renderTo(out, context);
+        return out.toString();
+    }
+
+    @Schema(description = "Ajoute le texte du modèle à un StringBuilder existant")
+    public void renderTo(StringBuilder out, TemplateContext context) {
+        for (int i = 0; i < parameters.length; i++) {
+            out.append(literals[i]);
+            parameters[i].appendTo(out, context);
+        }
+        out.append(literals[parameters.length]);
+    }
+}
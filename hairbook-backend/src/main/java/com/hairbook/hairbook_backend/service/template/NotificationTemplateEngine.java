@@ -0,0 +1,99 @@
+package com.hairbook.hairbook_backend.service.template;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+@Schema(description = "Moteur de modèles des notifications et e-mails - Charge et compile au démarrage tous les fichiers templates/notifications_<langue>.properties, puis sert les modèles depuis un cache indexé par identifiant et locale")
+@Component
+public class NotificationTemplateEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationTemplateEngine.class);
+
+    public static final String APPOINTMENT_CONFIRMATION = "appointment.confirmation";
+    public static final String APPOINTMENT_REMINDER = "appointment.reminder";
+    public static final String APPOINTMENT_CANCELLATION = "appointment.cancellation";
+    public static final String PAYMENT_RECEIPT = "payment.receipt";
+
+    private static final String LOCATION = "classpath*:templates/notifications_*.properties";
+    private static final String TITLE_SUFFIX = ".title";
+    private static final String MESSAGE_SUFFIX = ".message";
+
+    private final Locale defaultLocale;
+
+    // Clé : "<langue>|<identifiant>" - Table immuable après le démarrage
+    private final Map<String, CompiledTemplate[]> templates;
+
+    public NotificationTemplateEngine(@Value("${app.notification.default-locale:fr}") String defaultLocale) throws IOException {
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        this.templates = Map.copyOf(loadTemplates());
+        logger.info("{} modèle(s) de notification compilé(s)", templates.size());
+    }
+
+    @Schema(description = "Rend le titre et le message d'un modèle - Repli sur la locale par défaut si la langue demandée n'est pas disponible")
+    public RenderedNotification render(String templateId, TemplateContext context) {
+        CompiledTemplate[] template = find(templateId, context.getLocale());
+        return new RenderedNotification(template[0].render(context), template[1].render(context));
+    }
+
+    @Schema(description = "Locale utilisée lorsqu'aucune préférence n'est connue pour le destinataire")
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    private CompiledTemplate[] find(String templateId, Locale locale) {
+        CompiledTemplate[] template = templates.get(key(locale.getLanguage(), templateId));
+        if (template == null) {
+            template = templates.get(key(defaultLocale.getLanguage(), templateId));
+        }
+        if (template == null) {
+            throw new IllegalArgumentException("Modèle de notification inconnu : " + templateId);
+        }
+        return template;
+    }
+
+    private static Map<String, CompiledTemplate[]> loadTemplates() throws IOException {
+        Map<String, CompiledTemplate[]> compiled = new HashMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            String filename = resource.getFilename();
+            String language = filename.substring("notifications_".length(), filename.length() - ".properties".length());
+
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            for (String name : properties.stringPropertyNames()) {
+                if (!name.endsWith(TITLE_SUFFIX)) {
+                    continue;
+                }
+                String templateId = name.substring(0, name.length() - TITLE_SUFFIX.length());
+                String message = properties.getProperty(templateId + MESSAGE_SUFFIX);
+                if (message == null) {
+                    throw new IllegalStateException("Message manquant pour le modèle " + templateId + " (" + filename + ")");
+                }
+                compiled.put(key(language, templateId), new CompiledTemplate[] {
+                        CompiledTemplate.compile(properties.getProperty(name)),
+                        CompiledTemplate.compile(message)
+                });
+            }
+        }
+        return compiled;
+    }
+
+    private static String key(String language, String templateId) {
+        return language + "|" + templateId;
+    }
+}
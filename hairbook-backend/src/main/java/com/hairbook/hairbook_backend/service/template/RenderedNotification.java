@@ -0,0 +1,7 @@
+package com.hairbook.hairbook_backend.service.template;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Titre et message d'une notification produits à partir d'un modèle")
+public record RenderedNotification(String title, String message) {
+}
@@ -0,0 +1,71 @@
+package com.hairbook.hairbook_backend.service.template;
+
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.Payment;
+import com.hairbook.hairbook_backend.entity.Service;
+import com.hairbook.hairbook_backend.entity.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Locale;
+
+@Schema(description = "Données disponibles lors du rendu d'un modèle de notification - Seuls les objets utiles au modèle doivent être renseignés")
+public final class TemplateContext {
+
+    private final Locale locale;
+    private User user;
+    private Appointment appointment;
+    private Service service;
+    private Payment payment;
+
+    private TemplateContext(Locale locale) {
+        this.locale = locale;
+    }
+
+    @Schema(description = "Crée un contexte vide pour la locale donnée")
+    public static TemplateContext of(Locale locale) {
+        return new TemplateContext(locale);
+    }
+
+    @Schema(description = "Crée un contexte à partir d'un rendez-vous, de son utilisateur et de son service (qui doivent être chargés)")
+    public static TemplateContext forAppointment(Appointment appointment, Locale locale) {
+        return of(locale)
+                .user(appointment.getUser())
+                .appointment(appointment)
+                .service(appointment.getService());
+    }
+
+    @Schema(description = "Crée un contexte à partir d'un paiement et du rendez-vous associé (qui doivent être chargés)")
+    public static TemplateContext forPayment(Payment payment, Locale locale) {
+        return forAppointment(payment.getAppointment(), locale).payment(payment);
+    }
+
+    public TemplateContext user(User user) {
+        this.user = user;
+        return this;
+    }
+
+    public TemplateContext appointment(Appointment appointment) {
+        this.appointment = appointment;
+        return this;
+    }
+
+    public TemplateContext service(Service service) {
+        this.service = service;
+        return this;
+    }
+
+    public TemplateContext payment(Payment payment) {
+        this.payment = payment;
+        return this;
+    }
+
+    public Locale getLocale() { return locale; }
+
+    public User getUser() { return user; }
+
+    public Appointment getAppointment() { return appointment; }
+
+    public Service getService() { return service; }
+
+    public Payment getPayment() { return payment; }
+}
@@ -0,0 +1,90 @@
+package com.hairbook.hairbook_backend.service.template;
+
+import com.hairbook.hairbook_backend.util.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.text.DecimalFormatSymbols;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Schema(description = "Registre des paramètres utilisables dans les modèles ({{appointment.date}}, {{service.name}}, ...) - Chaque nom est associé une fois pour toutes à un accesseur typé, sans réflexion lors du rendu")
+final class TemplateParameters {
+
+    @Schema(description = "Accesseur d'un paramètre : ajoute la valeur rendue au StringBuilder")
+    @FunctionalInterface
+    interface Parameter {
+        void appendTo(StringBuilder out, TemplateContext context);
+    }
+
+    private static final Map<String, Parameter> PARAMETERS = Map.ofEntries(
+            // Utilisateur
+            Map.entry("user.firstName", text(ctx -> ctx.getUser().getFirstName())),
+            Map.entry("user.lastName", text(ctx -> ctx.getUser().getLastName())),
+            Map.entry("user.username", text(ctx -> ctx.getUser().getUsername())),
+            Map.entry("user.email", text(ctx -> ctx.getUser().getEmail())),
+            // Rendez-vous
+            Map.entry("appointment.id", (out, ctx) -> out.append(ctx.getAppointment().getId())),
+            Map.entry("appointment.date", (out, ctx) -> appendDate(out, ctx.getAppointment().getStartTime(), ctx.getLocale())),
+            Map.entry("appointment.time", (out, ctx) -> appendTime(out, ctx.getAppointment().getStartTime(), ctx.getLocale())),
+            Map.entry("appointment.endTime", (out, ctx) -> appendTime(out, ctx.getAppointment().getEndTime(), ctx.getLocale())),
+            Map.entry("appointment.status", text(ctx -> ctx.getAppointment().getStatus().name())),
+            Map.entry("appointment.notes", text(ctx -> ctx.getAppointment().getNotes())),
+            // Service
+            Map.entry("service.name", text(ctx -> ctx.getService().getName())),
+            Map.entry("service.durationMinutes", (out, ctx) -> out.append(ctx.getService().getDurationMinutes().intValue())),
+            Map.entry("service.price", (out, ctx) -> appendAmount(out, ctx.getService().getPriceMoney(), ctx.getLocale())),
+            // Paiement
+            Map.entry("payment.id", (out, ctx) -> out.append(ctx.getPayment().getId())),
+            Map.entry("payment.amount", (out, ctx) -> appendAmount(out, ctx.getPayment().getMoney(), ctx.getLocale())),
+            Map.entry("payment.currency", text(ctx -> ctx.getPayment().getCurrency())),
+            Map.entry("payment.method", text(ctx -> ctx.getPayment().getMethod().name())),
+            Map.entry("payment.status", text(ctx -> ctx.getPayment().getStatus().name())),
+            Map.entry("payment.transactionId", text(ctx -> ctx.getPayment().getTransactionId()))
+    );
+
+    // Formateurs immuables et thread-safe, mis en cache par locale
+    private static final Map<Locale, DateTimeFormatter> DATE_FORMATTERS = new ConcurrentHashMap<>();
+    private static final Map<Locale, DateTimeFormatter> TIME_FORMATTERS = new ConcurrentHashMap<>();
+    private static final Map<Locale, Character> DECIMAL_SEPARATORS = new ConcurrentHashMap<>();
+
+    private TemplateParameters() {
+    }
+
+    static Parameter resolve(String name) {
+        Parameter parameter = PARAMETERS.get(name);
+        if (parameter == null) {
+            throw new IllegalArgumentException("Paramètre de modèle inconnu : " + name);
+        }
+        return parameter;
+    }
+
+    private static Parameter text(Function<TemplateContext, String> accessor) {
+        return (out, ctx) -> {
+            String value = accessor.apply(ctx);
+            if (value != null) {
+                out.append(value);
+            }
+        };
+    }
+
+    private static void appendDate(StringBuilder out, TemporalAccessor value, Locale locale) {
+        DATE_FORMATTERS.computeIfAbsent(locale, l -> DateTimeFormatter.ofLocalizedDate(FormatStyle.FULL).withLocale(l))
+                .formatTo(value, out);
+    }
+
+    private static void appendTime(StringBuilder out, TemporalAccessor value, Locale locale) {
+        TIME_FORMATTERS.computeIfAbsent(locale, l -> DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT).withLocale(l))
+                .formatTo(value, out);
+    }
+
+    // Montant aux décimales de sa devise avec le séparateur de la locale, sans NumberFormat (non thread-safe)
+    private static void appendAmount(StringBuilder out, Money amount, Locale locale) {
+        char separator = DECIMAL_SEPARATORS.computeIfAbsent(locale, l -> DecimalFormatSymbols.getInstance(l).getDecimalSeparator());
+        amount.appendTo(out, separator);
+    }
+}
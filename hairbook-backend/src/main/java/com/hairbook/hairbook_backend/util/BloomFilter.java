@@ -0,0 +1,62 @@
+package com.hairbook.hairbook_backend.util;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Schema(description = "Filtre de Bloom thread-safe - Test d'appartenance probabiliste sans faux négatifs ; les positions sont dérivées de deux hachages 64 bits fournis par l'appelant (double hachage de Kirsch-Mitzenmacher)")
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+    }
+
+    @Schema(description = "Crée un filtre dimensionné pour le nombre d'éléments attendu et le taux de faux positifs visé")
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Nombre d'éléments attendu ou taux de faux positifs invalide");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = Math.max(64, Math.min(bits, (long) Integer.MAX_VALUE * Long.SIZE));
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    @Schema(description = "Ajoute un élément identifié par ses deux hachages")
+    public void put(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(combined, bitCount);
+            long mask = 1L << bit;
+            int index = (int) (bit >>> 6);
+            long current = words.get(index);
+            while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask)) {
+                current = words.get(index);
+            }
+            combined += hash2;
+        }
+    }
+
+    @Schema(description = "Retourne false si l'élément n'a certainement jamais été ajouté, true s'il l'a probablement été")
+    public boolean mightContain(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(combined, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += hash2;
+        }
+        return true;
+    }
+
+    public long getBitCount() { return bitCount; }
+
+    public int getHashCount() { return hashCount; }
+}
@@ -0,0 +1,127 @@
+package com.hairbook.hairbook_backend.util;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Sketch HyperLogLog - Estimation du nombre d'éléments distincts en 2^precision registres d'un octet ; deux sketches de même précision se fusionnent par maximum registre à registre, l'erreur relative type vaut 1,04 / sqrt(2^precision)")
+public final class HyperLogLog {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 16;
+
+    private final byte[] registers;
+    private final int precision;
+
+    public HyperLogLog(int precision) {
+        this(new byte[1 << checkPrecision(precision)]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+        this.precision = Integer.numberOfTrailingZeros(registers.length);
+    }
+
+    @Schema(description = "Reprend des registres persistés, sans copie - Leur nombre fixe la précision et doit être une puissance de deux")
+    public static HyperLogLog wrap(byte[] registers) {
+        if (Integer.bitCount(registers.length) != 1) {
+            throw new IllegalArgumentException("Nombre de registres invalide : " + registers.length);
+        }
+        checkPrecision(Integer.numberOfTrailingZeros(registers.length));
+        return new HyperLogLog(registers);
+    }
+
+    @Schema(description = "Ajoute un élément - Retourne true si un registre a changé")
+    public boolean add(long value) {
+        long hash = hash(value);
+        int index = registerIndex(hash, precision);
+        byte rank = (byte) registerRank(hash, precision);
+        if (registers[index] >= rank) {
+            return false;
+        }
+        registers[index] = rank;
+        return true;
+    }
+
+    @Schema(description = "Fusionne un autre sketch de même précision dans celui-ci (union des ensembles)")
+    public HyperLogLog merge(HyperLogLog other) {
+        return merge(other.registers);
+    }
+
+    @Schema(description = "Fusionne des registres persistés de même précision dans ce sketch")
+    public HyperLogLog merge(byte[] otherRegisters) {
+        if (otherRegisters.length != registers.length) {
+            throw new IllegalArgumentException("Précisions différentes : " + otherRegisters.length + " registres au lieu de " + registers.length);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (otherRegisters[i] > registers[i]) {
+                registers[i] = otherRegisters[i];
+            }
+        }
+        return this;
+    }
+
+    @Schema(description = "Estimation du nombre d'éléments distincts - Comptage linéaire tant que des registres sont vides et que l'estimation brute reste sous 2,5 x m")
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double raw = alpha(m) * m * m / sum;
+        if (raw <= 2.5 * m && zeros > 0) {
+            return Math.round(m * Math.log((double) m / zeros));
+        }
+        return Math.round(raw);
+    }
+
+    @Schema(description = "Copie des registres, au format persisté")
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+
+    public int getPrecision() { return precision; }
+
+    // ----- Fonctions de registre, partagées avec les mises à jour SQL (set_byte / get_byte) -----
+
+    @Schema(description = "Hachage 64 bits d'un identifiant (finaliseur SplitMix64) - Bijectif, il disperse les identifiants séquentiels")
+    public static long hash(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Schema(description = "Registre d'un hachage : ses precision bits de poids fort")
+    public static int registerIndex(long hash, int precision) {
+        return (int) (hash >>> (Long.SIZE - precision));
+    }
+
+    @Schema(description = "Rang d'un hachage : position du premier bit à 1 après les bits d'index, entre 1 et 65 - precision")
+    public static int registerRank(long hash, int precision) {
+        return Math.min(Long.numberOfLeadingZeros(hash << precision), Long.SIZE - precision) + 1;
+    }
+
+    @Schema(description = "Erreur relative type d'une estimation pour une précision donnée")
+    public static double relativeStandardError(int precision) {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    private static int checkPrecision(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Précision hors de [" + MIN_PRECISION + ", " + MAX_PRECISION + "] : " + precision);
+        }
+        return precision;
+    }
+}
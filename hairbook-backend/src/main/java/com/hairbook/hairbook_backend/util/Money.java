@@ -0,0 +1,150 @@
+package com.hairbook.hairbook_backend.util;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Objects;
+
+@Schema(description = "Montant exact en unités mineures (centimes pour l'euro) accompagné de son code devise ISO 4217 - Les sommes et comparaisons se font sur un long, sans allocation de BigDecimal ; la conversion avec les colonnes NUMERIC est exacte et échoue plutôt que d'arrondir")
+public record Money(long minorUnits, String currency) implements Comparable<Money> {
+
+    public Money {
+        Objects.requireNonNull(currency, "La devise est obligatoire");
+        currency = currency.toUpperCase(Locale.ROOT);
+    }
+
+    @Schema(description = "Montant nul dans la devise donnée")
+    public static Money zero(String currency) {
+        return new Money(0, currency);
+    }
+
+    @Schema(description = "Convertit un montant décimal en unités mineures - ArithmeticException si le montant a plus de décimales que la devise ou dépasse un long")
+    public static Money of(BigDecimal amount, String currency) {
+        int digits = fractionDigits(currency);
+        return new Money(amount.setScale(digits, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(), currency);
+    }
+
+    @Schema(description = "Lit un montant décimal (\"45.50\", \"-3\", \"45.5\") directement en unités mineures, sans passer par BigDecimal - NumberFormatException si le texte est invalide ou trop précis pour la devise")
+    public static Money parse(CharSequence text, String currency) {
+        int digits = fractionDigits(currency);
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        long units = 0;
+        int fraction = -1;
+        boolean anyDigit = false;
+        try {
+            for (; i < length; i++) {
+                char c = text.charAt(i);
+                if (c == '.' && fraction < 0) {
+                    fraction = 0;
+                } else if (c >= '0' && c <= '9') {
+                    anyDigit = true;
+                    if (fraction >= 0 && ++fraction > digits) {
+                        // Décimales excédentaires tolérées uniquement si elles sont nulles
+                        if (c != '0') {
+                            throw new NumberFormatException("Montant plus précis que la devise " + currency + " : " + text);
+                        }
+                        continue;
+                    }
+                    units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+                } else {
+                    throw new NumberFormatException("Montant invalide : " + text);
+                }
+            }
+            if (!anyDigit) {
+                throw new NumberFormatException("Montant invalide : " + text);
+            }
+            for (int scale = Math.max(fraction, 0); scale < digits; scale++) {
+                units = Math.multiplyExact(units, 10);
+            }
+        } catch (ArithmeticException ex) {
+            throw new NumberFormatException("Montant hors limites : " + text);
+        }
+        return new Money(negative ? -units : units, currency);
+    }
+
+    @Schema(description = "Nombre de décimales de la devise (2 pour EUR, 0 pour JPY)")
+    public static int fractionDigits(String currency) {
+        return Math.max(0, Currency.getInstance(currency.toUpperCase(Locale.ROOT)).getDefaultFractionDigits());
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    @Schema(description = "Valeur décimale exacte, à l'échelle de la devise, pour les colonnes NUMERIC et les DTO")
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    @Schema(description = "Écrit le montant avec le séparateur décimal donné, sans allocation intermédiaire")
+    public void appendTo(StringBuilder out, char decimalSeparator) {
+        int digits = fractionDigits(currency);
+        long units = minorUnits;
+        if (units < 0) {
+            out.append('-');
+        }
+        if (digits == 0) {
+            out.append(Math.abs(units));
+            return;
+        }
+        long divisor = 1;
+        for (int i = 0; i < digits; i++) {
+            divisor *= 10;
+        }
+        // Reste et quotient négatifs pour couvrir Long.MIN_VALUE
+        long whole = units / divisor;
+        long fraction = units % divisor;
+        out.append(whole < 0 ? -whole : whole).append(decimalSeparator);
+        long absFraction = fraction < 0 ? -fraction : fraction;
+        for (long pad = divisor / 10; pad > 1 && absFraction < pad; pad /= 10) {
+            out.append('0');
+        }
+        out.append(absFraction);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        appendTo(out, '.');
+        return out.append(' ').append(currency).toString();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Devises différentes : " + currency + " et " + other.currency);
+        }
+    }
+}
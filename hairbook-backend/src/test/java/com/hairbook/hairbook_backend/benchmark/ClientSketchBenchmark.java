@@ -0,0 +1,101 @@
+package com.hairbook.hairbook_backend.benchmark;
+
+import com.hairbook.hairbook_backend.service.statistics.ClientSketches;
+import com.hairbook.hairbook_backend.util.HyperLogLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Clients distincts sur 5 ans (50 000 clients, 400 000 rendez-vous) : fusion de 59 sketches mensuels et 61 journaliers vs ensemble exact en mémoire
+// Le coût SQL de lecture des sketches n'est pas mesuré ; le comptage exact en base parcourt en plus toutes les lignes de la période
+// Lancement : exécuter main() depuis l'IDE ou via exec:java sur le classpath de test, ajouter -prof gc pour les allocations
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientSketchBenchmark {
+
+	private static final int CLIENTS = 50_000;
+	private static final int APPOINTMENTS = 400_000;
+
+	private byte[][] monthSketches;
+	private byte[][] daySketches;
+	private long[] appointmentClients;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		appointmentClients = new long[APPOINTMENTS];
+		HyperLogLog[] months = new HyperLogLog[59];
+		HyperLogLog[] days = new HyperLogLog[61];
+		for (int i = 0; i < months.length; i++) {
+			months[i] = new HyperLogLog(ClientSketches.PRECISION);
+		}
+		for (int i = 0; i < days.length; i++) {
+			days[i] = new HyperLogLog(ClientSketches.PRECISION);
+		}
+		for (int i = 0; i < APPOINTMENTS; i++) {
+			long client = random.nextLong(CLIENTS);
+			appointmentClients[i] = client;
+			// Répartition des rendez-vous entre mois complets et jours de bord, au prorata du nombre de jours
+			int day = random.nextInt(1826);
+			if (day < 1765) {
+				months[day * months.length / 1765].add(client);
+			} else {
+				days[day - 1765].add(client);
+			}
+		}
+		monthSketches = new byte[months.length][];
+		daySketches = new byte[days.length][];
+		for (int i = 0; i < months.length; i++) {
+			monthSketches[i] = months[i].toBytes();
+		}
+		for (int i = 0; i < days.length; i++) {
+			daySketches[i] = days[i].toBytes();
+		}
+	}
+
+	@Benchmark
+	public long mergedSketches() {
+		HyperLogLog union = new HyperLogLog(ClientSketches.PRECISION);
+		for (byte[] registers : monthSketches) {
+			union.merge(registers);
+		}
+		for (byte[] registers : daySketches) {
+			union.merge(registers);
+		}
+		return union.estimate();
+	}
+
+	@Benchmark
+	public long exactDistinct() {
+		Set<Long> clients = new HashSet<>();
+		for (long client : appointmentClients) {
+			clients.add(client);
+		}
+		return clients.size();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ClientSketchBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
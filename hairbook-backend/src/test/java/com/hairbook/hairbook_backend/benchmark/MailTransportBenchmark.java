@@ -0,0 +1,91 @@
+package com.hairbook.hairbook_backend.benchmark;
+
+import com.hairbook.hairbook_backend.service.mail.LocalSmtpServer;
+import com.hairbook.hairbook_backend.service.mail.PooledMailTransport;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Débit d'envoi vers un serveur SMTP local : pool de connexions réutilisées vs une connexion par message (JavaMailSenderImpl)
+// Score en messages par seconde ; lancement : exécuter main() depuis l'IDE ou via exec:java sur le classpath de test
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MailTransportBenchmark {
+
+	private static final int MESSAGES = 200;
+
+	private LocalSmtpServer server;
+	private JavaMailSenderImpl perMessageSender;
+	private PooledMailTransport pooledTransport;
+	private List<MimeMessage> messages;
+
+	@Setup
+	public void setUp() throws IOException, MessagingException {
+		server = new LocalSmtpServer();
+		perMessageSender = new JavaMailSenderImpl();
+		perMessageSender.setHost("localhost");
+		perMessageSender.setPort(server.getPort());
+		pooledTransport = new PooledMailTransport(perMessageSender, 4, 50, 500);
+
+		messages = new ArrayList<>(MESSAGES);
+		for (int i = 0; i < MESSAGES; i++) {
+			MimeMessage message = new MimeMessage(perMessageSender.getSession());
+			message.setFrom(new InternetAddress("noreply@hairbook.local"));
+			message.setRecipients(MimeMessage.RecipientType.TO, "client" + i + "@example.com");
+			message.setSubject("Rappel de rendez-vous " + i);
+			message.setText("Votre rendez-vous est confirmé.");
+			messages.add(message);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		pooledTransport.shutdown();
+		server.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(MESSAGES)
+	public void pooledTransport() {
+		pooledTransport.sendAll(messages);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(MESSAGES)
+	public void perMessageBaseline() {
+		for (MimeMessage message : messages) {
+			perMessageSender.send(message);
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(MailTransportBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
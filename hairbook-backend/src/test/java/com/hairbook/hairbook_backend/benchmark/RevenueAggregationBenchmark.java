@@ -0,0 +1,104 @@
+package com.hairbook.hairbook_backend.benchmark;
+
+import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import com.hairbook.hairbook_backend.util.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Agrégation du chiffre d'affaires par méthode de paiement sur 10 millions de paiements : BigDecimal vs unités mineures
+// Lancement : exécuter main() depuis l'IDE ou via exec:java sur le classpath de test, ajouter -prof gc pour les allocations
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RevenueAggregationBenchmark {
+
+	private static final String CURRENCY = "EUR";
+	private static final int METHODS = PaymentMethod.values().length;
+
+	@Param("10000000")
+	private int payments;
+
+	// Mêmes paiements sous les deux représentations : montant NUMERIC(19,2) tel que lu par JPA et centimes
+	private BigDecimal[] decimalAmounts;
+	private long[] minorAmounts;
+	private byte[] methods;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		decimalAmounts = new BigDecimal[payments];
+		minorAmounts = new long[payments];
+		methods = new byte[payments];
+		for (int i = 0; i < payments; i++) {
+			long cents = random.nextLong(1_000, 25_000);
+			decimalAmounts[i] = BigDecimal.valueOf(cents, 2);
+			minorAmounts[i] = Money.of(decimalAmounts[i], CURRENCY).minorUnits();
+			methods[i] = (byte) random.nextInt(METHODS);
+		}
+	}
+
+	@Benchmark
+	public BigDecimal[] bigDecimalTotals() {
+		BigDecimal[] totals = new BigDecimal[METHODS];
+		Arrays.fill(totals, BigDecimal.ZERO);
+		for (int i = 0; i < payments; i++) {
+			totals[methods[i]] = totals[methods[i]].add(decimalAmounts[i]);
+		}
+		return totals;
+	}
+
+	@Benchmark
+	public long[] minorUnitTotals() {
+		long[] totals = new long[METHODS];
+		for (int i = 0; i < payments; i++) {
+			totals[methods[i]] = Math.addExact(totals[methods[i]], minorAmounts[i]);
+		}
+		return totals;
+	}
+
+	@Benchmark
+	public Money[] moneyTotals() {
+		Money[] totals = new Money[METHODS];
+		Arrays.fill(totals, Money.zero(CURRENCY));
+		for (int i = 0; i < payments; i++) {
+			totals[methods[i]] = totals[methods[i]].plus(new Money(minorAmounts[i], CURRENCY));
+		}
+		return totals;
+	}
+
+	// Chemin complet depuis la frontière JPA : conversion exacte de chaque montant puis somme en centimes
+	@Benchmark
+	public long[] convertedFromDecimalTotals() {
+		long[] totals = new long[METHODS];
+		for (int i = 0; i < payments; i++) {
+			totals[methods[i]] = Math.addExact(totals[methods[i]], Money.of(decimalAmounts[i], CURRENCY).minorUnits());
+		}
+		return totals;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(RevenueAggregationBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
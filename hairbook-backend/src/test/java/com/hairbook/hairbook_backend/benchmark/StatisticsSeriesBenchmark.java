@@ -0,0 +1,116 @@
+package com.hairbook.hairbook_backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hairbook.hairbook_backend.dto.stats.DailyCountSeries;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository.DayCountRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Série journalière sur 5 ans (1827 points) : List<Map<String, Object>> + sérialisation réflexive vs tableaux parallèles + écriture directe
+// Heap par réponse : gc.alloc.rate.norm des benchmarks build* (tout ce qu'ils allouent reste référencé par la série)
+// Lancement : exécuter main() depuis l'IDE ou via exec:java sur le classpath de test, ajouter -prof gc pour les allocations
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatisticsSeriesBenchmark {
+
+	@Param("5")
+	private int years;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	// Lignes telles que retournées par AppointmentStatsRepository.countByPeriod
+	private List<DayCountRow> rows;
+	private List<Map<String, Object>> mapSeries;
+	private DailyCountSeries typedSeries;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		LocalDate from = LocalDate.of(2020, 1, 1);
+		rows = new ArrayList<>();
+		for (LocalDate day = from; day.isBefore(from.plusYears(years)); day = day.plusDays(1)) {
+			rows.add(new Row(day, random.nextLong(0, 60)));
+		}
+		mapSeries = buildMapSeries();
+		typedSeries = buildTypedSeries();
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> buildMapSeries() {
+		return rows.stream()
+				.map(row -> {
+					Map<String, Object> point = new LinkedHashMap<>();
+					point.put("date", row.getDay());
+					point.put("count", row.getCount());
+					return point;
+				})
+				.toList();
+	}
+
+	@Benchmark
+	public DailyCountSeries buildTypedSeries() {
+		int[] epochDays = new int[rows.size()];
+		long[] counts = new long[rows.size()];
+		for (int i = 0; i < rows.size(); i++) {
+			epochDays[i] = (int) rows.get(i).getDay().toEpochDay();
+			counts[i] = rows.get(i).getCount();
+		}
+		return new DailyCountSeries(epochDays, counts);
+	}
+
+	@Benchmark
+	public byte[] serializeMapSeries() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(mapSeries);
+	}
+
+	@Benchmark
+	public byte[] serializeTypedSeries() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(typedSeries);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(StatisticsSeriesBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+
+	record Row(LocalDate day, long count) implements DayCountRow {
+
+		@Override
+		public LocalDate getDay() {
+			return day;
+		}
+
+		@Override
+		public long getCount() {
+			return count;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.hairbook.hairbook_backend.benchmark;
+
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.entity.Service;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.service.template.NotificationTemplateEngine;
+import com.hairbook.hairbook_backend.service.template.RenderedNotification;
+import com.hairbook.hairbook_backend.service.template.TemplateContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Coût de rendu d'une notification : modèle précompilé vs String.format recalculé à chaque message
+// Lancement : exécuter main() depuis l'IDE ou via exec:java sur le classpath de test, ajouter -prof gc pour les allocations
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateRenderBenchmark {
+
+	private NotificationTemplateEngine engine;
+	private TemplateContext context;
+	private Appointment appointment;
+
+	@Setup
+	public void setUp() throws Exception {
+		engine = new NotificationTemplateEngine("fr");
+		User user = new User("john_doe", "john.doe@example.com", "secret", "John", "Doe", null);
+		Service service = new Service(1L, "Coupe et brushing", null, new BigDecimal("45.50"), 60, null, true);
+		appointment = new Appointment(42L, user, service, LocalDateTime.of(2024, 1, 15, 10, 0),
+				LocalDateTime.of(2024, 1, 15, 11, 0), AppointmentStatus.CONFIRMED, null, null, null);
+		context = TemplateContext.forAppointment(appointment, Locale.FRENCH);
+	}
+
+	@Benchmark
+	public RenderedNotification precompiledTemplate() {
+		return engine.render(NotificationTemplateEngine.APPOINTMENT_REMINDER, context);
+	}
+
+	@Benchmark
+	public String stringFormatBaseline() {
+		return String.format("Bonjour %s, nous vous rappelons votre rendez-vous « %s » le %s à %s.",
+				appointment.getUser().getFirstName(),
+				appointment.getService().getName(),
+				appointment.getStartTime().format(DateTimeFormatter.ofPattern("EEEE d MMMM yyyy", Locale.FRENCH)),
+				appointment.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm", Locale.FRENCH)));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(TemplateRenderBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,37 @@
+package com.hairbook.hairbook_backend.dto.payment;
+
+import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentRequestTests {
+
+	private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+	@Test
+	void acceptsAmountsWithinThePrecisionOfTheirCurrency() {
+		assertThat(validator.validate(request("45.50", "EUR"))).isEmpty();
+		assertThat(validator.validate(request("4550", "jpy"))).isEmpty();
+		assertThat(validator.validate(request("4550.00", "JPY"))).isEmpty();
+	}
+
+	@Test
+	void rejectsUnknownCurrenciesAndAmountsTooPreciseForTheCurrency() {
+		assertThat(validator.validate(request("45.50", "XYZ")))
+				.extracting(violation -> violation.getPropertyPath().toString())
+				.containsExactly("currencySupported");
+		assertThat(validator.validate(request("45.50", "JPY")))
+				.extracting(ConstraintViolation::getMessage)
+				.containsExactly("Le montant a plus de décimales que la devise n'en autorise");
+	}
+
+	private static PaymentRequest request(String amount, String currency) {
+		return new PaymentRequest(1L, new BigDecimal(amount), PaymentMethod.CREDIT_CARD, currency, null, null, null);
+	}
+}
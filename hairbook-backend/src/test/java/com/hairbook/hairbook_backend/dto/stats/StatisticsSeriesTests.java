@@ -0,0 +1,58 @@
+package com.hairbook.hairbook_backend.dto.stats;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatisticsSeriesTests {
+
+	// Même configuration que le ObjectMapper de Spring Boot pour les dates
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	@Test
+	void writesTheSameJsonAsTheFormerMapPoints() throws Exception {
+		LocalDate first = LocalDate.of(2024, 1, 5);
+		LocalDate second = LocalDate.of(2031, 12, 31);
+		DailyCountSeries byDay = new DailyCountSeries(new int[] {(int) first.toEpochDay(), (int) second.toEpochDay()}, new long[] {3, 12});
+
+		assertThat(objectMapper.writeValueAsString(byDay)).isEqualTo(objectMapper.writeValueAsString(List.of(
+				point("date", first, 3), point("date", second, 12))));
+	}
+
+	@Test
+	void writesServicesAndTimeSlotsInTheFormerKeyOrder() throws Exception {
+		ServiceCountSeries byService = new ServiceCountSeries(new long[] {3, 7}, new String[] {"Coupe \"homme\"", "Couleur"}, new long[] {42, 5});
+		TimeSlotCountSeries byTimeSlot = new TimeSlotCountSeries(new byte[] {9, 17}, new long[] {18, 4});
+
+		Map<String, Object> cut = point("serviceName", "Coupe \"homme\"", 42);
+		cut.put("serviceId", 3L);
+		Map<String, Object> colour = point("serviceName", "Couleur", 5);
+		colour.put("serviceId", 7L);
+		assertThat(objectMapper.writeValueAsString(byService)).isEqualTo(objectMapper.writeValueAsString(List.of(cut, colour)));
+		assertThat(objectMapper.writeValueAsString(byTimeSlot))
+				.isEqualTo("[{\"timeSlot\":\"09:00\",\"count\":18},{\"timeSlot\":\"17:00\",\"count\":4}]");
+		assertThat(objectMapper.writeValueAsString(DailyCountSeries.EMPTY)).isEqualTo("[]");
+	}
+
+	@Test
+	void rejectsArraysOfDifferentLengths() {
+		assertThatThrownBy(() -> new DailyCountSeries(new int[2], new long[1])).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new ServiceCountSeries(new long[1], new String[2], new long[1])).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Map<String, Object> point(String labelKey, Object label, long count) {
+		Map<String, Object> point = new LinkedHashMap<>();
+		point.put(labelKey, label);
+		point.put("count", count);
+		return point;
+	}
+}
@@ -0,0 +1,35 @@
+package com.hairbook.hairbook_backend.security;
+
+import com.hairbook.hairbook_backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthRateLimiterTests {
+
+	@Test
+	void rejectsPerUsernameOnceTheBucketIsEmpty() {
+		AuthRateLimiter limiter = new AuthRateLimiter(new SimpleMeterRegistry(), 100, 100, 2, 1);
+
+		limiter.acquire("login", "10.0.0.1", "john_doe");
+		limiter.acquire("login", "10.0.0.2", "John_Doe");
+
+		assertThatThrownBy(() -> limiter.acquire("login", "10.0.0.3", "john_doe"))
+				.isInstanceOfSatisfying(TooManyRequestsException.class,
+						ex -> assertThat(ex.getRetryAfterSeconds()).isBetween(1L, 60L));
+		limiter.acquire("login", "10.0.0.3", "jane_doe");
+	}
+
+	@Test
+	void rejectsPerIpAcrossUsernames() {
+		AuthRateLimiter limiter = new AuthRateLimiter(new SimpleMeterRegistry(), 2, 1, 100, 100);
+
+		limiter.acquire("login", "10.0.0.1", "a");
+		limiter.acquire("login", "10.0.0.1", "b");
+
+		assertThatThrownBy(() -> limiter.acquire("login", "10.0.0.1", "c"))
+				.isInstanceOf(TooManyRequestsException.class);
+	}
+}
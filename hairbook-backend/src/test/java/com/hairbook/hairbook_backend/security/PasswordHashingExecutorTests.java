@@ -0,0 +1,47 @@
+package com.hairbook.hairbook_backend.security;
+
+import com.hairbook.hairbook_backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void rejectsImmediatelyWhenThePoolAndQueueAreFull() throws Exception {
+		PasswordHashingExecutor executor = new PasswordHashingExecutor(meterRegistry, 1, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch running = new CountDownLatch(1);
+		try {
+			CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> executor.execute("matches", () -> {
+				running.countDown();
+				return release.await(5, TimeUnit.SECONDS);
+			}));
+			running.await(5, TimeUnit.SECONDS);
+			CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute("matches", () -> true));
+			while (meterRegistry.get("hairbook.auth.hashing.queue_size").gauge().value() < 1) {
+				Thread.onSpinWait();
+			}
+
+			assertThatThrownBy(() -> executor.execute("matches", () -> true))
+					.isInstanceOf(TooManyRequestsException.class);
+			assertThat(meterRegistry.get("hairbook.auth.hashing.rejected").counter().count()).isEqualTo(1);
+
+			release.countDown();
+			assertThat(busy.get(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(executor.stageTimer("hash", "matches").count()).isEqualTo(2);
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+}
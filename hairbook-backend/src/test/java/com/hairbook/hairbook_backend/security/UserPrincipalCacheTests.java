@@ -0,0 +1,56 @@
+package com.hairbook.hairbook_backend.security;
+
+import com.hairbook.hairbook_backend.entity.ERole;
+import com.hairbook.hairbook_backend.entity.Role;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.repository.UserRepository;
+import com.hairbook.hairbook_backend.security.invalidation.AuthInvalidationEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserPrincipalCacheTests {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final UserPrincipalCache cache = new UserPrincipalCache(userRepository, 100, 900);
+
+	@Test
+	void servesUsernameEmailAndIdLookupsFromOneFetchJoinQuery() {
+		when(userRepository.findWithRolesByLogin("john_doe")).thenReturn(Optional.of(user()));
+
+		assertThat(cache.findByLogin("john_doe")).get().extracting(UserPrincipal::getRoleNames)
+				.isEqualTo(List.of("ROLE_MEMBER"));
+		assertThat(cache.findByLogin("john_doe")).isPresent();
+		assertThat(cache.findByLogin("john.doe@example.com")).isPresent();
+		assertThat(cache.findById(42L)).get().extracting(UserPrincipal::getFirstName).isEqualTo("John");
+
+		verify(userRepository, times(1)).findWithRolesByLogin("john_doe");
+	}
+
+	@Test
+	void reloadsAfterAUserChangedInvalidation() {
+		when(userRepository.findWithRolesByLogin("john_doe")).thenReturn(Optional.of(user()));
+		cache.findByLogin("john_doe");
+
+		cache.onInvalidation(new AuthInvalidationEvent(AuthInvalidationEvent.Type.USER_CHANGED, 42L, Instant.now()));
+		cache.findByLogin("john_doe");
+
+		verify(userRepository, times(2)).findWithRolesByLogin("john_doe");
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	private static User user() {
+		User user = new User("john_doe", "john.doe@example.com", "$2a$10$hash", "John", "Doe", null);
+		user.setId(42L);
+		user.getRoles().add(new Role(1, ERole.ROLE_MEMBER));
+		return user;
+	}
+}
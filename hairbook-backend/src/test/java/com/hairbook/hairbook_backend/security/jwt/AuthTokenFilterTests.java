@@ -0,0 +1,129 @@
+package com.hairbook.hairbook_backend.security.jwt;
+
+import com.hairbook.hairbook_backend.repository.UserSessionInvalidationRepository;
+import com.hairbook.hairbook_backend.security.UserPrincipal;
+import com.hairbook.hairbook_backend.security.invalidation.AuthInvalidationEvent;
+import com.hairbook.hairbook_backend.security.invalidation.SessionInvalidationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AuthTokenFilterTests {
+
+	private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+	private final JwtAuthenticationCache cache = new JwtAuthenticationCache(100);
+
+	private final SessionInvalidationRegistry invalidations =
+			new SessionInvalidationRegistry(mock(UserSessionInvalidationRepository.class), cache, 60_000);
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void authenticatesFromClaimsAndCachesTheResult() throws Exception {
+		JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000);
+		AuthTokenFilter filter = new AuthTokenFilter(jwtUtils, cache, invalidations);
+		String token = jwtUtils.generateToken(principal());
+
+		filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		assertThat(authentication).isNotNull();
+		UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+		assertThat(principal.getId()).isEqualTo(42L);
+		assertThat(principal.getUsername()).isEqualTo("john_doe");
+		assertThat(principal.getRoleNames()).containsExactly("ROLE_MEMBER");
+		assertThat(cache.get(token)).isSameAs(authentication);
+
+		SecurityContextHolder.clearContext();
+		filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(authentication);
+	}
+
+	@Test
+	void rejectsExpiredAndTamperedTokens() throws Exception {
+		JwtUtils expiredUtils = new JwtUtils(SECRET, -1_000);
+		JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000);
+		AuthTokenFilter filter = new AuthTokenFilter(jwtUtils, cache, invalidations);
+
+		filter.doFilter(request(expiredUtils.generateToken(principal())), new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+
+		String tampered = jwtUtils.generateToken(principal()) + "x";
+		filter.doFilter(request(tampered), new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void rejectsTokensIssuedBeforeASessionInvalidation() throws Exception {
+		JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000);
+		AuthTokenFilter filter = new AuthTokenFilter(jwtUtils, cache, invalidations);
+		String token = jwtUtils.generateToken(principal());
+		filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(cache.get(token)).isNotNull();
+		SecurityContextHolder.clearContext();
+
+		invalidations.onInvalidation(new AuthInvalidationEvent(
+				AuthInvalidationEvent.Type.TOKENS_REVOKED, 42L, Instant.now().plusSeconds(1)));
+
+		assertThat(cache.get(token)).isNull();
+		filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+	}
+
+	@Test
+	void comparesTheIssueInstantToInvalidationsAtMillisecondPrecision() throws Exception {
+		JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000);
+		AuthTokenFilter filter = new AuthTokenFilter(jwtUtils, cache, invalidations);
+		String token = jwtUtils.generateToken(principal());
+		long issuedAt = jwtUtils.getIssuedAtMillis(jwtUtils.parseClaims(token));
+
+		invalidations.onInvalidation(new AuthInvalidationEvent(
+				AuthInvalidationEvent.Type.USER_CHANGED, 42L, Instant.ofEpochMilli(issuedAt - 1)));
+		filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+		SecurityContextHolder.clearContext();
+
+		// Invalidation postérieure d'une milliseconde, donc dans la même seconde "iat" dans la plupart des cas
+		invalidations.onInvalidation(new AuthInvalidationEvent(
+				AuthInvalidationEvent.Type.USER_CHANGED, 42L, Instant.ofEpochMilli(issuedAt + 1)));
+		filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+	}
+
+	@Test
+	void cacheDropsEntriesOnceTheTokenExpires() {
+		Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(principal(), null, List.of());
+		cache.put("expired", authentication, System.currentTimeMillis() - 1);
+		cache.put("valid", authentication, System.currentTimeMillis() + 60_000);
+
+		assertThat(cache.get("expired")).isNull();
+		assertThat(cache.get("valid")).isSameAs(authentication);
+	}
+
+	private static UserPrincipal principal() {
+		return UserPrincipal.fromClaims(42L, "john_doe", "john.doe@example.com", List.of("ROLE_MEMBER"));
+	}
+
+	private static MockHttpServletRequest request(String token) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notifications/unread-count");
+		request.addHeader("Authorization", "Bearer " + token);
+		return request;
+	}
+}
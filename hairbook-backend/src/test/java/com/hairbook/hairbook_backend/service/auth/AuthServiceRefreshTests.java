@@ -0,0 +1,153 @@
+package com.hairbook.hairbook_backend.service.auth;
+
+import com.hairbook.hairbook_backend.entity.RefreshToken;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.exception.TokenRefreshException;
+import com.hairbook.hairbook_backend.repository.RefreshTokenRepository;
+import com.hairbook.hairbook_backend.repository.RoleRepository;
+import com.hairbook.hairbook_backend.repository.UserRepository;
+import com.hairbook.hairbook_backend.security.AuthRateLimiter;
+import com.hairbook.hairbook_backend.security.PasswordHashingExecutor;
+import com.hairbook.hairbook_backend.security.UserPrincipalCache;
+import com.hairbook.hairbook_backend.security.invalidation.AuthInvalidationPublisher;
+import com.hairbook.hairbook_backend.security.jwt.JwtUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Passe par les proxys transactionnels : verify participe à la transaction de AuthService.refresh
+class AuthServiceRefreshTests {
+
+	private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Config.class);
+	private final AuthService authService = context.getBean(AuthService.class);
+	private final RefreshTokenRepository repository = context.getBean(RefreshTokenRepository.class);
+	private final RevokedRefreshTokenFilter revokedTokens = context.getBean(RevokedRefreshTokenFilter.class);
+	private final RecordingTransactionManager transactionManager = context.getBean(RecordingTransactionManager.class);
+
+	@AfterEach
+	void tearDown() {
+		context.close();
+	}
+
+	@Test
+	void keepsTheDeletionOfAnExpiredTokenAndFeedsTheRevocationFilter() {
+		RefreshToken expired = token("expired", Instant.now().minusSeconds(60), false);
+		when(repository.findByTokenHash(expired.getTokenHash())).thenReturn(Optional.of(expired));
+
+		assertThatThrownBy(() -> authService.refresh("expired", "agent", "127.0.0.1"))
+				.isInstanceOf(TokenRefreshException.class);
+
+		verify(repository).delete(expired);
+		assertThat(transactionManager.outcomes).containsExactly("commit");
+		assertThat(revokedTokens.mightBeRevoked(expired.getTokenHash())).isTrue();
+	}
+
+	@Test
+	void rejectsARevokedTokenWithoutSqlOnceItIsInTheFilter() {
+		RefreshToken revoked = token("revoked", Instant.now().plusSeconds(3600), true);
+		when(repository.findByTokenHash(revoked.getTokenHash())).thenReturn(Optional.of(revoked));
+
+		assertThatThrownBy(() -> authService.refresh("revoked", "agent", "127.0.0.1"))
+				.isInstanceOf(TokenRefreshException.class);
+		assertThatThrownBy(() -> authService.refresh("revoked", "agent", "127.0.0.1"))
+				.isInstanceOf(TokenRefreshException.class);
+
+		verify(repository).findByTokenHash(revoked.getTokenHash());
+		assertThat(transactionManager.outcomes).containsExactly("commit", "commit");
+	}
+
+	private static RefreshToken token(String rawToken, Instant expiryDate, boolean revoked) {
+		User user = new User("john_doe", "john.doe@example.com", "secret", "John", "Doe", null);
+		user.setId(42L);
+		RefreshToken token = new RefreshToken();
+		token.setId(1L);
+		token.setTokenHash(RefreshTokenHasher.hash(rawToken));
+		token.setUser(user);
+		token.setExpiryDate(expiryDate);
+		token.setRevoked(revoked);
+		return token;
+	}
+
+	@Configuration
+	@EnableTransactionManagement
+	static class Config {
+
+		@Bean
+		RecordingTransactionManager transactionManager() {
+			return new RecordingTransactionManager();
+		}
+
+		@Bean
+		RefreshTokenRepository refreshTokenRepository() {
+			return mock(RefreshTokenRepository.class);
+		}
+
+		@Bean
+		RevokedRefreshTokenFilter revokedRefreshTokenFilter(RefreshTokenRepository repository, PlatformTransactionManager transactionManager) {
+			return new RevokedRefreshTokenFilter(repository, transactionManager, 1000, 0.000001);
+		}
+
+		@Bean
+		RefreshTokenService refreshTokenService(RefreshTokenRepository repository, RevokedRefreshTokenFilter revokedTokens) {
+			return new RefreshTokenService(repository, revokedTokens, mock(AuthInvalidationPublisher.class), 3_600_000, 5);
+		}
+
+		@Bean
+		AuthService authService(RefreshTokenService refreshTokenService, PlatformTransactionManager transactionManager) {
+			return new AuthService(mock(AuthenticationManager.class), mock(UserRepository.class), mock(RoleRepository.class),
+					mock(PasswordEncoder.class), mock(JwtUtils.class), refreshTokenService, mock(UserPrincipalCache.class),
+					mock(AuthRateLimiter.class), mock(PasswordHashingExecutor.class), transactionManager);
+		}
+	}
+
+	// Gestionnaire sans ressource : les appels imbriqués participent à la transaction en cours, dont l'issue est enregistrée
+	static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+		private final List<String> outcomes = new ArrayList<>();
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object();
+		}
+
+		@Override
+		protected boolean isExistingTransaction(Object transaction) {
+			return TransactionSynchronizationManager.isActualTransactionActive();
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+			outcomes.add("commit");
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+			outcomes.add("rollback");
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.hairbook.hairbook_backend.service.auth;
+
+import com.hairbook.hairbook_backend.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenPurgeJobTests {
+
+	private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void deletesInPrimaryKeyRangesAndRecordsMetrics() {
+		RefreshTokenRepository.IdRange range = mock(RefreshTokenRepository.IdRange.class);
+		when(range.getMinId()).thenReturn(1L);
+		when(range.getMaxId()).thenReturn(25L);
+		when(repository.findIdRange()).thenReturn(range);
+		when(repository.purgeRange(anyLong(), anyLong(), any(), any())).thenReturn(List.of("a", "b"));
+
+		RefreshTokenPurgeJob job = new RefreshTokenPurgeJob(repository, mock(RevokedRefreshTokenFilter.class),
+				mock(JdbcTemplate.class), mock(PlatformTransactionManager.class), meterRegistry, 10, 0, 24);
+
+		assertThat(job.purge()).isEqualTo(6);
+		verify(repository).purgeRange(eq(0L), eq(10L), any(), any());
+		verify(repository).purgeRange(eq(10L), eq(20L), any(), any());
+		verify(repository).purgeRange(eq(20L), eq(25L), any(), any());
+		assertThat(meterRegistry.get("hairbook.refresh_tokens.purged").counter().count()).isEqualTo(6);
+		assertThat(meterRegistry.get("hairbook.refresh_tokens.purge.duration").timer().count()).isEqualTo(1);
+	}
+}
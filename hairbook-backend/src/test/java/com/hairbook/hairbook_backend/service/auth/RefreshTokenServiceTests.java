@@ -0,0 +1,132 @@
+package com.hairbook.hairbook_backend.service.auth;
+
+import com.hairbook.hairbook_backend.entity.RefreshToken;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.repository.RefreshTokenRepository;
+import com.hairbook.hairbook_backend.repository.RefreshTokenRepository.DeviceRotation;
+import com.hairbook.hairbook_backend.security.invalidation.AuthInvalidationPublisher;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTests {
+
+	private static final String PREVIOUS = RefreshTokenHasher.hash("previous");
+	private static final String EVICTED_1 = RefreshTokenHasher.hash("evicted-1");
+	private static final String EVICTED_2 = RefreshTokenHasher.hash("evicted-2");
+
+	private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+	private final RevokedRefreshTokenFilter revokedTokens = new RevokedRefreshTokenFilter(repository,
+			mock(PlatformTransactionManager.class), 1000, 0.000001);
+	private final RefreshTokenService service = new RefreshTokenService(repository, revokedTokens,
+			mock(AuthInvalidationPublisher.class), 3_600_000, 2);
+
+	@Test
+	void issuesAFirstTokenWithoutInvalidatingAnything() {
+		rotation(1L, null, null);
+
+		IssuedRefreshToken issued = service.issue(42L, "agent", "127.0.0.1");
+
+		ArgumentCaptor<String> storedHash = ArgumentCaptor.forClass(String.class);
+		verify(repository).rotateDeviceToken(eq(42L), eq("agent"), eq("127.0.0.1"), storedHash.capture(), any(), eq(2));
+		assertThat(issued.id()).isEqualTo(1L);
+		assertThat(storedHash.getValue()).isEqualTo(RefreshTokenHasher.hash(issued.token()));
+		assertThat(revokedTokens.mightBeRevoked(storedHash.getValue())).isFalse();
+	}
+
+	@Test
+	void invalidatesThePreviousTokenOfTheDevice() {
+		rotation(1L, PREVIOUS, null);
+
+		service.issue(42L, "agent", "127.0.0.1");
+
+		assertThat(revokedTokens.mightBeRevoked(PREVIOUS)).isTrue();
+	}
+
+	@Test
+	void invalidatesEveryEvictedDeviceFromTheCommaJoinedHashes() {
+		rotation(1L, null, EVICTED_1 + "," + EVICTED_2);
+
+		service.issue(42L, "agent", "127.0.0.1");
+
+		assertThat(revokedTokens.mightBeRevoked(EVICTED_1)).isTrue();
+		assertThat(revokedTokens.mightBeRevoked(EVICTED_2)).isTrue();
+	}
+
+	@Test
+	void invalidatesAPreviousTokenAndASingleEvictedDeviceTogether() {
+		rotation(1L, PREVIOUS, EVICTED_1);
+
+		service.issue(42L, "agent", "127.0.0.1");
+
+		assertThat(revokedTokens.mightBeRevoked(PREVIOUS)).isTrue();
+		assertThat(revokedTokens.mightBeRevoked(EVICTED_1)).isTrue();
+		assertThat(revokedTokens.mightBeRevoked(EVICTED_2)).isFalse();
+	}
+
+	@Test
+	void rotatingOnTheSameDeviceKeepsTheRowAndOnlyInvalidatesItsPreviousHash() {
+		RefreshToken current = token(1L, "current");
+		rotation(1L, current.getTokenHash(), null);
+
+		IssuedRefreshToken issued = service.rotate(current, "agent", "127.0.0.1");
+
+		assertThat(issued.id()).isEqualTo(1L);
+		assertThat(current.isRevoked()).isFalse();
+		assertThat(revokedTokens.mightBeRevoked(current.getTokenHash())).isTrue();
+	}
+
+	@Test
+	void rotatingFromAnotherDeviceRevokesTheCurrentToken() {
+		RefreshToken current = token(1L, "current");
+		rotation(2L, null, null);
+
+		IssuedRefreshToken issued = service.rotate(current, "other-agent", "10.0.0.2");
+
+		assertThat(issued.id()).isEqualTo(2L);
+		assertThat(current.isRevoked()).isTrue();
+		assertThat(revokedTokens.mightBeRevoked(current.getTokenHash())).isTrue();
+	}
+
+	private void rotation(Long id, String previousTokenHash, String evictedTokenHashes) {
+		when(repository.rotateDeviceToken(any(), anyString(), anyString(), anyString(), any(Instant.class), anyInt()))
+				.thenReturn(new DeviceRotation() {
+					@Override
+					public Long getId() {
+						return id;
+					}
+
+					@Override
+					public String getPreviousTokenHash() {
+						return previousTokenHash;
+					}
+
+					@Override
+					public String getEvictedTokenHashes() {
+						return evictedTokenHashes;
+					}
+				});
+	}
+
+	private static RefreshToken token(Long id, String rawToken) {
+		User user = new User("john_doe", "john.doe@example.com", "secret", "John", "Doe", null);
+		user.setId(42L);
+		RefreshToken token = new RefreshToken();
+		token.setId(id);
+		token.setTokenHash(RefreshTokenHasher.hash(rawToken));
+		token.setUser(user);
+		token.setExpiryDate(Instant.now().plusSeconds(3600));
+		return token;
+	}
+}
@@ -0,0 +1,141 @@
+package com.hairbook.hairbook_backend.service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hairbook.hairbook_backend.exception.IdempotencyException;
+import com.hairbook.hairbook_backend.repository.IdempotencyKeyRepository;
+import com.hairbook.hairbook_backend.service.idempotency.IdempotencyService.IdempotentResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTests {
+
+	private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+
+	private final IdempotencyService service = new IdempotencyService(repository, new ObjectMapper(),
+			mock(PlatformTransactionManager.class), 24, 60, 2_000, 100);
+
+	@Test
+	void replaysTheFirstResponseWithoutRunningTheActionAgain() {
+		when(repository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any())).thenReturn(1);
+		AtomicInteger calls = new AtomicInteger();
+
+		IdempotentResult<Receipt> first = service.execute("payment.create", 1L, "key-1", Map.of("amount", 45),
+				Receipt.class, attempt -> new Receipt(calls.incrementAndGet()));
+		IdempotentResult<Receipt> retry = service.execute("payment.create", 1L, "key-1", Map.of("amount", 45),
+				Receipt.class, attempt -> new Receipt(calls.incrementAndGet()));
+
+		assertThat(first.replayed()).isFalse();
+		assertThat(retry.replayed()).isTrue();
+		assertThat(retry.body()).isEqualTo(first.body());
+		assertThat(calls).hasValue(1);
+		verify(repository, times(1)).claim(anyString(), anyLong(), anyString(), anyString(), any(), any());
+		verify(repository).complete(eq("payment.create"), eq(1L), eq("key-1"), anyString(), eq("{\"id\":1}"));
+	}
+
+	@Test
+	void rejectsAKeyReusedForADifferentRequest() {
+		when(repository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any())).thenReturn(1);
+		service.execute("payment.create", 1L, "key-1", Map.of("amount", 45), Receipt.class, attempt -> new Receipt(1));
+
+		assertThatThrownBy(() -> service.execute("payment.create", 1L, "key-1", Map.of("amount", 50),
+				Receipt.class, attempt -> new Receipt(2)))
+				.isInstanceOfSatisfying(IdempotencyException.class,
+						ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+	}
+
+	@Test
+	void releasesTheKeyWhenTheActionFails() {
+		when(repository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any())).thenReturn(1);
+
+		assertThatThrownBy(() -> service.execute("payment.create", 1L, "key-1", Map.of("amount", 45),
+				Receipt.class, attempt -> { throw new IllegalStateException("passerelle"); }))
+				.isInstanceOf(IllegalStateException.class);
+		verify(repository).release("payment.create", 1L, "key-1");
+		verify(repository, never()).complete(anyString(), anyLong(), anyString(), anyString(), anyString());
+
+		IdempotentResult<Receipt> retry = service.execute("payment.create", 1L, "key-1", Map.of("amount", 45),
+				Receipt.class, attempt -> new Receipt(2));
+		assertThat(retry.replayed()).isFalse();
+		assertThat(retry.body().id()).isEqualTo(2);
+	}
+
+	@Test
+	void keepsTheKeyReservedWhenTheActionFailsAfterAnExternalEffect() {
+		when(repository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any())).thenReturn(1);
+		AtomicReference<String> externalKey = new AtomicReference<>();
+
+		assertThatThrownBy(() -> service.execute("payment.create", 1L, "key-1", Map.of("amount", 45),
+				Receipt.class, attempt -> {
+					externalKey.set(attempt.key());
+					attempt.markExternalEffect();
+					throw new IllegalStateException("base indisponible");
+				}))
+				.isInstanceOf(IllegalStateException.class);
+
+		assertThat(externalKey).hasValue("payment.create:1:key-1");
+		verify(repository, never()).release(anyString(), anyLong(), anyString());
+		verify(repository, never()).complete(anyString(), anyLong(), anyString(), anyString(), anyString());
+	}
+
+	@Test
+	void concurrentDuplicatesWaitForTheFirstRequest() throws Exception {
+		when(repository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any())).thenReturn(1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<IdempotentResult<Receipt>> first = executor.submit(() -> service.execute("payment.create", 1L, "key-1",
+					Map.of("amount", 45), Receipt.class, attempt -> {
+						started.countDown();
+						await(release);
+						return new Receipt(calls.incrementAndGet());
+					}));
+			assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+			Future<IdempotentResult<Receipt>> duplicate = executor.submit(() -> service.execute("payment.create", 1L, "key-1",
+					Map.of("amount", 45), Receipt.class, attempt -> new Receipt(calls.incrementAndGet())));
+
+			release.countDown();
+			assertThat(first.get(1, TimeUnit.SECONDS).replayed()).isFalse();
+			IdempotentResult<Receipt> replayed = duplicate.get(1, TimeUnit.SECONDS);
+			assertThat(replayed.replayed()).isTrue();
+			assertThat(replayed.body().id()).isEqualTo(1);
+			assertThat(calls).hasValue(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(1, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	record Receipt(int id) {}
+}
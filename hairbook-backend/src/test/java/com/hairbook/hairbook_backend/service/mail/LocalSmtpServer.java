@@ -0,0 +1,93 @@
+package com.hairbook.hairbook_backend.service.mail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Serveur SMTP minimal utilisé comme doublure locale dans les tests et les benchmarks : accepte tout et compte les connexions et les messages reçus
+public class LocalSmtpServer implements AutoCloseable {
+
+	private final ServerSocket serverSocket;
+	private final ExecutorService workers = Executors.newCachedThreadPool();
+	private final AtomicInteger connections = new AtomicInteger();
+	private final AtomicInteger messages = new AtomicInteger();
+
+	public LocalSmtpServer() throws IOException {
+		this.serverSocket = new ServerSocket(0, 100, InetAddress.getLoopbackAddress());
+		workers.submit(this::acceptLoop);
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	public int getConnections() {
+		return connections.get();
+	}
+
+	public int getMessages() {
+		return messages.get();
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				connections.incrementAndGet();
+				workers.submit(() -> handle(socket));
+			} catch (IOException ex) {
+				return;
+			}
+		}
+	}
+
+	private void handle(Socket socket) {
+		try (socket;
+			 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			 OutputStream out = socket.getOutputStream()) {
+			reply(out, "220 localhost ESMTP");
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+				switch (command) {
+					case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+					case "HELO", "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+					case "DATA" -> {
+						reply(out, "354 End data with <CR><LF>.<CR><LF>");
+						while ((line = in.readLine()) != null && !line.equals(".")) {
+							// Contenu du message ignoré
+						}
+						messages.incrementAndGet();
+						reply(out, "250 OK");
+					}
+					case "QUIT" -> {
+						reply(out, "221 Bye");
+						return;
+					}
+					default -> reply(out, "502 Command not implemented");
+				}
+			}
+		} catch (IOException ignored) {
+			// Connexion fermée par le client
+		}
+	}
+
+	private static void reply(OutputStream out, String response) throws IOException {
+		out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		workers.shutdownNow();
+	}
+}
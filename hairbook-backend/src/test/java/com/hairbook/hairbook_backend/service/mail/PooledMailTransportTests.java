@@ -0,0 +1,95 @@
+package com.hairbook.hairbook_backend.service.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledMailTransportTests {
+
+	private static final int MESSAGES = 500;
+
+	@Test
+	void sendsAllMessagesOverFewConnections() throws Exception {
+		try (LocalSmtpServer server = new LocalSmtpServer()) {
+			PooledMailTransport transport = newTransport(server, 4, 50, 1000);
+			try {
+				transport.sendAll(messages(Session.getInstance(new Properties()), MESSAGES));
+			} finally {
+				transport.shutdown();
+			}
+
+			assertThat(transport.getSentMessages()).isEqualTo(MESSAGES);
+			assertThat(server.getMessages()).isEqualTo(MESSAGES);
+			assertThat(server.getConnections()).isLessThanOrEqualTo(4);
+		}
+	}
+
+	@Test
+	void recyclesConnectionAfterMaxMessageCount() throws Exception {
+		try (LocalSmtpServer server = new LocalSmtpServer()) {
+			PooledMailTransport transport = newTransport(server, 1, 100, 10);
+			try {
+				transport.sendAll(messages(Session.getInstance(new Properties()), 100));
+			} finally {
+				transport.shutdown();
+			}
+
+			assertThat(server.getMessages()).isEqualTo(100);
+			assertThat(transport.getOpenedConnections()).isEqualTo(10);
+			assertThat(transport.getRecycledConnections()).isEqualTo(10);
+		}
+	}
+
+	@Test
+	void opensFarFewerConnectionsThanPerMessageSending() throws Exception {
+		try (LocalSmtpServer server = new LocalSmtpServer()) {
+			JavaMailSenderImpl perMessageSender = new JavaMailSenderImpl();
+			perMessageSender.setHost("localhost");
+			perMessageSender.setPort(server.getPort());
+			for (MimeMessage message : messages(perMessageSender.getSession(), MESSAGES)) {
+				perMessageSender.send(message);
+			}
+			int perMessageConnections = server.getConnections();
+
+			PooledMailTransport transport = newTransport(server, 4, 50, 1000);
+			try {
+				transport.sendAll(messages(Session.getInstance(new Properties()), MESSAGES));
+			} finally {
+				transport.shutdown();
+			}
+
+			assertThat(perMessageConnections).isEqualTo(MESSAGES);
+			assertThat(server.getConnections() - perMessageConnections).isLessThanOrEqualTo(4);
+			assertThat(server.getMessages()).isEqualTo(2 * MESSAGES);
+		}
+	}
+
+	private static PooledMailTransport newTransport(LocalSmtpServer server, int poolSize, int batchSize, int maxMessages) {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(server.getPort());
+		return new PooledMailTransport(mailSender, poolSize, batchSize, maxMessages);
+	}
+
+	private static List<MimeMessage> messages(Session session, int count) throws MessagingException {
+		List<MimeMessage> messages = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			MimeMessage message = new MimeMessage(session);
+			message.setFrom(new InternetAddress("noreply@hairbook.local"));
+			message.setRecipients(MimeMessage.RecipientType.TO, "client" + i + "@example.com");
+			message.setSubject("Rappel de rendez-vous " + i);
+			message.setText("Votre rendez-vous est confirmé.");
+			messages.add(message);
+		}
+		return messages;
+	}
+}
@@ -0,0 +1,65 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import com.hairbook.hairbook_backend.entity.ERole;
+import com.hairbook.hairbook_backend.repository.NotificationRepository;
+import com.hairbook.hairbook_backend.repository.UserRepository;
+import com.hairbook.hairbook_backend.repository.UserStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BroadcastNotificationServiceTests {
+
+	private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final UserStatsRepository userStatsRepository = mock(UserStatsRepository.class);
+	private final UnreadNotificationCounter unreadCounter = mock(UnreadNotificationCounter.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final BroadcastNotificationService service = new BroadcastNotificationService(notificationRepository,
+			userRepository, userStatsRepository, unreadCounter, transactionManager, 2);
+
+	@Test
+	void writesEachIdChunkInItsOwnTransaction() {
+		// Membres 3, 5 | 8, 9 | 12 : tranches ]0, 5], ]5, 9], ]9, 12]
+		when(userRepository.findRoleMemberIdChunkEnd("ROLE_MEMBER", 0L, 2)).thenReturn(5L);
+		when(userRepository.findRoleMemberIdChunkEnd("ROLE_MEMBER", 5L, 2)).thenReturn(9L);
+		when(userRepository.findRoleMemberIdChunkEnd("ROLE_MEMBER", 9L, 2)).thenReturn(12L);
+		when(userRepository.findRoleMemberIdChunkEnd("ROLE_MEMBER", 12L, 2)).thenReturn(null);
+		when(notificationRepository.insertForRoleMembers(eq("ROLE_MEMBER"), anyLong(), anyLong(), any(), any(), any(), any()))
+				.thenReturn(2, 2, 1);
+
+		long created = service.broadcast(ERole.ROLE_MEMBER, "Promotion", "-20 %", "PROMOTION", null);
+
+		assertThat(created).isEqualTo(5);
+		InOrder order = inOrder(notificationRepository, userStatsRepository, unreadCounter, transactionManager);
+		for (long[] chunk : new long[][] {{0, 5}, {5, 9}, {9, 12}}) {
+			order.verify(transactionManager).getTransaction(any());
+			order.verify(notificationRepository).insertForRoleMembers("ROLE_MEMBER", chunk[0], chunk[1], "Promotion", "-20 %", "PROMOTION", null);
+			order.verify(userStatsRepository).incrementUnreadForRoleMembers("ROLE_MEMBER", chunk[0], chunk[1]);
+			order.verify(unreadCounter).invalidateAll();
+			order.verify(transactionManager).commit(any());
+		}
+		verify(userRepository, times(4)).findRoleMemberIdChunkEnd(eq("ROLE_MEMBER"), anyLong(), eq(2));
+	}
+
+	@Test
+	void writesNothingWhenTheRoleHasNoMembers() {
+		when(userRepository.findRoleMemberIdChunkEnd("ROLE_ADMIN", 0L, 2)).thenReturn(null);
+
+		assertThat(service.broadcast(ERole.ROLE_ADMIN, "Maintenance", "Ce soir", "INFO", null)).isZero();
+
+		verify(transactionManager, never()).getTransaction(any());
+		verify(unreadCounter, never()).invalidateAll();
+	}
+}
@@ -0,0 +1,98 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import com.hairbook.hairbook_backend.repository.NotificationRepository;
+import com.hairbook.hairbook_backend.repository.NotificationRepository.DeletedNotificationCounts;
+import com.hairbook.hairbook_backend.repository.UserRepository;
+import com.hairbook.hairbook_backend.repository.UserStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTests {
+
+	private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+	private final UserStatsRepository userStatsRepository = mock(UserStatsRepository.class);
+	private final UnreadCountPublisher unreadCountPublisher = mock(UnreadCountPublisher.class);
+	private final NotificationService service = new NotificationService(notificationRepository, mock(UserRepository.class),
+			new UnreadNotificationCounter(userStatsRepository, unreadCountPublisher), mock(ApplicationEventPublisher.class));
+
+	@Test
+	void markAllAsReadDecrementsTheCounterByTheUpdatedRows() {
+		when(notificationRepository.markAllAsRead(7L)).thenReturn(3);
+
+		assertThat(service.markAllAsRead(7L)).isEqualTo(3);
+
+		verify(userStatsRepository).addUnreadNotifications(7L, -3);
+		verify(unreadCountPublisher).unreadCountChanged(7L);
+	}
+
+	@Test
+	void markAllAsReadLeavesTheCounterAloneWhenNothingWasUnread() {
+		when(notificationRepository.markAllAsRead(7L)).thenReturn(0);
+
+		assertThat(service.markAllAsRead(7L)).isZero();
+
+		verifyNoInteractions(userStatsRepository, unreadCountPublisher);
+	}
+
+	@Test
+	void markAsReadUpToDecrementsTheCounterByTheUpdatedRows() {
+		when(notificationRepository.markAsReadUpTo(7L, 42L)).thenReturn(2);
+
+		assertThat(service.markAsReadUpTo(7L, 42L)).isEqualTo(2);
+
+		verify(userStatsRepository).addUnreadNotifications(7L, -2);
+	}
+
+	@Test
+	void deleteDecrementsTheCounterByTheUnreadRowsOnly() {
+		when(notificationRepository.deleteByUserIdAndIdIn(7L, List.of(1L, 2L, 3L))).thenReturn(counts(3, 1));
+
+		assertThat(service.deleteNotifications(7L, List.of(1L, 2L, 3L))).isEqualTo(3);
+
+		verify(userStatsRepository).addUnreadNotifications(7L, -1);
+	}
+
+	@Test
+	void deleteWithAnEmptyIdListRunsNoQuery() {
+		assertThat(service.deleteNotifications(7L, List.of())).isZero();
+
+		verifyNoInteractions(notificationRepository, userStatsRepository, unreadCountPublisher);
+	}
+
+	@Test
+	void deleteIgnoresIdsOwnedByAnotherUser() {
+		// Les notifications 4 et 5 appartiennent à l'utilisateur 8 : la requête, filtrée sur user_id, ne supprime rien
+		when(notificationRepository.deleteByUserIdAndIdIn(7L, List.of(4L, 5L))).thenReturn(counts(0, 0));
+
+		assertThat(service.deleteNotifications(7L, List.of(4L, 5L))).isZero();
+
+		verify(notificationRepository).deleteByUserIdAndIdIn(7L, List.of(4L, 5L));
+		verify(userStatsRepository, never()).addUnreadNotifications(anyLong(), anyLong());
+		verify(unreadCountPublisher, never()).unreadCountChanged(any());
+	}
+
+	private static DeletedNotificationCounts counts(long deleted, long unreadDeleted) {
+		return new DeletedNotificationCounts() {
+			@Override
+			public long getDeleted() {
+				return deleted;
+			}
+
+			@Override
+			public long getUnreadDeleted() {
+				return unreadDeleted;
+			}
+		};
+	}
+}
@@ -0,0 +1,169 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import com.hairbook.hairbook_backend.dto.notification.NotificationDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationStreamRegistryTests {
+
+	private static final int IDLE_CONNECTIONS = 20_000;
+
+	@Test
+	void replaysMissedNotificationsThenThoseCreatedDuringTheReplayWithoutDuplicates() {
+		NotificationStreamRegistry registry = new NotificationStreamRegistry(0);
+		CountingEmitter emitter = new CountingEmitter(false);
+
+		registry.open(1L, emitter, 10L, after -> {
+			if (after != 10L) {
+				return List.of();
+			}
+			// 12 est validée avant la lecture des manquées et 13 après : les deux sont poussées en direct pendant la reprise
+			registry.onNotificationCreated(new NotificationCreatedEvent(notification(12L, 1L)));
+			registry.onNotificationCreated(new NotificationCreatedEvent(notification(13L, 1L)));
+			return List.of(notification(11L, 1L), notification(12L, 1L));
+		});
+		registry.onNotificationCreated(new NotificationCreatedEvent(notification(14L, 1L)));
+
+		assertThat(emitter.ids).containsExactly(11L, 12L, 13L, 14L);
+	}
+
+	@Test
+	void pagesThroughTheMissedNotificationsUntilCaughtUp() {
+		NotificationStreamRegistry registry = new NotificationStreamRegistry(0);
+		CountingEmitter emitter = new CountingEmitter(false);
+		List<Long> pagesAfter = new ArrayList<>();
+
+		registry.open(1L, emitter, 10L, after -> {
+			pagesAfter.add(after);
+			return LongStream.rangeClosed(after + 1, Math.min(after + 2, 15))
+					.mapToObj(id -> notification(id, 1L))
+					.toList();
+		});
+
+		assertThat(emitter.ids).containsExactly(11L, 12L, 13L, 14L, 15L);
+		assertThat(pagesAfter).containsExactly(10L, 12L, 14L, 15L);
+	}
+
+	@Test
+	void skipsTheReplayWithoutLastEventId() {
+		NotificationStreamRegistry registry = new NotificationStreamRegistry(0);
+		CountingEmitter emitter = new CountingEmitter(false);
+
+		registry.open(1L, emitter, null, after -> {
+			throw new AssertionError("aucune reprise attendue");
+		});
+		registry.onNotificationCreated(new NotificationCreatedEvent(notification(10L, 1L)));
+
+		assertThat(emitter.ids).containsExactly(10L);
+	}
+
+	@Test
+	void unregistersTheStreamWhenTheReplayQueryFails() {
+		NotificationStreamRegistry registry = new NotificationStreamRegistry(0);
+
+		assertThatThrownBy(() -> registry.open(1L, new CountingEmitter(false), 10L, after -> {
+			throw new IllegalStateException("base indisponible");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(registry.getConnectionCount()).isZero();
+		assertThat(registry.getConnectedUserCount()).isZero();
+	}
+
+	@Test
+	void evictsAStreamWhosePushFails() {
+		NotificationStreamRegistry registry = new NotificationStreamRegistry(0);
+		CountingEmitter healthy = new CountingEmitter(false);
+		registry.register(1L, new CountingEmitter(true));
+		registry.register(1L, healthy);
+
+		registry.onNotificationCreated(new NotificationCreatedEvent(notification(10L, 1L)));
+		registry.onNotificationCreated(new NotificationCreatedEvent(notification(11L, 1L)));
+
+		assertThat(registry.getConnectionCount()).isEqualTo(1);
+		assertThat(healthy.ids).containsExactly(10L, 11L);
+	}
+
+	@Test
+	void pushesOnlyToRecipientStreams() {
+		NotificationStreamRegistry registry = new NotificationStreamRegistry(0);
+		CountingEmitter first = new CountingEmitter(false);
+		CountingEmitter second = new CountingEmitter(false);
+		CountingEmitter other = new CountingEmitter(false);
+		registry.register(1L, first);
+		registry.register(1L, second);
+		registry.register(2L, other);
+
+		registry.onNotificationCreated(new NotificationCreatedEvent(notification(10L, 1L)));
+
+		assertThat(first.ids).containsExactly(10L);
+		assertThat(second.ids).containsExactly(10L);
+		assertThat(other.ids).isEmpty();
+	}
+
+	@Test
+	void dropsBrokenConnections() {
+		NotificationStreamRegistry registry = new NotificationStreamRegistry(0);
+		registry.register(1L, new CountingEmitter(true));
+		registry.register(1L, new CountingEmitter(false));
+
+		registry.heartbeat();
+
+		assertThat(registry.getConnectionCount()).isEqualTo(1);
+		assertThat(registry.getConnectedUserCount()).isEqualTo(1);
+	}
+
+	@Test
+	void keepsTensOfThousandsOfIdleConnectionsAliveWithOneHeartbeatEach() {
+		NotificationStreamRegistry registry = new NotificationStreamRegistry(0);
+		List<CountingEmitter> emitters = new ArrayList<>(IDLE_CONNECTIONS);
+		for (int i = 0; i < IDLE_CONNECTIONS; i++) {
+			CountingEmitter emitter = new CountingEmitter(false);
+			registry.register((long) i, emitter);
+			emitters.add(emitter);
+		}
+
+		registry.heartbeat();
+
+		assertThat(emitters).allMatch(emitter -> emitter.heartbeats == 1);
+		assertThat(registry.getConnectionCount()).isEqualTo(IDLE_CONNECTIONS);
+		assertThat(registry.getConnectedUserCount()).isEqualTo(IDLE_CONNECTIONS);
+	}
+
+	private static NotificationDto notification(Long id, Long userId) {
+		return new NotificationDto(id, userId, "Rendez-vous confirmé", "Votre rendez-vous est confirmé", "INFO",
+				false, LocalDateTime.now(), null);
+	}
+
+	private static final class CountingEmitter extends SseEmitter {
+
+		private final boolean broken;
+		private final List<Long> ids = new ArrayList<>();
+		private int heartbeats;
+
+		CountingEmitter(boolean broken) {
+			this.broken = broken;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (broken) {
+				throw new IOException("Broken pipe");
+			}
+			for (DataWithMediaType data : builder.build()) {
+				if (data.getData() instanceof NotificationDto notification) {
+					ids.add(notification.getId());
+				} else if (String.valueOf(data.getData()).contains(":heartbeat")) {
+					heartbeats++;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.hairbook.hairbook_backend.service.notification;
+
+import com.hairbook.hairbook_backend.repository.UserStatsRepository;
+import com.hairbook.hairbook_backend.security.invalidation.AuthInvalidationEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnreadNotificationCounterTests {
+
+	private final UserStatsRepository userStatsRepository = mock(UserStatsRepository.class);
+	private final UnreadCountPublisher unreadCountPublisher = mock(UnreadCountPublisher.class);
+	private final UnreadNotificationCounter counter = new UnreadNotificationCounter(userStatsRepository, unreadCountPublisher);
+
+	@Test
+	void publishesEveryDeltaAndRereadsTheRow() {
+		when(userStatsRepository.findUnreadNotificationsByUserId(7L))
+				.thenReturn(Optional.of(3L))
+				.thenReturn(Optional.of(5L));
+		counter.getUnreadCount(7L);
+
+		counter.increment(7L, 2);
+
+		verify(userStatsRepository).addUnreadNotifications(7L, 2);
+		verify(unreadCountPublisher).unreadCountChanged(7L);
+		assertThat(counter.getUnreadCount(7L)).isEqualTo(5);
+	}
+
+	@Test
+	void aValueCachedByAConcurrentReaderBeforeTheCommitIsNotCountedTwice() {
+		when(userStatsRepository.findUnreadNotificationsByUserId(7L))
+				.thenReturn(Optional.of(5L))
+				.thenReturn(Optional.of(5L));
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			counter.increment(7L, 2);
+			// Lecture concurrente entre la validation en base et le rappel afterCompletion : la ligne vaut déjà 5
+			assertThat(counter.getUnreadCount(7L)).isEqualTo(5);
+
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThat(counter.getUnreadCount(7L)).isEqualTo(5);
+		verify(userStatsRepository, times(2)).findUnreadNotificationsByUserId(7L);
+	}
+
+	@Test
+	void rereadsTheRowAfterAChangeMadeOnAnotherNode() {
+		when(userStatsRepository.findUnreadNotificationsByUserId(7L))
+				.thenReturn(Optional.of(3L))
+				.thenReturn(Optional.of(4L));
+		when(userStatsRepository.findUnreadNotificationsByUserId(8L))
+				.thenReturn(Optional.of(1L))
+				.thenReturn(Optional.of(2L));
+		counter.getUnreadCount(7L);
+		counter.getUnreadCount(8L);
+
+		counter.onUnreadCountChanged(new UnreadCountChangedEvent(7L));
+		counter.onInvalidation(new AuthInvalidationEvent(AuthInvalidationEvent.Type.USER_CHANGED, 8L, Instant.now()));
+
+		assertThat(counter.getUnreadCount(7L)).isEqualTo(4);
+		assertThat(counter.getUnreadCount(8L)).isEqualTo(1);
+
+		// Diffusion : userId null, tout le cache est relu
+		counter.onUnreadCountChanged(UnreadCountChangedEvent.fromPayload(new UnreadCountChangedEvent(null).toPayload()));
+
+		assertThat(counter.getUnreadCount(8L)).isEqualTo(2);
+		verify(userStatsRepository, times(2)).findUnreadNotificationsByUserId(8L);
+	}
+
+	@Test
+	void clearsTheCacheWhenTheBusResynchronizes() {
+		when(userStatsRepository.findUnreadNotificationsByUserId(7L))
+				.thenReturn(Optional.of(3L))
+				.thenReturn(Optional.of(6L));
+		counter.getUnreadCount(7L);
+
+		counter.onInvalidation(AuthInvalidationEvent.resync());
+
+		assertThat(counter.getUnreadCount(7L)).isEqualTo(6);
+	}
+}
@@ -0,0 +1,169 @@
+package com.hairbook.hairbook_backend.service.outbox;
+
+import com.hairbook.hairbook_backend.entity.OutboxEvent;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.AggregateType;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.EventType;
+import com.hairbook.hairbook_backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTests {
+
+	private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	// Accusés validés ; celui de la transaction annulée est retiré comme le ferait PostgreSQL
+	private final Set<String> receipts = new HashSet<>();
+	private String lastReceipt;
+
+	@BeforeEach
+	void setUp() {
+		when(repository.tryAcquireRelayLock(anyLong())).thenReturn(true);
+		when(repository.insertReceipt(anyString(), anyLong())).thenAnswer(invocation -> {
+			lastReceipt = invocation.getArgument(0) + ":" + invocation.getArgument(1);
+			return receipts.add(lastReceipt) ? 1 : 0;
+		});
+		doAnswer(invocation -> receipts.remove(lastReceipt)).when(transactionManager).rollback(any());
+	}
+
+	@Test
+	void deliversInIdOrderAndSuspendsAFailedAggregateForTheRestOfTheBatch() {
+		RecordingHandler handler = new RecordingHandler("audit", event -> event.getId() == 1L);
+		when(repository.findPendingBatch(anyInt(), anyInt())).thenReturn(List.of(
+				event(1L, 10L, 0), event(2L, 20L, 0), event(3L, 10L, 0), event(4L, 20L, 0)));
+
+		relay(handler).relay();
+
+		assertThat(handler.handled).containsExactly(2L, 4L);
+		verify(repository).markProcessed(eq(2L), any());
+		verify(repository).markProcessed(eq(4L), any());
+		verify(repository, never()).markProcessed(eq(1L), any());
+		verify(repository, never()).markProcessed(eq(3L), any());
+		verify(repository, never()).insertReceipt("audit", 3L);
+	}
+
+	@Test
+	void postponesAFailedEventWithExponentialBackoffAndCountsItOnceExhausted() {
+		RecordingHandler handler = new RecordingHandler("audit", event -> true);
+		when(repository.findPendingBatch(anyInt(), anyInt()))
+				.thenReturn(List.of(event(1L, 10L, 0)))
+				.thenReturn(List.of(event(1L, 10L, 2)));
+		OutboxRelay relay = relay(handler);
+
+		relay.relay();
+		assertThat(meterRegistry.counter("hairbook.outbox.exhausted").count()).isZero();
+		relay.relay();
+
+		verify(repository, times(2)).recordFailure(eq(1L), eq("consommateur indisponible"), eq(2L), eq(600L));
+		assertThat(meterRegistry.counter("hairbook.outbox.exhausted").count()).isEqualTo(1);
+		verify(repository, never()).markProcessed(anyLong(), any());
+	}
+
+	@Test
+	void aRedeliveredEventSkipsConsumersThatAlreadyAcknowledgedIt() {
+		RecordingHandler audit = new RecordingHandler("audit", event -> false);
+		AtomicInteger mailCalls = new AtomicInteger();
+		RecordingHandler mail = new RecordingHandler("mail", event -> mailCalls.getAndIncrement() == 0);
+		when(repository.findPendingBatch(anyInt(), anyInt()))
+				.thenReturn(List.of(event(1L, 10L, 0)))
+				.thenReturn(List.of(event(1L, 10L, 1)));
+		OutboxRelay relay = relay(audit, mail);
+
+		relay.relay();
+		verify(repository, never()).markProcessed(anyLong(), any());
+		relay.relay();
+
+		assertThat(audit.handled).containsExactly(1L);
+		assertThat(mail.handled).containsExactly(1L);
+		assertThat(receipts).containsExactlyInAnyOrder("audit:1", "mail:1");
+		verify(repository).markProcessed(eq(1L), any());
+	}
+
+	@Test
+	void rollsBackTheReceiptOfAConsumerThatFails() {
+		RecordingHandler handler = new RecordingHandler("audit", event -> true);
+		when(repository.findPendingBatch(anyInt(), anyInt())).thenReturn(List.of(event(1L, 10L, 0)));
+
+		relay(handler).relay();
+
+		verify(repository).insertReceipt("audit", 1L);
+		verify(transactionManager).rollback(any());
+		assertThat(receipts).isEmpty();
+		verify(repository, never()).markProcessed(anyLong(), any());
+	}
+
+	@Test
+	void skipsTheBatchWhenAnotherNodeHoldsTheRelayLock() {
+		RecordingHandler handler = new RecordingHandler("audit", event -> false);
+		when(repository.tryAcquireRelayLock(anyLong())).thenReturn(false);
+
+		relay(handler).relay();
+
+		verify(repository, never()).findPendingBatch(anyInt(), anyInt());
+		assertThat(handler.handled).isEmpty();
+	}
+
+	private OutboxRelay relay(OutboxEventHandler... handlers) {
+		return new OutboxRelay(repository, List.of(handlers), transactionManager, meterRegistry, 100, 3, 2, 600, 7);
+	}
+
+	private static OutboxEvent event(Long id, Long appointmentId, int attempts) {
+		OutboxEvent event = new OutboxEvent(AggregateType.APPOINTMENT, appointmentId, EventType.APPOINTMENT_CREATED, "{}");
+		event.setId(id);
+		event.setAttempts(attempts);
+		return event;
+	}
+
+	private static final class RecordingHandler implements OutboxEventHandler {
+
+		private final String name;
+		private final Predicate<OutboxEvent> fails;
+		private final List<Long> handled = new ArrayList<>();
+
+		RecordingHandler(String name, Predicate<OutboxEvent> fails) {
+			this.name = name;
+			this.fails = fails;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public boolean supports(EventType eventType) {
+			return true;
+		}
+
+		@Override
+		public void handle(OutboxEvent event) {
+			if (fails.test(event)) {
+				throw new IllegalStateException("consommateur indisponible");
+			}
+			handled.add(event.getId());
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.hairbook.hairbook_backend.entity.Payment;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import com.hairbook.hairbook_backend.repository.PaymentDailyRevenueRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class PaymentRevenueRollupTests {
+
+	private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 23, 59);
+
+	private final PaymentDailyRevenueRepository repository = mock(PaymentDailyRevenueRepository.class);
+	private final PaymentRevenueRollup rollup = new PaymentRevenueRollup(repository);
+
+	@Test
+	void countsANewPaymentInItsCreationDayAndStatus() {
+		rollup.onCreated(payment(PaymentStatus.PENDING));
+
+		verify(repository).addDelta(LocalDate.of(2024, 1, 15), "EUR", "CREDIT_CARD", "PENDING", new BigDecimal("45.50"), 1);
+	}
+
+	@Test
+	void movesTheAmountFromThePreviousStatusToTheNewOne() {
+		Payment payment = payment(PaymentStatus.REFUNDED);
+
+		rollup.onStatusChanged(payment, PaymentStatus.COMPLETED);
+
+		verify(repository).addDelta(LocalDate.of(2024, 1, 15), "EUR", "CREDIT_CARD", "COMPLETED", new BigDecimal("-45.50"), -1);
+		verify(repository).addDelta(LocalDate.of(2024, 1, 15), "EUR", "CREDIT_CARD", "REFUNDED", new BigDecimal("45.50"), 1);
+	}
+
+	@Test
+	void ignoresAnUnchangedStatus() {
+		rollup.onStatusChanged(payment(PaymentStatus.COMPLETED), PaymentStatus.COMPLETED);
+
+		verify(repository, never()).addDelta(any(), anyString(), anyString(), anyString(), any(), anyLong());
+	}
+
+	private static Payment payment(PaymentStatus status) {
+		return new Payment(1L, null, new BigDecimal("45.50"), status, PaymentMethod.CREDIT_CARD, "EUR",
+				null, null, null, CREATED_AT, CREATED_AT);
+	}
+}
@@ -0,0 +1,154 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hairbook.hairbook_backend.dto.payment.PaymentDto;
+import com.hairbook.hairbook_backend.dto.payment.PaymentRequest;
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.AggregateType;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.EventType;
+import com.hairbook.hairbook_backend.entity.Payment;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import com.hairbook.hairbook_backend.entity.Service;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.exception.ResourceNotFoundException;
+import com.hairbook.hairbook_backend.repository.AppointmentRepository;
+import com.hairbook.hairbook_backend.repository.IdempotencyKeyRepository;
+import com.hairbook.hairbook_backend.repository.PaymentRepository;
+import com.hairbook.hairbook_backend.service.idempotency.IdempotencyService;
+import com.hairbook.hairbook_backend.service.outbox.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PaymentServiceTests {
+
+	private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+	private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+	private final PaymentGateway paymentGateway = mock(PaymentGateway.class);
+	private final IdempotencyKeyRepository idempotencyKeyRepository = mock(IdempotencyKeyRepository.class);
+	private final OutboxService outboxService = mock(OutboxService.class);
+	private final PaymentRevenueRollup revenueRollup = mock(PaymentRevenueRollup.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+	private final PaymentService service = new PaymentService(paymentRepository, appointmentRepository, paymentGateway,
+			outboxService,
+			new IdempotencyService(idempotencyKeyRepository, new ObjectMapper().findAndRegisterModules(), transactionManager,
+					24, 60, 2_000, 100),
+			revenueRollup, transactionManager);
+
+	private Payment saved;
+
+	@BeforeEach
+	void setUp() {
+		when(idempotencyKeyRepository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any())).thenReturn(1);
+		when(appointmentRepository.findWithUserAndServiceById(20L)).thenReturn(Optional.of(appointment()));
+		when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+			saved = invocation.getArgument(0);
+			saved.setId(1L);
+			return saved;
+		});
+		when(paymentRepository.findById(1L)).thenAnswer(invocation -> Optional.of(saved));
+	}
+
+	@Test
+	void chargesWithAGatewayKeyDerivedFromTheClientKey() {
+		when(paymentGateway.charge(eq(1L), any(), eq("tok_visa"), anyString()))
+				.thenReturn(new GatewayCharge(PaymentStatus.COMPLETED, "pi_1", "ch_1", null));
+
+		service.createPayment(10L, cardRequest(), "key-1");
+
+		verify(paymentGateway).charge(eq(1L), any(), eq("tok_visa"), eq("payment.create:10:key-1"));
+	}
+
+	@Test
+	void aLateGatewayResponseDoesNotUndoAWebhookThatAlreadyCompletedThePayment() {
+		when(paymentGateway.charge(eq(1L), any(), eq("tok_visa"), anyString())).thenAnswer(invocation -> {
+			// payment_intent.succeeded appliqué pendant l'appel, puis la lecture de la réponse expire
+			saved.setStatus(PaymentStatus.COMPLETED);
+			saved.setPaymentIntentId("pi_1");
+			saved.setTransactionId("ch_1");
+			return new GatewayCharge(PaymentStatus.PENDING, null, null, "Passerelle indisponible");
+		});
+
+		PaymentDto payment = service.createPayment(10L, cardRequest());
+
+		assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(payment.getPaymentIntentId()).isEqualTo("pi_1");
+		assertThat(payment.getTransactionId()).isEqualTo("ch_1");
+		assertThat(payment.getNotes()).isNull();
+		verify(outboxService, never()).append(any(), any(), eq(EventType.PAYMENT_STATUS_CHANGED), any());
+		verify(revenueRollup, never()).onStatusChanged(any(), any());
+	}
+
+	@Test
+	void recordsTheGatewayOutcomeOfAPendingPayment() {
+		when(paymentGateway.charge(eq(1L), any(), eq("tok_visa"), anyString()))
+				.thenReturn(new GatewayCharge(PaymentStatus.FAILED, "pi_1", null, "Carte refusée"));
+
+		PaymentDto payment = service.createPayment(10L, cardRequest());
+
+		assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+		assertThat(payment.getPaymentIntentId()).isEqualTo("pi_1");
+		assertThat(payment.getNotes()).isEqualTo("Carte refusée");
+		verify(revenueRollup).onStatusChanged(saved, PaymentStatus.PENDING);
+		verify(outboxService).append(eq(AggregateType.PAYMENT), eq(1L), eq(EventType.PAYMENT_STATUS_CHANGED), any());
+	}
+
+	@Test
+	void keepsTheKeyReservedWhenTheChargeCannotBeRecorded() {
+		when(paymentGateway.charge(eq(1L), any(), eq("tok_visa"), anyString()))
+				.thenReturn(new GatewayCharge(PaymentStatus.COMPLETED, "pi_1", "ch_1", null));
+		doThrow(new QueryTimeoutException("base indisponible")).when(paymentRepository).findById(1L);
+
+		assertThatThrownBy(() -> service.createPayment(10L, cardRequest(), "key-1"))
+				.isInstanceOf(QueryTimeoutException.class);
+
+		verify(idempotencyKeyRepository, never()).release(anyString(), anyLong(), anyString());
+		verify(idempotencyKeyRepository, never()).complete(anyString(), anyLong(), anyString(), anyString(), anyString());
+	}
+
+	@Test
+	void releasesTheKeyWhenTheGatewayWasNeverCalled() {
+		when(appointmentRepository.findWithUserAndServiceById(20L)).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> service.createPayment(10L, cardRequest(), "key-1"))
+				.isInstanceOf(ResourceNotFoundException.class);
+
+		verifyNoInteractions(paymentGateway);
+		verify(idempotencyKeyRepository).release("payment.create", 10L, "key-1");
+	}
+
+	private static PaymentRequest cardRequest() {
+		return new PaymentRequest(20L, new BigDecimal("45.50"), PaymentMethod.CREDIT_CARD, "EUR", null, "tok_visa", null);
+	}
+
+	private static Appointment appointment() {
+		User user = new User("john_doe", "john.doe@example.com", "secret", "John", "Doe", null);
+		user.setId(10L);
+		Appointment appointment = new Appointment();
+		appointment.setId(20L);
+		appointment.setUser(user);
+		appointment.setService(new Service(30L, "Coupe", null, new BigDecimal("45.50"), 30, null, true));
+		appointment.setStartTime(LocalDateTime.of(2024, 3, 1, 10, 0));
+		return appointment;
+	}
+}
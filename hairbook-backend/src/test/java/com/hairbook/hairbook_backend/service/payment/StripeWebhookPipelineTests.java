@@ -0,0 +1,197 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.AggregateType;
+import com.hairbook.hairbook_backend.entity.OutboxEvent.EventType;
+import com.hairbook.hairbook_backend.entity.Payment;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentMethod;
+import com.hairbook.hairbook_backend.entity.Payment.PaymentStatus;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.exception.InvalidWebhookSignatureException;
+import com.hairbook.hairbook_backend.repository.PaymentRepository;
+import com.hairbook.hairbook_backend.service.outbox.OutboxService;
+import com.hairbook.hairbook_backend.service.outbox.PaymentEventPayload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StripeWebhookPipelineTests {
+
+	private final StripeWebhookSimulator stripe = new StripeWebhookSimulator();
+	private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+	private final OutboxService outboxService = mock(OutboxService.class);
+	private final PaymentRevenueRollup revenueRollup = mock(PaymentRevenueRollup.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final StripeWebhookService webhookService = new StripeWebhookService(
+			new StripeSignatureVerifier(StripeWebhookSimulator.SECRET, 300), stripe.repository(), new ObjectMapper(), transactionManager);
+	private final StripeWebhookProcessor processor = new StripeWebhookProcessor(
+			stripe.repository(), paymentRepository, outboxService, revenueRollup, new ObjectMapper(), transactionManager, meterRegistry,
+			100, 3, 2, 600, 30);
+
+	@Test
+	void rejectsTamperedStaleAndUnsignedPayloads() {
+		StripeSignatureVerifier verifier = new StripeSignatureVerifier(StripeWebhookSimulator.SECRET, 300);
+		String payload = stripe.paymentIntentEvent("evt_1", "payment_intent.succeeded", "pi_a", 1L, 1_000);
+		String header = "t=1000,v1=" + verifier.signatureOf(1_000, payload);
+
+		verifier.verify(payload, header, 1_100);
+		verifier.verify(payload, "t=1000,v1=deadbeef," + header.substring("t=1000,".length()), 1_100);
+		assertThatThrownBy(() -> verifier.verify(payload.replace("pi_a", "pi_b"), header, 1_100))
+				.isInstanceOf(InvalidWebhookSignatureException.class);
+		assertThatThrownBy(() -> verifier.verify(payload, header, 1_000 + 301))
+				.isInstanceOf(InvalidWebhookSignatureException.class);
+		assertThatThrownBy(() -> verifier.verify(payload, null, 1_100))
+				.isInstanceOf(InvalidWebhookSignatureException.class);
+	}
+
+	@Test
+	void storesEachEventOnceAndAcknowledgesRedeliveries() {
+		String payload = stripe.paymentIntentEvent("evt_1", "payment_intent.succeeded", "pi_a", 1L, 1_000);
+
+		assertThat(webhookService.receive(payload, stripe.signatureHeader(payload))).isTrue();
+		assertThat(webhookService.receive(payload, stripe.signatureHeader(payload))).isFalse();
+
+		assertThat(stripe.table()).singleElement().satisfies(event -> {
+			assertThat(event.getPaymentIntentId()).isEqualTo("pi_a");
+			assertThat(event.getPaymentId()).isEqualTo(1L);
+			assertThat(event.getEventType()).isEqualTo("payment_intent.succeeded");
+		});
+		verify(paymentRepository, never()).findByPaymentIntentId(any());
+	}
+
+	@Test
+	void appliesEachIntentInStripeOrderWithASingleStatusChange() {
+		Payment first = payment(1L, "pi_a");
+		Payment second = payment(2L, null);
+		stubPayments(first, second);
+
+		// Livraisons dans le désordre : l'échec initial est reçu après le succès qui l'a suivi
+		deliver(stripe.paymentIntentEvent("evt_3", "payment_intent.succeeded", "pi_a", 1L, 200));
+		deliver(stripe.paymentIntentEvent("evt_2", "payment_intent.payment_failed", "pi_a", 1L, 100));
+		deliver(stripe.chargeRefundedEvent("evt_4", "pi_a", 300));
+		deliver(stripe.paymentIntentEvent("evt_5", "payment_intent.succeeded", "pi_b", 2L, 150));
+
+		processor.process();
+
+		assertThat(first.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+		assertThat(first.getTransactionId()).isEqualTo("ch_pi_a");
+		assertThat(second.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(second.getPaymentIntentId()).isEqualTo("pi_b");
+		assertThat(stripe.table()).allSatisfy(event -> assertThat(event.getProcessedAt()).isNotNull());
+
+		ArgumentCaptor<PaymentEventPayload> payloads = ArgumentCaptor.forClass(PaymentEventPayload.class);
+		verify(outboxService, times(2)).append(eq(AggregateType.PAYMENT), any(), eq(EventType.PAYMENT_STATUS_CHANGED), payloads.capture());
+		assertThat(payloads.getAllValues())
+				.extracting(PaymentEventPayload::paymentId, PaymentEventPayload::previousStatus, PaymentEventPayload::status)
+				.containsExactlyInAnyOrder(
+						tuple(1L, PaymentStatus.PENDING, PaymentStatus.REFUNDED),
+						tuple(2L, PaymentStatus.PENDING, PaymentStatus.COMPLETED));
+	}
+
+	@Test
+	void keepsEventsPendingUntilTheirPaymentIsKnown() {
+		when(paymentRepository.findWithAppointmentByPaymentIntentIdIn(anyCollection())).thenReturn(List.of());
+		when(paymentRepository.findWithAppointmentByIdIn(anyCollection())).thenReturn(List.of());
+		deliver(stripe.paymentIntentEvent("evt_1", "payment_intent.succeeded", "pi_unknown", 99L, 100));
+		deliver(stripe.paymentIntentEvent("evt_2", "payment_intent.created", "pi_other", 98L, 100));
+
+		processor.process();
+
+		assertThat(stripe.table()).filteredOn(event -> event.getEventId().equals("evt_1")).singleElement()
+				.satisfies(event -> {
+					assertThat(event.getProcessedAt()).isNull();
+					assertThat(event.getAttempts()).isEqualTo(1);
+				});
+		assertThat(stripe.table()).filteredOn(event -> event.getEventId().equals("evt_2")).singleElement()
+				.satisfies(event -> assertThat(event.getProcessedAt()).isNotNull());
+		verify(outboxService, never()).append(any(), any(), any(), any());
+	}
+
+	@Test
+	void delaysTheRetryOfAFailedIntentWithoutHoldingBackTheOthers() {
+		Payment first = payment(1L, "pi_a");
+		Payment second = payment(2L, "pi_b");
+		stubPayments(first, second);
+		doThrow(new IllegalStateException("échec du cumul")).when(revenueRollup).onStatusChanged(eq(first), any());
+		deliver(stripe.paymentIntentEvent("evt_1", "payment_intent.succeeded", "pi_a", 1L, 100));
+		deliver(stripe.paymentIntentEvent("evt_2", "payment_intent.succeeded", "pi_b", 2L, 100));
+
+		processor.process();
+		processor.process();
+
+		assertThat(stripe.table()).filteredOn(event -> event.getEventId().equals("evt_1")).singleElement()
+				.satisfies(event -> {
+					assertThat(event.getProcessedAt()).isNull();
+					assertThat(event.getAttempts()).isEqualTo(1);
+					assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now());
+				});
+		assertThat(stripe.table()).filteredOn(event -> event.getEventId().equals("evt_2")).singleElement()
+				.satisfies(event -> assertThat(event.getProcessedAt()).isNotNull());
+		assertThat(second.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		// Chaque intention a sa transaction : seule celle en échec est annulée
+		verify(transactionManager, times(1)).rollback(any());
+		verify(outboxService, times(1)).append(eq(AggregateType.PAYMENT), eq(2L), eq(EventType.PAYMENT_STATUS_CHANGED), any());
+	}
+
+	@Test
+	void countsTheEventsAbandonedAfterTheLastAttempt() {
+		when(paymentRepository.findWithAppointmentByPaymentIntentIdIn(anyCollection())).thenReturn(List.of());
+		when(paymentRepository.findWithAppointmentByIdIn(anyCollection())).thenReturn(List.of());
+		deliver(stripe.paymentIntentEvent("evt_1", "payment_intent.succeeded", "pi_unknown", 99L, 100));
+		stripe.table().get(0).setAttempts(2);
+
+		processor.process();
+		processor.process();
+
+		assertThat(stripe.table().get(0).getAttempts()).isEqualTo(3);
+		assertThat(meterRegistry.counter("hairbook.stripe.webhook.exhausted").count()).isEqualTo(1.0);
+	}
+
+	private void stubPayments(Payment... payments) {
+		when(paymentRepository.findWithAppointmentByPaymentIntentIdIn(anyCollection())).thenAnswer(call -> {
+			Collection<String> intents = call.getArgument(0);
+			return Arrays.stream(payments).filter(payment -> intents.contains(payment.getPaymentIntentId())).toList();
+		});
+		when(paymentRepository.findWithAppointmentByIdIn(anyCollection())).thenAnswer(call -> {
+			Collection<Long> ids = call.getArgument(0);
+			return Arrays.stream(payments).filter(payment -> ids.contains(payment.getId())).toList();
+		});
+	}
+
+	private void deliver(String payload) {
+		webhookService.receive(payload, stripe.signatureHeader(payload));
+	}
+
+	private static Payment payment(Long id, String paymentIntentId) {
+		User user = new User("john_doe", "john.doe@example.com", "secret", "John", "Doe", null);
+		user.setId(10L);
+		Appointment appointment = new Appointment();
+		appointment.setId(20L + id);
+		appointment.setUser(user);
+		return new Payment(id, appointment, new BigDecimal("45.50"), PaymentStatus.PENDING,
+				PaymentMethod.CREDIT_CARD, "EUR", null, paymentIntentId, null, null, null);
+	}
+}
@@ -0,0 +1,115 @@
+package com.hairbook.hairbook_backend.service.payment;
+
+import com.hairbook.hairbook_backend.entity.StripeWebhookEvent;
+import com.hairbook.hairbook_backend.repository.StripeWebhookEventRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Simulateur local de Stripe : événements signés comme par Stripe et table stripe_webhook_events en mémoire
+class StripeWebhookSimulator {
+
+	static final String SECRET = "whsec_test_secret";
+
+	private final StripeSignatureVerifier signer = new StripeSignatureVerifier(SECRET, 300);
+	private final List<StripeWebhookEvent> table = new ArrayList<>();
+	private final AtomicLong sequence = new AtomicLong();
+	private final StripeWebhookEventRepository repository = mock(StripeWebhookEventRepository.class);
+
+	StripeWebhookSimulator() {
+		when(repository.insertIfAbsent(anyString(), anyString(), any(), any(), any(), anyString())).thenAnswer(call -> {
+			String eventId = call.getArgument(0);
+			if (table.stream().anyMatch(event -> event.getEventId().equals(eventId))) {
+				return 0;
+			}
+			StripeWebhookEvent event = new StripeWebhookEvent(eventId, call.getArgument(1), call.getArgument(2),
+					call.getArgument(3), call.getArgument(4), call.getArgument(5));
+			event.setId(sequence.incrementAndGet());
+			table.add(event);
+			return 1;
+		});
+		when(repository.tryAcquireProcessingLock(anyLong())).thenReturn(true);
+		when(repository.findPendingBatch(anyInt(), anyInt())).thenAnswer(call -> {
+			int maxAttempts = call.getArgument(1);
+			List<StripeWebhookEvent> pending = table.stream()
+					.filter(event -> event.getProcessedAt() == null && event.getAttempts() < maxAttempts)
+					.toList();
+			// Intentions dans l'ordre de leur plus ancien événement, écartées en entier pendant leur délai
+			Map<String, List<StripeWebhookEvent>> groups = pending.stream()
+					.collect(Collectors.groupingBy(StripeWebhookSimulator::groupKey, LinkedHashMap::new, Collectors.toList()));
+			LocalDateTime now = LocalDateTime.now();
+			return groups.values().stream()
+					.filter(group -> group.stream().allMatch(event -> event.getNextAttemptAt() == null || !event.getNextAttemptAt().isAfter(now)))
+					.sorted(Comparator.comparing(group -> group.stream().mapToLong(StripeWebhookEvent::getId).min().orElseThrow()))
+					.flatMap(group -> group.stream()
+							.sorted(Comparator.comparing(StripeWebhookEvent::getStripeCreatedAt).thenComparing(StripeWebhookEvent::getId)))
+					.limit((int) call.getArgument(0))
+					.toList();
+		});
+		when(repository.markProcessed(anyCollection(), any())).thenAnswer(call -> {
+			Collection<Long> ids = call.getArgument(0);
+			LocalDateTime now = call.getArgument(1);
+			table.stream().filter(event -> ids.contains(event.getId())).forEach(event -> event.setProcessedAt(now));
+			return ids.size();
+		});
+		when(repository.recordFailure(anyCollection(), any(), anyLong(), anyLong())).thenAnswer(call -> {
+			Collection<Long> ids = call.getArgument(0);
+			long baseDelaySeconds = call.getArgument(2);
+			long maxDelaySeconds = call.getArgument(3);
+			table.stream().filter(event -> ids.contains(event.getId())).forEach(event -> {
+				long delay = Math.min(maxDelaySeconds, baseDelaySeconds << Math.min(event.getAttempts(), 32));
+				event.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+				event.setAttempts(event.getAttempts() + 1);
+				event.setLastError(call.getArgument(1));
+			});
+			return ids.size();
+		});
+	}
+
+	private static String groupKey(StripeWebhookEvent event) {
+		return event.getPaymentIntentId() != null ? event.getPaymentIntentId() : event.getEventId();
+	}
+
+	StripeWebhookEventRepository repository() {
+		return repository;
+	}
+
+	List<StripeWebhookEvent> table() {
+		return table;
+	}
+
+	String paymentIntentEvent(String eventId, String type, String paymentIntentId, Long paymentId, long createdEpochSeconds) {
+		return """
+				{"id":"%s","object":"event","type":"%s","created":%d,"data":{"object":{"id":"%s","object":"payment_intent",\
+				"latest_charge":"ch_%s","metadata":{"payment_id":"%s"}}}}"""
+				.formatted(eventId, type, createdEpochSeconds, paymentIntentId, paymentIntentId, paymentId);
+	}
+
+	String chargeRefundedEvent(String eventId, String paymentIntentId, long createdEpochSeconds) {
+		return """
+				{"id":"%s","object":"event","type":"charge.refunded","created":%d,"data":{"object":{"id":"ch_%s",\
+				"object":"charge","payment_intent":"%s","metadata":{}}}}"""
+				.formatted(eventId, createdEpochSeconds, paymentIntentId, paymentIntentId);
+	}
+
+	String signatureHeader(String payload) {
+		long timestamp = Instant.now().getEpochSecond();
+		return "t=" + timestamp + ",v1=" + signer.signatureOf(timestamp, payload);
+	}
+}
@@ -0,0 +1,137 @@
+package com.hairbook.hairbook_backend.service.reconciliation;
+
+import com.hairbook.hairbook_backend.repository.PaymentRepository;
+import com.hairbook.hairbook_backend.repository.PaymentRepository.ReconciliationRow;
+import com.hairbook.hairbook_backend.service.reconciliation.ReconciliationMismatch.Type;
+import com.hairbook.hairbook_backend.util.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PaymentReconciliationTests {
+
+	private static final List<ReconciliationRow> PAYMENTS = List.of(
+			new Row(1L, "ch_001", "45.5", "EUR", "COMPLETED"),
+			new Row(2L, "ch_002", "30.00", "EUR", "COMPLETED"),
+			new Row(3L, "ch_003", "55.00", "EUR", "COMPLETED"),
+			new Row(4L, "ch_004", "25.00", "EUR", "REFUNDED"),
+			new Row(5L, "ch_005", "40.00", "EUR", "COMPLETED"),
+			new Row(6L, "ch_006", "80.00", "EUR", "COMPLETED"),
+			new Row(7L, "ch_007", "15.00", "EUR", "PENDING"));
+
+	@Test
+	void readsLinesSpanningSeveralMappedWindows() throws Exception {
+		// Fenêtres de 16 octets : presque chaque ligne chevauche deux projections
+		List<GatewaySettlementRecord> records = new ArrayList<>();
+		try (GatewayCsvReader reader = new GatewayCsvReader(fixture(), 16)) {
+			reader.forEachRemaining(records::add);
+		}
+
+		assertThat(records).hasSize(7);
+		assertThat(records.get(0)).isEqualTo(new GatewaySettlementRecord(2, "ch_001", new Money(4550, "EUR"), "succeeded"));
+		assertThat(records).extracting(GatewaySettlementRecord::transactionId)
+				.containsExactly("ch_001", "ch_002", "ch_003", "ch_004", "ch_004", "ch_006", "ch_007");
+		assertThat(GatewayCsvReader.split("ch_006,\"Soin \"\"premium\"\"\",\"a,b\""))
+				.containsExactly("ch_006", "Soin \"premium\"", "a,b");
+	}
+
+	@Test
+	void reportsEveryKindOfMismatchInASinglePass() throws Exception {
+		List<ReconciliationMismatch> mismatches = new ArrayList<>();
+		ReconciliationSummary summary;
+		try (GatewayCsvReader reader = new GatewayCsvReader(fixture(), 64)) {
+			summary = new PaymentReconciliationEngine(reader, PAYMENTS.iterator(), mismatches::add).run("report.csv");
+		}
+
+		assertThat(summary.gatewayRecords()).isEqualTo(7);
+		assertThat(summary.payments()).isEqualTo(7);
+		assertThat(summary.matched()).isEqualTo(3);
+		assertThat(summary.mismatches()).isEqualTo(Map.of(Type.AMOUNT, 1L, Type.DUPLICATE_IN_GATEWAY, 1L,
+				Type.MISSING_IN_GATEWAY, 1L, Type.CURRENCY, 1L, Type.STATUS, 1L));
+		assertThat(mismatches)
+				.extracting(ReconciliationMismatch::type, ReconciliationMismatch::transactionId, ReconciliationMismatch::expected,
+						ReconciliationMismatch::actual)
+				.containsExactly(
+						tuple(Type.AMOUNT, "ch_003", "55.00", "60.00"),
+						tuple(Type.DUPLICATE_IN_GATEWAY, "ch_004", null, "25.00 EUR refunded"),
+						tuple(Type.MISSING_IN_GATEWAY, "ch_005", "40.00 EUR COMPLETED", null),
+						tuple(Type.CURRENCY, "ch_006", "EUR", "USD"),
+						tuple(Type.STATUS, "ch_007", "PENDING", "succeeded"));
+	}
+
+	@Test
+	void rejectsAnUnsortedInput() {
+		List<GatewaySettlementRecord> gateway = List.of(
+				new GatewaySettlementRecord(2, "ch_002", new Money(1000, "EUR"), "succeeded"),
+				new GatewaySettlementRecord(3, "ch_001", new Money(1000, "EUR"), "succeeded"));
+
+		assertThatThrownBy(() -> new PaymentReconciliationEngine(gateway.iterator(), List.<ReconciliationRow>of().iterator(),
+				mismatch -> {}).run("report.csv"))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("ligne 3");
+	}
+
+	@Test
+	void writesTheMismatchReportNextToTheExport(@TempDir Path directory) throws Exception {
+		Files.copy(fixture(), directory.resolve("stripe-2025-03.csv"));
+		PaymentRepository repository = mock(PaymentRepository.class);
+		when(repository.streamForReconciliation()).thenReturn(PAYMENTS.stream());
+		PaymentReconciliationJob job = new PaymentReconciliationJob(repository, mock(PlatformTransactionManager.class),
+				directory.toString(), 32);
+
+		ReconciliationSummary summary = job.reconcile("stripe-2025-03.csv");
+
+		assertThat(summary.totalMismatches()).isEqualTo(5);
+		assertThat(Files.readAllLines(directory.resolve(summary.reportFile())))
+				.hasSize(6)
+				.startsWith("type,transaction_id,payment_id,expected,actual")
+				.contains("AMOUNT,\"ch_003\",3,\"55.00\",\"60.00\"");
+		assertThatThrownBy(() -> job.reconcile("../stripe-2025-03.csv")).hasMessageContaining("non trouvé");
+	}
+
+	private static Path fixture() throws URISyntaxException {
+		return Path.of(PaymentReconciliationTests.class.getResource("/reconciliation/gateway-export.csv").toURI());
+	}
+
+	record Row(Long id, String transactionId, String amount, String currency, String status) implements ReconciliationRow {
+
+		@Override
+		public Long getId() {
+			return id;
+		}
+
+		@Override
+		public String getTransactionId() {
+			return transactionId;
+		}
+
+		@Override
+		public BigDecimal getAmount() {
+			return new BigDecimal(amount);
+		}
+
+		@Override
+		public String getCurrency() {
+			return currency;
+		}
+
+		@Override
+		public String getStatus() {
+			return status;
+		}
+	}
+}
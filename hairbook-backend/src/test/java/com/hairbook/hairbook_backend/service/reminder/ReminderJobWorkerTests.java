@@ -0,0 +1,78 @@
+package com.hairbook.hairbook_backend.service.reminder;
+
+import com.hairbook.hairbook_backend.config.NodeIdentity;
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.entity.ScheduledJob;
+import com.hairbook.hairbook_backend.entity.Service;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.repository.AppointmentRepository;
+import com.hairbook.hairbook_backend.repository.ScheduledJobRepository;
+import com.hairbook.hairbook_backend.service.notification.NotificationService;
+import com.hairbook.hairbook_backend.service.template.NotificationTemplateEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderJobWorkerTests {
+
+	private final ScheduledJobRepository scheduledJobRepository = mock(ScheduledJobRepository.class);
+	private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+	private final NotificationService notificationService = mock(NotificationService.class);
+	private ReminderJobWorker worker;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		worker = new ReminderJobWorker(scheduledJobRepository, appointmentRepository, notificationService,
+				new NotificationTemplateEngine("fr"), new NodeIdentity("node-a"), mock(PlatformTransactionManager.class),
+				100, 300, 5, 60);
+		ScheduledJob job = new ScheduledJob();
+		job.setId(1L);
+		job.setAppointmentId(42L);
+		job.setAttempts(1);
+		when(scheduledJobRepository.claimDueJobs(eq("node-a"), any(), any(), anyInt())).thenReturn(List.of(job));
+		when(appointmentRepository.findWithUserAndServiceById(42L)).thenReturn(Optional.of(appointment()));
+	}
+
+	@Test
+	void sendsTheReminderOnlyAfterClosingTheJobUnderItsLease() {
+		when(scheduledJobRepository.markDone(1L, "node-a")).thenReturn(1);
+
+		worker.poll();
+
+		verify(notificationService).createNotification(eq(7L), anyString(), anyString(), eq("REMINDER"), eq("/appointments/42"));
+	}
+
+	@Test
+	void sendsNothingOnceTheLeaseHasBeenLost() {
+		when(scheduledJobRepository.markDone(1L, "node-a")).thenReturn(0);
+
+		worker.poll();
+
+		verify(notificationService, never()).createNotification(anyLong(), any(), any(), any(), any());
+		verify(scheduledJobRepository, never()).markFailed(anyLong(), any(), any(), any(), anyInt());
+	}
+
+	private static Appointment appointment() {
+		User user = new User("john_doe", "john.doe@example.com", "secret", "John", "Doe", null);
+		user.setId(7L);
+		Service service = new Service(1L, "Coupe et brushing", null, new BigDecimal("45.50"), 60, null, true);
+		return new Appointment(42L, user, service, LocalDateTime.now().plusHours(20),
+				LocalDateTime.now().plusHours(21), AppointmentStatus.CONFIRMED, null, null, null);
+	}
+}
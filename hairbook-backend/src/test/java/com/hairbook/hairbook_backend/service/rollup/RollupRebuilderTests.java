@@ -0,0 +1,45 @@
+package com.hairbook.hairbook_backend.service.rollup;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+class RollupRebuilderTests {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final RollupRebuilder rebuilder = new RollupRebuilder(jdbcTemplate, transactionManager);
+
+	@Test
+	void locksTheRollupTablesBeforeRebuildingEachChunkInItsOwnTransaction() {
+		List<LocalDate[]> chunks = new ArrayList<>();
+
+		long written = rebuilder.rebuild(List.of("daily", "hourly"), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8), 3,
+				(from, to) -> {
+					chunks.add(new LocalDate[] {from, to});
+					return 2;
+				});
+
+		assertThat(written).isEqualTo(6);
+		assertThat(chunks).containsExactly(
+				new LocalDate[] {LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 4)},
+				new LocalDate[] {LocalDate.of(2024, 1, 4), LocalDate.of(2024, 1, 7)},
+				new LocalDate[] {LocalDate.of(2024, 1, 7), LocalDate.of(2024, 1, 8)});
+		InOrder order = inOrder(transactionManager, jdbcTemplate);
+		for (int i = 0; i < 3; i++) {
+			order.verify(transactionManager).getTransaction(any());
+			order.verify(jdbcTemplate).execute("LOCK TABLE daily, hourly IN SHARE ROW EXCLUSIVE MODE");
+			order.verify(transactionManager).commit(any());
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.entity.Service;
+import com.hairbook.hairbook_backend.entity.User;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AppointmentStatsRollupTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 15, 9, 30);
+
+	private final AppointmentStatsRepository repository = mock(AppointmentStatsRepository.class);
+	private final ClientSketches clientSketches = mock(ClientSketches.class);
+	private final AppointmentStatsRollup rollup = new AppointmentStatsRollup(repository, new StatisticsCache(60, 100), clientSketches);
+
+	@Test
+	void countsANewAppointmentInItsStartDayAndHour() {
+		rollup.onCreated(appointment(START, AppointmentStatus.SCHEDULED));
+
+		verify(repository).addDelta(LocalDate.of(2024, 1, 15), (short) 9, 3L, "SCHEDULED", 1);
+		verify(clientSketches).addClient(LocalDate.of(2024, 1, 15), 7L);
+	}
+
+	@Test
+	void movesTheAppointmentFromThePreviousStatusToTheNewOne() {
+		rollup.onStatusChanged(appointment(START, AppointmentStatus.COMPLETED), AppointmentStatus.CONFIRMED);
+
+		verify(repository).addDelta(LocalDate.of(2024, 1, 15), (short) 9, 3L, "CONFIRMED", -1);
+		verify(repository).addDelta(LocalDate.of(2024, 1, 15), (short) 9, 3L, "COMPLETED", 1);
+	}
+
+	@Test
+	void movesARescheduledAppointmentToItsNewSlot() {
+		rollup.onRescheduled(appointment(START.plusDays(1).withHour(14), AppointmentStatus.CONFIRMED), START);
+
+		verify(repository).addDelta(LocalDate.of(2024, 1, 15), (short) 9, 3L, "CONFIRMED", -1);
+		verify(repository).addDelta(LocalDate.of(2024, 1, 16), (short) 14, 3L, "CONFIRMED", 1);
+		verify(clientSketches).markStale(LocalDate.of(2024, 1, 15));
+		verify(clientSketches).addClient(LocalDate.of(2024, 1, 16), 7L);
+	}
+
+	@Test
+	void writesTheDaysOfAnEarlierRescheduleInChronologicalOrder() {
+		rollup.onRescheduled(appointment(START.minusDays(3), AppointmentStatus.CONFIRMED), START);
+
+		InOrder inOrder = inOrder(repository);
+		inOrder.verify(repository).addDelta(LocalDate.of(2024, 1, 12), (short) 9, 3L, "CONFIRMED", 1);
+		inOrder.verify(repository).addDelta(LocalDate.of(2024, 1, 15), (short) 9, 3L, "CONFIRMED", -1);
+	}
+
+	@Test
+	void updatesClientSketchesOnlyWhenTheClientEntersOrLeavesTheDay() {
+		rollup.onStatusChanged(appointment(START, AppointmentStatus.COMPLETED), AppointmentStatus.CONFIRMED);
+		verify(clientSketches, never()).addClient(any(), any());
+		verify(clientSketches, never()).markStale(any());
+
+		rollup.onStatusChanged(appointment(START, AppointmentStatus.CANCELLED), AppointmentStatus.CONFIRMED);
+		verify(clientSketches).markStale(LocalDate.of(2024, 1, 15));
+
+		rollup.onStatusChanged(appointment(START, AppointmentStatus.CONFIRMED), AppointmentStatus.NO_SHOW);
+		verify(clientSketches).addClient(LocalDate.of(2024, 1, 15), 7L);
+	}
+
+	@Test
+	void ignoresChangesThatKeepTheSameGroup() {
+		rollup.onStatusChanged(appointment(START, AppointmentStatus.CONFIRMED), AppointmentStatus.CONFIRMED);
+		rollup.onRescheduled(appointment(START.plusMinutes(15), AppointmentStatus.CONFIRMED), START);
+
+		verify(repository, never()).addDelta(any(), anyShort(), anyLong(), anyString(), anyLong());
+	}
+
+	private static Appointment appointment(LocalDateTime startTime, AppointmentStatus status) {
+		Service service = new Service(3L, "Coupe et brushing", null, new BigDecimal("45.50"), 60, null, true);
+		User client = new User("client", "client@example.com", "secret", "Camille", "Martin", null);
+		client.setId(7L);
+		return new Appointment(42L, client, service, startTime, startTime.plusHours(1), status, null, null, null);
+	}
+}
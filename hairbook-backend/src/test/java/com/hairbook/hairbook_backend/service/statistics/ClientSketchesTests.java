@@ -0,0 +1,126 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.repository.AppointmentClientSketchRepository;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository;
+import com.hairbook.hairbook_backend.util.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClientSketchesTests {
+
+	private static final LocalDate FIRST_DAY = LocalDate.of(2022, 1, 1);
+	private static final LocalDate LAST_DAY = LocalDate.of(2024, 12, 31);
+
+	private final AppointmentClientSketchRepository repository = mock(AppointmentClientSketchRepository.class);
+	private final AppointmentStatsRepository statsRepository = mock(AppointmentStatsRepository.class);
+	private final ClientSketches sketches = new ClientSketches(repository, statsRepository, new StatisticsCache(60, 100),
+			mock(PlatformTransactionManager.class), 100);
+
+	// Historique simulé : jour -> clients ayant un rendez-vous ce jour-là
+	private final Map<LocalDate, Set<Long>> clientsByDay = new TreeMap<>();
+
+	@BeforeEach
+	void setUp() {
+		SplittableRandom random = new SplittableRandom(3);
+		int days = (int) (LAST_DAY.toEpochDay() - FIRST_DAY.toEpochDay() + 1);
+		for (long client = 1; client <= 20_000; client++) {
+			// Chaque client arrive à une date aléatoire puis revient quelques fois
+			int firstVisit = random.nextInt(days);
+			for (int visit = 0, visits = 1 + random.nextInt(4); visit < visits; visit++) {
+				LocalDate day = FIRST_DAY.plusDays(Math.min(days - 1, firstVisit + visit * random.nextInt(1, 120)));
+				clientsByDay.computeIfAbsent(day, d -> new HashSet<>()).add(client);
+			}
+		}
+		when(repository.findRegisters(anyString(), any(), any())).thenAnswer(call -> registers(
+				call.getArgument(0), call.getArgument(1), call.getArgument(2)));
+	}
+
+	@Test
+	void estimatesActiveClientsWithinTheDocumentedBound() {
+		LocalDate from = LocalDate.of(2023, 3, 17);
+		LocalDate to = LocalDate.of(2024, 2, 9);
+
+		long exact = distinct(from, to).size();
+
+		assertThat((double) sketches.activeClients(from, to)).isCloseTo(exact, within(exact * 3 * HyperLogLog.relativeStandardError(ClientSketches.PRECISION)));
+		// Mois complets depuis les sketches mensuels, jours de bord depuis les journaliers
+		verify(repository).findRegisters("DAY", from, LocalDate.of(2023, 4, 1));
+		verify(repository).findRegisters("MONTH", LocalDate.of(2023, 4, 1), LocalDate.of(2024, 2, 1));
+		verify(repository).findRegisters("DAY", LocalDate.of(2024, 2, 1), to);
+	}
+
+	@Test
+	void readsOnlyDailySketchesInsideASingleMonth() {
+		sketches.activeClients(LocalDate.of(2024, 5, 3), LocalDate.of(2024, 5, 20));
+
+		verify(repository).findRegisters("DAY", LocalDate.of(2024, 5, 3), LocalDate.of(2024, 5, 20));
+		verify(repository, never()).findRegisters(eq("MONTH"), any(), any());
+	}
+
+	@Test
+	void refreshingAStaleDayBumpsItsVersionBeforeLockingTheSketches() {
+		LocalDate day = LocalDate.of(2024, 5, 3);
+		when(repository.findStaleDays(100)).thenReturn(List.of(day));
+
+		sketches.refreshStaleDays();
+
+		InOrder inOrder = inOrder(statsRepository, repository);
+		inOrder.verify(statsRepository).incrementVersions(day, day.plusDays(1));
+		inOrder.verify(repository).lockSketches("DAY", day, day.plusDays(1));
+	}
+
+	private Set<Long> distinct(LocalDate from, LocalDate to) {
+		Set<Long> clients = new HashSet<>();
+		clientsByDay.forEach((day, ids) -> {
+			if (!day.isBefore(from) && day.isBefore(to)) {
+				clients.addAll(ids);
+			}
+		});
+		return clients;
+	}
+
+	// Sketches tels que maintenus en base : un par jour ayant des clients, un par mois
+	private List<byte[]> registers(String period, LocalDate from, LocalDate to) {
+		List<byte[]> rows = new ArrayList<>();
+		if (period.equals("DAY")) {
+			clientsByDay.forEach((day, ids) -> {
+				if (!day.isBefore(from) && day.isBefore(to)) {
+					rows.add(sketch(ids));
+				}
+			});
+		} else {
+			for (LocalDate month = from; month.isBefore(to); month = month.plusMonths(1)) {
+				rows.add(sketch(distinct(month, month.plusMonths(1))));
+			}
+		}
+		return rows;
+	}
+
+	private static byte[] sketch(Set<Long> ids) {
+		HyperLogLog sketch = new HyperLogLog(ClientSketches.PRECISION);
+		ids.forEach(sketch::add);
+		return sketch.toBytes();
+	}
+}
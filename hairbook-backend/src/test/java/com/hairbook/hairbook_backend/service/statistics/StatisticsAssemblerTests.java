@@ -0,0 +1,134 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.dto.stats.DailyCountSeries;
+import com.hairbook.hairbook_backend.dto.stats.ServiceCountSeries;
+import com.hairbook.hairbook_backend.dto.stats.StatisticsResponse;
+import com.hairbook.hairbook_backend.dto.stats.TimeSlotCountSeries;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatisticsAssemblerTests {
+
+	private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+	private static final LocalDate TO = LocalDate.of(2024, 2, 1);
+
+	private final StatisticsSections sections = mock(StatisticsSections.class);
+	private final StatisticsAssembler assembler = new StatisticsAssembler(sections, mock(PlatformTransactionManager.class),
+			new SimpleMeterRegistry(), 300, 8);
+
+	@AfterEach
+	void tearDown() {
+		assembler.shutdown();
+	}
+
+	@Test
+	void runsAllSectionsConcurrently() {
+		// Chaque section attend que les huit aient démarré : une exécution séquentielle dépasserait le délai
+		CountDownLatch started = new CountDownLatch(8);
+		when(sections.statusTotals(any(), any())).thenAnswer(call -> rendezvous(started,
+				Map.of(AppointmentStatus.COMPLETED, 120L, AppointmentStatus.CANCELLED, 20L, AppointmentStatus.CONFIRMED, 10L)));
+		when(sections.appointmentsByDay(any(), any(), any())).thenAnswer(call -> rendezvous(started, new DailyCountSeries(new int[] {(int) FROM.toEpochDay()}, new long[] {3})));
+		when(sections.appointmentsByService(any(), any())).thenAnswer(call -> rendezvous(started, ServiceCountSeries.EMPTY));
+		when(sections.appointmentsByTimeSlot(any(), any())).thenAnswer(call -> rendezvous(started, TimeSlotCountSeries.EMPTY));
+		when(sections.totalClients()).thenAnswer(call -> rendezvous(started, 75L));
+		when(sections.activeClients(any(), any(), anyBoolean())).thenAnswer(call -> rendezvous(started, 50L));
+		when(sections.newClientsThisMonth()).thenAnswer(call -> rendezvous(started, 15L));
+		when(sections.returningClients(any(), any())).thenAnswer(call -> rendezvous(started, 35L));
+
+		StatisticsResponse response = assembler.assemble(FROM, TO, StatisticsGranularity.DAY, false);
+
+		assertThat(response.getUnavailableSections()).isEmpty();
+		assertThat(response.getTotalAppointments()).isEqualTo(150);
+		assertThat(response.getCompletionRate()).isEqualTo(80.0);
+		assertThat(response.getAppointmentsByDay().size()).isEqualTo(1);
+		assertThat(response.getActiveClients()).isEqualTo(50);
+		assertThat(response.getReturningClients()).isEqualTo(35);
+	}
+
+	@Test
+	void returnsPartialResultsWhenASectionIsSlowOrFails() {
+		when(sections.statusTotals(any(), any())).thenReturn(Map.of(AppointmentStatus.COMPLETED, 2L, AppointmentStatus.NO_SHOW, 1L));
+		when(sections.appointmentsByDay(any(), any(), any())).thenReturn(DailyCountSeries.EMPTY);
+		when(sections.appointmentsByService(any(), any())).thenThrow(new IllegalStateException("services"));
+		when(sections.appointmentsByTimeSlot(any(), any())).thenReturn(TimeSlotCountSeries.EMPTY);
+		when(sections.totalClients()).thenReturn(75L);
+		when(sections.activeClients(any(), any(), anyBoolean())).thenReturn(3L);
+		when(sections.newClientsThisMonth()).thenReturn(1L);
+		when(sections.returningClients(any(), any())).thenAnswer(call -> {
+			Thread.sleep(5_000);
+			return 2L;
+		});
+
+		long startedAt = System.nanoTime();
+		StatisticsResponse response = assembler.assemble(FROM, TO, StatisticsGranularity.DAY, false);
+
+		assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+		assertThat(response.getUnavailableSections()).containsExactly("appointmentsByService", "returningClients");
+		assertThat(response.getAppointmentsByService().size()).isZero();
+		assertThat(response.getReturningClients()).isZero();
+		assertThat(response.getCompletionRate()).isEqualTo(66.7);
+		assertThat(response.getNoShowAppointments()).isEqualTo(1);
+		assertThat(response.getTotalClients()).isEqualTo(75);
+	}
+
+	@Test
+	void neverRunsMoreSectionsAtOnceThanThePermittedConnections() {
+		StatisticsAssembler bounded = new StatisticsAssembler(sections, mock(PlatformTransactionManager.class),
+				new SimpleMeterRegistry(), 1_000, 2);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		when(sections.statusTotals(any(), any())).thenAnswer(call -> measure(running, peak, Map.of()));
+		when(sections.appointmentsByDay(any(), any(), any())).thenAnswer(call -> measure(running, peak, DailyCountSeries.EMPTY));
+		when(sections.appointmentsByService(any(), any())).thenAnswer(call -> measure(running, peak, ServiceCountSeries.EMPTY));
+		when(sections.appointmentsByTimeSlot(any(), any())).thenAnswer(call -> measure(running, peak, TimeSlotCountSeries.EMPTY));
+		when(sections.totalClients()).thenAnswer(call -> measure(running, peak, 75L));
+		when(sections.activeClients(any(), any(), anyBoolean())).thenAnswer(call -> measure(running, peak, 50L));
+		when(sections.newClientsThisMonth()).thenAnswer(call -> measure(running, peak, 15L));
+		when(sections.returningClients(any(), any())).thenAnswer(call -> measure(running, peak, 35L));
+
+		try {
+			StatisticsResponse response = bounded.assemble(FROM, TO, StatisticsGranularity.DAY, false);
+
+			assertThat(response.getUnavailableSections()).isEmpty();
+			assertThat(peak.get()).isEqualTo(2);
+		} finally {
+			bounded.shutdown();
+		}
+	}
+
+	@Test
+	void roundsTheCompletionRateToOneDecimal() {
+		assertThat(StatisticsAssembler.completionRate(120, 150)).isEqualTo(80.0);
+		assertThat(StatisticsAssembler.completionRate(2, 3)).isEqualTo(66.7);
+		assertThat(StatisticsAssembler.completionRate(0, 0)).isZero();
+	}
+
+	private static <T> T measure(AtomicInteger running, AtomicInteger peak, T value) throws InterruptedException {
+		peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+		Thread.sleep(50);
+		running.decrementAndGet();
+		return value;
+	}
+
+	private static <T> T rendezvous(CountDownLatch started, T value) throws InterruptedException {
+		started.countDown();
+		started.await(1, TimeUnit.SECONDS);
+		return value;
+	}
+}
@@ -0,0 +1,112 @@
+package com.hairbook.hairbook_backend.service.statistics;
+
+import com.hairbook.hairbook_backend.dto.stats.DailyCountSeries;
+import com.hairbook.hairbook_backend.dto.stats.ServiceCountSeries;
+import com.hairbook.hairbook_backend.dto.stats.StatisticsResponse;
+import com.hairbook.hairbook_backend.dto.stats.TimeSlotCountSeries;
+import com.hairbook.hairbook_backend.repository.AppointmentStatsRepository;
+import com.hairbook.hairbook_backend.service.statistics.StatisticsCache.CachedStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatisticsServiceTests {
+
+	private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+	private static final LocalDate TO = LocalDate.of(2024, 1, 31);
+
+	private final StatisticsAssembler assembler = mock(StatisticsAssembler.class);
+	private final AppointmentStatsRepository repository = mock(AppointmentStatsRepository.class);
+	private final StatisticsCache cache = new StatisticsCache(60, 100);
+	private final StatisticsService service = new StatisticsService(assembler, cache, repository);
+
+	@Test
+	void servesRepeatLoadsFromTheCacheWithAStrongEtag() {
+		when(repository.findVersionBefore(any())).thenReturn(1000L);
+		when(assembler.assemble(any(), any(), any(), anyBoolean())).thenAnswer(call -> response(75));
+
+		CachedStatistics first = service.getStatistics(FROM, TO, StatisticsGranularity.DAY, false);
+		CachedStatistics second = service.getStatistics(FROM, TO, StatisticsGranularity.DAY, false);
+		CachedStatistics monthly = service.getStatistics(FROM, TO, StatisticsGranularity.MONTH, false);
+
+		assertThat(second).isSameAs(first);
+		assertThat(first.etag()).matches("\"[0-9a-f]{32}\"");
+		assertThat(monthly.etag()).isNotEqualTo(first.etag());
+		verify(assembler).assemble(FROM, LocalDate.of(2024, 2, 1), StatisticsGranularity.DAY, false);
+		verify(assembler, times(2)).assemble(any(), any(), any(), anyBoolean());
+	}
+
+	@Test
+	void invalidatesOnlyRangesEndingAfterTheChangedDay() {
+		when(repository.findVersionBefore(any())).thenReturn(1000L);
+		when(assembler.assemble(any(), any(), any(), anyBoolean())).thenAnswer(call -> response(75));
+		service.getStatistics(FROM, TO, StatisticsGranularity.DAY, false);
+
+		// Rendez-vous modifié après la période : la réponse reste valide
+		cache.invalidateAfterCommit(LocalDate.of(2024, 3, 10));
+		service.getStatistics(FROM, TO, StatisticsGranularity.DAY, false);
+		verify(assembler, times(1)).assemble(any(), any(), any(), anyBoolean());
+
+		// Rendez-vous antérieur à la période : les clients fidèles peuvent changer
+		when(repository.findVersionBefore(any())).thenReturn(2001L);
+		cache.invalidateAfterCommit(LocalDate.of(2023, 12, 5));
+		CachedStatistics refreshed = service.getStatistics(FROM, TO, StatisticsGranularity.DAY, false);
+		verify(assembler, times(2)).assemble(any(), any(), any(), anyBoolean());
+		assertThat(refreshed.etag()).isNotNull();
+	}
+
+	@Test
+	void neverCachesAResponseThatMayNotMatchItsEtag() {
+		when(assembler.assemble(any(), any(), any(), anyBoolean())).thenAnswer(call -> response(75));
+
+		// Agrégats modifiés pendant le calcul
+		when(repository.findVersionBefore(any())).thenReturn(1000L, 2001L);
+		assertThat(service.getStatistics(FROM, TO, StatisticsGranularity.DAY, false).etag()).isNull();
+
+		// Réponse partielle
+		when(repository.findVersionBefore(any())).thenReturn(2001L);
+		StatisticsResponse partial = response(75);
+		partial.setUnavailableSections(List.of("returningClients"));
+		when(assembler.assemble(any(), any(), any(), anyBoolean())).thenReturn(partial);
+		assertThat(service.getStatistics(FROM, TO, StatisticsGranularity.DAY, false).etag()).isNull();
+
+		when(assembler.assemble(any(), any(), any(), anyBoolean())).thenAnswer(call -> response(75));
+		assertThat(service.getStatistics(FROM, TO, StatisticsGranularity.DAY, false).etag()).isNotNull();
+		verify(assembler, times(3)).assemble(any(), any(), any(), anyBoolean());
+	}
+
+	@Test
+	void discardsAResponseComputedAcrossAnInvalidation() {
+		when(repository.findVersionBefore(any())).thenReturn(1000L);
+		when(assembler.assemble(any(), any(), any(), anyBoolean())).thenAnswer(call -> {
+			cache.invalidateAll();
+			return response(75);
+		});
+
+		service.getStatistics(FROM, TO, StatisticsGranularity.DAY, false);
+		service.getStatistics(FROM, TO, StatisticsGranularity.DAY, false);
+
+		verify(assembler, times(2)).assemble(any(), any(), any(), anyBoolean());
+	}
+
+	@Test
+	void etagChangesWithMemberCountsOutsideTheRollups() {
+		StatisticsCache.Key key = new StatisticsCache.Key(FROM, TO, StatisticsGranularity.DAY, false);
+
+		assertThat(StatisticsService.etag(key, 1000L, response(75))).isEqualTo(StatisticsService.etag(key, 1000L, response(75)));
+		assertThat(StatisticsService.etag(key, 1000L, response(76))).isNotEqualTo(StatisticsService.etag(key, 1000L, response(75)));
+	}
+
+	private static StatisticsResponse response(long totalClients) {
+		return new StatisticsResponse(10, 8, 1, 1, 80.0, DailyCountSeries.EMPTY, ServiceCountSeries.EMPTY, TimeSlotCountSeries.EMPTY, totalClients, 20, 3, 12);
+	}
+}
@@ -0,0 +1,74 @@
+package com.hairbook.hairbook_backend.service.template;
+
+import com.hairbook.hairbook_backend.entity.Appointment;
+import com.hairbook.hairbook_backend.entity.AppointmentStatus;
+import com.hairbook.hairbook_backend.entity.Payment;
+import com.hairbook.hairbook_backend.entity.Service;
+import com.hairbook.hairbook_backend.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationTemplateEngineTests {
+
+	private final NotificationTemplateEngine engine;
+
+	NotificationTemplateEngineTests() throws Exception {
+		engine = new NotificationTemplateEngine("fr");
+	}
+
+	@Test
+	void rendersAppointmentReminderInFrench() {
+		RenderedNotification rendered = engine.render(NotificationTemplateEngine.APPOINTMENT_REMINDER,
+				TemplateContext.forAppointment(appointment(), Locale.FRENCH));
+
+		assertThat(rendered.title()).isEqualTo("Rappel de rendez-vous");
+		assertThat(rendered.message()).isEqualTo(
+				"Bonjour John, nous vous rappelons votre rendez-vous « Coupe et brushing » le lundi 15 janvier 2024 à 10:00.");
+	}
+
+	@Test
+	void rendersPaymentReceiptWithLocalizedAmount() {
+		Payment payment = new Payment();
+		payment.setAppointment(appointment());
+		payment.setAmount(new BigDecimal("45.5"));
+		payment.setCurrency("EUR");
+		payment.setTransactionId("txn_123");
+
+		String french = engine.render(NotificationTemplateEngine.PAYMENT_RECEIPT,
+				TemplateContext.forPayment(payment, Locale.FRENCH)).message();
+		String english = engine.render(NotificationTemplateEngine.PAYMENT_RECEIPT,
+				TemplateContext.forPayment(payment, Locale.ENGLISH)).message();
+
+		assertThat(french).contains("45,50 EUR").endsWith("Référence : txn_123.");
+		assertThat(english).contains("45.50 EUR").endsWith("Reference: txn_123.");
+	}
+
+	@Test
+	void fallsBackToDefaultLocale() {
+		RenderedNotification rendered = engine.render(NotificationTemplateEngine.APPOINTMENT_CONFIRMATION,
+				TemplateContext.forAppointment(appointment(), Locale.GERMAN));
+
+		assertThat(rendered.title()).isEqualTo("Rendez-vous confirmé");
+	}
+
+	@Test
+	void rejectsUnknownParameters() {
+		assertThatThrownBy(() -> CompiledTemplate.compile("Bonjour {{user.password}}"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> CompiledTemplate.compile("Bonjour {{user.firstName"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	static Appointment appointment() {
+		User user = new User("john_doe", "john.doe@example.com", "secret", "John", "Doe", null);
+		Service service = new Service(1L, "Coupe et brushing", null, new BigDecimal("45.50"), 60, null, true);
+		return new Appointment(42L, user, service, LocalDateTime.of(2024, 1, 15, 10, 0),
+				LocalDateTime.of(2024, 1, 15, 11, 0), AppointmentStatus.CONFIRMED, null, null, null);
+	}
+}
@@ -0,0 +1,44 @@
+package com.hairbook.hairbook_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+	@Test
+	void neverReportsFalseNegatives() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.001);
+		SplittableRandom random = new SplittableRandom(7);
+		long[][] hashes = new long[10_000][2];
+		for (long[] hash : hashes) {
+			hash[0] = random.nextLong();
+			hash[1] = random.nextLong();
+			filter.put(hash[0], hash[1]);
+		}
+
+		for (long[] hash : hashes) {
+			assertThat(filter.mightContain(hash[0], hash[1])).isTrue();
+		}
+	}
+
+	@Test
+	void keepsFalsePositiveRateNearTarget() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.001);
+		SplittableRandom random = new SplittableRandom(11);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put(random.nextLong(), random.nextLong());
+		}
+
+		int falsePositives = 0;
+		int probes = 100_000;
+		for (int i = 0; i < probes; i++) {
+			if (filter.mightContain(random.nextLong(), random.nextLong())) {
+				falsePositives++;
+			}
+		}
+		assertThat((double) falsePositives / probes).isLessThan(0.003);
+	}
+}
@@ -0,0 +1,66 @@
+package com.hairbook.hairbook_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTests {
+
+	private static final int PRECISION = 12;
+
+	@Test
+	void estimatesWithinThreeStandardErrors() {
+		double bound = 3 * HyperLogLog.relativeStandardError(PRECISION);
+		for (int count : new int[] {100, 5_000, 100_000, 1_000_000}) {
+			HyperLogLog sketch = new HyperLogLog(PRECISION);
+			for (long id = 1; id <= count; id++) {
+				sketch.add(id);
+			}
+			assertThat((double) sketch.estimate()).as("%d éléments", count).isCloseTo(count, within(count * bound));
+		}
+		assertThat(new HyperLogLog(PRECISION).estimate()).isZero();
+	}
+
+	@Test
+	void mergeIsTheSketchOfTheUnion() {
+		HyperLogLog first = new HyperLogLog(PRECISION);
+		HyperLogLog second = new HyperLogLog(PRECISION);
+		HyperLogLog union = new HyperLogLog(PRECISION);
+		for (long id = 0; id < 60_000; id++) {
+			first.add(id);
+			union.add(id);
+		}
+		for (long id = 40_000; id < 100_000; id++) {
+			second.add(id);
+			union.add(id);
+		}
+
+		assertThat(first.merge(second.toBytes()).toBytes()).isEqualTo(union.toBytes());
+		assertThat(first.add(59_999)).isFalse();
+	}
+
+	@Test
+	void registerFunctionsReproduceAddForSqlUpdates() {
+		HyperLogLog sketch = new HyperLogLog(PRECISION);
+		byte[] registers = new byte[1 << PRECISION];
+		for (long id = 1; id <= 20_000; id++) {
+			sketch.add(id);
+			long hash = HyperLogLog.hash(id);
+			int index = HyperLogLog.registerIndex(hash, PRECISION);
+			registers[index] = (byte) Math.max(registers[index], HyperLogLog.registerRank(hash, PRECISION));
+		}
+
+		assertThat(HyperLogLog.wrap(registers).toBytes()).isEqualTo(sketch.toBytes());
+		assertThat(HyperLogLog.registerRank(0, PRECISION)).isEqualTo(64 - PRECISION + 1);
+	}
+
+	@Test
+	void rejectsSketchesOfAnotherPrecision() {
+		assertThatThrownBy(() -> HyperLogLog.wrap(new byte[3000])).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new HyperLogLog(20)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new HyperLogLog(PRECISION).merge(new byte[1 << 10])).isInstanceOf(IllegalArgumentException.class);
+		assertThat(HyperLogLog.wrap(new byte[1 << 10]).getPrecision()).isEqualTo(10);
+	}
+}
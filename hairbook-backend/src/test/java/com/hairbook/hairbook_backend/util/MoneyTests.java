@@ -0,0 +1,55 @@
+package com.hairbook.hairbook_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTests {
+
+	@Test
+	void convertsExactlyToAndFromNumericColumns() {
+		Money amount = Money.of(new BigDecimal("45.5"), "eur");
+
+		assertThat(amount).isEqualTo(new Money(4550, "EUR"));
+		assertThat(amount.toBigDecimal()).isEqualTo(new BigDecimal("45.50"));
+		assertThat(Money.of(new BigDecimal("1200.00"), "JPY")).isEqualTo(new Money(1200, "JPY"));
+		assertThatThrownBy(() -> Money.of(new BigDecimal("45.505"), "EUR")).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Money.of(new BigDecimal("1e30"), "EUR")).isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void parsesDecimalTextWithoutRounding() {
+		assertThat(Money.parse("45.50", "EUR").minorUnits()).isEqualTo(4550);
+		assertThat(Money.parse("45.5", "EUR").minorUnits()).isEqualTo(4550);
+		assertThat(Money.parse("-3", "EUR").minorUnits()).isEqualTo(-300);
+		assertThat(Money.parse("12.300", "EUR").minorUnits()).isEqualTo(1230);
+		assertThat(Money.parse("500", "JPY").minorUnits()).isEqualTo(500);
+		assertThatThrownBy(() -> Money.parse("12.345", "EUR")).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> Money.parse("12,30", "EUR")).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> Money.parse("-", "EUR")).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> Money.parse("99999999999999999999", "EUR")).isInstanceOf(NumberFormatException.class);
+	}
+
+	@Test
+	void addsOnlyAmountsOfTheSameCurrency() {
+		Money total = Money.zero("EUR").plus(new Money(4550, "EUR")).plus(new Money(-50, "EUR"));
+
+		assertThat(total).isEqualTo(new Money(4500, "EUR"));
+		assertThat(total.times(3).minus(new Money(500, "EUR"))).isEqualTo(new Money(13_000, "EUR"));
+		assertThatThrownBy(() -> total.plus(new Money(100, "USD"))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new Money(Long.MAX_VALUE, "EUR").plus(new Money(1, "EUR"))).isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void formatsWithTheCurrencyFractionDigits() {
+		assertThat(new Money(4550, "EUR")).hasToString("45.50 EUR");
+		assertThat(new Money(-5, "EUR")).hasToString("-0.05 EUR");
+		assertThat(new Money(1200, "JPY")).hasToString("1200 JPY");
+		StringBuilder out = new StringBuilder();
+		new Money(100_007, "EUR").appendTo(out, ',');
+		assertThat(out).hasToString("1000,07");
+	}
+}